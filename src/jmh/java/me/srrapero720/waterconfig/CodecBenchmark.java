@@ -0,0 +1,93 @@
+package me.srrapero720.waterconfig;
+
+import me.srrapero720.waterconfig.api.ICodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link WaterConfig#tryParse}/{@link WaterConfig#tryEncode} of each bundled codec, looking up the codec on each call
+ * and with the codec bound on build as the spec fields do. Lives on the spec package to reach the codec helpers
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+    @Param({ "int", "long", "double", "boolean", "enum", "uuid", "path", "uri" })
+    public String type;
+
+    private Class<Object> clazz;
+    private ICodec<?> codec;
+    private String text;
+    private Object value;
+    private String[] texts;
+    private Object[] values;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        WaterConfig.init();
+        this.text = switch (this.type) {
+            case "int" -> "123456";
+            case "long" -> "9876543210123";
+            case "double" -> "3.14159265";
+            case "boolean" -> "true";
+            case "enum" -> "MILLISECONDS";
+            case "uuid" -> "0f8fad5b-d9cb-469f-a165-70867728950e";
+            case "path" -> "config/waterconfig/values.cfg";
+            case "uri" -> "https://example.com/config?name=value";
+            default -> throw new IllegalArgumentException("Unknown type " + this.type);
+        };
+        final Class<?> clazz = switch (this.type) {
+            case "int" -> Integer.class;
+            case "long" -> Long.class;
+            case "double" -> Double.class;
+            case "boolean" -> Boolean.class;
+            case "enum" -> TimeUnit.class;
+            case "uuid" -> UUID.class;
+            case "path" -> Path.class;
+            default -> URI.class;
+        };
+        this.clazz = (Class<Object>) clazz;
+        this.codec = WaterConfigRegistry.codecOf(this.clazz);
+        this.value = WaterConfig.tryParse(this.text, this.clazz, this.clazz);
+        this.texts = new String[] { this.text, this.text, this.text, this.text };
+        this.values = WaterConfig.tryParse(this.texts, this.clazz.arrayType(), this.clazz);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return WaterConfig.tryParse(this.text, this.clazz, this.clazz);
+    }
+
+    @Benchmark
+    public Object parseBound() {
+        return WaterConfig.tryParse(this.codec, this.text, this.clazz, this.clazz);
+    }
+
+    @Benchmark
+    public String encode() {
+        return WaterConfig.tryEncode(this.value);
+    }
+
+    @Benchmark
+    public String encodeBound() {
+        return WaterConfig.tryEncode(this.codec, this.value, this.clazz);
+    }
+
+    @Benchmark
+    public Object[] parseArray() {
+        return WaterConfig.tryParse(this.codec, this.texts, this.clazz.arrayType(), this.clazz);
+    }
+
+    @Benchmark
+    public String[] encodeArray() {
+        return WaterConfig.tryEncode(this.codec, this.values, this.clazz.arrayType(), this.clazz);
+    }
+}
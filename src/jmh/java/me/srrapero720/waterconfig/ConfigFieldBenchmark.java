@@ -0,0 +1,110 @@
+package me.srrapero720.waterconfig;
+
+import me.srrapero720.waterconfig.impl.fields.DoubleField;
+import me.srrapero720.waterconfig.impl.fields.FieldAccessorGenerator;
+import me.srrapero720.waterconfig.impl.fields.IntField;
+import me.srrapero720.waterconfig.impl.fields.StringField;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Get and set of spec fields on each storage mode: NATIVE (builder fields), REFLECT (final fields),
+ * HANDLE (VarHandle) and ASM (generated accessor). Sets include the dirty tracking of the spec.
+ * Lives on the spec package to reach the field builders, run with {@code -prof gc} to see the boxing of each mode
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigFieldBenchmark {
+    public static class Holder {
+        public int intValue = 10;
+        public double doubleValue = 1.5;
+        public String stringValue = "value";
+    }
+
+    // FINAL FIELDS HAVE NO VARHANDLE SETTER, THE FIELD FALLS BACK TO REFLECTION
+    public static class FinalHolder {
+        public final int intValue = 10;
+        public final double doubleValue = 1.5;
+        public final String stringValue = "value";
+    }
+
+    @Param({ "NATIVE", "REFLECT", "HANDLE", "ASM" })
+    public String mode;
+
+    private IntField intField;
+    private DoubleField doubleField;
+    private StringField stringField;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setup() throws NoSuchFieldException {
+        WaterConfig.init();
+        final ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("field_access_" + this.mode.toLowerCase(), "cfg", "", 0);
+        if (this.mode.equals("NATIVE")) {
+            this.intField = builder.defineInt("int", 10).end();
+            this.doubleField = builder.defineDouble("double", 1.5).end();
+            this.stringField = builder.defineString("string", "value").end();
+        } else {
+            final Class<?> owner = this.mode.equals("REFLECT") ? FinalHolder.class : Holder.class;
+            final Object holder = this.mode.equals("REFLECT") ? new FinalHolder() : new Holder();
+            this.intField = builder.defineInt("int", accessible(owner, "intValue"), holder).end();
+            this.doubleField = builder.defineDouble("double", accessible(owner, "doubleValue"), holder).end();
+            this.stringField = builder.defineString("string", accessible(owner, "stringValue"), holder).end();
+            if (this.mode.equals("ASM") && !FieldAccessorGenerator.generate(owner, List.of(this.intField, this.doubleField, this.stringField))) {
+                throw new IllegalStateException("Failed to generate the accessor of " + owner.getName());
+            }
+        }
+        builder.build();
+    }
+
+    private static Field accessible(Class<?> owner, String name) throws NoSuchFieldException {
+        final Field field = owner.getField(name);
+        field.setAccessible(true);
+        return field;
+    }
+
+    // INT
+    @Benchmark
+    public int getInt() {
+        return this.intField.getAsInt();
+    }
+
+    @Benchmark
+    public Integer getBoxedInt() {
+        return this.intField.get();
+    }
+
+    @Benchmark
+    public void setInt() {
+        this.intField.setInt(this.counter++);
+    }
+
+    // DOUBLE
+    @Benchmark
+    public double getDouble() {
+        return this.doubleField.getAsDouble();
+    }
+
+    @Benchmark
+    public void setDouble() {
+        this.doubleField.setDouble(this.counter++);
+    }
+
+    // STRING
+    @Benchmark
+    public String getString() {
+        return this.stringField.get();
+    }
+
+    @Benchmark
+    public void setString() {
+        this.stringField.set((this.counter++ & 1) == 0 ? "even" : "odd");
+    }
+}
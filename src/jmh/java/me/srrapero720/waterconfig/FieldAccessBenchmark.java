@@ -0,0 +1,104 @@
+package me.srrapero720.waterconfig;
+
+import me.srrapero720.waterconfig.impl.fields.FieldAccessor;
+import me.srrapero720.waterconfig.impl.fields.FieldHandleAccessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the REFLECT backend ({@link Tools#valueFrom}/{@link Tools#setFieldValue}) against the
+ * VarHandle backend ({@link FieldHandleAccessor}) on int, double and String fields
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldAccessBenchmark {
+    public static class Holder {
+        public int intValue = 10;
+        public double doubleValue = 1.5;
+        public String stringValue = "value";
+    }
+
+    private final Holder holder = new Holder();
+    private Field intField, doubleField, stringField;
+    private FieldAccessor intHandle, doubleHandle, stringHandle;
+    private int counter;
+
+    @Setup
+    public void setup() throws NoSuchFieldException {
+        this.intField = Holder.class.getField("intValue");
+        this.doubleField = Holder.class.getField("doubleValue");
+        this.stringField = Holder.class.getField("stringValue");
+        this.intHandle = FieldHandleAccessor.of(this.intField);
+        this.doubleHandle = FieldHandleAccessor.of(this.doubleField);
+        this.stringHandle = FieldHandleAccessor.of(this.stringField);
+    }
+
+    // INT
+    @Benchmark
+    public int reflectGetInt() {
+        return Tools.<Integer>valueFrom(this.intField, this.holder);
+    }
+
+    @Benchmark
+    public int handleGetInt() {
+        return this.intHandle.getInt(this.holder, 0);
+    }
+
+    @Benchmark
+    public void reflectSetInt() {
+        Tools.setFieldValue(this.intField, this.holder, this.counter++);
+    }
+
+    @Benchmark
+    public void handleSetInt() {
+        this.intHandle.setInt(this.holder, 0, this.counter++);
+    }
+
+    // DOUBLE
+    @Benchmark
+    public double reflectGetDouble() {
+        return Tools.<Double>valueFrom(this.doubleField, this.holder);
+    }
+
+    @Benchmark
+    public double handleGetDouble() {
+        return this.doubleHandle.getDouble(this.holder, 0);
+    }
+
+    @Benchmark
+    public void reflectSetDouble() {
+        Tools.setFieldValue(this.doubleField, this.holder, (double) this.counter++);
+    }
+
+    @Benchmark
+    public void handleSetDouble() {
+        this.doubleHandle.setDouble(this.holder, 0, this.counter++);
+    }
+
+    // STRING
+    @Benchmark
+    public Object reflectGetString() {
+        return Tools.valueFrom(this.stringField, this.holder);
+    }
+
+    @Benchmark
+    public Object handleGetString() {
+        return this.stringHandle.get(this.holder, 0);
+    }
+
+    @Benchmark
+    public void reflectSetString() {
+        Tools.setFieldValue(this.stringField, this.holder, (this.counter++ & 1) == 0 ? "even" : "odd");
+    }
+
+    @Benchmark
+    public void handleSetString() {
+        this.stringHandle.set(this.holder, 0, (this.counter++ & 1) == 0 ? "even" : "odd");
+    }
+}
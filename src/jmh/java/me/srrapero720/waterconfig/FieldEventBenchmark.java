@@ -0,0 +1,89 @@
+package me.srrapero720.waterconfig;
+
+import me.srrapero720.waterconfig.api.annotations.FieldEvent;
+import me.srrapero720.waterconfig.impl.fields.DoubleField;
+import me.srrapero720.waterconfig.impl.fields.IntField;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the {@link FieldEvent} dispatch on primitive sets: fields without listeners against fields with one
+ * and three listeners. Run with {@code -prof gc}, every benchmark must report 0 B/op as listeners get the primitives
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldEventBenchmark {
+    // STATIC SINKS, LISTENERS ARE NEVER ELIMINATED
+    private static long intSink;
+    private static double doubleSink;
+
+    private IntField plainInt, listenedInt, threeListenersInt;
+    private DoubleField plainDouble, listenedDouble;
+    private int counter;
+
+    static void onInt(int old, int value) {
+        intSink += value - old;
+    }
+
+    static void onDouble(double old, double value) {
+        doubleSink += value - old;
+    }
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final MethodHandle onInt = lookup.findStatic(FieldEventBenchmark.class, "onInt", MethodType.methodType(void.class, int.class, int.class));
+        final MethodHandle onDouble = lookup.findStatic(FieldEventBenchmark.class, "onDouble", MethodType.methodType(void.class, double.class, double.class));
+
+        // NEVER REGISTERED, SETS ONLY MARK THE SPEC DIRTY
+        WaterConfig.init();
+        final ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("field_event", "cfg", "", 0);
+        this.plainInt = builder.defineInt("plainInt", 0).end();
+        this.listenedInt = builder.defineInt("listenedInt", 0).end();
+        this.threeListenersInt = builder.defineInt("threeListenersInt", 0).end();
+        this.plainDouble = builder.defineDouble("plainDouble", 0).end();
+        this.listenedDouble = builder.defineDouble("listenedDouble", 0).end();
+        builder.build();
+
+        this.listenedInt.addListener(onInt, FieldEvent.Priority.NORMAL);
+        this.threeListenersInt.addListener(onInt, FieldEvent.Priority.LOW);
+        this.threeListenersInt.addListener(onInt, FieldEvent.Priority.HIGH);
+        this.threeListenersInt.addListener(onInt, FieldEvent.Priority.NORMAL);
+        this.listenedDouble.addListener(onDouble, FieldEvent.Priority.NORMAL);
+    }
+
+    // INT
+    @Benchmark
+    public void setIntNoListeners() {
+        this.plainInt.setInt(this.counter++);
+    }
+
+    @Benchmark
+    public void setIntOneListener() {
+        this.listenedInt.setInt(this.counter++);
+    }
+
+    @Benchmark
+    public void setIntThreeListeners() {
+        this.threeListenersInt.setInt(this.counter++);
+    }
+
+    // DOUBLE
+    @Benchmark
+    public void setDoubleNoListeners() {
+        this.plainDouble.setDouble(this.counter++);
+    }
+
+    @Benchmark
+    public void setDoubleOneListener() {
+        this.listenedDouble.setDouble(this.counter++);
+    }
+}
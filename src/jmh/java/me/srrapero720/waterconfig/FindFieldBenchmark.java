@@ -0,0 +1,82 @@
+package me.srrapero720.waterconfig;
+
+import me.srrapero720.waterconfig.api.IConfigField;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ConfigGroup#findField} on specs of growing size: root fields, nested fields, spec prefixed ids, ids relative
+ * to a group and missing ids
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FindFieldBenchmark {
+    @Param({ "16", "1024" })
+    public int fields;
+
+    private ConfigSpec spec;
+    private ConfigGroup group;
+    private String root, nested, prefixed, relative, missing;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        WaterConfig.init();
+        // 4 GROUPS WITH A SUBGROUP EACH, THE LOOKED UP FIELDS ARE THE LAST ONES
+        final ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("find_field_" + this.fields, "cfg", "", 0);
+        final int perGroup = Math.max(1, this.fields / 9);
+        define(builder, perGroup);
+        for (int g = 0; g < 4; g++) {
+            builder.push("group" + g);
+            define(builder, perGroup);
+            builder.push("sub");
+            define(builder, perGroup);
+            builder.pop();
+            builder.pop();
+        }
+        this.spec = builder.build();
+
+        final int last = perGroup - 1;
+        this.root = "int" + last;
+        this.nested = "group3.sub.int" + last;
+        this.prefixed = this.spec.name() + ":" + this.nested;
+        this.relative = "sub.int" + last;
+        this.missing = "group3.sub.missing";
+        this.group = (ConfigGroup) this.spec.findField("group3");
+    }
+
+    private static void define(ConfigSpec.SpecBuilder builder, int count) {
+        for (int i = 0; i < count; i++) {
+            builder.defineInt("int" + i, i).end();
+        }
+    }
+
+    @Benchmark
+    public IConfigField<?, ?> root() {
+        return this.spec.findField(this.root);
+    }
+
+    @Benchmark
+    public IConfigField<?, ?> nested() {
+        return this.spec.findField(this.nested);
+    }
+
+    @Benchmark
+    public IConfigField<?, ?> prefixed() {
+        return this.spec.findField(this.prefixed);
+    }
+
+    @Benchmark
+    public IConfigField<?, ?> relative() {
+        return this.group.findField(this.relative);
+    }
+
+    @Benchmark
+    public IConfigField<?, ?> missing() {
+        return this.spec.findField(this.missing);
+    }
+}
@@ -0,0 +1,108 @@
+package me.srrapero720.waterconfig;
+
+import me.srrapero720.waterconfig.api.formats.IFormatCodec;
+import me.srrapero720.waterconfig.api.formats.IFormatReader;
+import me.srrapero720.waterconfig.api.formats.IFormatWriter;
+import me.srrapero720.waterconfig.impl.formats.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reads and writes a generated config on each bundled format, from a few KB to multiple MB.
+ * Reads parse the file and read back every value, writes encode every value to a new file.
+ * Run with {@code gradle jmhAllocations} to compare the allocated bytes per operation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class FormatBenchmark {
+    @Param({ "json", "json5", "toml", "cfg", "properties", "bin" })
+    public String format;
+
+    // ~40 BYTES PER ENTRY, 16 GROUPS: SMALL, MEDIUM AND HUGE
+    @Param({ "256", "20000", "100000" })
+    public int entries;
+
+    private IFormatCodec codec;
+    private Path dir, file, output;
+    private int groups, perGroup;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.codec = switch (this.format) {
+            case "json" -> new JSONFormat();
+            case "json5" -> new JSON5Format();
+            case "toml" -> new TOMLFormat();
+            case "cfg" -> new CFGFormat();
+            case "properties" -> new PROPFormat();
+            case "bin" -> new BINFormat();
+            default -> throw new IllegalArgumentException("Unknown format " + this.format);
+        };
+        this.dir = Files.createTempDirectory("waterconfig-bench");
+        this.file = this.dir.resolve("load" + this.codec.extension());
+        this.output = this.dir.resolve("write" + this.codec.extension());
+        this.groups = 16;
+        this.perGroup = this.entries / this.groups;
+        this.write(this.file);
+    }
+
+    private void write(Path path) throws IOException {
+        try (IFormatWriter writer = this.codec.createWriter(path)) {
+            writer.push("load");
+            for (int g = 0; g < this.groups; g++) {
+                writer.push("group" + g);
+                for (int i = 0; i < this.perGroup; i++) {
+                    switch (i % 4) {
+                        case 0 -> writer.write("int" + i, String.valueOf(i * 31), Integer.class, null);
+                        case 1 -> writer.write("double" + i, String.valueOf(i * 0.25), Double.class, null);
+                        case 2 -> writer.write("string" + i, "välue número " + i, String.class, null);
+                        default -> writer.write("array" + i, new String[] { "1", "2", String.valueOf(i) }, Integer[].class, Integer.class);
+                    }
+                }
+                writer.pop();
+            }
+            writer.pop();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public void write() throws IOException {
+        this.write(this.output);
+    }
+
+    @Benchmark
+    public void load(Blackhole blackhole) throws IOException {
+        try (IFormatReader reader = this.codec.createReader(this.file)) {
+            // THE ROOT GROUP IS NOT PUSHED ON READ, SAME AS THE SPECS
+            for (int g = 0; g < this.groups; g++) {
+                reader.push("group" + g);
+                for (int i = 0; i < this.perGroup; i++) {
+                    switch (i % 4) {
+                        case 0 -> blackhole.consume(reader.read("int" + i));
+                        case 1 -> blackhole.consume(reader.read("double" + i));
+                        case 2 -> blackhole.consume(reader.read("string" + i));
+                        default -> blackhole.consume(reader.readArray("array" + i));
+                    }
+                }
+                reader.pop();
+            }
+        }
+    }
+}
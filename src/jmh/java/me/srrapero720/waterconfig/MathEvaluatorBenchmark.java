@@ -0,0 +1,51 @@
+package me.srrapero720.waterconfig;
+
+import me.srrapero720.waterconfig.impl.formats.special.MathEvaluator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MathEvaluator#tryEvaluate} as used by the loads of math fields, against evaluating an expression compiled once
+ * and resolving {@code ${id}} references
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathEvaluatorBenchmark {
+    @Param({ "42", "2 + 3 * 4", "1024 / 8 ^ 2 - 15 * -4", "~144 + 3 * ~49 - 2 ^ 10 / 8" })
+    public String expression;
+
+    private MathEvaluator.Expression compiled;
+    private MathEvaluator.Expression referencing;
+    private final MathEvaluator.Resolver resolver = reference -> 64;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.compiled = MathEvaluator.compile(this.expression);
+        this.referencing = MathEvaluator.compile("${group.base} * 2 + " + this.expression);
+    }
+
+    @Benchmark
+    public String tryEvaluate() {
+        return MathEvaluator.tryEvaluate(this.expression, false);
+    }
+
+    @Benchmark
+    public MathEvaluator.Expression compile() {
+        return MathEvaluator.compile(this.expression);
+    }
+
+    @Benchmark
+    public double evaluateCompiled() {
+        return this.compiled.evaluateDouble();
+    }
+
+    @Benchmark
+    public double evaluateReferences() {
+        return this.referencing.evaluateDouble(this.resolver);
+    }
+}
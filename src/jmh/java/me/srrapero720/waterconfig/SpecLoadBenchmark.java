@@ -0,0 +1,87 @@
+package me.srrapero720.waterconfig;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Full {@link ConfigSpec#load()} of a spec with nested groups, parsing the file and setting every field.
+ * Lives on the spec package to reach the load, run with {@code -prof gc} to see the allocated bytes per load
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpecLoadBenchmark {
+    @Param({ "json", "json5", "toml", "cfg", "properties", "bin" })
+    public String format;
+
+    @Param({ "64", "1024" })
+    public int fields;
+
+    // INDEXED OR MERGE-JOIN LOAD WITH THE PULL READER
+    @Param({ "false", "true" })
+    public boolean streaming;
+
+    // TEXT FORMATS LOADED FROM THEIR BINARY SNAPSHOT
+    @Param({ "false", "true" })
+    public boolean snapshot;
+
+    private Path dir;
+    private ConfigSpec spec;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        WaterConfig.init();
+        this.dir = Files.createTempDirectory("waterconfig-bench");
+        WaterConfig.setPath(this.dir);
+
+        // 4 GROUPS WITH 2 SUBGROUPS EACH, FIELDS SPREAD ON ALL OF THEM
+        final ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("spec_load", this.format, "", 0).streaming(this.streaming).snapshot(this.snapshot);
+        final int perGroup = Math.max(1, this.fields / 12);
+        for (int g = 0; g < 4; g++) {
+            builder.push("group" + g);
+            define(builder, perGroup);
+            for (int s = 0; s < 2; s++) {
+                builder.push("sub" + s);
+                define(builder, perGroup);
+                builder.pop();
+            }
+            builder.pop();
+        }
+        this.spec = builder.build();
+        this.spec.save();
+    }
+
+    private static void define(ConfigSpec.SpecBuilder builder, int count) {
+        for (int i = 0; i < count; i++) {
+            switch (i % 4) {
+                case 0 -> builder.defineInt("int" + i, i).end();
+                case 1 -> builder.defineDouble("double" + i, i * 0.5).end();
+                case 2 -> builder.defineString("string" + i, "value " + i).end();
+                default -> builder.defineList("list" + i, new ArrayList<>(List.of(1, 2, i)), Integer.class).end();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(this.dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public boolean load() throws IOException {
+        return this.spec.load();
+    }
+}
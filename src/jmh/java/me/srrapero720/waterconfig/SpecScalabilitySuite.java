@@ -0,0 +1,109 @@
+package me.srrapero720.waterconfig;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Loads, saves and looks up every field of generated specs of growing size on each format, reporting the time
+ * and retained heap per field. Rows whose cost per field (or per list entry) grows over twice the previous row
+ * are flagged as super-linear. Run with {@code gradle scalability}, sizes can be given as arguments
+ */
+public class SpecScalabilitySuite {
+    private static final int RUNS = 5; // BEST RUN, THE FIRST ONES WARM UP THE JIT
+    private static final double SUPER_LINEAR = 2.0;
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) throws IOException {
+        final int[] sizes = args.length == 0 ? new int[] { 1_000, 10_000, 50_000 } : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        WaterConfig.init();
+        final Path dir = Files.createTempDirectory("waterconfig-scalability");
+        WaterConfig.setPath(dir);
+
+        try {
+            System.out.printf("%-11s %-7s %8s %11s %9s %9s %9s %10s  %s%n", "format", "shape", "units", "bytes", "save ms", "load ms", "find ns", "heap B/u", "growth");
+            for (String format: SpecGenerator.FORMATS) {
+                // FIELDS 8 GROUPS DEEP
+                Row previous = null;
+                for (int size: sizes) {
+                    final SpecGenerator generator = new SpecGenerator().fields(size).depth(8).groups(8).listSize(16);
+                    previous = measure(format, "fields", size, generator, previous);
+                }
+
+                // FEW HUGE LISTS
+                previous = null;
+                for (int size: sizes) {
+                    final SpecGenerator generator = new SpecGenerator().fields(4).depth(1).groups(1).listSize(size * 2).kinds(SpecGenerator.Kind.LIST);
+                    previous = measure(format, "lists", size * 8, generator, previous);
+                }
+            }
+        } finally {
+            try (Stream<Path> paths = Files.walk(dir)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static Row measure(String format, String shape, int units, SpecGenerator generator, Row previous) throws IOException {
+        final String name = "scalability_" + shape + "_" + units;
+        final long heapBefore = usedHeap();
+        final ConfigSpec spec = generator.build(name, format);
+        final long heap = Math.max(0, usedHeap() - heapBefore);
+        generator.randomize(spec, 7);
+
+        long save = Long.MAX_VALUE, load = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            spec.save();
+            save = Math.min(save, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            if (!spec.load()) throw new IllegalStateException("Spec '" + name + "' was not saved");
+            load = Math.min(load, System.nanoTime() - start);
+        }
+
+        final List<String> ids = generator.ids();
+        long find = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            final long start = System.nanoTime();
+            for (String id: ids) {
+                if (spec.findField(id) == null) throw new IllegalStateException("Field '" + id + "' was not found");
+            }
+            find = Math.min(find, (System.nanoTime() - start) / Math.max(1, ids.size()));
+        }
+
+        final Row row = new Row(units, save, load, find, heap);
+        System.out.printf("%-11s %-7s %8d %11d %9.2f %9.2f %9d %10d  %s%n", format, shape, units, Files.size(spec.path()),
+                save / 1e6, load / 1e6, find, heap / units, previous == null ? "-" : row.growth(previous));
+        return row;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+
+    private record Row(int units, long save, long load, long find, long heap) {
+        String growth(Row previous) {
+            final StringBuilder flags = new StringBuilder();
+            flag(flags, "save", this.save, previous.save, this.units, previous.units);
+            flag(flags, "load", this.load, previous.load, this.units, previous.units);
+            // LOOKUPS ARE ALREADY PER FIELD
+            flag(flags, "find", this.find, previous.find, 1, 1);
+            flag(flags, "heap", this.heap, previous.heap, this.units, previous.units);
+            return flags.isEmpty() ? "linear" : "SUPER-LINEAR" + flags;
+        }
+
+        private static void flag(StringBuilder flags, String name, long cost, long previous, int units, int previousUnits) {
+            if (previous <= 0) return;
+            final double ratio = ((double) cost / units) / ((double) previous / previousUnits);
+            if (ratio > SUPER_LINEAR) flags.append(' ').append(name).append(String.format(" x%.1f", ratio));
+        }
+    }
+}
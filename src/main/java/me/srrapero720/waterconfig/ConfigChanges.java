@@ -0,0 +1,159 @@
+package me.srrapero720.waterconfig;
+
+import me.srrapero720.waterconfig.api.FieldChange;
+import me.srrapero720.waterconfig.api.IConfigField;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Flow.Publisher} of the changes of the fields of a group and its subgroups, delivered on the executor.
+ *
+ * <p>Subscriptions keep only the changed fields, not the values: a field changed many times before it is
+ * delivered is delivered once with its latest value, so a slow subscriber never queues more than one change
+ * per field. Deliveries of a subscription never overlap and follow the order of the first pending change.</p>
+ */
+final class ConfigChanges implements Flow.Publisher<FieldChange> {
+    private final ConfigGroup group;
+    private final Executor executor;
+
+    ConfigChanges(ConfigGroup group, Executor executor) {
+        this.group = group;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super FieldChange> subscriber) {
+        Objects.requireNonNull(subscriber, "Subscriber cannot be null");
+        final Subscription subscription = new Subscription(this.group, subscriber, this.executor);
+        // SIGNALED BEFORE REGISTERING, NO CHANGE CAN BE OFFERED BEFORE onSubscribe
+        subscriber.onSubscribe(subscription);
+        if (subscription.done) return;
+        this.group.subscribe(subscription);
+        if (subscription.done) this.group.unsubscribe(subscription); // CANCELLED WHILE REGISTERING
+    }
+
+    static final class Subscription implements Flow.Subscription, Runnable {
+        private final ConfigGroup group;
+        private final Flow.Subscriber<? super FieldChange> subscriber;
+        private final Executor executor;
+        // CHANGED FIELDS NOT DELIVERED YET, GUARDED BY ITSELF
+        private final Set<IConfigField<?, ?>> pending = new LinkedHashSet<>();
+        private final AtomicLong demand = new AtomicLong();
+        // DRAIN LOOP, ONLY THE CALL TAKING IT FROM 0 SCHEDULES THE DRAIN
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean done;
+        private volatile boolean completed;
+        private volatile Throwable failure;
+
+        private Subscription(ConfigGroup group, Flow.Subscriber<? super FieldChange> subscriber, Executor executor) {
+            this.group = group;
+            this.subscriber = subscriber;
+            this.executor = executor;
+        }
+
+        void offer(IConfigField<?, ?> field) {
+            if (this.done) return;
+            synchronized (this.pending) {
+                this.pending.add(field);
+            }
+            this.schedule();
+        }
+
+        /**
+         * Completes the subscription, the pending changes are dropped
+         */
+        void complete() {
+            this.completed = true;
+            this.schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                this.failure = new IllegalArgumentException("Requested " + n + " changes, requests must be positive");
+            } else {
+                this.demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            this.schedule();
+        }
+
+        @Override
+        public void cancel() {
+            this.terminate();
+        }
+
+        private void terminate() {
+            if (this.done) return;
+            this.done = true;
+            this.group.unsubscribe(this);
+            synchronized (this.pending) {
+                this.pending.clear();
+            }
+        }
+
+        private void schedule() {
+            if (this.wip.getAndIncrement() != 0) return;
+            try {
+                this.executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                this.terminate();
+                this.subscriber.onError(e);
+            }
+        }
+
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                this.drain();
+                missed = this.wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drain() {
+            while (!this.done) {
+                if (this.failure != null) {
+                    this.terminate();
+                    this.subscriber.onError(this.failure);
+                    return;
+                }
+                if (this.completed) {
+                    this.terminate();
+                    this.subscriber.onComplete();
+                    return;
+                }
+                if (this.demand.get() == 0) {
+                    return;
+                }
+
+                final IConfigField<?, ?> field;
+                synchronized (this.pending) {
+                    final Iterator<IConfigField<?, ?>> it = this.pending.iterator();
+                    if (!it.hasNext()) return;
+                    field = it.next();
+                    it.remove();
+                }
+
+                try {
+                    this.subscriber.onNext(new FieldChange(field, field.get()));
+                } catch (Throwable e) {
+                    // A FAILING SUBSCRIBER IS CANCELLED, NEVER THE PUBLISHER
+                    this.terminate();
+                    System.err.println("[WaterConfig] Cancelled change subscriber of '" + this.group.id() + "': " + e);
+                    return;
+                }
+                if (this.demand.get() != Long.MAX_VALUE) {
+                    this.demand.decrementAndGet();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package me.srrapero720.waterconfig;
+
+import me.srrapero720.waterconfig.api.IConfigField;
+import me.srrapero720.waterconfig.impl.fields.BaseNumberField;
+import me.srrapero720.waterconfig.impl.formats.special.MathEvaluator;
+
+import java.util.*;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Dependency graph of the math fields referencing other fields with {@code ${id}}, built by the spec on each load.
+ * Referencing fields are evaluated in topological order, when a field changes only the fields depending on it
+ * (directly or through other fields) are evaluated again.
+ *
+ * <p>Fields with unknown references or taking part of a cycle are reset and lose the expression,
+ * or fail the load when the field uses strict math.</p>
+ *
+ * <p>Sets of any field of the spec reach {@link #changed(IConfigField)}, so the graph publishes an immutable
+ * {@link Plan} with the sorted dependents of each field: fields out of the graph return without locking nor allocating.
+ * Only detaching a field set by hand takes the lock, evaluations and the listeners they fire run outside of it.
+ * Concurrent changes of referenced fields evaluate concurrently, dependents keep the value of the last evaluation.</p>
+ */
+final class ConfigDependencies {
+    // SETS MADE BY THE EVALUATION ITSELF, ON THE EVALUATING THREAD
+    private static final ThreadLocal<ConfigDependencies> EVALUATING = new ThreadLocal<>();
+
+    // GRAPH, ONLY CHANGED WHILE BUILDING OR HOLDING THE LOCK. REFERENCING FIELD -> EXPRESSION, FIELDS SET BY HAND ARE DETACHED
+    private final Map<IConfigField<?, ?>, MathEvaluator.Expression> expressions;
+    // REFERENCED FIELD -> REFERENCING FIELDS
+    private final Map<IConfigField<?, ?>, List<BaseNumberField<?>>> dependents = new IdentityHashMap<>();
+    private final Map<String, BaseNumberField<?>> references = new HashMap<>();
+    // TOPOLOGICAL ORDER OF THE REFERENCING FIELDS
+    private final List<BaseNumberField<?>> order = new ArrayList<>();
+    private final Map<IConfigField<?, ?>, Integer> positions = new IdentityHashMap<>();
+    private final MathEvaluator.Resolver resolver = reference -> valueOf(this.references.get(reference));
+    // IMMUTABLE VIEW READ ON EACH SET, PUBLISHED AGAIN AFTER EACH CHANGE OF THE GRAPH
+    private volatile Plan plan;
+
+    private ConfigDependencies(Map<IConfigField<?, ?>, MathEvaluator.Expression> expressions) {
+        this.expressions = expressions;
+    }
+
+    /**
+     * Resolves the references and sorts the fields
+     * @param spec spec resolving the references, ids are always from the spec root
+     * @param expressions the loaded expressions with references, taken by the graph
+     * @return the graph, null when there is no expression
+     * @throws IllegalArgumentException on unknown or cyclic references of a field using strict math
+     */
+    static ConfigDependencies of(ConfigSpec spec, Map<IConfigField<?, ?>, MathEvaluator.Expression> expressions) {
+        if (expressions.isEmpty()) {
+            return null;
+        }
+
+        final ConfigDependencies graph = new ConfigDependencies(expressions);
+        for (Iterator<Map.Entry<IConfigField<?, ?>, MathEvaluator.Expression>> it = expressions.entrySet().iterator(); it.hasNext();) {
+            final Map.Entry<IConfigField<?, ?>, MathEvaluator.Expression> entry = it.next();
+            for (String reference: entry.getValue().references()) {
+                if (spec.findField(reference) instanceof BaseNumberField<?> target) {
+                    graph.references.put(reference, target);
+                    continue;
+                }
+                fail(entry.getKey(), "Reference '${" + reference + "}' of field '" + entry.getKey().id() + "' is not a number field");
+                it.remove();
+                break;
+            }
+        }
+
+        // KAHN: FIELDS GO AFTER THE REFERENCING FIELDS THEY DEPEND ON
+        final Map<IConfigField<?, ?>, Integer> inputs = new IdentityHashMap<>();
+        final ArrayDeque<BaseNumberField<?>> ready = new ArrayDeque<>();
+        for (Map.Entry<IConfigField<?, ?>, MathEvaluator.Expression> entry: expressions.entrySet()) {
+            final BaseNumberField<?> field = (BaseNumberField<?>) entry.getKey();
+            int count = 0;
+            for (String reference: entry.getValue().references()) {
+                final BaseNumberField<?> target = graph.references.get(reference);
+                final List<BaseNumberField<?>> list = graph.dependents.computeIfAbsent(target, k -> new ArrayList<>(2));
+                if (list.contains(field)) continue;
+                list.add(field);
+                if (expressions.containsKey(target)) count++;
+            }
+            inputs.put(field, count);
+            if (count == 0) ready.add(field);
+        }
+
+        while (!ready.isEmpty()) {
+            final BaseNumberField<?> field = ready.poll();
+            graph.positions.put(field, graph.order.size());
+            graph.order.add(field);
+            for (BaseNumberField<?> dependent: graph.dependents.getOrDefault(field, List.of())) {
+                if (inputs.merge(dependent, -1, Integer::sum) == 0) ready.add(dependent);
+            }
+        }
+
+        // FIELDS NEVER READY ARE IN A CYCLE OR DEPEND ON ONE
+        if (graph.order.size() != expressions.size()) {
+            for (IConfigField<?, ?> field: expressions.keySet().toArray(new IConfigField<?, ?>[0])) {
+                if (graph.positions.containsKey(field)) continue;
+                fail(field, "Field '" + field.id() + "' has a cyclic reference");
+                graph.detach(field);
+            }
+        }
+        if (expressions.isEmpty()) {
+            return null;
+        }
+        graph.publish();
+        return graph;
+    }
+
+    private static void fail(IConfigField<?, ?> field, String message) {
+        if (((BaseNumberField<?>) field).strictMath()) {
+            throw new IllegalArgumentException(message);
+        }
+        ConfigSpec.resetInvalid(field);
+    }
+
+    /**
+     * Evaluates every referencing field, the referenced values must be already loaded
+     */
+    void evaluateAll() {
+        final Plan plan = this.plan;
+        EVALUATING.set(this);
+        try {
+            for (BaseNumberField<?> field: this.order) {
+                final MathEvaluator.Expression expression = plan.expressions.get(field);
+                if (expression != null) ConfigSpec.evaluate(field, expression, this.resolver);
+            }
+        } finally {
+            EVALUATING.remove();
+        }
+    }
+
+    /**
+     * Evaluates the fields depending on the changed field in topological order.
+     * A referencing field set by hand keeps the new value and stops following its expression
+     */
+    void changed(IConfigField<?, ?> field) {
+        Plan plan = this.plan;
+        final BaseNumberField<?>[] affected = plan.affected.get(field);
+        final boolean referencing = plan.expressions.containsKey(field);
+        if (affected == null && !referencing) {
+            return; // NOT IN THE GRAPH
+        }
+        if (EVALUATING.get() == this) {
+            return;
+        }
+
+        if (referencing) {
+            synchronized (this) {
+                this.detach(field);
+                this.publish();
+            }
+            plan = this.plan;
+        }
+        if (affected == null) {
+            return;
+        }
+
+        EVALUATING.set(this);
+        try {
+            for (BaseNumberField<?> dependent: affected) {
+                final MathEvaluator.Expression expression = plan.expressions.get(dependent);
+                if (expression != null) ConfigSpec.evaluate(dependent, expression, this.resolver);
+            }
+        } finally {
+            EVALUATING.remove();
+        }
+    }
+
+    /**
+     * @return the expression the field follows, null when the field is not referencing other fields
+     */
+    MathEvaluator.Expression expression(IConfigField<?, ?> field) {
+        return this.plan.expressions.get(field);
+    }
+
+    /**
+     * Publishes the current graph, sorting the transitive dependents of each referenced field once
+     */
+    private void publish() {
+        final Map<IConfigField<?, ?>, BaseNumberField<?>[]> affected = new IdentityHashMap<>();
+        for (Map.Entry<IConfigField<?, ?>, List<BaseNumberField<?>>> entry: this.dependents.entrySet()) {
+            if (entry.getValue().isEmpty()) continue;
+            final Set<BaseNumberField<?>> transitive = Collections.newSetFromMap(new IdentityHashMap<>());
+            final ArrayDeque<BaseNumberField<?>> queue = new ArrayDeque<>(entry.getValue());
+            while (!queue.isEmpty()) {
+                final BaseNumberField<?> next = queue.poll();
+                if (transitive.add(next)) {
+                    queue.addAll(this.dependents.getOrDefault(next, List.of()));
+                }
+            }
+            final BaseNumberField<?>[] sorted = transitive.toArray(new BaseNumberField<?>[0]);
+            Arrays.sort(sorted, Comparator.comparingInt(this.positions::get));
+            affected.put(entry.getKey(), sorted);
+        }
+        this.plan = new Plan(Collections.unmodifiableMap(new IdentityHashMap<>(this.expressions)), Collections.unmodifiableMap(affected));
+    }
+
+    private void detach(IConfigField<?, ?> field) {
+        final MathEvaluator.Expression expression = this.expressions.remove(field);
+        this.positions.remove(field);
+        if (expression == null) return;
+        for (String reference: expression.references()) {
+            final List<BaseNumberField<?>> list = this.dependents.get(this.references.get(reference));
+            if (list != null) list.remove(field);
+        }
+    }
+
+    /**
+     * Immutable view of the graph
+     * @param expressions referencing field -> expression
+     * @param affected referenced field -> transitive dependents in topological order
+     */
+    private record Plan(Map<IConfigField<?, ?>, MathEvaluator.Expression> expressions, Map<IConfigField<?, ?>, BaseNumberField<?>[]> affected) {}
+
+    private static double valueOf(BaseNumberField<?> field) {
+        if (field instanceof IntSupplier f) return f.getAsInt();
+        if (field instanceof LongSupplier f) return f.getAsLong();
+        if (field instanceof DoubleSupplier f) return f.getAsDouble();
+        return field.get().doubleValue();
+    }
+}
@@ -0,0 +1,147 @@
+package me.srrapero720.waterconfig;
+
+import me.srrapero720.waterconfig.api.IConfigField;
+import jdk.jfr.*;
+
+/**
+ * Java Flight Recorder events of the config work, shown under the WaterConfig category.
+ *
+ * <p>Events are created, begun and ended on every operation but only filled and committed when
+ * {@link Event#shouldCommit()}, with recording disabled JFR turns them into no-ops and the JIT removes the allocation.</p>
+ */
+final class ConfigEvents {
+    private static final String CATEGORY = "WaterConfig";
+
+    private ConfigEvents() {}
+
+    @Name("me.srrapero720.waterconfig.Register")
+    @Label("Spec Register")
+    @Category(CATEGORY)
+    @Description("Registration of a spec, loading the file or writing it when missing")
+    @StackTrace(false)
+    static final class Register extends Event {
+        @Label("Spec") String spec;
+        @Label("Format") String format;
+        @Label("File Size") @DataAmount long fileSize;
+        @Label("Field Count") int fieldCount;
+        @Label("Created") @Description("The file was missing and was written with the default values") boolean created;
+        @Label("Succeeded") boolean succeeded;
+
+        void commit(ConfigSpec spec, boolean created, boolean succeeded) {
+            this.end();
+            if (!this.shouldCommit()) return;
+            this.spec = spec.name();
+            this.format = spec.format().id();
+            this.fileSize = spec.stampSize();
+            this.fieldCount = spec.metrics().getFieldCount();
+            this.created = created;
+            this.succeeded = succeeded;
+            this.commit();
+        }
+    }
+
+    @Name("me.srrapero720.waterconfig.Load")
+    @Label("Spec Load")
+    @Category(CATEGORY)
+    @Description("Load or reload of a spec from its file or its binary snapshot")
+    @StackTrace(false)
+    static final class Load extends Event {
+        @Label("Spec") String spec;
+        @Label("Format") String format;
+        @Label("File Size") @DataAmount long fileSize;
+        @Label("Field Count") int fieldCount;
+        @Label("Snapshot") @Description("Loaded from the binary snapshot instead of the file") boolean snapshot;
+        @Label("Succeeded") boolean succeeded;
+
+        void commit(ConfigSpec spec, long fileSize, boolean snapshot, boolean succeeded) {
+            this.end();
+            if (!this.shouldCommit()) return;
+            this.spec = spec.name();
+            this.format = spec.format().id();
+            this.fileSize = fileSize;
+            this.fieldCount = spec.metrics().getFieldCount();
+            this.snapshot = snapshot;
+            this.succeeded = succeeded;
+            this.commit();
+        }
+    }
+
+    @Name("me.srrapero720.waterconfig.Save")
+    @Label("Spec Save")
+    @Category(CATEGORY)
+    @Description("Save of a spec, patching the changed values or writing the whole file")
+    @StackTrace(false)
+    static final class Save extends Event {
+        @Label("Spec") String spec;
+        @Label("Format") String format;
+        @Label("File Size") @DataAmount long fileSize;
+        @Label("Field Count") int fieldCount;
+        @Label("Changed Fields") int changedFields;
+        @Label("Succeeded") boolean succeeded;
+
+        void commit(ConfigSpec spec, int changedFields, boolean succeeded) {
+            this.end();
+            if (!this.shouldCommit()) return;
+            this.spec = spec.name();
+            this.format = spec.format().id();
+            this.fileSize = spec.stampSize();
+            this.fieldCount = spec.metrics().getFieldCount();
+            this.changedFields = changedFields;
+            this.succeeded = succeeded;
+            this.commit();
+        }
+    }
+
+    @Name("me.srrapero720.waterconfig.Process")
+    @Label("Spec Process")
+    @Category(CATEGORY)
+    @Description("External change reload, save and reload of a pending spec, by the worker or the overflow pool")
+    @StackTrace(false)
+    static final class Process extends Event {
+        @Label("Spec") String spec;
+        @Label("Format") String format;
+        @Label("File Size") @DataAmount long fileSize;
+        @Label("Field Count") int fieldCount;
+        @Label("Overflow") @Description("Processed by the overflow pool as the spec is slow") boolean overflow;
+
+        void commit(ConfigSpec spec, boolean overflow) {
+            this.end();
+            if (!this.shouldCommit()) return;
+            this.spec = spec.name();
+            this.format = spec.format().id();
+            this.fileSize = spec.stampSize();
+            this.fieldCount = spec.metrics().getFieldCount();
+            this.overflow = overflow;
+            this.commit();
+        }
+    }
+
+    @Name("me.srrapero720.waterconfig.Panic")
+    @Label("Panic")
+    @Category(CATEGORY)
+    @Description("The overflow pool was saturated for too long, the I/O was shut down and pending changes are lost")
+    static final class Panic extends Event {
+        @Label("Overflow Active") int overflowActive;
+        @Label("Lost Specs") @Description("Specs with unsaved changes") int lostSpecs;
+    }
+
+    @Name("me.srrapero720.waterconfig.ValidationReset")
+    @Label("Validation Reset")
+    @Category(CATEGORY)
+    @Description("A field value was invalid and the field was reset to the default value")
+    @StackTrace(false)
+    static final class ValidationReset extends Event {
+        @Label("Spec") String spec;
+        @Label("Format") String format;
+        @Label("Field") String field;
+
+        static void emit(ConfigSpec spec, IConfigField<?, ?> field) {
+            final ValidationReset event = new ValidationReset();
+            if (!event.shouldCommit()) return;
+            event.spec = spec.name();
+            event.format = spec.format().id();
+            event.field = field.id();
+            event.commit();
+        }
+    }
+}
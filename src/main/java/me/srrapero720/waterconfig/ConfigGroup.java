@@ -1,17 +1,28 @@
 package me.srrapero720.waterconfig;
 
+import me.srrapero720.waterconfig.api.FieldChange;
 import me.srrapero720.waterconfig.api.IConfigField;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
 
 public sealed class ConfigGroup implements IConfigField<Void, Void> permits ConfigSpec {
     public final String name;
     public final ConfigGroup group;
     Set<String> comments = new LinkedHashSet<>();
     Set<IConfigField<?, ?>> fields = new LinkedHashSet<>();
+    private String id;
+    private String path;
+    // CHANGE SUBSCRIPTIONS, COPIED ON WRITE
+    private volatile ConfigChanges.Subscription[] subscriptions = NO_SUBSCRIPTIONS;
+    private static final ConfigChanges.Subscription[] NO_SUBSCRIPTIONS = new ConfigChanges.Subscription[0];
 
     public ConfigGroup(String name, ConfigGroup group) {
         this.name = name;
@@ -30,26 +41,60 @@ public sealed class ConfigGroup implements IConfigField<Void, Void> permits Conf
             return null;
         }
 
-        // STRIP THE ID
-        int specSeparator = id.indexOf(":");
-        String specId = specSeparator != -1 ? id.substring(0, specSeparator) : null;
-        String path = specSeparator != -1 ? id.substring(specSeparator + 1) : id;
+        final ConfigSpec spec = this.spec();
+        ConfigGroup from = this;
+        String path = id;
 
-        // CHECK IF THE ID ITS OF ANOTHER SPEC (GO TO HELL)
-        if (specId != null && !specId.equals(this.spec().id())) {
-            return null;
+        // STRIP THE ID, IDS WITH THE SPEC ARE ALWAYS FROM THE SPEC ROOT
+        int specSeparator = id.indexOf(':');
+        if (specSeparator != -1) {
+            // CHECK IF THE ID ITS OF ANOTHER SPEC (GO TO HELL)
+            if (specSeparator != spec.name().length() || !id.startsWith(spec.name())) {
+                return null;
+            }
+            path = id.substring(specSeparator + 1);
+            from = spec;
+        }
+
+        // HASHED LOOKUP ONCE THE SPEC IS BUILT
+        if (spec.index != null) {
+            return spec.index.get(from == spec ? path : from.groupPath() + "." + path);
         }
 
-        // STRIP THE PATH
-        String[] parts = path.split("\\.");
+        return from.scan(path);
+    }
+
+    /**
+     * Finds a field and checks its value type, the returned field can be stored to skip any further lookup.
+     * Primitive types match the field of the boxed type, e.g. {@code int.class} provides the {@link me.srrapero720.waterconfig.impl.fields.IntField}
+     * @param id field path relative to this group or the full field id
+     * @param type value type of the field
+     * @return the field
+     * @throws IllegalArgumentException when the field is not found or is not of the requested type
+     */
+    @SuppressWarnings("unchecked")
+    public <T> IConfigField<T, ?> handle(String id, Class<T> type) {
+        final IConfigField<?, ?> field = this.findField(id);
+        if (field == null || field instanceof ConfigGroup) {
+            throw new IllegalArgumentException("Field '" + id + "' was not found in '" + this.id() + "'");
+        }
+        if (!Tools.toBoxed(type).isAssignableFrom(field.type())) {
+            throw new IllegalArgumentException("Field '" + field.id() + "' is of type '" + field.type().getName() + "' but '" + type.getName() + "' was requested");
+        }
+        return (IConfigField<T, ?>) field;
+    }
 
-        // RUN FROM THIS
+    /**
+     * Linear lookup, used while the spec is not built yet
+     */
+    private IConfigField<?, ?> scan(String path) {
         ConfigGroup current = this;
+        int start = 0;
 
         // ITERATE ALL ID PARTS
-        for (int i = 0; i < parts.length; i++) {
-            String part = parts[i];
-            boolean isLast = i == parts.length - 1;
+        while (true) {
+            final int end = path.indexOf('.', start);
+            final String part = end == -1 ? path.substring(start) : path.substring(start, end);
 
             // LOOKUP FOR THE PART
             IConfigField<?, ?> field = null;
@@ -66,25 +111,121 @@ public sealed class ConfigGroup implements IConfigField<Void, Void> permits Conf
             }
 
             // IF WAS LAST, RETURN IT
-            if (isLast) {
+            if (end == -1) {
                 return field;
             }
 
             // NEXT LEVEL
             if (field instanceof ConfigGroup group) {
                 current = group;
+                start = end + 1;
             } else {
                 return null; // MALFORMED ID
             }
         }
+    }
 
-        return null;
+    /**
+     * Path of the group from the spec, without the spec id
+     */
+    String groupPath() {
+        if (this.path == null) {
+            this.path = this.group instanceof ConfigSpec || this.group == null ? this.name : this.group.groupPath() + "." + this.name;
+        }
+        return this.path;
     }
 
     public void markDirty(IConfigField<?, ?> field) {
         this.spec().markDirty(field);
     }
 
+    /**
+     * Publishes the change of the field to the change subscribers, only called when the value is different
+     */
+    public void markChanged(IConfigField<?, ?> field) {
+        this.spec().markChanged(field);
+    }
+
+    /**
+     * @return true when the spec has change subscribers
+     */
+    public boolean hasSubscribers() {
+        return this.spec().subscribers.get() != 0;
+    }
+
+    /**
+     * Notifies the field value was invalid and is being reset to the default value
+     */
+    public void markInvalid(IConfigField<?, ?> field) {
+        this.spec().markInvalid(field);
+    }
+
+    /**
+     * Changes of the fields of this group and its subgroups, delivered on the common pool
+     * @see #changes(Executor)
+     */
+    public Flow.Publisher<FieldChange> changes() {
+        return this.changes(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Changes of the fields of this group and its subgroups, including the changes made by loads.
+     * Each subscriber keeps only the latest value of each changed field until it requests more changes,
+     * so slow subscribers never build a queue. Subscribers are completed when the spec is unloaded
+     * @param executor executor delivering the changes, use {@link WaterConfig#virtualThreads()} to deliver on virtual threads
+     * @return the publisher
+     */
+    public Flow.Publisher<FieldChange> changes(Executor executor) {
+        return new ConfigChanges(this, Objects.requireNonNull(executor, "Executor cannot be null"));
+    }
+
+    synchronized void subscribe(ConfigChanges.Subscription subscription) {
+        final ConfigChanges.Subscription[] current = this.subscriptions;
+        final ConfigChanges.Subscription[] subscriptions = Arrays.copyOf(current, current.length + 1);
+        subscriptions[current.length] = subscription;
+        this.subscriptions = subscriptions;
+        this.spec().subscribers.incrementAndGet();
+    }
+
+    synchronized void unsubscribe(ConfigChanges.Subscription subscription) {
+        final ConfigChanges.Subscription[] current = this.subscriptions;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] != subscription) continue;
+            final ConfigChanges.Subscription[] subscriptions = new ConfigChanges.Subscription[current.length - 1];
+            System.arraycopy(current, 0, subscriptions, 0, i);
+            System.arraycopy(current, i + 1, subscriptions, i, current.length - i - 1);
+            this.subscriptions = subscriptions;
+            this.spec().subscribers.decrementAndGet();
+            return;
+        }
+    }
+
+    void publish(IConfigField<?, ?> field) {
+        for (ConfigChanges.Subscription subscription: this.subscriptions) {
+            subscription.offer(field);
+        }
+    }
+
+    /**
+     * Completes the change subscribers of this group and its subgroups
+     */
+    void completeChanges() {
+        for (ConfigChanges.Subscription subscription: this.subscriptions) {
+            subscription.complete();
+        }
+        for (IConfigField<?, ?> field: this.fields) {
+            if (field instanceof ConfigGroup group) group.completeChanges();
+        }
+    }
+
+    @Override
+    public String id() {
+        if (this.id == null) {
+            this.id = IConfigField.super.id();
+        }
+        return this.id;
+    }
+
     @Override
     public String name() {
         return this.name;
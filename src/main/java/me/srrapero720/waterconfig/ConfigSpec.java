@@ -1,17 +1,36 @@
 package me.srrapero720.waterconfig;
 
+import me.srrapero720.waterconfig.api.ICodec;
 import me.srrapero720.waterconfig.api.IConfigField;
 import me.srrapero720.waterconfig.api.formats.IFormatCodec;
+import me.srrapero720.waterconfig.api.formats.IFormatPullReader;
+import me.srrapero720.waterconfig.api.formats.IFormatPullReader.Event;
 import me.srrapero720.waterconfig.api.formats.IFormatReader;
 import me.srrapero720.waterconfig.api.formats.IFormatWriter;
+import me.srrapero720.waterconfig.impl.codecs.*;
 import me.srrapero720.waterconfig.impl.fields.*;
+import me.srrapero720.waterconfig.impl.formats.BINFormat;
 import me.srrapero720.waterconfig.impl.formats.special.MathEvaluator;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.function.Predicate;
+import java.util.zip.CRC32;
 
 import static me.srrapero720.waterconfig.WaterConfigRegistry.FORMATS;
 
@@ -52,21 +71,72 @@ public final class ConfigSpec extends ConfigGroup {
     private static final String COMMENT_PATH_HARD_FAIL = "Hard fail";
     private static final String COMMENT_PATH_SOFT_FAIL = "Soft fail";
 
+    // SCHEDULING
+    public static final long DEFAULT_DEBOUNCE = 500;
+    public static final long DEFAULT_MAX_DELAY = 5000;
+
+    // BINARY CACHE OF THE CONFIG FILE
+    private static final BINFormat SNAPSHOT = new BINFormat();
+    private static final VarHandle DIRTY;
+
+    static {
+        try {
+            DIRTY = MethodHandles.lookup().findVarHandle(ConfigSpec.class, "dirty", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final IFormatCodec format;
     private final String suffix;
     private final Path filePath;
-    // TODO: I need to revisit this, the idea was optimize writing just the needed value in the written indexes, but that will cause a lot of headaches
-    private final Set<IConfigField<?, ?>> dirtyFields = new LinkedHashSet<>();
+    // VALUE FIELDS BY ORDINAL AND ONE DIRTY BIT PER ORDINAL, CREATED ON BUILD
+    private BaseConfigField<?, ?>[] ordinals;
+    private AtomicLongArray dirtyBits;
+    // VALUE OFFSETS IN THE FILE, USED TO PATCH ONLY THE DIRTY VALUES. ONLY VALID WHILE THE FILE MATCHES THE STAMP
+    private final Map<IConfigField<?, ?>, int[]> spans = new IdentityHashMap<>();
+    // COMPILED MATH EXPRESSIONS OF THE LAST LOAD, REUSED WHILE THE FIELD TEXT IS THE SAME
+    private final Map<IConfigField<?, ?>, MathEvaluator.Expression> expressions = new IdentityHashMap<>();
+    // MATH FIELDS REFERENCING OTHER FIELDS, NULL WHEN NONE. REBUILT ON EACH LOAD
+    private volatile ConfigDependencies dependencies;
+    // CHANGE SUBSCRIPTIONS OF THE SPEC AND ITS GROUPS, CHANGES ARE ONLY PUBLISHED WHEN THERE IS ANY
+    final AtomicInteger subscribers = new AtomicInteger();
+    private final SpecMetrics metrics = new SpecMetrics(this);
+    private volatile long dirtySince; // FIRST CHANGE SINCE THE LAST SAVE, WRITTEN BY THE MARKING THREAD
+    private long flushSince; // FIRST CHANGE OF THE FIELDS BEING SAVED
+    private volatile Map<IConfigField<?, ?>, MathEvaluator.Expression> linking; // ONLY WHILE LOADING
+    private List<IConfigField<?, ?>> resets; // FIELDS RESET BY THE VALIDATION, ONLY WHILE LOADING
+    private boolean spansStale;
+    private long stampSize = -1;
+    private FileTime stampTime;
+    private long stampHash = -1; // ONLY WHILE WATCHING
+    private volatile boolean externalChange;
+    private final String id;
+    // FULL PATH (WITHOUT SPEC ID) TO FIELD, CREATED ON BUILD
+    Map<String, IConfigField<?, ?>> index;
     private final int backups;
-    // Not volatile by design: delayed cross-thread visibility is acceptable for a config library.
-    // The worker thread polls on a time gap, so a few milliseconds of staleness is meaningless.
-    boolean dirty;
+    // LOAD WALKING THE FILE IN ORDER WITH THE FORMAT PULL READER, INSTEAD OF INDEXING IT
+    private boolean streaming;
+    // LOAD FROM A BINARY SNAPSHOT NEXT TO THE FILE WHILE THE FILE IS NOT CHANGED
+    private boolean snapshot;
+    // SCHEDULING: CHANGES ARE WRITTEN AFTER THE DEBOUNCE WITHOUT CHANGES, OR AFTER THE MAX DELAY SINCE THE FIRST CHANGE
+    private long debounce = TimeUnit.MILLISECONDS.toNanos(DEFAULT_DEBOUNCE);
+    private long maxDelay = TimeUnit.MILLISECONDS.toNanos(DEFAULT_MAX_DELAY);
+    private volatile boolean pending;
+    // WRITTEN BY THE CHANGING THREADS, READ BY THE WORKER
+    private volatile long pendingSince;
+    private volatile long lastChange;
+    private volatile long notBefore;
+    // RAISED AFTER THE DIRTY BITS, CLEARED BEFORE DRAINING THEM
+    volatile boolean dirty;
     boolean loaded;
     boolean reload;
     volatile boolean slow;
+    final CompletableFuture<ConfigSpec> loading = new CompletableFuture<>();
 
     private ConfigSpec(String name, IFormatCodec format, String suffix, Path path, int backups) {
         super(name, null);
+        this.id = name + ":";
         this.format = format;
         this.suffix = suffix;
         this.filePath = path;
@@ -76,18 +146,180 @@ public final class ConfigSpec extends ConfigGroup {
 
     @Override
     public String id() {
-        return this.name() + ":";
+        return this.id;
+    }
+
+    @Override
+    public ConfigSpec spec() {
+        return this;
+    }
+
+    @Override
+    String groupPath() {
+        return "";
     }
 
     public void markDirty(IConfigField<?, ?> field) {
         if (field.spec() != this)
             throw new IllegalArgumentException("ConfigField requires to be updated by the intended spec");
-        this.dirtyFields.add(field);
+        // FIELDS WITHOUT ORDINAL (SPEC NOT BUILT) ONLY RAISE THE FLAG, SAVED WITH THE WHOLE FILE
+        final AtomicLongArray bits = this.dirtyBits;
+        if (bits != null && field instanceof BaseConfigField<?, ?> f && f.ordinal() >= 0) {
+            setBit(bits, f.ordinal());
+        }
+        if (!this.dirty && DIRTY.compareAndSet(this, false, true)) {
+            this.dirtySince = System.nanoTime();
+        }
+        // EVALUATING THE DEPENDENTS MARKS THEM TOO
+        final ConfigDependencies dependencies = this.dependencies;
+        if (dependencies != null) {
+            dependencies.changed(field);
+        }
+        this.signal();
+    }
+
+    @Override
+    public void markChanged(IConfigField<?, ?> field) {
+        if (this.subscribers.get() != 0) {
+            for (ConfigGroup group = field.group(); group != null; group = group.group) {
+                group.publish(field);
+            }
+        }
+    }
+
+    /**
+     * Takes the dirty fields clearing each word of the bitset at once, changes made while saving are kept for the next save
+     * @return the fields marked since the last drain, in definition order
+     */
+    private IConfigField<?, ?>[] drainDirty() {
+        // FLAG FIRST, A MARK RACING THE DRAIN RAISES IT AGAIN
+        this.flushSince = this.dirtySince;
+        this.dirty = false;
+        final AtomicLongArray bits = this.dirtyBits;
+        if (bits == null) {
+            return new IConfigField<?, ?>[0];
+        }
+
+        final long[] words = new long[bits.length()];
+        int count = 0;
+        for (int i = 0; i < words.length; i++) {
+            if (bits.get(i) == 0) continue;
+            words[i] = bits.getAndSet(i, 0);
+            count += Long.bitCount(words[i]);
+        }
+
+        final IConfigField<?, ?>[] fields = new IConfigField<?, ?>[count];
+        int index = 0;
+        for (int i = 0; i < words.length; i++) {
+            for (long word = words[i]; word != 0; word &= word - 1) {
+                fields[index++] = this.ordinals[(i << 6) + Long.numberOfTrailingZeros(word)];
+            }
+        }
+        return fields;
+    }
+
+    private void restoreDirty(IConfigField<?, ?>[] fields) {
+        final AtomicLongArray bits = this.dirtyBits;
+        for (IConfigField<?, ?> field: fields) {
+            if (bits != null && field instanceof BaseConfigField<?, ?> f && f.ordinal() >= 0) {
+                setBit(bits, f.ordinal());
+            }
+        }
         this.dirty = true;
     }
 
-    Set<IConfigField<?, ?>> dirtyFields() {
-        return this.dirtyFields;
+    /**
+     * Sets the bit with a single CAS when uncontended, bits already set cost a plain read
+     */
+    private static void setBit(AtomicLongArray bits, int ordinal) {
+        final int word = ordinal >>> 6;
+        final long mask = 1L << ordinal;
+        long current;
+        while (((current = bits.get(word)) & mask) == 0) {
+            if (bits.compareAndSet(word, current, current | mask)) return;
+        }
+    }
+
+    /**
+     * Drops the dirty fields without saving them
+     */
+    void clearDirty() {
+        this.drainDirty();
+    }
+
+    /**
+     * Schedules the spec on the worker, only the first change since the last process wakes it up
+     */
+    private void signal() {
+        final long now = System.nanoTime();
+        this.lastChange = now;
+        if (!this.pending) {
+            this.pendingSince = now;
+            this.pending = true;
+            WaterConfig.wakeup();
+        }
+    }
+
+    boolean isPending() {
+        return this.pending;
+    }
+
+    /**
+     * Clears the pending state, must be called before processing so changes made while processing signals again
+     */
+    void unpend() {
+        this.pending = false;
+        this.notBefore = 0;
+    }
+
+    /**
+     * Reschedules the spec, used to retry failed saves or reloads
+     * @param delay nanos to wait before the next process
+     */
+    void defer(long delay) {
+        this.notBefore = System.nanoTime() + delay;
+        this.signal();
+    }
+
+    /**
+     * Time when the spec must be processed
+     * @return {@link System#nanoTime()} deadline
+     */
+    long deadline() {
+        final long deadline = Math.min(this.lastChange + this.debounce, this.pendingSince + this.maxDelay);
+        return this.notBefore != 0 && this.notBefore - deadline > 0 ? this.notBefore : deadline;
+    }
+
+    /**
+     * Time without changes before writing to disk, bursts of changes are collapsed into a single write
+     * @return debounce in milliseconds
+     */
+    public long debounce() {
+        return TimeUnit.NANOSECONDS.toMillis(this.debounce);
+    }
+
+    /**
+     * Max time a change waits to be written to disk, even if the spec keeps changing
+     * @return max delay in milliseconds
+     */
+    public long maxDelay() {
+        return TimeUnit.NANOSECONDS.toMillis(this.maxDelay);
+    }
+
+    /**
+     * Loads walk the file in order with the format pull reader, without indexing it
+     * @return true when the spec loads streaming, formats without a pull reader always loads indexed
+     */
+    public boolean streaming() {
+        return this.streaming;
+    }
+
+    /**
+     * Loads read a binary snapshot of the file kept next to it while the file size, modification time and hash match
+     * @return true when the spec keeps a snapshot
+     */
+    public boolean snapshot() {
+        return this.snapshot;
     }
 
     public Path path() {
@@ -110,20 +342,52 @@ public final class ConfigSpec extends ConfigGroup {
         return this.dirty;
     }
 
+    /**
+     * Load, save and validation metrics of the spec, also registered as a JMX MBean while the spec is registered
+     */
+    public SpecMetrics metrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Notifies the field value was invalid and is being reset to the default value
+     */
+    @Override
+    public void markInvalid(IConfigField<?, ?> field) {
+        this.metrics.validationReset();
+        ConfigEvents.ValidationReset.emit(this, field);
+        final List<IConfigField<?, ?>> resets = this.resets;
+        if (resets != null) {
+            synchronized (resets) {
+                resets.add(field);
+            }
+        }
+    }
+
     public boolean isLoaded() {
         return this.loaded;
     }
 
+    /**
+     * Load of the spec when registered
+     * @return future completed with this spec when loaded, exceptionally when the load fails
+     */
+    public CompletableFuture<ConfigSpec> loadFuture() {
+        return this.loading.copy();
+    }
+
     public boolean isReload() {
         return this.reload;
     }
 
     public void setReload(boolean reload) {
         this.reload = reload;
+        if (reload) this.signal();
     }
 
     public void setDirty(boolean dirty) {
         this.dirty = dirty;
+        if (dirty) this.signal(); // THE WORKER ONLY VISITS PENDING SPECS
     }
 
     boolean isSlow() {
@@ -139,14 +403,137 @@ public final class ConfigSpec extends ConfigGroup {
         if (!this.filePath.toFile().exists()) {
             return false;
         }
-        try (IFormatReader reader = this.format.createReader(this.filePath)) {
-            this.load(this, reader);
-        }
+        this.spans.clear();
+        this.spansStale = false;
+        final long start = System.nanoTime();
+        final ConfigEvents.Load event = new ConfigEvents.Load();
+        event.begin();
+        this.stamp(); // BEFORE READING, ANY CHANGE WHILE READING INVALIDATES THE SPANS
+
+        // REFERENCES ARE EVALUATED ONCE ALL VALUES ARE LOADED
+        this.dependencies = null;
+        final Map<IConfigField<?, ?>, MathEvaluator.Expression> linking = this.linking = new IdentityHashMap<>();
+        final List<IConfigField<?, ?>> resets = this.resets = new ArrayList<>();
+        try {
+            if (this.snapshot && this.loadSnapshot()) {
+                this.link(linking);
+                this.loaded(resets);
+                final long size = Files.size(this.snapshotPath());
+                this.metrics.loaded(System.nanoTime() - start, size);
+                event.commit(this, size, true, true);
+                this.loaded = true;
+                this.reload = false;
+                return true;
+            }
+
+            final IFormatPullReader pullReader = this.streaming ? this.format.createPullReader(this.filePath) : null;
+            if (pullReader != null) {
+                try (pullReader) {
+                    this.load(pullReader, true);
+                }
+            } else {
+                try (IFormatReader reader = this.format.createReader(this.filePath)) {
+                    this.load(this, reader);
+                    this.spans(this, reader);
+                }
+            }
+            this.link(linking);
+            this.loaded(resets);
+        } catch (IOException | RuntimeException e) {
+            this.metrics.loadFailed();
+            event.commit(this, this.stampSize, false, false);
+            throw e;
+        } finally {
+            if (this.linking == linking) this.linking = null; // A CONCURRENT LOAD MAY OWN IT
+            this.resets = null;
+        }
+        this.metrics.loaded(System.nanoTime() - start, this.stampSize);
+        event.commit(this, this.stampSize, false, true);
         this.loaded = true;
         this.reload = false;
+        this.writeSnapshot();
         return true;
     }
 
+    /**
+     * Drops the dirty fields marked by the load, the values are the ones of the file. Fields reset by the
+     * validation are marked again so the next save writes the default value over the invalid one
+     */
+    private void loaded(List<IConfigField<?, ?>> resets) {
+        this.clearDirty();
+        this.dirtySince = 0;
+        synchronized (resets) {
+            if (!resets.isEmpty()) {
+                this.restoreDirty(resets.toArray(new IConfigField<?, ?>[0]));
+                this.dirtySince = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Builds the dependency graph of the loaded references and evaluates the referencing fields
+     * @throws IllegalArgumentException on unknown or cyclic references of a field using strict math
+     */
+    private void link(Map<IConfigField<?, ?>, MathEvaluator.Expression> linking) {
+        final ConfigDependencies dependencies = ConfigDependencies.of(this, linking);
+        if (dependencies != null) {
+            dependencies.evaluateAll();
+            this.dependencies = dependencies;
+        }
+    }
+
+    /**
+     * Loads the values from the snapshot when it was taken from the current file, spans are read from the file on the next patch
+     * @return false when the snapshot is missing, outdated or broken
+     */
+    private boolean loadSnapshot() {
+        try (IFormatReader reader = SNAPSHOT.createReader(this.snapshotPath(), this.stampSize, this.stampTime.toMillis(), this.contentHash())) {
+            if (reader == null) {
+                return false;
+            }
+            this.load(this, reader);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[WaterConfig] Ignoring snapshot of spec '" + this.name() + "': " + e.getMessage());
+            return false;
+        }
+        this.spansStale = this.patchable();
+        return true;
+    }
+
+    /**
+     * Writes the current values as the snapshot of the file, must be called after stamping the file.
+     * Failures only cost a text load on the next startup
+     */
+    private void writeSnapshot() {
+        if (!this.snapshot) {
+            return;
+        }
+
+        final Path path = this.snapshotPath();
+        final Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            try (IFormatWriter writer = SNAPSHOT.createWriter(temp, this.stampSize, this.stampTime.toMillis(), this.contentHash())) {
+                writer.push(this.name());
+                this.save(this, writer);
+                writer.pop();
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[WaterConfig] Failed to write snapshot of spec '" + this.name() + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return size of the file when it was last read or written, 0 when it never was
+     */
+    long stampSize() {
+        return Math.max(this.stampSize, 0);
+    }
+
+    Path snapshotPath() {
+        return this.filePath.resolveSibling(this.filePath.getFileName() + SNAPSHOT.extension());
+    }
+
     private void load(ConfigGroup group, IFormatReader reader) {
         for (IConfigField<?, ?> field: group.getFields()) {
             if (field instanceof ConfigGroup g) {
@@ -159,30 +546,254 @@ public final class ConfigSpec extends ConfigGroup {
             if (field instanceof CollectionField<?,?> collectionField) {
                 String[] values = reader.readArray(field.name());
                 if (values != null) {
-                    Object[] parsedValues = WaterConfig.tryParse(values, field.type(), field.subType());
-                    if (parsedValues != null && Tools.requireNotNull(parsedValues)) {
-                        collectionField.setArray(parsedValues);
-                    }
+                    this.loadArray(collectionField, values);
                 }
-            } else {
+            } else if (!this.loadPrimitive(field, reader)) {
                 String value = reader.read(field.name());
                 if (value != null) {
-                    if (field instanceof BaseNumberField<?> numberField && numberField.math()) {
-                        String evaluated = MathEvaluator.tryEvaluate(value, numberField.strictMath());
-                        if (evaluated != null) {
-                            value = evaluated;
-                        } else {
-                            field.reset();
-                            continue;
-                        }
+                    field.set0(WaterConfig.tryParse(codecOf(field), value, field.type(), field.subType()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Merge-join of the file and the spec tree: events are walked in file order and each key is matched
+     * against the fields of the current group, files written by the spec follow the spec order so most
+     * lookups are a single compare. Only the current group and the array being read are kept in memory
+     * @param values false to only collect the spans of the values
+     */
+    private void load(IFormatPullReader reader, boolean values) throws IOException {
+        Join join = new Join(this, null);
+        int skipped = 0; // DEPTH INSIDE GROUPS THE SPEC DOESN'T HAVE
+        IConfigField<?, ?> field = null;
+        List<String> array = null;
+
+        for (Event event = reader.next(); event != Event.END; event = reader.next()) {
+            switch (event) {
+                case GROUP_START -> {
+                    if (skipped == 0 && join.field(reader.name()) instanceof ConfigGroup group) {
+                        join = new Join(group, join);
+                    } else {
+                        skipped++;
+                    }
+                }
+                case GROUP_END -> {
+                    if (skipped > 0) skipped--;
+                    else if (join.parent != null) join = join.parent;
+                }
+                case KEY -> {
+                    field = skipped == 0 ? join.field(reader.name()) : null;
+                    if (field instanceof ConfigGroup) field = null;
+                }
+                case SCALAR -> {
+                    if (field != null && !(field instanceof CollectionField<?, ?>)) {
+                        if (values) this.loadValue(field, reader.value());
+                        final int[] span = reader.span();
+                        if (span != null) this.spans.put(field, span);
                     }
-                    field.set0(WaterConfig.tryParse(value, field.type(), field.subType()));
+                    field = null;
+                }
+                case ARRAY_START -> array = field instanceof CollectionField<?, ?> ? new ArrayList<>() : null;
+                case ARRAY_VALUE -> {
+                    if (array != null && values) array.add(reader.value());
                 }
+                case ARRAY_END -> {
+                    if (array != null) {
+                        if (values) this.loadArray((CollectionField<?, ?>) field, array.toArray(new String[0]));
+                        final int[] span = reader.span();
+                        if (span != null) this.spans.put(field, span);
+                    }
+                    array = null;
+                    field = null;
+                }
+                default -> {} // COMMENTS
             }
         }
     }
 
+    private void loadArray(CollectionField<?, ?> field, String[] values) {
+        Object[] parsedValues = WaterConfig.tryParse(codecOf(field), values, field.type(), field.subType());
+        if (parsedValues != null && Tools.requireNotNull(parsedValues)) {
+            field.setArray(parsedValues);
+        }
+    }
+
+    private void loadValue(IConfigField<?, ?> field, String value) {
+        if (!this.loadPrimitive(field, value)) {
+            field.set0(WaterConfig.tryParse(codecOf(field), value, field.type(), field.subType()));
+        }
+    }
+
+    /**
+     * Loads number, boolean and char fields without boxing, invalid values resets the field
+     * @return false when the field is not a primitive field
+     */
+    private boolean loadPrimitive(IConfigField<?, ?> field, IFormatReader reader) {
+        final String name = field.name();
+        if ((field instanceof BaseNumberField<?> numberField && numberField.math()) || field instanceof ShortField || field instanceof ByteField || field instanceof CharField) {
+            final String value = reader.read(name);
+            return value == null || this.loadPrimitive(field, value);
+        }
+        if (!(field instanceof IntField || field instanceof LongField || field instanceof DoubleField || field instanceof FloatField || field instanceof BooleanField)) {
+            return false;
+        }
+        if (!reader.has(name)) {
+            return true; // MISSING KEYS KEEP THE CURRENT VALUE, NOTHING IS SET NOR PUBLISHED
+        }
+
+        try {
+            if (field instanceof IntField f) f.setInt(reader.readInt(name, f.getAsInt()));
+            else if (field instanceof LongField f) f.setLong(reader.readLong(name, f.getAsLong()));
+            else if (field instanceof DoubleField f) f.setDouble(reader.readDouble(name, f.getAsDouble()));
+            else if (field instanceof FloatField f) f.setFloat(reader.readFloat(name, f.getAsFloat()));
+            else if (field instanceof BooleanField f) f.setBoolean(reader.readBoolean(name, f.getAsBoolean()));
+
+            field.validate();
+        } catch (IllegalArgumentException e) { // INCLUDES NumberFormatException
+            resetInvalid(field);
+        }
+        return true;
+    }
+
+    /**
+     * Loads number, boolean and char fields from the value text without boxing, invalid values resets the field
+     * @return false when the field is not a primitive field
+     */
+    private boolean loadPrimitive(IConfigField<?, ?> field, String value) {
+        if (field instanceof BaseNumberField<?> numberField && numberField.math()) {
+            this.loadMath(numberField, value);
+            return true;
+        }
+
+        try {
+            if (field instanceof IntField f) f.setInt(IntCodec.decodeInt(value));
+            else if (field instanceof LongField f) f.setLong(LongCodec.decodeLong(value));
+            else if (field instanceof DoubleField f) f.setDouble(DoubleCodec.decodeDouble(value));
+            else if (field instanceof FloatField f) f.setFloat(FloatCodec.decodeFloat(value));
+            else if (field instanceof ShortField f) f.setShort(ShortCodec.decodeShort(value));
+            else if (field instanceof ByteField f) f.setByte(ByteCodec.decodeByte(value));
+            else if (field instanceof BooleanField f) f.setBoolean(Boolean.parseBoolean(value));
+            else if (field instanceof CharField f) f.setChar(CharCodec.decodeChar(value));
+            else return false;
+
+            field.validate();
+        } catch (IllegalArgumentException e) { // INCLUDES NumberFormatException
+            resetInvalid(field);
+        }
+        return true;
+    }
+
+    /**
+     * Loads a math enabled number field evaluating the compiled expression straight into the field,
+     * invalid expressions and results resets the field. Expressions with references are evaluated after the load
+     * @throws IllegalArgumentException on invalid expressions when the field uses strict math
+     */
+    private void loadMath(BaseNumberField<?> field, String value) {
+        MathEvaluator.Expression expression = this.expressions.get(field);
+        if (expression == null || !expression.text().equals(value)) {
+            try {
+                expression = MathEvaluator.compile(value);
+                this.expressions.put(field, expression);
+            } catch (IllegalArgumentException e) {
+                this.expressions.remove(field);
+                if (field.strictMath()) throw e;
+                resetInvalid(field);
+                return;
+            }
+        }
+
+        final Map<IConfigField<?, ?>, MathEvaluator.Expression> linking = this.linking;
+        if (expression.hasReferences() && linking != null) {
+            linking.put(field, expression);
+            return;
+        }
+        evaluate(field, expression, MathEvaluator.Resolver.NONE);
+    }
+
+    /**
+     * Evaluates the expression straight into the field, invalid results resets the field
+     */
+    static void evaluate(BaseNumberField<?> field, MathEvaluator.Expression expression, MathEvaluator.Resolver resolver) {
+        try {
+            if (field instanceof IntField f) f.setInt(toInt(expression.evaluateLong(resolver), Integer.MIN_VALUE, Integer.MAX_VALUE));
+            else if (field instanceof LongField f) f.setLong(expression.evaluateLong(resolver));
+            else if (field instanceof DoubleField f) f.setDouble(expression.evaluateDouble(resolver));
+            else if (field instanceof FloatField f) f.setFloat(expression.evaluateFloat(resolver));
+            else if (field instanceof ShortField f) f.setShort((short) toInt(expression.evaluateLong(resolver), Short.MIN_VALUE, Short.MAX_VALUE));
+            else if (field instanceof ByteField f) f.setByte((byte) toInt(expression.evaluateLong(resolver), Byte.MIN_VALUE, Byte.MAX_VALUE));
+            else field.set0(WaterConfig.tryParse(codecOf(field), expression.evaluate(resolver), field.type(), field.subType()));
+
+            field.validate();
+        } catch (IllegalArgumentException e) { // INCLUDES NumberFormatException
+            resetInvalid(field);
+        }
+    }
+
+    /**
+     * @return the expression referencing other fields the field follows, null when the value is set
+     */
+    private MathEvaluator.Expression expression(IConfigField<?, ?> field) {
+        final ConfigDependencies dependencies = this.dependencies;
+        return dependencies == null ? null : dependencies.expression(field);
+    }
+
+    /**
+     * Resets the field after an invalid value, counted on the spec metrics
+     */
+    static void resetInvalid(IConfigField<?, ?> field) {
+        field.group().markInvalid(field);
+        field.reset();
+    }
+
+    private static int toInt(long value, int min, int max) {
+        if (value < min || value > max) {
+            throw new NumberFormatException("Value " + value + " is out of range");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Codec bound on build, fields built before the codecs were registered are bound on first use
+     */
+    private static ICodec<?> codecOf(IConfigField<?, ?> field) {
+        if (!(field instanceof BaseConfigField<?, ?> f)) return null;
+        if (f.codec() == null) bindCodec(f);
+        return f.codec();
+    }
+
+    private static void bindCodec(BaseConfigField<?, ?> field) {
+        final Class<?> type = field instanceof CollectionField<?, ?> ? field.subType() : field.type();
+        if (type != null && type != String.class) {
+            field.bindCodec(WaterConfigRegistry.codecOf(type));
+        }
+    }
+
     void save() throws IOException {
+        final IConfigField<?, ?>[] fields = this.drainDirty();
+        final long start = System.nanoTime();
+        final ConfigEvents.Save event = new ConfigEvents.Save();
+        event.begin();
+        try {
+            if (!this.patch(fields)) {
+                this.write();
+            }
+        } catch (IOException | RuntimeException e) {
+            this.restoreDirty(fields);
+            this.metrics.saveFailed();
+            event.commit(this, fields.length, false);
+            throw e;
+        }
+
+        final long end = System.nanoTime();
+        this.metrics.saved(end - start);
+        event.commit(this, fields.length, true);
+        if (fields.length != 0) {
+            this.metrics.flushed(end - this.flushSince);
+        }
+    }
+
+    private void write() throws IOException {
         try (IFormatWriter writer = this.format.createWriter(this.filePath)) {
             for (String c : this.comments()) {
                 writer.write(c);
@@ -191,6 +802,237 @@ public final class ConfigSpec extends ConfigGroup {
             this.save(this, writer);
             writer.pop();
         }
+
+        // SPANS ARE READ AGAIN ON THE NEXT PATCH, ONLY WHEN THE FILE WASN'T TOUCHED AND THE FORMAT CAN PATCH
+        this.spans.clear();
+        this.spansStale = this.patchable();
+        this.stamp();
+        this.metrics.written(this.stampSize);
+        this.writeSnapshot();
+    }
+
+    private boolean patchable() {
+        return this.format.encodeArray(new String[0], String.class) != null;
+    }
+
+    /**
+     * Replaces only the dirty values in the existing file, keeping the user formatting and comments.
+     * The file must not be changed since the last load or save, all value fields must be in the file,
+     * and the format must support patching, otherwise nothing is written.
+     * @return true when the file is up to date, false when a full save is required
+     */
+    private boolean patch(IConfigField<?, ?>[] fields) throws IOException {
+        if (fields.length == 0 || !this.isStamped()) {
+            return false;
+        }
+
+        if (this.spansStale) {
+            this.spansStale = false;
+            try {
+                this.spans();
+            } catch (IOException | RuntimeException e) {
+                this.spans.clear();
+                return false;
+            }
+        }
+
+        // FIELDS MISSING ON THE FILE (ADDED BY AN UPGRADE OR DELETED BY HAND) ARE ONLY WRITTEN BY A FULL SAVE
+        if (this.ordinals == null || this.spans.size() < this.ordinals.length) {
+            return false;
+        }
+        for (BaseConfigField<?, ?> field: this.ordinals) {
+            if (!this.spans.containsKey(field)) return false;
+        }
+
+        // SPANS ARE BYTE OFFSETS
+        final byte[] content = Files.readAllBytes(this.filePath);
+
+        // COLLECT THE CHANGED VALUES
+        final List<int[]> targets = new ArrayList<>(fields.length);
+        final Map<int[], byte[]> replacements = new IdentityHashMap<>(fields.length);
+        for (IConfigField<?, ?> field: fields) {
+            final int[] span = this.spans.get(field);
+            if (span == null || span[1] > content.length) {
+                return false;
+            }
+
+            final String encoded = this.encode(field);
+            if (encoded == null) {
+                return false;
+            }
+
+            final byte[] value = encoded.getBytes(StandardCharsets.UTF_8);
+            if (!Arrays.equals(content, span[0], span[1], value, 0, value.length)) {
+                targets.add(span);
+                replacements.put(span, value);
+            }
+        }
+
+        if (targets.isEmpty()) {
+            return true;
+        }
+
+        // SPLICE IN FILE ORDER
+        targets.sort(Comparator.comparingInt(span -> span[0]));
+        final int[] starts = new int[targets.size()];
+        final int[] shifts = new int[targets.size() + 1];
+        for (int i = 0; i < targets.size(); i++) {
+            final int[] span = targets.get(i);
+            starts[i] = span[0];
+            shifts[i + 1] = shifts[i] + replacements.get(span).length - (span[1] - span[0]);
+        }
+
+        final byte[] result = new byte[content.length + shifts[targets.size()]];
+        int last = 0, pos = 0;
+        for (int[] span: targets) {
+            final byte[] value = replacements.get(span);
+            System.arraycopy(content, last, result, pos, span[0] - last);
+            pos += span[0] - last;
+            System.arraycopy(value, 0, result, pos, value.length);
+            pos += value.length;
+            last = span[1];
+        }
+        System.arraycopy(content, last, result, pos, content.length - last);
+        Files.write(this.filePath, result);
+        this.metrics.written(result.length);
+
+        // MOVE THE SPANS AFTER EACH REPLACED VALUE
+        for (int[] span: this.spans.values()) {
+            int before = Arrays.binarySearch(starts, span[0]);
+            final boolean replaced = before >= 0 && targets.get(before) == span;
+            if (before < 0) before = -before - 1;
+            span[0] += shifts[before];
+            span[1] = replaced ? span[0] + replacements.get(span).length : span[1] + shifts[before];
+        }
+
+        this.stamp();
+        this.writeSnapshot();
+        return true;
+    }
+
+    private String encode(IConfigField<?, ?> field) {
+        final MathEvaluator.Expression expression = this.expression(field);
+        if (expression != null) {
+            return this.format.encodeValue(expression.text().trim(), String.class);
+        }
+        if (field instanceof ListField<?> listField) {
+            return this.format.encodeArray(WaterConfig.tryEncode(codecOf(field), listField.get().toArray(), field.type(), field.subType()), field.subType());
+        } else if (field instanceof ArrayField<?> arrayField) {
+            return this.format.encodeArray(WaterConfig.tryEncode(codecOf(field), arrayField.get(), field.type(), field.subType()), field.subType());
+        } else {
+            return this.format.encodeValue(WaterConfig.tryEncode(codecOf(field), field.get(), field.subType()), field.type());
+        }
+    }
+
+    /**
+     * Reads the spans of the values without loading them
+     */
+    private void spans() throws IOException {
+        final IFormatPullReader pullReader = this.streaming ? this.format.createPullReader(this.filePath) : null;
+        if (pullReader != null) {
+            try (pullReader) {
+                this.load(pullReader, false);
+            }
+            return;
+        }
+
+        try (IFormatReader reader = this.format.createReader(this.filePath)) {
+            this.spans(this, reader);
+        }
+    }
+
+    private void spans(ConfigGroup group, IFormatReader reader) {
+        for (IConfigField<?, ?> field: group.getFields()) {
+            if (field instanceof ConfigGroup g) {
+                reader.push(g.name());
+                this.spans(g, reader);
+                reader.pop();
+                continue;
+            }
+
+            final int[] span = reader.span(field.name());
+            if (span != null) {
+                this.spans.put(field, span);
+            }
+        }
+    }
+
+    private void stamp() throws IOException {
+        this.stampSize = Files.size(this.filePath);
+        this.stampTime = Files.getLastModifiedTime(this.filePath);
+        this.stampHash = WaterConfig.isWatching() ? hash(this.filePath) : -1;
+    }
+
+    /**
+     * Hash of the file at the last stamp, computed when the stamp has none
+     */
+    private long contentHash() throws IOException {
+        return this.stampHash != -1 ? this.stampHash : hash(this.filePath);
+    }
+
+    private static long hash(Path path) throws IOException {
+        // STREAMED, THE FILE IS NOT COPIED TO THE HEAP
+        final CRC32 crc = new CRC32();
+        final ByteBuffer buffer = ByteBuffer.allocate(8 * 1024);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                crc.update(buffer.flip());
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Flags the file as changed outside, invoked by the watcher. The worker checks the file on the next process
+     */
+    void externalChange() {
+        this.externalChange = true;
+        this.signal();
+    }
+
+    boolean hasExternalChange() {
+        return this.externalChange;
+    }
+
+    /**
+     * Consumes the watcher flag, checking if the file was changed by something else than this spec
+     * @return true when the file must be reloaded
+     */
+    boolean consumeExternalChange() throws IOException {
+        if (!this.externalChange) return false;
+        this.externalChange = false;
+        return this.isModified();
+    }
+
+    /**
+     * Checks the file against the last load or save of this spec, size and modification time first, then the content hash.
+     * While watching the hash is checked even when size and time match, a same size edit within the same modification
+     * time tick of the stamp is only seen by the hash
+     * @return true when the file was modified by something else than this spec, deleted files are written again on the next save
+     */
+    boolean isModified() throws IOException {
+        if (!Files.exists(this.filePath)) {
+            return false;
+        }
+        if (this.isStamped()) {
+            if (this.stampHash == -1 || hash(this.filePath) == this.stampHash) {
+                return false;
+            }
+            this.stampTime = null; // SPANS NO LONGER MATCH THE FILE
+            return true;
+        }
+        if (this.stampHash != -1 && Files.size(this.filePath) == this.stampSize && hash(this.filePath) == this.stampHash) {
+            this.stamp(); // TOUCHED BUT NOT CHANGED, SPANS ARE STILL VALID
+            return false;
+        }
+        return true;
+    }
+
+    private boolean isStamped() throws IOException {
+        return this.stampTime != null && Files.exists(this.filePath)
+                && Files.size(this.filePath) == this.stampSize
+                && Files.getLastModifiedTime(this.filePath).equals(this.stampTime);
     }
 
     private void save(ConfigGroup group, IFormatWriter writer) {
@@ -277,12 +1119,16 @@ public final class ConfigSpec extends ConfigGroup {
                 }
 
 
-                if (field instanceof ListField<?> listField) {
-                    writer.write(field.name(), WaterConfig.tryEncode(listField.get().toArray(), field.type(), field.subType()), field.type(), field.subType());
+                final MathEvaluator.Expression expression = this.expression(field);
+                if (expression != null) {
+                    // REFERENCES ARE KEPT AS TEXT, THE VALUE FOLLOWS THE REFERENCED FIELDS ON THE NEXT LOAD
+                    writer.write(field.name(), expression.text().trim(), String.class, null);
+                } else if (field instanceof ListField<?> listField) {
+                    writer.write(field.name(), WaterConfig.tryEncode(codecOf(field), listField.get().toArray(), field.type(), field.subType()), field.type(), field.subType());
                 } else if (field instanceof ArrayField<?> arrayField) {
-                    writer.write(field.name(), WaterConfig.tryEncode(arrayField.get(), field.type(), field.subType()), field.type(), field.subType());
+                    writer.write(field.name(), WaterConfig.tryEncode(codecOf(field), arrayField.get(), field.type(), field.subType()), field.type(), field.subType());
                 } else {
-                    writer.write(field.name(), WaterConfig.tryEncode(field.get(), field.subType()), field.type(), field.subType());
+                    writer.write(field.name(), WaterConfig.tryEncode(codecOf(field), field.get(), field.subType()), field.type(), field.subType());
                 }
             } catch (Exception e) {
                 throw new RuntimeException("Failed to save field '" + field.id() + "' in config spec '" + this.name() + "'", e);
@@ -290,6 +1136,44 @@ public final class ConfigSpec extends ConfigGroup {
         }
     }
 
+    /**
+     * Cursor over the fields of a group in spec order for the streaming load
+     */
+    private static final class Join {
+        final ConfigGroup group;
+        final Join parent;
+        private final IConfigField<?, ?>[] fields;
+        private int next; // FIELD EXPECTED NEXT
+        private Map<String, Integer> positions; // BUILT ON THE FIRST OUT OF ORDER KEY
+
+        Join(ConfigGroup group, Join parent) {
+            this.group = group;
+            this.parent = parent;
+            this.fields = group.fields.toArray(new IConfigField<?, ?>[0]);
+        }
+
+        IConfigField<?, ?> field(String name) {
+            // FILE IN SPEC ORDER
+            if (this.next < this.fields.length && this.fields[this.next].name().equals(name)) {
+                return this.fields[this.next++];
+            }
+
+            // REORDERED, MISSING OR UNKNOWN KEY. THE CURSOR FOLLOWS THE FILE FROM THE FIELD FOUND,
+            // SO THE KEYS AFTER IT ARE IN ORDER AGAIN
+            if (this.positions == null) {
+                this.positions = new HashMap<>((int) (this.fields.length / 0.75F) + 1);
+                for (int i = 0; i < this.fields.length; i++) {
+                    this.positions.put(this.fields[i].name(), i);
+                }
+            }
+            final Integer position = this.positions.get(name);
+            if (position == null) {
+                return null;
+            }
+            this.next = position + 1;
+            return this.fields[position];
+        }
+    }
 
     public static final class SpecBuilder {
         private final ConfigSpec spec;
@@ -423,6 +1307,46 @@ public final class ConfigSpec extends ConfigGroup {
             return new CustomFieldBuilder<>(name, this.active, defaultValue, type, subType);
         }
 
+        /**
+         * Sets the time without changes before writing the spec to disk
+         * @param millis debounce in milliseconds, 0 writes on the next worker tick
+         */
+        public SpecBuilder debounce(long millis) {
+            if (millis < 0) throw new IllegalArgumentException("Debounce cannot be negative");
+            this.spec.debounce = TimeUnit.MILLISECONDS.toNanos(millis);
+            return this;
+        }
+
+        /**
+         * Sets the max time a change waits to be written, even when the spec keeps changing
+         * @param millis max delay in milliseconds
+         */
+        public SpecBuilder maxDelay(long millis) {
+            if (millis < 0) throw new IllegalArgumentException("Max delay cannot be negative");
+            this.spec.maxDelay = TimeUnit.MILLISECONDS.toNanos(millis);
+            return this;
+        }
+
+        /**
+         * Loads the spec walking the file in order with the format pull reader instead of indexing the whole file,
+         * values are set as they are read. Formats without a pull reader ignore it
+         * @param streaming true to load streaming
+         */
+        public SpecBuilder streaming(boolean streaming) {
+            this.spec.streaming = streaming;
+            return this;
+        }
+
+        /**
+         * Keeps a binary snapshot next to the config file, loads read the snapshot instead of parsing the file
+         * while the file size, modification time and hash match the ones of the snapshot. Binary specs ignore it
+         * @param snapshot true to keep a snapshot
+         */
+        public SpecBuilder snapshot(boolean snapshot) {
+            this.spec.snapshot = snapshot && !(this.spec.format instanceof BINFormat);
+            return this;
+        }
+
         public SpecBuilder comments(String... comments) {
             this.active.comments.addAll(Arrays.asList(comments));
             return this;
@@ -469,8 +1393,29 @@ public final class ConfigSpec extends ConfigGroup {
         public ConfigSpec build() {
             this.spec.fields = Collections.unmodifiableSet(this.spec.fields);
             this.spec.comments = Collections.unmodifiableSet(this.spec.comments);
+            final Map<String, IConfigField<?, ?>> index = new HashMap<>();
+            final List<BaseConfigField<?, ?>> ordinals = new ArrayList<>();
+            bind(this.spec, "", index, ordinals);
+            this.spec.index = index;
+            this.spec.ordinals = ordinals.toArray(new BaseConfigField<?, ?>[0]);
+            this.spec.dirtyBits = new AtomicLongArray((ordinals.size() + 63) >>> 6);
             return spec;
         }
+
+        private static void bind(ConfigGroup group, String prefix, Map<String, IConfigField<?, ?>> index, List<BaseConfigField<?, ?>> ordinals) {
+            for (IConfigField<?, ?> field: group.getFields()) {
+                final String path = prefix.isEmpty() ? field.name() : prefix + "." + field.name();
+                index.put(path, field);
+                if (field instanceof ConfigGroup g) {
+                    bind(g, path, index, ordinals);
+                } else if (field instanceof BaseConfigField<?, ?> f) {
+                    bindCodec(f);
+                    f.bindHandle();
+                    f.bindOrdinal(ordinals.size());
+                    ordinals.add(f);
+                }
+            }
+        }
     }
 
     public static non-sealed class CustomFieldBuilder<T, S> extends BaseFieldBuilder<CustomFieldBuilder<T, S>, BaseConfigField<T, S>> {
@@ -0,0 +1,122 @@
+package me.srrapero720.waterconfig;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches the config directory tree with a single {@link WatchService} thread, changes on spec files are
+ * flagged to the spec and checked by the worker, which ignores the writes made by the spec itself.
+ */
+final class ConfigWatcher {
+    // SPEC FILES, TRACKED SINCE THE SPEC IS LOADED EVEN WHEN NOT WATCHING
+    private static final Map<Path, ConfigSpec> FILES = new ConcurrentHashMap<>();
+    private static final Map<WatchKey, Path> DIRECTORIES = new ConcurrentHashMap<>();
+
+    private static WatchService SERVICE;
+    private static Thread THREAD;
+
+    private ConfigWatcher() {}
+
+    static void track(ConfigSpec spec) {
+        FILES.put(normalize(spec.path()), spec);
+    }
+
+    static void untrack(ConfigSpec spec) {
+        FILES.remove(normalize(spec.path()), spec);
+    }
+
+    static synchronized boolean isRunning() {
+        return THREAD != null;
+    }
+
+    static synchronized void start(Path root) throws IOException {
+        if (THREAD != null) return;
+
+        final Path dir = normalize(root);
+        Files.createDirectories(dir);
+        final WatchService service = dir.getFileSystem().newWatchService();
+        try {
+            registerTree(service, dir);
+        } catch (IOException e) {
+            service.close();
+            DIRECTORIES.clear();
+            throw e;
+        }
+
+        SERVICE = service;
+        THREAD = new Thread(() -> run(service), "WaterConfig-Watcher");
+        THREAD.setDaemon(true);
+        THREAD.start();
+    }
+
+    static synchronized void stop() {
+        if (THREAD == null) return;
+        try {
+            SERVICE.close(); // THREAD EXITS ON THE CLOSED SERVICE
+        } catch (IOException e) {
+            System.err.println("[WaterConfig] Failed to close file watcher: " + e.getMessage());
+        }
+        THREAD = null;
+        SERVICE = null;
+        DIRECTORIES.clear();
+    }
+
+    private static void run(WatchService service) {
+        while (true) {
+            final WatchKey key;
+            try {
+                key = service.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            final Path dir = DIRECTORIES.get(key);
+            for (WatchEvent<?> event: key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    // EVENTS WERE LOST, LET EACH SPEC CHECK ITS FILE
+                    FILES.values().forEach(ConfigSpec::externalChange);
+                    continue;
+                }
+                if (dir == null) continue;
+
+                final Path file = dir.resolve((Path) event.context());
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(file, LinkOption.NOFOLLOW_LINKS)) {
+                    try {
+                        registerTree(service, file);
+                    } catch (IOException | ClosedWatchServiceException e) {
+                        System.err.println("[WaterConfig] Failed to watch directory '" + file + "': " + e.getMessage());
+                    }
+                    continue;
+                }
+
+                final ConfigSpec spec = FILES.get(file);
+                if (spec != null) {
+                    spec.externalChange();
+                }
+            }
+
+            if (!key.reset()) {
+                DIRECTORIES.remove(key);
+            }
+        }
+    }
+
+    private static void registerTree(WatchService service, Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                DIRECTORIES.put(dir.register(service, ENTRY_CREATE, ENTRY_MODIFY), dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private static Path normalize(Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+}
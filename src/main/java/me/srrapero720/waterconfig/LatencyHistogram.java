@@ -0,0 +1,77 @@
+package me.srrapero720.waterconfig;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations with power of two buckets, recording is a few atomic adds without allocation.
+ * Percentiles are the upper bound of the bucket, accurate within a factor of 2 which is enough to spot I/O stalls.
+ */
+public final class LatencyHistogram {
+    // BUCKET 0 COUNTS ZERO, BUCKET N COUNTS [2^(N-1), 2^N) NANOS
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        this.buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(nanos));
+        this.count.increment();
+        this.total.add(nanos);
+        this.max.accumulateAndGet(nanos, Math::max);
+    }
+
+    public long count() {
+        return this.count.sum();
+    }
+
+    public long totalNanos() {
+        return this.total.sum();
+    }
+
+    public long maxNanos() {
+        return this.max.get();
+    }
+
+    public long meanNanos() {
+        final long count = this.count();
+        return count == 0 ? 0 : this.totalNanos() / count;
+    }
+
+    /**
+     * @param percentile percentile between 0 and 100
+     * @return upper bound of the bucket holding the percentile, capped by the max. 0 when nothing was recorded
+     */
+    public long percentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100 but was " + percentile);
+        }
+        final long[] buckets = this.buckets();
+        long count = 0;
+        for (long bucket: buckets) count += bucket;
+        if (count == 0) return 0;
+
+        final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.min(i == 0 ? 0 : (1L << i) - 1, this.maxNanos());
+            }
+        }
+        return this.maxNanos();
+    }
+
+    /**
+     * @return the counts of each bucket, bucket N counts the durations between 2^(N-1) and 2^N - 1 nanos
+     */
+    public long[] buckets() {
+        final long[] buckets = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = this.buckets.get(i);
+        return buckets;
+    }
+}
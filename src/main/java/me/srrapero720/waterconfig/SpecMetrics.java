@@ -0,0 +1,183 @@
+package me.srrapero720.waterconfig;
+
+import me.srrapero720.waterconfig.api.IConfigField;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load and save metrics of a spec, recorded by the spec without locks nor allocations.
+ * Loads include the snapshot loads, bytes are the bytes of the config file (or snapshot) read and written
+ */
+public final class SpecMetrics implements SpecMetricsMXBean {
+    private final ConfigSpec spec;
+    private final LatencyHistogram load = new LatencyHistogram();
+    private final LatencyHistogram save = new LatencyHistogram();
+    private final LatencyHistogram flushDelay = new LatencyHistogram();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder validationResets = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder saveFailures = new LongAdder();
+    private int fieldCount = -1;
+
+    SpecMetrics(ConfigSpec spec) {
+        this.spec = spec;
+    }
+
+    void loaded(long nanos, long bytes) {
+        this.load.record(nanos);
+        this.bytesRead.add(bytes);
+    }
+
+    void saved(long nanos) {
+        this.save.record(nanos);
+    }
+
+    void written(long bytes) {
+        this.bytesWritten.add(bytes);
+    }
+
+    void flushed(long delay) {
+        this.flushDelay.record(delay);
+    }
+
+    void validationReset() {
+        this.validationResets.increment();
+    }
+
+    void loadFailed() {
+        this.loadFailures.increment();
+    }
+
+    void saveFailed() {
+        this.saveFailures.increment();
+    }
+
+    /**
+     * Parse and apply time of each load
+     */
+    public LatencyHistogram loadLatency() {
+        return this.load;
+    }
+
+    /**
+     * Encode and write time of each save, patched or full
+     */
+    public LatencyHistogram saveLatency() {
+        return this.save;
+    }
+
+    /**
+     * Time from the first change to the save writing it
+     */
+    public LatencyHistogram flushDelay() {
+        return this.flushDelay;
+    }
+
+    @Override
+    public String getName() {
+        return this.spec.name();
+    }
+
+    @Override
+    public String getFormat() {
+        return this.spec.format().id();
+    }
+
+    @Override
+    public int getFieldCount() {
+        if (this.fieldCount == -1 && this.spec.index != null) {
+            int count = 0;
+            for (IConfigField<?, ?> field: this.spec.index.values()) {
+                if (!(field instanceof ConfigGroup)) count++;
+            }
+            this.fieldCount = count;
+        }
+        return Math.max(this.fieldCount, 0);
+    }
+
+    @Override
+    public boolean isSlow() {
+        return this.spec.isSlow();
+    }
+
+    @Override
+    public boolean isDirty() {
+        return this.spec.isDirty();
+    }
+
+    @Override
+    public long getLoads() {
+        return this.load.count();
+    }
+
+    @Override
+    public long getLoadMeanNanos() {
+        return this.load.meanNanos();
+    }
+
+    @Override
+    public long getLoadP99Nanos() {
+        return this.load.percentileNanos(99);
+    }
+
+    @Override
+    public long getLoadMaxNanos() {
+        return this.load.maxNanos();
+    }
+
+    @Override
+    public long getLoadFailures() {
+        return this.loadFailures.sum();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return this.bytesRead.sum();
+    }
+
+    @Override
+    public long getSaves() {
+        return this.save.count();
+    }
+
+    @Override
+    public long getSaveMeanNanos() {
+        return this.save.meanNanos();
+    }
+
+    @Override
+    public long getSaveP99Nanos() {
+        return this.save.percentileNanos(99);
+    }
+
+    @Override
+    public long getSaveMaxNanos() {
+        return this.save.maxNanos();
+    }
+
+    @Override
+    public long getSaveFailures() {
+        return this.saveFailures.sum();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return this.bytesWritten.sum();
+    }
+
+    @Override
+    public long getFlushDelayP99Nanos() {
+        return this.flushDelay.percentileNanos(99);
+    }
+
+    @Override
+    public long getFlushDelayMaxNanos() {
+        return this.flushDelay.maxNanos();
+    }
+
+    @Override
+    public long getValidationResets() {
+        return this.validationResets.sum();
+    }
+}
@@ -0,0 +1,50 @@
+package me.srrapero720.waterconfig;
+
+/**
+ * JMX view of the {@link SpecMetrics} of a spec, registered as {@code me.srrapero720.waterconfig:type=Spec,name=<spec>}
+ * while the spec is registered. Durations are in nanoseconds
+ */
+public interface SpecMetricsMXBean {
+    String getName();
+
+    String getFormat();
+
+    int getFieldCount();
+
+    boolean isSlow();
+
+    boolean isDirty();
+
+    // LOAD
+    long getLoads();
+
+    long getLoadMeanNanos();
+
+    long getLoadP99Nanos();
+
+    long getLoadMaxNanos();
+
+    long getLoadFailures();
+
+    long getBytesRead();
+
+    // SAVE
+    long getSaves();
+
+    long getSaveMeanNanos();
+
+    long getSaveP99Nanos();
+
+    long getSaveMaxNanos();
+
+    long getSaveFailures();
+
+    long getBytesWritten();
+
+    long getFlushDelayP99Nanos();
+
+    long getFlushDelayMaxNanos();
+
+    // VALUES
+    long getValidationResets();
+}
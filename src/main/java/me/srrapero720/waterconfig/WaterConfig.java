@@ -1,24 +1,37 @@
 package me.srrapero720.waterconfig;
 
 import me.srrapero720.waterconfig.api.ICodec;
+import me.srrapero720.waterconfig.api.IConfigField;
 import me.srrapero720.waterconfig.api.IComplexCodec;
 import me.srrapero720.waterconfig.api.annotations.Comment;
+import me.srrapero720.waterconfig.api.annotations.FieldEvent;
 import me.srrapero720.waterconfig.api.annotations.NumberConditions;
 import me.srrapero720.waterconfig.api.annotations.Spec;
 import me.srrapero720.waterconfig.api.annotations.StringConditions;
-
+import me.srrapero720.waterconfig.api.formats.IFormatCodec;
+import me.srrapero720.waterconfig.impl.fields.BaseConfigField;
+import me.srrapero720.waterconfig.impl.fields.FieldAccessorGenerator;
+import me.srrapero720.waterconfig.impl.formats.FormatTranscoder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
 
 import static me.srrapero720.waterconfig.WaterConfigRegistry.*;
-import static me.srrapero720.waterconfig.Tools.toBoxed;
 
 public class WaterConfig {
     public static final String ID = "waterconfig";
@@ -31,8 +44,40 @@ public class WaterConfig {
         t.setDaemon(true);
         return t;
     });
+    private static final int LOAD_THREADS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+    private static final ThreadPoolExecutor LOAD_POOL = new ThreadPoolExecutor(LOAD_THREADS, LOAD_THREADS, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+        var t = new Thread(r, "WaterConfig-Loader");
+        t.setDaemon(true);
+        return t;
+    });
     private static Thread RT_WORKER;
 
+    private static Executor VIRTUAL_THREADS;
+
+    static {
+        LOAD_POOL.allowCoreThreadTimeOut(true); // ONLY USED ON STARTUP
+    }
+
+    /**
+     * Executor running each task on a new virtual thread, meant for the change publishers of the specs.
+     * Runtimes without virtual threads get a cached pool of daemon threads instead
+     * @return the shared executor
+     */
+    public static synchronized Executor virtualThreads() {
+        if (VIRTUAL_THREADS == null) {
+            try {
+                VIRTUAL_THREADS = (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException e) {
+                VIRTUAL_THREADS = Executors.newCachedThreadPool(r -> {
+                    var t = new Thread(r, "WaterConfig-Changes");
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+        }
+        return VIRTUAL_THREADS;
+    }
+
     // ══════════════════════════════════════════════════════════
     //  LOOP SPECS — exclusive to the worker
     // ══════════════════════════════════════════════════════════
@@ -44,26 +89,59 @@ public class WaterConfig {
     private static final long SLOW_THRESHOLD_NS  = TimeUnit.SECONDS.toNanos(5);
     private static final long PANIC_THRESHOLD_NS = TimeUnit.SECONDS.toNanos(10);
     private static final int  OVERFLOW_LIMIT     = 3;
+    private static final long RETRY_DELAY_NS     = TimeUnit.SECONDS.toNanos(5);
+    private static final long PANIC_CHECK_NS     = TimeUnit.SECONDS.toNanos(1);
 
     private static final ExecutorService OVERFLOW_POOL = Executors.newFixedThreadPool(OVERFLOW_LIMIT, r -> {
         var t = new Thread(r, "WaterConfig-Overflow");
         t.setDaemon(true);
         return t;
     });
-    private static final Set<String> OVERFLOW_ACTIVE = ConcurrentHashMap.newKeySet();
+    static final Set<String> OVERFLOW_ACTIVE = ConcurrentHashMap.newKeySet();
     private static volatile boolean PANIC = false;
     private static volatile long overflowFullSince = 0;
 
+    // ══════════════════════════════════════════════════════════
+    //  METRICS
+    // ══════════════════════════════════════════════════════════
+    private static final String JMX_DOMAIN = "me.srrapero720.waterconfig";
+    private static final LatencyHistogram WORKER_LATENCY = new LatencyHistogram();
+    private static final Metrics METRICS = new Metrics();
+
     // FORMATS
     public static final String FORMAT_PROPERTIES = "properties";
     public static final String FORMAT_CFG = "cfg";
     public static final String FORMAT_JSON = "json";
     public static final String FORMAT_JSON5 = "json5";
     public static final String FORMAT_TOML = "toml";
+    public static final String FORMAT_BINARY = "bin";
 
     public static Path getPath() { return CONFIG_PATH; }
     public static void setPath(Path configPath) { CONFIG_PATH = configPath; }
 
+    /**
+     * Checks if the config directory is watched
+     * @return true when edits made outside are reloaded automatically
+     */
+    public static boolean isWatching() { return ConfigWatcher.isRunning(); }
+
+    /**
+     * Enables or disables the config directory watcher, edits made outside the library are reloaded after the spec debounce.
+     * Writes made by the specs are ignored. Disabled by default
+     * @param watching true to watch {@link #getPath()} and all the subdirectories
+     */
+    public static void setWatching(boolean watching) {
+        if (!watching) {
+            ConfigWatcher.stop();
+            return;
+        }
+        try {
+            ConfigWatcher.start(CONFIG_PATH);
+        } catch (IOException e) {
+            System.err.println("[WaterConfig] Failed to start file watcher on '" + CONFIG_PATH + "': " + e.getMessage());
+        }
+    }
+
     public static boolean isRegistered(String name) {
         synchronized (SPECS) {
             return SPECS.containsKey(name);
@@ -71,86 +149,191 @@ public class WaterConfig {
     }
 
     public static ConfigSpec register(ConfigSpec spec) {
+        return register(spec, IO_POOL);
+    }
+
+    public static ConfigSpec register(Class<?> clazz) {
+        return register(build(clazz));
+    }
+
+    public static ConfigSpec register(Object instance) {
+        return register(build(instance));
+    }
+
+    /**
+     * Registers all the specs loading them in parallel, specs are built in the calling thread.
+     * @param specs {@link ConfigSpec}, annotated spec classes or annotated spec instances
+     * @return future completed when all the specs are loaded, exceptionally when any spec fails
+     */
+    public static CompletableFuture<List<ConfigSpec>> registerAll(Object... specs) {
+        return registerAll(Arrays.asList(specs));
+    }
+
+    /**
+     * Registers all the specs loading them in parallel, specs are built in the calling thread.
+     * @param specs {@link ConfigSpec}, annotated spec classes or annotated spec instances
+     * @return future completed when all the specs are loaded, exceptionally when any spec fails
+     */
+    public static CompletableFuture<List<ConfigSpec>> registerAll(Collection<?> specs) {
+        final List<ConfigSpec> registered = new ArrayList<>(specs.size());
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[specs.size()];
+        for (Object instance: specs) {
+            final ConfigSpec spec = register(instance instanceof ConfigSpec s ? s : build(instance), LOAD_POOL);
+            futures[registered.size()] = spec.loading;
+            registered.add(spec);
+        }
+        return CompletableFuture.allOf(futures).thenApply(v -> Collections.unmodifiableList(registered));
+    }
+
+    public static ConfigSpec registerBlocking(Object instance) {
+        return await(register(instance));
+    }
+
+    public static ConfigSpec registerBlocking(Class<?> clazz) {
+        return await(register(clazz));
+    }
+
+    /**
+     * Converts a config file to another format, the converted file is written next to the source with the target extension.
+     * The file is converted as it is read, no spec is needed
+     * @param source file to convert
+     * @param from format id of the source file
+     * @param to format id of the converted file
+     * @return the converted file
+     * @throws IOException when the source can't be read or the target can't be written
+     */
+    public static Path transcode(Path source, String from, String to) throws IOException {
+        final IFormatCodec fromFormat = format(from), toFormat = format(to);
+        final String name = source.getFileName().toString();
+        final String base = name.endsWith(fromFormat.extension()) ? name.substring(0, name.length() - fromFormat.extension().length()) : name;
+        final Path target = source.resolveSibling(base + toFormat.extension());
+        FormatTranscoder.transcode(source, fromFormat, target, toFormat);
+        return target;
+    }
+
+    /**
+     * Converts all the files of a directory with the source extension to another format in parallel.
+     * Subdirectories are not included
+     * @param directory directory of the files to convert
+     * @param from format id of the source files
+     * @param to format id of the converted files
+     * @return future completed with the converted files, exceptionally when any file fails
+     */
+    public static CompletableFuture<List<Path>> transcodeAll(Path directory, String from, String to) {
+        final String extension = format(from).extension();
+        format(to); // FAIL BEFORE SUBMITTING ANYTHING
+        final List<Path> sources;
+        try (var files = Files.list(directory)) {
+            sources = files.filter(p -> Files.isRegularFile(p) && p.getFileName().toString().endsWith(extension)).sorted().toList();
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        final List<CompletableFuture<Path>> futures = new ArrayList<>(sources.size());
+        for (Path source: sources) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return transcode(source, from, to);
+                } catch (IOException e) {
+                    throw new CompletionException("Failed to transcode '" + source + "'", e);
+                }
+            }, LOAD_POOL));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> futures.stream().map(CompletableFuture::join).toList());
+    }
+
+    private static IFormatCodec format(String id) {
+        final IFormatCodec format = FORMATS.get(id);
+        if (format == null) {
+            throw new IllegalArgumentException("Unknown format '" + id + "'");
+        }
+        return format;
+    }
+
+    private static ConfigSpec register(ConfigSpec spec, Executor executor) {
         synchronized (SPECS) {
             SPECS.put(spec.name(), spec);
         }
+        registerMBean(spec.metrics(), "type=Spec,name=" + ObjectName.quote(spec.name()));
 
-        IO_POOL.submit(() -> {
+        executor.execute(() -> {
+            final ConfigEvents.Register event = new ConfigEvents.Register();
+            event.begin();
+            boolean created = false;
             try {
-                if (!spec.load()) spec.save();
+                if (!spec.load()) {
+                    created = true;
+                    spec.save();
+                }
+                event.commit(spec, created, true);
                 spec.loaded = true;
-                spec.dirty = false;
                 LOOP_SPECS.put(spec.name(), spec);
+                ConfigWatcher.track(spec);
+                wakeup(); // CHANGES MADE BEFORE JOINING THE LOOP DIDN'T WAKE THE WORKER
+                spec.loading.complete(spec);
             } catch (Exception e) {
+                event.commit(spec, created, false);
                 System.err.println("[WaterConfig] Failed to load spec '" + spec.name() + "': " + e.getMessage());
+                spec.loading.completeExceptionally(e);
             }
         });
 
         return spec;
     }
 
-    public static ConfigSpec register(Class<?> clazz) {
+    private static ConfigSpec await(ConfigSpec spec) {
+        try {
+            return spec.loading.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Thread was interrupted while waiting for config to load", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to load spec '" + spec.name() + "'", e.getCause());
+        }
+    }
+
+    private static ConfigSpec build(Class<?> clazz) {
         Objects.requireNonNull(clazz, "Spec class cannot be null");
 
         // RETRIEVE ANNOTATION
         final Spec spec = Tools.specOf(clazz);
-        ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder(spec.value(), FORMATS.get(spec.format()), spec.suffix(), spec.backups());
+        ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder(spec.value(), FORMATS.get(spec.format()), spec.suffix(), spec.backups())
+                .debounce(spec.debounce())
+                .maxDelay(spec.maxDelay())
+                .streaming(spec.streaming())
+                .snapshot(spec.snapshot());
 
         // ITERATE ALL CLASES
         register$iterateClass(clazz, clazz, builder, true);
-
-        // PUT ON OUR REGISTER
-        return register(builder.build());
+        return builder.build();
     }
 
-    public static ConfigSpec register(Object instance) {
+    private static ConfigSpec build(Object instance) {
         Objects.requireNonNull(instance, "Spec instance cannot be null");
 
         // RETRIEVE ANNOTATION
         if (instance instanceof Class<?> clazz) {
-            return register(clazz);
+            return build(clazz);
         }
         final Class<?> specClass = instance.getClass();
         final Spec spec = Tools.specOf(specClass);
 
         // BUILDER
-        ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder(spec.value(), FORMATS.get(spec.format()), spec.suffix(), spec.backups());
+        ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder(spec.value(), FORMATS.get(spec.format()), spec.suffix(), spec.backups())
+                .debounce(spec.debounce())
+                .maxDelay(spec.maxDelay())
+                .streaming(spec.streaming())
+                .snapshot(spec.snapshot());
 
         // ITERATE ALL CLASES
         register$iterateClass(instance, specClass, builder, false);
-
-        // PUT ON OUR REGISTER
-        return register(builder.build());
-    }
-
-    public static ConfigSpec registerBlocking(Object instance) {
-        ConfigSpec spec = register(instance);
-        while (!spec.isLoaded()) {
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Thread was interrupted while waiting for config to load", e);
-            }
-        }
-        return spec;
-    }
-
-    public static ConfigSpec registerBlocking(Class<?> clazz) {
-        ConfigSpec spec = register(clazz);
-        while (!spec.isLoaded()) {
-            try {
-                Thread.sleep(100);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw new RuntimeException("Thread was interrupted while waiting for config to load", e);
-            }
-        }
-        return spec;
+        return builder.build();
     }
 
     private static void register$iterateClass(Object instance, Class<?> specClass, ConfigSpec.SpecBuilder builder, boolean isStatic) {
         // FIRST, REGISTER ALL FIELDS
+        final List<IConfigField<?, ?>> classFields = new ArrayList<>();
         for (Field field: specClass.getDeclaredFields()) {
             if (isStatic != Modifier.isStatic(field.getModifiers())) continue; // IGNORE NOT MATCHING CONTEXT
             final Spec.Field specField = Tools.specFieldOf(field);
@@ -272,9 +455,15 @@ public class WaterConfig {
             }
 
             // END
-            fieldBuilder.end();
+            classFields.add(fieldBuilder.end());
         }
 
+        // SWITCH TO GENERATED ACCESSORS, KEEPS REFLECTION WHEN FAILS
+        FieldAccessorGenerator.generate(specClass, classFields);
+
+        // BIND THE LISTENERS OF THE FIELDS
+        register$bindEvents(instance, specClass, classFields, isStatic);
+
         // THEN, ITERATE CHILD CLASSES
         for (Class<?> clazz: specClass.getDeclaredClasses()) {
             final Spec spec = Tools.specOfWeak(clazz);
@@ -300,22 +489,50 @@ public class WaterConfig {
         }
     }
 
+    /**
+     * Binds the {@link FieldEvent} methods once as handles of the field listener type, so firing is a plain invokeExact
+     * @throws IllegalArgumentException when the field doesn't exist or the method cannot take its values
+     */
+    private static void register$bindEvents(Object instance, Class<?> specClass, List<IConfigField<?, ?>> classFields, boolean isStatic) {
+        MethodHandles.Lookup lookup = null;
+        for (Method method: specClass.getDeclaredMethods()) {
+            final FieldEvent event = method.getAnnotation(FieldEvent.class);
+            if (event == null || isStatic != Modifier.isStatic(method.getModifiers())) continue; // IGNORE NOT MATCHING CONTEXT
+
+            BaseConfigField<?, ?> target = null;
+            for (IConfigField<?, ?> field: classFields) {
+                if (field.name().equals(event.field()) && field instanceof BaseConfigField<?, ?> f) {
+                    target = f;
+                    break;
+                }
+            }
+            if (target == null) {
+                throw new IllegalArgumentException("Field '" + event.field() + "' listened by method '" + method.getName() + "' was not found in '" + specClass.getName() + "'");
+            }
+
+            final MethodType type = target.listenerType();
+            try {
+                if (lookup == null) lookup = MethodHandles.privateLookupIn(specClass, MethodHandles.lookup());
+                MethodHandle handle = lookup.unreflect(method);
+                if (!isStatic) handle = handle.bindTo(instance);
+                if (method.getParameterCount() == 1) handle = MethodHandles.dropArguments(handle, 0, handle.type().parameterType(0));
+                target.addListener(handle.asType(type), event.value());
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                throw new IllegalArgumentException("Method '" + method.getName() + "' cannot listen field '" + target.id() + "' as " + type, e);
+            }
+        }
+    }
+
     static String[] tryEncode(Object[] value, Class<?> type, Class<?> subType) {
+        return tryEncode(null, value, type, subType);
+    }
+
+    static String[] tryEncode(ICodec<?> bound, Object[] value, Class<?> type, Class<?> subType) {
         if (value instanceof String[] s) {
             return s;
         }
 
-        ICodec<Object> codec = (ICodec<Object>) CODECS.get(toBoxed(subType));
-
-        if (codec == null) {
-            for (ICodec<?> c: CODECS.values()) {
-                // SECOND ATTEMPT
-                if (c.type().isAssignableFrom(subType)) {
-                    codec = (ICodec<Object>) c;
-                    break;
-                }
-            }
-        }
+        ICodec<Object> codec = (ICodec<Object>) (bound != null ? bound : codecOf(subType));
 
         if (codec == null) {
             throw new IllegalArgumentException("Codec for type '" + value.getClass().getName() + "' was not founded");
@@ -338,31 +555,20 @@ public class WaterConfig {
     }
 
     static String tryEncode(Object value) {
-        return tryEncode(value, null);
+        return tryEncode(null, value, null);
     }
 
     static String tryEncode(Object value, Class<?> subType) {
+        return tryEncode(null, value, subType);
+    }
+
+    static String tryEncode(ICodec<?> bound, Object value, Class<?> subType) {
         if (value instanceof String s) {
             return s;
         }
 
-        ICodec<Object> codec = (ICodec<Object>) CODECS.get(toBoxed(value.getClass()));
-
-        if (codec == null) {
-            for (ICodec<?> c: CODECS.values()) {
-                // FIRST ATTEMPT
-                if (c.type().isInstance(value)) {
-                    codec = (ICodec<Object>) c;
-                    break;
-                }
-
-                // SECOND ATTEMPT
-                if (c.type().isAssignableFrom(value.getClass())) {
-                    codec = (ICodec<Object>) c;
-                    break;
-                }
-            }
-        }
+        // BOUND CODEC MAY NOT MATCH WHEN THE DECLARED TYPE IS TOO WIDE
+        ICodec<Object> codec = (ICodec<Object>) (bound != null && bound.type().isInstance(value) ? bound : codecOf(value.getClass()));
 
         if (codec == null) {
             throw new IllegalArgumentException("Codec for type '" + value.getClass().getName() + "' was not founded");
@@ -376,6 +582,10 @@ public class WaterConfig {
     }
 
     static <T, T2> T[] tryParse(String[] value, Class<T> type, Class<T2> subType) {
+        return tryParse(null, value, type, subType);
+    }
+
+    static <T, T2> T[] tryParse(ICodec<?> bound, String[] value, Class<T> type, Class<T2> subType) {
         if (value == null) {
             throw new NullPointerException("Value cannot be null");
         }
@@ -383,16 +593,7 @@ public class WaterConfig {
             return (T[]) value;
         }
 
-        ICodec<T> codec = (ICodec<T>) CODECS.get(toBoxed(subType));
-
-        if (codec == null) {
-            for (ICodec<?> c: CODECS.values()) {
-                if (c.type().isAssignableFrom(subType)) {
-                    codec = (ICodec<T>) c;
-                    break;
-                }
-            }
-        }
+        ICodec<T> codec = (ICodec<T>) (bound != null ? bound : codecOf(subType));
 
         if (codec == null)
             throw new IllegalArgumentException("Codec for type '" + type.getName() + "' with subType '" + subType.getName() + "' was not founded");
@@ -414,22 +615,15 @@ public class WaterConfig {
     }
 
     static <T, T2> T tryParse(String value, Class<T> type, Class<T2> type2) {
+        return tryParse(null, value, type, type2);
+    }
+
+    static <T, T2> T tryParse(ICodec<?> bound, String value, Class<T> type, Class<T2> type2) {
         if (type == String.class) {
             return (T) value;
         }
 
-
-        ICodec<T> codec = (ICodec<T>) CODECS.get(toBoxed(type));
-
-
-        if (codec == null) {
-            for (ICodec<?> c: CODECS.values()) {
-                if (c.type().isAssignableFrom(type)) {
-                    codec = (ICodec<T>) c;
-                    break;
-                }
-            }
-        }
+        ICodec<T> codec = (ICodec<T>) (bound != null ? bound : codecOf(type));
 
         if (codec == null)
             throw new IllegalArgumentException("Codec for type '" + type.getName() + "' was not founded");
@@ -440,82 +634,128 @@ public class WaterConfig {
         return codec.decode(value);
     }
 
+    /**
+     * Wakes up the worker, specs signals it when they become pending
+     */
+    static void wakeup() {
+        final Thread worker = RT_WORKER;
+        if (worker != null) LockSupport.unpark(worker);
+    }
+
     static void run() {
         while (!Thread.interrupted()) {
-            try {
-                if (PANIC) break;
+            if (PANIC) break;
 
-                for (ConfigSpec spec : LOOP_SPECS.values()) {
-                    if (PANIC) break;
-                    if (OVERFLOW_ACTIVE.contains(spec.name())) continue;
+            long now = System.nanoTime();
+            long park = Long.MAX_VALUE;
+            for (ConfigSpec spec : LOOP_SPECS.values()) {
+                if (PANIC) break;
+                if (!spec.isPending()) continue;
+                if (OVERFLOW_ACTIVE.contains(spec.name())) continue; // OVERFLOW WAKES US UP WHEN DONE
+
+                // WAIT FOR THE DEBOUNCE, BURSTS OF CHANGES ARE WRITTEN ONCE
+                final long wait = spec.deadline() - now;
+                if (wait > 0) {
+                    park = Math.min(park, wait);
+                    continue;
+                }
 
-                    boolean needsSave = spec.isDirty();
-                    boolean needsReload = spec.isReload();
-                    if (!needsSave && !needsReload) continue;
+                spec.unpend();
+                if (!spec.isDirty() && !spec.isReload() && !spec.hasExternalChange()) continue;
 
-                    if (spec.isSlow()) {
-                        overflowProcess(spec);
-                        continue;
+                if (spec.isSlow()) {
+                    if (!overflowProcess(spec)) {
+                        spec.defer(PANIC_CHECK_NS); // OVERFLOW IS FULL, KEEPS PENDING AND RETRIES
+                        park = Math.min(park, PANIC_CHECK_NS);
                     }
+                    continue;
+                }
 
-                    long start = System.nanoTime();
-                    doProcess(spec);
-                    long elapsed = System.nanoTime() - start;
+                long start = System.nanoTime();
+                doProcess(spec, false);
+                now = System.nanoTime();
+                WORKER_LATENCY.record(now - start);
 
-                    if (elapsed >= SLOW_THRESHOLD_NS) {
-                        spec.setSlow(true);
-                    }
+                if (now - start >= SLOW_THRESHOLD_NS) {
+                    spec.setSlow(true);
                 }
+            }
 
-                // Verificar pánico en cada tick, independiente de si algún spec slow necesitó trabajo
-                if (!OVERFLOW_ACTIVE.isEmpty()) {
-                    checkPanic();
-                } else {
-                    overflowFullSince = 0; // overflow vacío — resetear reloj
-                }
+            // Verificar pánico en cada tick, independiente de si algún spec slow necesitó trabajo
+            if (!OVERFLOW_ACTIVE.isEmpty()) {
+                checkPanic();
+                park = Math.min(park, PANIC_CHECK_NS);
+            } else {
+                overflowFullSince = 0; // overflow vacío — resetear reloj
+            }
 
-                if (!PANIC) Thread.sleep(5000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+            if (PANIC) break;
+
+            // IDLE WORKER PARKS UNTIL A SPEC SIGNALS
+            if (park == Long.MAX_VALUE) {
+                LockSupport.park();
+            } else {
+                LockSupport.parkNanos(park);
             }
         }
     }
 
+    private static void doProcess(ConfigSpec spec, boolean overflow) {
+        final ConfigEvents.Process event = new ConfigEvents.Process();
+        event.begin();
+        try {
+            doProcess(spec);
+        } finally {
+            event.commit(spec, overflow);
+        }
+    }
+
     private static void doProcess(ConfigSpec spec) {
+        try {
+            // EDITS MADE OUTSIDE WINS OVER PENDING CHANGES, RELOADED BEFORE SAVING
+            if (spec.consumeExternalChange()) {
+                spec.load();
+            }
+        } catch (Exception e) {
+            System.err.println("[WaterConfig] Reload failed for spec '" + spec.name() + "': " + e.getMessage());
+            spec.defer(RETRY_DELAY_NS);
+        }
+
         try {
             if (spec.isDirty()) {
-                spec.save();
-                // Limpiar DESPUÉS de que save() haya tenido éxito
-                spec.dirty = false;
-                spec.dirtyFields().clear();
+                spec.save(); // RESTORES THE DIRTY FIELDS WHEN FAILS
             }
         } catch (Exception e) {
-            // dirty sigue en true, dirtyFields intactos — retry natural en el siguiente tick
             System.err.println("[WaterConfig] Save failed for spec '" + spec.name() + "': " + e.getMessage());
+            spec.defer(RETRY_DELAY_NS);
         }
 
         try {
             if (spec.isReload()) {
+                spec.reload = false; // BEFORE LOADING, RELOADS REQUESTED WHILE LOADING ARE KEPT
                 spec.load();
-                // Limpiar DESPUÉS de que load() haya tenido éxito
-                spec.reload = false;
             }
         } catch (Exception e) {
-            // reload sigue en true — retry natural en el siguiente tick
             System.err.println("[WaterConfig] Reload failed for spec '" + spec.name() + "': " + e.getMessage());
+            spec.reload = true;
+            spec.defer(RETRY_DELAY_NS);
         }
     }
 
-    private static void overflowProcess(ConfigSpec spec) {
+    /**
+     * Processes the slow spec on the overflow pool
+     * @return false when the overflow is full and the spec was not taken
+     */
+    private static boolean overflowProcess(ConfigSpec spec) {
         if (OVERFLOW_ACTIVE.size() >= OVERFLOW_LIMIT) {
-            return; // lleno — el loop principal se encarga de verificar pánico
+            return false; // lleno — el loop principal se encarga de verificar pánico
         }
 
         OVERFLOW_ACTIVE.add(spec.name());
         OVERFLOW_POOL.submit(() -> {
             long start = System.nanoTime();
             try {
-                doProcess(spec);
+                doProcess(spec, true);
 
                 long elapsed = System.nanoTime() - start;
                 if (elapsed < SLOW_THRESHOLD_NS) {
@@ -523,8 +763,10 @@ public class WaterConfig {
                 }
             } finally {
                 OVERFLOW_ACTIVE.remove(spec.name());
+                wakeup(); // SPEC MAY BE PENDING AGAIN
             }
         });
+        return true;
     }
 
     private static void checkPanic() {
@@ -543,13 +785,20 @@ public class WaterConfig {
 
     private static void triggerPanic() {
         System.err.println("[WaterConfig] PANIC: I/O overflow saturated for 10s — emergency shutdown");
+        final ConfigEvents.Panic event = new ConfigEvents.Panic();
+        event.begin();
 
         // Solo loguear qué se pierde — NO intentar save, el I/O está muerto
+        int lost = 0;
         for (ConfigSpec spec : LOOP_SPECS.values()) {
             if (spec.isDirty()) {
+                lost++;
                 System.err.println("[WaterConfig] PANIC: spec '" + spec.name() + "' had unsaved changes (data lost)");
             }
         }
+        event.overflowActive = OVERFLOW_ACTIVE.size();
+        event.lostSpecs = lost;
+        event.commit();
 
         OVERFLOW_POOL.shutdownNow();
         IO_POOL.shutdownNow();
@@ -565,6 +814,9 @@ public class WaterConfig {
 
         // Remover del loop — el worker ya no lo toca
         LOOP_SPECS.remove(name);
+        unregisterMBean("type=Spec,name=" + ObjectName.quote(name));
+        ConfigWatcher.untrack(spec);
+        spec.completeChanges();
 
         // Save final en IO_POOL, pero esperar a que overflow termine primero si aplica
         IO_POOL.submit(() -> {
@@ -581,6 +833,7 @@ public class WaterConfig {
                     Thread.sleep(100);
                 }
 
+                spec.loading.handle((s, e) -> s).get(); // LOADED ON THE LOAD POOL WHEN REGISTERED IN BULK
                 if (spec.isDirty()) spec.save();
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
@@ -594,6 +847,8 @@ public class WaterConfig {
         if (RT_WORKER != null) return; // ya inicializado
         WaterConfigRegistry.init();
 
+        registerMBean(METRICS, "type=WaterConfig");
+
         RT_WORKER = new Thread(WaterConfig::run, "WaterConfig-Worker");
         RT_WORKER.setDaemon(true);
         RT_WORKER.start();
@@ -601,7 +856,96 @@ public class WaterConfig {
         Runtime.getRuntime().addShutdownHook(new Thread(WaterConfig::shutdown, "WaterConfig-Shutdown"));
     }
 
+    /**
+     * Global metrics of the worker and the overflow, also registered on JMX. Metrics of each spec are in {@link ConfigSpec#metrics()}
+     */
+    public static WaterConfigMXBean metrics() {
+        return METRICS;
+    }
+
+    /**
+     * Process time of each spec handled by the worker, specs handled by the overflow are not recorded
+     */
+    public static LatencyHistogram workerLatency() {
+        return WORKER_LATENCY;
+    }
+
+    private static void registerMBean(Object bean, String properties) {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(JMX_DOMAIN + ":" + properties);
+            if (server.isRegistered(name)) server.unregisterMBean(name); // RE-REGISTERED SPECS REPLACE THE OLD ONE
+            server.registerMBean(bean, name);
+        } catch (JMException | RuntimeException | LinkageError e) {
+            System.err.println("[WaterConfig] Failed to register metrics '" + properties + "' on JMX: " + e);
+        }
+    }
+
+    private static void unregisterMBean(String properties) {
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final ObjectName name = new ObjectName(JMX_DOMAIN + ":" + properties);
+            if (server.isRegistered(name)) server.unregisterMBean(name);
+        } catch (JMException | RuntimeException | LinkageError e) {
+            System.err.println("[WaterConfig] Failed to unregister metrics '" + properties + "' from JMX: " + e);
+        }
+    }
+
+    private static final class Metrics implements WaterConfigMXBean {
+        @Override
+        public boolean isPanic() {
+            return PANIC;
+        }
+
+        @Override
+        public int getSpecCount() {
+            synchronized (SPECS) {
+                return SPECS.size();
+            }
+        }
+
+        @Override
+        public int getSlowSpecs() {
+            int count = 0;
+            for (ConfigSpec spec: LOOP_SPECS.values()) {
+                if (spec.isSlow()) count++;
+            }
+            return count;
+        }
+
+        @Override
+        public int getOverflowActive() {
+            return OVERFLOW_ACTIVE.size();
+        }
+
+        @Override
+        public int getOverflowLimit() {
+            return OVERFLOW_LIMIT;
+        }
+
+        @Override
+        public long getWorkerProcesses() {
+            return WORKER_LATENCY.count();
+        }
+
+        @Override
+        public long getWorkerProcessMeanNanos() {
+            return WORKER_LATENCY.meanNanos();
+        }
+
+        @Override
+        public long getWorkerProcessP99Nanos() {
+            return WORKER_LATENCY.percentileNanos(99);
+        }
+
+        @Override
+        public long getWorkerProcessMaxNanos() {
+            return WORKER_LATENCY.maxNanos();
+        }
+    }
+
     static void shutdown() {
+        ConfigWatcher.stop();
         RT_WORKER.interrupt();
         try {
             RT_WORKER.join(3000);
@@ -620,6 +964,7 @@ public class WaterConfig {
         }
 
         IO_POOL.shutdown();
+        LOAD_POOL.shutdown();
         OVERFLOW_POOL.shutdown();
         LOOP_SPECS.clear();
         synchronized (SPECS) {
@@ -0,0 +1,27 @@
+package me.srrapero720.waterconfig;
+
+/**
+ * JMX view of the worker and the overflow, registered as {@code me.srrapero720.waterconfig:type=WaterConfig}
+ * on {@link WaterConfig#init()}. Durations are in nanoseconds
+ */
+public interface WaterConfigMXBean {
+    boolean isPanic();
+
+    int getSpecCount();
+
+    int getSlowSpecs();
+
+    // OVERFLOW
+    int getOverflowActive();
+
+    int getOverflowLimit();
+
+    // WORKER
+    long getWorkerProcesses();
+
+    long getWorkerProcessMeanNanos();
+
+    long getWorkerProcessP99Nanos();
+
+    long getWorkerProcessMaxNanos();
+}
@@ -14,6 +14,9 @@ public class WaterConfigRegistry {
     static final Map<Class<?>, ICodec<?>> CODECS = new HashMap<>();
     static final Map<String, IFormatCodec> FORMATS = new HashMap<>();
 
+    // CODEC LOOKUP INCLUDING SUBCLASSES AND ENUMS, RECREATED ON INIT TO DROP CACHED MISSES
+    private static ClassValue<ICodec<?>> CODEC_RESOLVER = new CodecResolver();
+
     // SPECS
     static final Map<String, ConfigSpec> SPECS = new HashMap<>();
 
@@ -26,5 +29,30 @@ public class WaterConfigRegistry {
 
         for (ICodec<?> c: ServiceLoader.load(ICodec.class))
             CODECS.put(c.type(), c);
+
+        CODEC_RESOLVER = new CodecResolver();
+    }
+
+    /**
+     * Resolves the codec of the type, when the type has no exact codec the first codec assignable from the type is used.
+     * Results are cached per type
+     * @param type the value type
+     * @return the codec or null when no codec can handle the type
+     */
+    static ICodec<?> codecOf(Class<?> type) {
+        return type == null ? null : CODEC_RESOLVER.get(type);
+    }
+
+    private static final class CodecResolver extends ClassValue<ICodec<?>> {
+        @Override
+        protected ICodec<?> computeValue(Class<?> type) {
+            final ICodec<?> codec = CODECS.get(Tools.toBoxed(type));
+            if (codec != null) return codec;
+
+            for (ICodec<?> c: CODECS.values()) {
+                if (c.type().isAssignableFrom(type)) return c;
+            }
+            return null;
+        }
     }
 }
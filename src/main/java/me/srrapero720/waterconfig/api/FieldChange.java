@@ -0,0 +1,16 @@
+package me.srrapero720.waterconfig.api;
+
+/**
+ * Change of a field delivered by the change publishers of specs and groups.
+ * Changes are conflated, the value is the latest value of the field when the change was delivered
+ * @param field the changed field
+ * @param value the field value
+ */
+public record FieldChange(IConfigField<?, ?> field, Object value) {
+    /**
+     * @return the full id of the changed field
+     */
+    public String id() {
+        return this.field.id();
+    }
+}
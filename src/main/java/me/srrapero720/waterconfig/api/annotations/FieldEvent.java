@@ -3,15 +3,21 @@ package me.srrapero720.waterconfig.api.annotations;
 import java.lang.annotation.*;
 
 /**
- * Annotated method should have 2 argument types
- * {@link }
+ * Listens the changes of a field declared in the same class, including the changes made by loads and reloads.
+ * Annotated method should have 2 arguments, the old and the new value, or just the new value.
+ * Numeric, boolean and char fields pass the primitive values, e.g. {@code void onRadius(int old, int radius)}.
+ *
+ * <p>Static methods listen static fields, instance methods listen the fields of the same instance.
+ * Listeners are fired in the thread changing the value, only when the value is different.</p>
  */
 @Documented
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface FieldEvent {
-
-
+    /**
+     * Name of the listened field, same as the {@link Spec.Field} name
+     */
+    String field();
 
     Priority value() default Priority.NORMAL;
 
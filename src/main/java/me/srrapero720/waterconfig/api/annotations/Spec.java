@@ -1,5 +1,6 @@
 package me.srrapero720.waterconfig.api.annotations;
 
+import me.srrapero720.waterconfig.ConfigSpec;
 import me.srrapero720.waterconfig.WaterConfig;
 
 import java.lang.annotation.*;
@@ -55,6 +56,42 @@ public @interface Spec {
      */
     String format() default WaterConfig.FORMAT_PROPERTIES;
 
+    /**
+     * Time without changes before writing the config file, bursts of changes are written once
+     *
+     * <p>Value is ignored on nested config parents</p>
+     *
+     * @return debounce in milliseconds, <code>500</code> by default
+     */
+    long debounce() default ConfigSpec.DEFAULT_DEBOUNCE;
+
+    /**
+     * Max time a change waits to be written in the config file, even when the config keeps changing
+     *
+     * <p>Value is ignored on nested config parents</p>
+     *
+     * @return max delay in milliseconds, <code>5000</code> by default
+     */
+    long maxDelay() default ConfigSpec.DEFAULT_MAX_DELAY;
+
+    /**
+     * Loads the config walking the file in order instead of indexing it first, values are set as they are read
+     *
+     * <p>Value is ignored on nested config parents and on formats without a pull reader</p>
+     *
+     * @return false by default
+     */
+    boolean streaming() default false;
+
+    /**
+     * Keeps a binary snapshot next to the config file, unchanged files are loaded from the snapshot without parsing them
+     *
+     * <p>Value is ignored on nested config parents and on binary configs</p>
+     *
+     * @return false by default
+     */
+    boolean snapshot() default false;
+
     /**
      * Disables static declaration on this config spec, useful when you want to use the spec on multiple fields
      * @return false by default
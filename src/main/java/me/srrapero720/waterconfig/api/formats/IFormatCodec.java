@@ -39,4 +39,35 @@ public interface IFormatCodec {
      * @return a new writer of the current format
      */
     IFormatWriter createWriter(Path filePath) throws IOException;
+
+    /**
+     * creates a new sequential reader for the given filepath
+     * the file is walked in order without being indexed
+     *
+     * @param filePath path of the file to read
+     * @return a new pull reader of the current format, null when the format doesn't support it
+     */
+    default IFormatPullReader createPullReader(Path filePath) throws IOException {
+        return null;
+    }
+
+    /**
+     * Encodes a single value the same way the writer does, used to replace values in place without rebuilding the file
+     * @param value encoded value
+     * @param type the field type
+     * @return the value text as written in the file, null when the format doesn't support patching
+     */
+    default String encodeValue(String value, Class<?> type) {
+        return null;
+    }
+
+    /**
+     * Encodes an array inline, used to replace values in place without rebuilding the file
+     * @param values encoded values
+     * @param subType the array component type
+     * @return the array text as written in the file, null when the format doesn't support patching
+     */
+    default String encodeArray(String[] values, Class<?> subType) {
+        return null;
+    }
 }
@@ -0,0 +1,63 @@
+package me.srrapero720.waterconfig.api.formats;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sequential reader of a configuration file, walks the file as a stream of events in file order
+ * without indexing it, only the current event is kept in memory.
+ *
+ * <p>The root group is not reported, same as {@link IFormatReader} reads from the root without pushing it.
+ * Values are {@link Event#KEY} followed by a {@link Event#SCALAR}, or by an {@link Event#ARRAY_START},
+ * its {@link Event#ARRAY_VALUE}s and an {@link Event#ARRAY_END}. Groups are a {@link Event#GROUP_START}
+ * with the group name, its contents and a {@link Event#GROUP_END}.</p>
+ */
+public interface IFormatPullReader extends Closeable {
+    /**
+     * Moves to the next event of the file
+     * @return the event, {@link Event#END} when the file was fully read
+     * @throws IOException when the file is malformed
+     */
+    Event next() throws IOException;
+
+    /**
+     * @return the current event, null before the first {@link #next()}
+     */
+    Event event();
+
+    /**
+     * Name of the current {@link Event#GROUP_START} or {@link Event#KEY}
+     * @return the group or key name, null on any other event
+     */
+    String name();
+
+    /**
+     * Text of the current {@link Event#SCALAR}, {@link Event#ARRAY_VALUE} or {@link Event#COMMENT}, decoded on each call
+     * @return the value, null on any other event
+     */
+    String value();
+
+    /**
+     * @return true when the current {@link Event#SCALAR} or {@link Event#ARRAY_VALUE} is a quoted string in the file
+     */
+    boolean quoted();
+
+    /**
+     * UTF-8 byte offsets of the raw value text in the file of the current {@link Event#SCALAR} or {@link Event#ARRAY_END},
+     * same as {@link IFormatReader#span(String)}
+     * @return {start, end} offsets (end exclusive), null on any other event or when the value can't be patched
+     */
+    int[] span();
+
+    enum Event {
+        GROUP_START,
+        GROUP_END,
+        KEY,
+        SCALAR,
+        ARRAY_START,
+        ARRAY_VALUE,
+        ARRAY_END,
+        COMMENT,
+        END
+    }
+}
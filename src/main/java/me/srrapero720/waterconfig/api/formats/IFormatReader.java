@@ -17,6 +17,24 @@ public interface IFormatReader extends Closeable {
      */
     String[] readArray(String fieldName);
 
+    /**
+     * Checks if a scalar value is present, readers can override it to check without creating a string
+     * @param fieldName the field name
+     * @return true when {@link #read(String)} returns a value
+     */
+    default boolean has(String fieldName) {
+        return this.read(fieldName) != null;
+    }
+
+    /**
+     * UTF-8 byte offsets of the raw value text in the file, quotes and brackets included, used to patch the value in place
+     * @param fieldName the field name
+     * @return {start, end} offsets (end exclusive) relative to the current group, null when the reader doesn't track spans
+     */
+    default int[] span(String fieldName) {
+        return null;
+    }
+
     /**
      * Pushes a group to the stack, so that the next read will be relative to this group
      * @param group the group name
@@ -27,4 +45,63 @@ public interface IFormatReader extends Closeable {
      * Pops the last group from the stack, so that the next read will be relative to the previous group
      */
     void pop();
+
+    /**
+     * Reads an int value from the configuration file, readers can override it to parse without creating a string
+     * @param fieldName the field name
+     * @param fallback value returned when the field is not present
+     * @return the value read from the configuration file
+     * @throws NumberFormatException when the value is not a valid int
+     */
+    default int readInt(String fieldName, int fallback) {
+        final String value = this.read(fieldName);
+        return value == null ? fallback : Integer.parseInt(value);
+    }
+
+    /**
+     * Reads a long value from the configuration file, readers can override it to parse without creating a string
+     * @param fieldName the field name
+     * @param fallback value returned when the field is not present
+     * @return the value read from the configuration file
+     * @throws NumberFormatException when the value is not a valid long
+     */
+    default long readLong(String fieldName, long fallback) {
+        final String value = this.read(fieldName);
+        return value == null ? fallback : Long.parseLong(value);
+    }
+
+    /**
+     * Reads a float value from the configuration file, readers can override it to parse without creating a string
+     * @param fieldName the field name
+     * @param fallback value returned when the field is not present
+     * @return the value read from the configuration file
+     * @throws NumberFormatException when the value is not a valid float
+     */
+    default float readFloat(String fieldName, float fallback) {
+        final String value = this.read(fieldName);
+        return value == null ? fallback : Float.parseFloat(value);
+    }
+
+    /**
+     * Reads a double value from the configuration file, readers can override it to parse without creating a string
+     * @param fieldName the field name
+     * @param fallback value returned when the field is not present
+     * @return the value read from the configuration file
+     * @throws NumberFormatException when the value is not a valid double
+     */
+    default double readDouble(String fieldName, double fallback) {
+        final String value = this.read(fieldName);
+        return value == null ? fallback : Double.parseDouble(value);
+    }
+
+    /**
+     * Reads a boolean value from the configuration file
+     * @param fieldName the field name
+     * @param fallback value returned when the field is not present
+     * @return the value read from the configuration file, any value other than "true" is false
+     */
+    default boolean readBoolean(String fieldName, boolean fallback) {
+        final String value = this.read(fieldName);
+        return value == null ? fallback : Boolean.parseBoolean(value);
+    }
 }
@@ -42,4 +42,11 @@ public interface IFormatWriter extends Closeable {
      * This will close into the last opened group.
      */
     void pop();
+
+    /**
+     * Moves the already written content out of the writer buffers into the file,
+     * writers keeping the whole file in memory until {@link #close()} can override it to write big files in bounded memory.
+     * Groups and fields can keep being written after it
+     */
+    default void flush() throws IOException {}
 }
@@ -10,6 +10,15 @@ public class BooleanCodec implements ICodec<Boolean> {
 
     @Override
     public Boolean decode(String value) {
+        return decodeBoolean(value);
+    }
+
+    /**
+     * Parses the string into a primitive, without boxing
+     * @param value the string value
+     * @return true when the value is "true" ignoring case, false otherwise
+     */
+    public static boolean decodeBoolean(String value) {
         return Boolean.parseBoolean(value);
     }
 
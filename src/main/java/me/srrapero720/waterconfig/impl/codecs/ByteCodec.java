@@ -11,12 +11,22 @@ public class ByteCodec implements ICodec<Byte> {
     @Override
     public Byte decode(String value) {
         try {
-            return Byte.valueOf(value);
+            return decodeByte(value);
         } catch (NumberFormatException e) {
             return null;
         }
     }
 
+    /**
+     * Parses the string into a primitive, without boxing
+     * @param value the string value
+     * @return the parsed value
+     * @throws NumberFormatException when the value isn't a valid byte
+     */
+    public static byte decodeByte(String value) {
+        return Byte.parseByte(value);
+    }
+
     @Override
     public Class<Byte> type() {
         return Byte.class;
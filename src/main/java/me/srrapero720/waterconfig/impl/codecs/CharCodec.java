@@ -13,6 +13,17 @@ public class CharCodec implements ICodec<Character> {
         return value.length() == 1 ? value.charAt(0) : null;
     }
 
+    /**
+     * Parses the string into a primitive, without boxing
+     * @param value the string value
+     * @return the single character of the value
+     * @throws IllegalArgumentException when the value isn't a single character
+     */
+    public static char decodeChar(String value) {
+        if (value.length() != 1) throw new IllegalArgumentException("Expected a single character but found '" + value + "'");
+        return value.charAt(0);
+    }
+
     @Override
     public Class<Character> type() {
         return Character.class;
@@ -11,12 +11,22 @@ public class DoubleCodec implements ICodec<Double> {
     @Override
     public Double decode(String value) {
         try {
-            return Double.valueOf(value);
+            return decodeDouble(value);
         } catch (NumberFormatException e) {
             return null;
         }
     }
 
+    /**
+     * Parses the string into a primitive, without boxing
+     * @param value the string value
+     * @return the parsed value
+     * @throws NumberFormatException when the value isn't a valid double
+     */
+    public static double decodeDouble(String value) {
+        return Double.parseDouble(value);
+    }
+
     @Override
     public Class<Double> type() {
         return Double.class;
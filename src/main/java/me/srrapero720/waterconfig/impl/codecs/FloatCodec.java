@@ -11,12 +11,22 @@ public class FloatCodec implements ICodec<Float> {
     @Override
     public Float decode(String value) {
         try {
-            return Float.valueOf(value);
+            return decodeFloat(value);
         } catch (NumberFormatException e) {
             return null;
         }
     }
 
+    /**
+     * Parses the string into a primitive, without boxing
+     * @param value the string value
+     * @return the parsed value
+     * @throws NumberFormatException when the value isn't a valid float
+     */
+    public static float decodeFloat(String value) {
+        return Float.parseFloat(value);
+    }
+
     @Override
     public Class<Float> type() {
         return Float.class;
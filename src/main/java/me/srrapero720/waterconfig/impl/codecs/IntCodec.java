@@ -11,12 +11,22 @@ public class IntCodec implements ICodec<Integer> {
     @Override
     public Integer decode(String value) {
         try {
-            return Integer.valueOf(value);
+            return decodeInt(value);
         } catch (NumberFormatException e) {
             return null;
         }
     }
 
+    /**
+     * Parses the string into a primitive, without boxing
+     * @param value the string value
+     * @return the parsed value
+     * @throws NumberFormatException when the value isn't a valid int
+     */
+    public static int decodeInt(String value) {
+        return Integer.parseInt(value);
+    }
+
     @Override
     public Class<Integer> type() {
         return Integer.class;
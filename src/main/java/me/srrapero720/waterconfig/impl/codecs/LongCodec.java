@@ -11,12 +11,22 @@ public class LongCodec implements ICodec<Long> {
     @Override
     public Long decode(String value) {
         try {
-            return Long.valueOf(value);
+            return decodeLong(value);
         } catch (NumberFormatException e) {
             return null;
         }
     }
 
+    /**
+     * Parses the string into a primitive, without boxing
+     * @param value the string value
+     * @return the parsed value
+     * @throws NumberFormatException when the value isn't a valid long
+     */
+    public static long decodeLong(String value) {
+        return Long.parseLong(value);
+    }
+
     @Override
     public Class<Long> type() {
         return Long.class;
@@ -11,12 +11,22 @@ public class ShortCodec implements ICodec<Short> {
     @Override
     public Short decode(String value) {
         try {
-            return Short.valueOf(value);
+            return decodeShort(value);
         } catch (NumberFormatException e) {
             return null;
         }
     }
 
+    /**
+     * Parses the string into a primitive, without boxing
+     * @param value the string value
+     * @return the parsed value
+     * @throws NumberFormatException when the value isn't a valid short
+     */
+    public static short decodeShort(String value) {
+        return Short.parseShort(value);
+    }
+
     @Override
     public Class<Short> type() {
         return Short.class;
@@ -115,7 +115,7 @@ public class ArrayField<T> extends CollectionField<T[], T> {
     public void validate() {
         if (this.get() == null || this.get().length == 0) {
             if (!this.allowEmpty) {
-                this.reset();
+                this.resetInvalid();
             }
             return;
         }
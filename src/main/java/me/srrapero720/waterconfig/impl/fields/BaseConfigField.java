@@ -3,16 +3,23 @@ package me.srrapero720.waterconfig.impl.fields;
 import me.srrapero720.waterconfig.ConfigGroup;
 import me.srrapero720.waterconfig.ConfigSpec;
 import me.srrapero720.waterconfig.Tools;
+import me.srrapero720.waterconfig.api.ICodec;
 import me.srrapero720.waterconfig.api.IConfigField;
+import me.srrapero720.waterconfig.api.annotations.FieldEvent;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.Set;
 
 public abstract class BaseConfigField<T, S> implements IConfigField<T, S> {
     // METADATA
     private final String name;
     private final ConfigGroup group;
-    private final Mode mode;
+    private String id;
+    private Mode mode;
     private final Set<String> comments;
     public final T defaultValue;
 
@@ -21,12 +28,27 @@ public abstract class BaseConfigField<T, S> implements IConfigField<T, S> {
     private final Field field;
     private T value;
 
+    // HANDLE / ASM
+    private FieldAccessor accessor;
+    private int accessorIndex;
+    private boolean typedAccess; // ACCESSOR HAS PRIMITIVE METHODS FOR THIS FIELD
+
+    // CODEC
+    private ICodec<?> codec;
+
+    // DENSE INDEX OF THE FIELD ON THE SPEC, -1 UNTIL THE SPEC IS BUILT
+    private int ordinal = -1;
+
+    // LISTENERS SORTED BY PRIORITY, NULL WITHOUT LISTENERS SO SETS ONLY PAY A NULL CHECK
+    private MethodHandle[] listeners;
+    private FieldEvent.Priority[] priorities;
+
     protected BaseConfigField(String name, ConfigGroup group, Set<String> comments, Field field, Object context) {
         this.name = name;
         this.group = group;
         this.comments = comments;
         this.defaultValue = Tools.valueFrom(field, context);
-        this.mode = Mode.REFLECT;
+        this.mode = Mode.REFLECT; // HANDLE IS BOUND ON BUILD WHEN NO ACCESSOR WAS GENERATED
         this.field = field;
         this.context = context;
         this.group.append(this);
@@ -43,6 +65,14 @@ public abstract class BaseConfigField<T, S> implements IConfigField<T, S> {
         this.group.append(this);
     }
 
+    @Override
+    public String id() {
+        if (this.id == null) {
+            this.id = IConfigField.super.id();
+        }
+        return this.id;
+    }
+
     @Override
     public String name() {
         return this.name;
@@ -68,30 +98,370 @@ public abstract class BaseConfigField<T, S> implements IConfigField<T, S> {
         return comments.toArray(new String[0]);
     }
 
+    /**
+     * Position of the field among the value fields of the spec, in definition order
+     * @return the ordinal bound when the spec was built, -1 when not bound
+     */
+    public int ordinal() {
+        return this.ordinal;
+    }
+
+    /**
+     * Binds the ordinal used by the spec to track the field, once on build
+     * @param ordinal the ordinal of the field
+     */
+    public void bindOrdinal(int ordinal) {
+        if (this.ordinal != -1) {
+            throw new IllegalStateException("Field '" + this.id() + "' already has the ordinal " + this.ordinal);
+        }
+        this.ordinal = ordinal;
+    }
+
+    /**
+     * Codec of the field type, for collections the codec of the sub type
+     * @return the codec bound when the spec was built, null when not bound
+     */
+    public ICodec<?> codec() {
+        return this.codec;
+    }
+
+    /**
+     * Binds the codec used on load and save, avoiding lookups per call
+     * @param codec the codec of the field type
+     */
+    public void bindCodec(ICodec<?> codec) {
+        this.codec = codec;
+    }
+
+    /**
+     * Switches a REFLECT field to HANDLE mode, defining its {@link FieldHandleAccessor}. Called on build, after the
+     * accessors were generated, so fields on ASM mode never pay for it. Final fields stay on REFLECT
+     */
+    public void bindHandle() {
+        if (this.mode != Mode.REFLECT) return;
+        final FieldAccessor accessor = FieldHandleAccessor.of(this.field);
+        if (accessor == null) return;
+        this.accessor = accessor;
+        this.accessorIndex = 0;
+        this.typedAccess = this.field.getType().isPrimitive();
+        this.mode = Mode.HANDLE;
+    }
+
+    /**
+     * Type of the listeners of the field, {@code (old, value)void} with the primitive type on primitive fields
+     */
+    public MethodType listenerType() {
+        return MethodType.methodType(void.class, Object.class, Object.class);
+    }
+
+    /**
+     * Adds a listener fired after each change of the value, including the changes made by loads.
+     * Listeners of the same priority are fired in the order they were added. Must be called while building the spec
+     * @param listener handle of {@link #listenerType()}
+     * @param priority order of the listener
+     * @throws IllegalArgumentException when the handle type doesn't match
+     */
+    public void addListener(MethodHandle listener, FieldEvent.Priority priority) {
+        if (!listener.type().equals(this.listenerType())) {
+            throw new IllegalArgumentException("Listener of field '" + this.id() + "' must be of type " + this.listenerType() + " but was " + listener.type());
+        }
+        final int size = this.listeners == null ? 0 : this.listeners.length;
+        int index = 0;
+        while (index < size && this.priorities[index].compareTo(priority) <= 0) index++;
+
+        final MethodHandle[] listeners = new MethodHandle[size + 1];
+        final FieldEvent.Priority[] priorities = new FieldEvent.Priority[size + 1];
+        if (size > 0) {
+            System.arraycopy(this.listeners, 0, listeners, 0, index);
+            System.arraycopy(this.listeners, index, listeners, index + 1, size - index);
+            System.arraycopy(this.priorities, 0, priorities, 0, index);
+            System.arraycopy(this.priorities, index, priorities, index + 1, size - index);
+        }
+        listeners[index] = listener;
+        priorities[index] = priority;
+        this.listeners = listeners;
+        this.priorities = priorities;
+    }
+
+    /**
+     * @return the listeners in firing order, empty when there is none
+     */
+    public MethodHandle[] listeners() {
+        return this.listeners == null ? new MethodHandle[0] : Arrays.copyOf(this.listeners, this.listeners.length);
+    }
+
     @Override
     public void reset() {
         this.set(this.defaultValue);
     }
 
+    /**
+     * Resets the field after an invalid value, used by the validation
+     */
+    protected final void resetInvalid() {
+        this.group.markInvalid(this);
+        this.reset();
+    }
+
     @Override
+    @SuppressWarnings("unchecked")
     public T get() {
+        return (T) this.read();
+    }
+
+    @Override
+    public void accept(T t) {
+        final MethodHandle[] listeners = this.listeners;
+        final boolean observed = this.observed(listeners);
+        final Object old = observed ? this.read() : null;
+        this.write(t);
+        this.group.markDirty(this);
+        if (observed && !Objects.equals(old, t)) {
+            this.group.markChanged(this);
+            if (listeners == null) return;
+            for (MethodHandle listener: listeners) {
+                try {
+                    listener.invokeExact(old, (Object) t);
+                } catch (Throwable e) {
+                    this.listenerFailed(e);
+                }
+            }
+        }
+    }
+
+    private Object read() {
         return switch (this.mode) {
             case REFLECT -> Tools.valueFrom(this.field, this.context);
             case NATIVE -> this.value;
-            case ASM -> throw new UnsupportedOperationException("ASM not implemented yet");
+            case HANDLE, ASM -> this.accessor.get(this.context, this.accessorIndex);
         };
     }
 
-    @Override
-    public void accept(T t) {
+    @SuppressWarnings("unchecked")
+    private void write(Object t) {
         switch (this.mode) {
             case REFLECT -> Tools.setFieldValue(this.field, this.context, t);
-            case NATIVE -> this.value = t;
-            case ASM -> throw new UnsupportedOperationException("ASM not implemented yet");
+            case NATIVE -> this.value = (T) t;
+            case HANDLE, ASM -> this.accessor.set(this.context, this.accessorIndex, t);
         }
+    }
+
+    // ══════════════════════════════════════════════════════════
+    //  PRIMITIVES — NATIVE VALUES ARE KEPT BY THE TYPED FIELDS,
+    //  WITHOUT A TYPED ACCESSOR THE VALUE IS BOXED
+    // ══════════════════════════════════════════════════════════
+    protected final boolean isNative() {
+        return this.mode == Mode.NATIVE;
+    }
+
+    protected final boolean getBoolean0() {
+        return this.typedAccess ? this.accessor.getBoolean(this.context, this.accessorIndex) : (Boolean) this.read();
+    }
+
+    protected final void acceptBoolean0(boolean value) {
+        if (this.typedAccess) this.accessor.setBoolean(this.context, this.accessorIndex, value);
+        else if (!this.isNative()) this.write(value);
+        this.group.markDirty(this);
+    }
+
+    protected final byte getByte0() {
+        return this.typedAccess ? this.accessor.getByte(this.context, this.accessorIndex) : ((Number) this.read()).byteValue();
+    }
+
+    protected final void acceptByte0(byte value) {
+        if (this.typedAccess) this.accessor.setByte(this.context, this.accessorIndex, value);
+        else if (!this.isNative()) this.write(value);
+        this.group.markDirty(this);
+    }
+
+    protected final short getShort0() {
+        return this.typedAccess ? this.accessor.getShort(this.context, this.accessorIndex) : ((Number) this.read()).shortValue();
+    }
+
+    protected final void acceptShort0(short value) {
+        if (this.typedAccess) this.accessor.setShort(this.context, this.accessorIndex, value);
+        else if (!this.isNative()) this.write(value);
+        this.group.markDirty(this);
+    }
+
+    protected final char getChar0() {
+        return this.typedAccess ? this.accessor.getChar(this.context, this.accessorIndex) : (Character) this.read();
+    }
+
+    protected final void acceptChar0(char value) {
+        if (this.typedAccess) this.accessor.setChar(this.context, this.accessorIndex, value);
+        else if (!this.isNative()) this.write(value);
         this.group.markDirty(this);
     }
 
+    protected final int getInt0() {
+        return this.typedAccess ? this.accessor.getInt(this.context, this.accessorIndex) : ((Number) this.read()).intValue();
+    }
+
+    protected final void acceptInt0(int value) {
+        if (this.typedAccess) this.accessor.setInt(this.context, this.accessorIndex, value);
+        else if (!this.isNative()) this.write(value);
+        this.group.markDirty(this);
+    }
+
+    protected final long getLong0() {
+        return this.typedAccess ? this.accessor.getLong(this.context, this.accessorIndex) : ((Number) this.read()).longValue();
+    }
+
+    protected final void acceptLong0(long value) {
+        if (this.typedAccess) this.accessor.setLong(this.context, this.accessorIndex, value);
+        else if (!this.isNative()) this.write(value);
+        this.group.markDirty(this);
+    }
+
+    protected final float getFloat0() {
+        return this.typedAccess ? this.accessor.getFloat(this.context, this.accessorIndex) : ((Number) this.read()).floatValue();
+    }
+
+    protected final void acceptFloat0(float value) {
+        if (this.typedAccess) this.accessor.setFloat(this.context, this.accessorIndex, value);
+        else if (!this.isNative()) this.write(value);
+        this.group.markDirty(this);
+    }
+
+    protected final double getDouble0() {
+        return this.typedAccess ? this.accessor.getDouble(this.context, this.accessorIndex) : ((Number) this.read()).doubleValue();
+    }
+
+    protected final void acceptDouble0(double value) {
+        if (this.typedAccess) this.accessor.setDouble(this.context, this.accessorIndex, value);
+        else if (!this.isNative()) this.write(value);
+        this.group.markDirty(this);
+    }
+
+    // ══════════════════════════════════════════════════════════
+    //  LISTENERS — FIRED BY THE TYPED FIELDS AFTER THE VALUE IS
+    //  WRITTEN, ONLY WHEN IT CHANGED. PRIMITIVES ARE NEVER BOXED
+    // ══════════════════════════════════════════════════════════
+    protected final MethodHandle[] listeners0() {
+        return this.listeners;
+    }
+
+    /**
+     * Sets only read the old value when someone is told about the change
+     * @param listeners listeners of the field, null when none
+     * @return true when the field has listeners or the spec has change subscribers
+     */
+    protected final boolean observed(MethodHandle[] listeners) {
+        return listeners != null || this.group.hasSubscribers();
+    }
+
+    protected final void fireBoolean(MethodHandle[] listeners, boolean old, boolean value) {
+        for (MethodHandle listener: listeners) {
+            try {
+                listener.invokeExact(old, value);
+            } catch (Throwable e) {
+                this.listenerFailed(e);
+            }
+        }
+    }
+
+    protected final void fireByte(MethodHandle[] listeners, byte old, byte value) {
+        for (MethodHandle listener: listeners) {
+            try {
+                listener.invokeExact(old, value);
+            } catch (Throwable e) {
+                this.listenerFailed(e);
+            }
+        }
+    }
+
+    protected final void fireShort(MethodHandle[] listeners, short old, short value) {
+        for (MethodHandle listener: listeners) {
+            try {
+                listener.invokeExact(old, value);
+            } catch (Throwable e) {
+                this.listenerFailed(e);
+            }
+        }
+    }
+
+    protected final void fireChar(MethodHandle[] listeners, char old, char value) {
+        for (MethodHandle listener: listeners) {
+            try {
+                listener.invokeExact(old, value);
+            } catch (Throwable e) {
+                this.listenerFailed(e);
+            }
+        }
+    }
+
+    protected final void fireInt(MethodHandle[] listeners, int old, int value) {
+        for (MethodHandle listener: listeners) {
+            try {
+                listener.invokeExact(old, value);
+            } catch (Throwable e) {
+                this.listenerFailed(e);
+            }
+        }
+    }
+
+    protected final void fireLong(MethodHandle[] listeners, long old, long value) {
+        for (MethodHandle listener: listeners) {
+            try {
+                listener.invokeExact(old, value);
+            } catch (Throwable e) {
+                this.listenerFailed(e);
+            }
+        }
+    }
+
+    protected final void fireFloat(MethodHandle[] listeners, float old, float value) {
+        for (MethodHandle listener: listeners) {
+            try {
+                listener.invokeExact(old, value);
+            } catch (Throwable e) {
+                this.listenerFailed(e);
+            }
+        }
+    }
+
+    protected final void fireDouble(MethodHandle[] listeners, double old, double value) {
+        for (MethodHandle listener: listeners) {
+            try {
+                listener.invokeExact(old, value);
+            } catch (Throwable e) {
+                this.listenerFailed(e);
+            }
+        }
+    }
+
+    /**
+     * A failing listener never stops the change nor the other listeners
+     */
+    private void listenerFailed(Throwable e) {
+        System.err.println("[WaterConfig] Listener of field '" + this.id() + "' failed: " + e);
+    }
+
+    Field field() {
+        return this.field;
+    }
+
+    Object context() {
+        return this.context;
+    }
+
+    boolean isReflective() {
+        return this.mode == Mode.REFLECT || this.mode == Mode.HANDLE;
+    }
+
+    /**
+     * Switches the field to ASM mode
+     * @param accessor generated accessor of the declaring class
+     * @param index index of the field on the accessor
+     */
+    void bindAccessor(FieldAccessor accessor, int index) {
+        this.accessor = accessor;
+        this.accessorIndex = index;
+        this.typedAccess = this.field.getType().isPrimitive();
+        this.mode = Mode.ASM;
+    }
+
     private enum Mode {
         /**
          * Uses Java reflection to set values
@@ -101,6 +471,10 @@ public abstract class BaseConfigField<T, S> implements IConfigField<T, S> {
          * Uses integrated field value in class
          */
         NATIVE,
+        /**
+         * Uses a VarHandle kept as a constant by a hidden accessor, bound on build
+         */
+        HANDLE,
         /**
          * Uses in-runtime generated methods via ASM
          */
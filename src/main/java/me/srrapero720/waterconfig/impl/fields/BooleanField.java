@@ -2,6 +2,8 @@ package me.srrapero720.waterconfig.impl.fields;
 
 import me.srrapero720.waterconfig.ConfigGroup;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.Set;
 import java.util.function.BooleanSupplier;
@@ -24,18 +26,44 @@ public final class BooleanField extends BaseConfigField<Boolean, Void> implement
         return Boolean.class;
     }
 
+    @Override
+    public MethodType listenerType() {
+        return MethodType.methodType(void.class, boolean.class, boolean.class);
+    }
+
     @Override
     public void validate() {
         // No validation needed for boolean fields
     }
 
     @Override
-    public void accept(Boolean aBoolean) {
-        super.accept(primitive = aBoolean);
+    public Boolean get() {
+        return this.getAsBoolean();
+    }
+
+    @Override
+    public void accept(Boolean value) {
+        this.setBoolean(value);
+    }
+
+    /**
+     * Sets the value without boxing, the value is not validated
+     * @param value the new value
+     */
+    public void setBoolean(boolean value) {
+        final MethodHandle[] listeners = this.listeners0();
+        final boolean observed = this.observed(listeners);
+        final boolean old = observed && this.getAsBoolean();
+        if (this.isNative()) this.primitive = value;
+        this.acceptBoolean0(value);
+        if (observed && old != value) {
+            this.group().markChanged(this);
+            if (listeners != null) this.fireBoolean(listeners, old, value);
+        }
     }
 
     @Override
     public boolean getAsBoolean() {
-        return primitive;
+        return this.isNative() ? this.primitive : this.getBoolean0();
     }
 }
@@ -2,6 +2,8 @@ package me.srrapero720.waterconfig.impl.fields;
 
 import me.srrapero720.waterconfig.ConfigGroup;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.Set;
 import java.util.function.IntSupplier;
@@ -30,24 +32,51 @@ public final class ByteField extends BaseNumberField<Byte> implements IntSupplie
         return Byte.class;
     }
 
+    @Override
+    public MethodType listenerType() {
+        return MethodType.methodType(void.class, byte.class, byte.class);
+    }
+
+    @Override
+    public Byte get() {
+        return this.getAsByte();
+    }
+
     @Override
     public void accept(Byte value) {
-        super.accept(primitive = value);
+        this.setByte(value);
+    }
+
+    /**
+     * Sets the value without boxing, the value is not validated
+     * @param value the new value
+     */
+    public void setByte(byte value) {
+        final MethodHandle[] listeners = this.listeners0();
+        final boolean observed = this.observed(listeners);
+        final byte old = observed ? this.getAsByte() : 0;
+        if (this.isNative()) this.primitive = value;
+        this.acceptByte0(value);
+        if (observed && old != value) {
+            this.group().markChanged(this);
+            if (listeners != null) this.fireByte(listeners, old, value);
+        }
     }
 
     @Override
     public int getAsInt() {
-        return primitive;
+        return this.getAsByte();
     }
 
     public byte getAsByte() {
-        return primitive;
+        return this.isNative() ? this.primitive : this.getByte0();
     }
 
     @Override
     public void validate() {
-        if (this.primitive < this.min || this.primitive > this.max) {
-            this.reset(); // Reset to default if out of bounds
+        final byte value = this.getAsByte();
+        if (value < this.min || value > this.max) {
+            this.resetInvalid(); // Reset to default if out of bounds
         }
     }
 
@@ -2,6 +2,8 @@ package me.srrapero720.waterconfig.impl.fields;
 
 import me.srrapero720.waterconfig.ConfigGroup;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.Set;
 
@@ -11,10 +13,12 @@ public final class CharField extends BaseConfigField<Character, Void> {
 
     public CharField(String name, ConfigGroup group, Set<String> comments, Field field, Object context) {
         super(name, group, comments, field, context);
+        this.primitive = this.defaultValue;
     }
 
     public CharField(String name, ConfigGroup group, Set<String> comments, Character defaultValue) {
         super(name, group, comments, defaultValue);
+        this.primitive = this.defaultValue;
     }
 
     @Override
@@ -22,17 +26,43 @@ public final class CharField extends BaseConfigField<Character, Void> {
         return Character.class;
     }
 
+    @Override
+    public MethodType listenerType() {
+        return MethodType.methodType(void.class, char.class, char.class);
+    }
+
     @Override
     public void validate() {
         // No validation needed for char
     }
 
     @Override
-    public void accept(Character character) {
-        super.accept(primitive = character);
+    public Character get() {
+        return this.getAsChar();
+    }
+
+    @Override
+    public void accept(Character value) {
+        this.setChar(value);
+    }
+
+    /**
+     * Sets the value without boxing, the value is not validated
+     * @param value the new value
+     */
+    public void setChar(char value) {
+        final MethodHandle[] listeners = this.listeners0();
+        final boolean observed = this.observed(listeners);
+        final char old = observed ? this.getAsChar() : 0;
+        if (this.isNative()) this.primitive = value;
+        this.acceptChar0(value);
+        if (observed && old != value) {
+            this.group().markChanged(this);
+            if (listeners != null) this.fireChar(listeners, old, value);
+        }
     }
 
     public char getAsChar() {
-        return primitive;
+        return this.isNative() ? this.primitive : this.getChar0();
     }
 }
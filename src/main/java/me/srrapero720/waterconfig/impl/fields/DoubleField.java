@@ -2,6 +2,8 @@ package me.srrapero720.waterconfig.impl.fields;
 
 import me.srrapero720.waterconfig.ConfigGroup;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.Set;
 import java.util.function.DoubleSupplier;
@@ -30,21 +32,48 @@ public final class DoubleField extends BaseNumberField<Double> implements Double
         return Double.class;
     }
 
+    @Override
+    public MethodType listenerType() {
+        return MethodType.methodType(void.class, double.class, double.class);
+    }
+
     @Override
     public void validate() {
-        if (this.primitive < this.min || this.primitive > this.max) {
-            this.reset();
+        final double value = this.getAsDouble();
+        if (value < this.min || value > this.max) {
+            this.resetInvalid();
         }
     }
 
+    @Override
+    public Double get() {
+        return this.getAsDouble();
+    }
+
     @Override
     public void accept(Double value) {
-        super.accept(primitive = value);
+        this.setDouble(value);
+    }
+
+    /**
+     * Sets the value without boxing, the value is not validated
+     * @param value the new value
+     */
+    public void setDouble(double value) {
+        final MethodHandle[] listeners = this.listeners0();
+        final boolean observed = this.observed(listeners);
+        final double old = observed ? this.getAsDouble() : 0;
+        if (this.isNative()) this.primitive = value;
+        this.acceptDouble0(value);
+        if (observed && Double.compare(old, value) != 0) {
+            this.group().markChanged(this);
+            if (listeners != null) this.fireDouble(listeners, old, value);
+        }
     }
 
     @Override
     public double getAsDouble() {
-        return primitive;
+        return this.isNative() ? this.primitive : this.getDouble0();
     }
 
     @Override
@@ -0,0 +1,62 @@
+package me.srrapero720.waterconfig.impl.fields;
+
+/**
+ * Direct field access of a spec class, implemented in runtime by a generated hidden class
+ * with plain getfield/putfield instructions.
+ *
+ * <p>Each accessor covers all the {@link me.srrapero720.waterconfig.api.annotations.Spec.Field} fields of a single class,
+ * the index is the position assigned to the field on generation.</p>
+ *
+ * <p>Typed methods are only generated for the primitive types the spec class declares, calling any other
+ * typed method throws.</p>
+ *
+ * @see FieldAccessorGenerator
+ */
+public interface FieldAccessor {
+    /**
+     * Reads the field value, primitives are boxed
+     * @param context instance of the spec class, ignored on static fields
+     * @param index field index
+     * @return the field value
+     */
+    Object get(Object context, int index);
+
+    /**
+     * Writes the field value, primitives are unboxed
+     * @param context instance of the spec class, ignored on static fields
+     * @param index field index
+     * @param value the new value
+     */
+    void set(Object context, int index, Object value);
+
+    default boolean getBoolean(Object context, int index) { throw unknownIndex(index); }
+    default void setBoolean(Object context, int index, boolean value) { throw unknownIndex(index); }
+
+    default byte getByte(Object context, int index) { throw unknownIndex(index); }
+    default void setByte(Object context, int index, byte value) { throw unknownIndex(index); }
+
+    default short getShort(Object context, int index) { throw unknownIndex(index); }
+    default void setShort(Object context, int index, short value) { throw unknownIndex(index); }
+
+    default char getChar(Object context, int index) { throw unknownIndex(index); }
+    default void setChar(Object context, int index, char value) { throw unknownIndex(index); }
+
+    default int getInt(Object context, int index) { throw unknownIndex(index); }
+    default void setInt(Object context, int index, int value) { throw unknownIndex(index); }
+
+    default long getLong(Object context, int index) { throw unknownIndex(index); }
+    default void setLong(Object context, int index, long value) { throw unknownIndex(index); }
+
+    default float getFloat(Object context, int index) { throw unknownIndex(index); }
+    default void setFloat(Object context, int index, float value) { throw unknownIndex(index); }
+
+    default double getDouble(Object context, int index) { throw unknownIndex(index); }
+    default void setDouble(Object context, int index, double value) { throw unknownIndex(index); }
+
+    /**
+     * Internal usage, invoked by the generated code when the index doesn't match any field of the requested type
+     */
+    static RuntimeException unknownIndex(int index) {
+        return new IllegalArgumentException("No accessor for field index " + index);
+    }
+}
@@ -0,0 +1,501 @@
+package me.srrapero720.waterconfig.impl.fields;
+
+import me.srrapero720.waterconfig.api.IConfigField;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Generates a {@link FieldAccessor} for a spec class as a hidden class nested on the spec class,
+ * so private members are also reachable without reflection.
+ *
+ * <p>Only fields on {@code REFLECT} or {@code HANDLE} mode declared by the given class are switched to {@code ASM} mode,
+ * when generation fails the fields remain untouched.</p>
+ */
+public final class FieldAccessorGenerator {
+    private static final String OBJECT = "java/lang/Object";
+    private static final String ACCESSOR = FieldAccessor.class.getName().replace('.', '/');
+    private static final String GET_DESC = "(Ljava/lang/Object;I)Ljava/lang/Object;";
+    private static final String SET_DESC = "(Ljava/lang/Object;ILjava/lang/Object;)V";
+
+    // CLASS FILE
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final int VERSION = 61; // JAVA 17
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    // OPCODES
+    private static final int ALOAD_0 = 0x2A;
+    private static final int ALOAD_1 = 0x2B;
+    private static final int ILOAD_2 = 0x1C;
+    private static final int ALOAD_3 = 0x2D;
+    private static final int ARETURN = 0xB0;
+    private static final int RETURN = 0xB1;
+    private static final int GETSTATIC = 0xB2;
+    private static final int PUTSTATIC = 0xB3;
+    private static final int GETFIELD = 0xB4;
+    private static final int PUTFIELD = 0xB5;
+    private static final int INVOKEVIRTUAL = 0xB6;
+    private static final int INVOKESPECIAL = 0xB7;
+    private static final int INVOKESTATIC = 0xB8;
+    private static final int ATHROW = 0xBF;
+    private static final int CHECKCAST = 0xC0;
+    private static final int LOOKUPSWITCH = 0xAB;
+
+    private FieldAccessorGenerator() {}
+
+    /**
+     * Generates the accessor of the owner class and binds it on all eligible fields
+     * @param owner class declaring the fields
+     * @param fields config fields created from the owner class
+     * @return true when the fields were switched to ASM mode, false otherwise
+     */
+    public static boolean generate(Class<?> owner, Collection<? extends IConfigField<?, ?>> fields) {
+        final List<BaseConfigField<?, ?>> targets = new ArrayList<>();
+        for (IConfigField<?, ?> f: fields) {
+            if (f instanceof BaseConfigField<?, ?> b && b.isReflective() && b.field().getDeclaringClass() == owner && !Modifier.isFinal(b.field().getModifiers())) {
+                targets.add(b);
+            }
+        }
+
+        if (targets.isEmpty()) {
+            return false;
+        }
+
+        try {
+            final Field[] reflected = new Field[targets.size()];
+            for (int i = 0; i < reflected.length; i++) {
+                reflected[i] = targets.get(i).field();
+            }
+
+            final MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(owner, MethodHandles.lookup())
+                    .defineHiddenClass(generateClass(owner, reflected), true, MethodHandles.Lookup.ClassOption.NESTMATE);
+            final FieldAccessor accessor = (FieldAccessor) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+
+            // RESOLVE ALL FIELD REFERENCES BEFORE BINDING, WRITES THE SAME VALUE BACK
+            for (int i = 0; i < targets.size(); i++) {
+                final Object context = targets.get(i).context();
+                accessor.set(context, i, accessor.get(context, i));
+            }
+
+            for (int i = 0; i < targets.size(); i++) {
+                targets.get(i).bindAccessor(accessor, i);
+            }
+            return true;
+        } catch (Throwable e) {
+            System.err.println("[WaterConfig] Failed to generate field accessor for '" + owner.getName() + "', using reflection: " + e);
+            return false;
+        }
+    }
+
+    static byte[] generateClass(Class<?> owner, Field[] fields) {
+        final ConstantPool pool = new ConstantPool();
+        final String ownerName = internalName(owner);
+        final int thisClass = pool.clazz(ownerName + "$$WaterConfigAccessor");
+        final int superClass = pool.clazz(OBJECT);
+        final int accessorClass = pool.clazz(ACCESSOR);
+
+        final List<byte[]> methods = new ArrayList<>();
+        methods.add(constructor(pool));
+        methods.add(getter(pool, ownerName, fields, null));
+        methods.add(setter(pool, ownerName, fields, null));
+
+        // TYPED ACCESSORS, ONLY FOR THE DECLARED PRIMITIVES
+        for (Primitive p: Primitive.values()) {
+            for (Field f: fields) {
+                if (f.getType() == p.type) {
+                    methods.add(getter(pool, ownerName, fields, p));
+                    methods.add(setter(pool, ownerName, fields, p));
+                    break;
+                }
+            }
+        }
+
+        final Bytes out = new Bytes();
+        out.u4(MAGIC);
+        out.u2(0);
+        out.u2(VERSION);
+        out.u2(pool.count);
+        out.bytes(pool.data.toByteArray());
+        out.u2(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+        out.u2(thisClass);
+        out.u2(superClass);
+        out.u2(1);
+        out.u2(accessorClass);
+        out.u2(0); // FIELDS
+        out.u2(methods.size());
+        for (byte[] m: methods) {
+            out.bytes(m);
+        }
+        out.u2(0); // ATTRIBUTES
+        return out.toByteArray();
+    }
+
+    private static byte[] constructor(ConstantPool pool) {
+        final Bytes code = new Bytes();
+        code.u1(ALOAD_0);
+        code.u1(INVOKESPECIAL);
+        code.u2(pool.methodRef(OBJECT, "<init>", "()V"));
+        code.u1(RETURN);
+        return method(pool, "<init>", "()V", 1, 1, code, Collections.emptyList());
+    }
+
+    /**
+     * get(Object, int) or typed getX(Object, int), a lookupswitch over the field index
+     */
+    private static byte[] getter(ConstantPool pool, String owner, Field[] fields, Primitive type) {
+        final Bytes code = new Bytes();
+        final List<Integer> frames = new ArrayList<>();
+        final int[] cases = cases(fields, type);
+
+        code.u1(ILOAD_2);
+        final int[] targets = lookupSwitch(code, cases);
+        for (int i = 0; i < cases.length; i++) {
+            final Field f = fields[cases[i]];
+            final Primitive p = Primitive.of(f.getType());
+            targets[i] = code.size();
+            frames.add(code.size());
+
+            if (Modifier.isStatic(f.getModifiers())) {
+                code.u1(GETSTATIC);
+            } else {
+                code.u1(ALOAD_1);
+                code.u1(CHECKCAST);
+                code.u2(pool.clazz(owner));
+                code.u1(GETFIELD);
+            }
+            code.u2(pool.fieldRef(owner, f.getName(), descriptor(f.getType())));
+
+            if (type == null) {
+                if (p != null) { // BOX
+                    code.u1(INVOKESTATIC);
+                    code.u2(pool.methodRef(p.boxed, "valueOf", "(" + p.desc + ")L" + p.boxed + ";"));
+                }
+                code.u1(ARETURN);
+            } else {
+                code.u1(type.returnOp);
+            }
+        }
+        frames.add(code.size());
+        defaultCase(pool, code, targets);
+
+        return method(pool, type == null ? "get" : "get" + type.suffix, type == null ? GET_DESC : "(Ljava/lang/Object;I)" + type.desc, 4, 3, code, frames);
+    }
+
+    /**
+     * set(Object, int, Object) or typed setX(Object, int, x), a lookupswitch over the field index
+     */
+    private static byte[] setter(ConstantPool pool, String owner, Field[] fields, Primitive type) {
+        final Bytes code = new Bytes();
+        final List<Integer> frames = new ArrayList<>();
+        final int[] cases = cases(fields, type);
+
+        code.u1(ILOAD_2);
+        final int[] targets = lookupSwitch(code, cases);
+        for (int i = 0; i < cases.length; i++) {
+            final Field f = fields[cases[i]];
+            final Primitive p = Primitive.of(f.getType());
+            final boolean isStatic = Modifier.isStatic(f.getModifiers());
+            targets[i] = code.size();
+            frames.add(code.size());
+
+            if (!isStatic) {
+                code.u1(ALOAD_1);
+                code.u1(CHECKCAST);
+                code.u2(pool.clazz(owner));
+            }
+
+            if (type == null) {
+                code.u1(ALOAD_3);
+                if (p != null) { // UNBOX
+                    code.u1(CHECKCAST);
+                    code.u2(pool.clazz(p.boxed));
+                    code.u1(INVOKEVIRTUAL);
+                    code.u2(pool.methodRef(p.boxed, p.type.getName() + "Value", "()" + p.desc));
+                } else if (f.getType() != Object.class) {
+                    code.u1(CHECKCAST);
+                    code.u2(pool.clazz(f.getType().isArray() ? descriptor(f.getType()) : internalName(f.getType())));
+                }
+            } else {
+                code.u1(type.loadOp);
+            }
+
+            code.u1(isStatic ? PUTSTATIC : PUTFIELD);
+            code.u2(pool.fieldRef(owner, f.getName(), descriptor(f.getType())));
+            code.u1(RETURN);
+        }
+        frames.add(code.size());
+        defaultCase(pool, code, targets);
+
+        return method(pool, type == null ? "set" : "set" + type.suffix, type == null ? SET_DESC : "(Ljava/lang/Object;I" + type.desc + ")V", 4, type == null ? 4 : 3 + type.slots, code, frames);
+    }
+
+    private static int[] cases(Field[] fields, Primitive type) {
+        final int[] cases = new int[fields.length];
+        int count = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (type == null || fields[i].getType() == type.type) {
+                cases[count++] = i;
+            }
+        }
+        return Arrays.copyOf(cases, count);
+    }
+
+    /**
+     * Writes a lookupswitch with placeholder offsets
+     * @return the case targets array, must be filled with the case code offsets before calling {@link #defaultCase}
+     */
+    private static int[] lookupSwitch(Bytes code, int[] keys) {
+        final int position = code.size();
+        code.u1(LOOKUPSWITCH);
+        while (code.size() % 4 != 0) {
+            code.u1(0);
+        }
+        code.switchPosition = position;
+        code.switchTable = code.size();
+        code.u4(0); // DEFAULT, PATCHED LATER
+        code.u4(keys.length);
+        for (int key: keys) {
+            code.u4(key);
+            code.u4(0); // PATCHED LATER
+        }
+        return new int[keys.length];
+    }
+
+    private static void defaultCase(ConstantPool pool, Bytes code, int[] targets) {
+        final int base = code.switchPosition;
+        final int table = code.switchTable;
+        code.patch4(table, code.size() - base);
+        for (int i = 0; i < targets.length; i++) {
+            code.patch4(table + 8 + (i * 8) + 4, targets[i] - base);
+        }
+
+        code.u1(ILOAD_2);
+        code.u1(INVOKESTATIC);
+        code.u2(pool.interfaceMethodRef(ACCESSOR, "unknownIndex", "(I)Ljava/lang/RuntimeException;"));
+        code.u1(ATHROW);
+    }
+
+    private static byte[] method(ConstantPool pool, String name, String desc, int maxStack, int maxLocals, Bytes code, List<Integer> frames) {
+        final Bytes frameTable = new Bytes();
+        if (!frames.isEmpty()) {
+            // ALL BRANCH TARGETS SHARE THE METHOD ENTRY FRAME: ONLY ARGUMENTS AND EMPTY STACK
+            frameTable.u2(frames.size());
+            int previous = -1;
+            for (int offset: frames) {
+                final int delta = offset - previous - 1;
+                if (delta <= 63) {
+                    frameTable.u1(delta); // same_frame
+                } else {
+                    frameTable.u1(251); // same_frame_extended
+                    frameTable.u2(delta);
+                }
+                previous = offset;
+            }
+        }
+
+        final Bytes attr = new Bytes();
+        final byte[] codeBytes = code.toByteArray();
+        attr.u2(maxStack);
+        attr.u2(maxLocals);
+        attr.u4(codeBytes.length);
+        attr.bytes(codeBytes);
+        attr.u2(0); // EXCEPTION TABLE
+        if (frames.isEmpty()) {
+            attr.u2(0);
+        } else {
+            final byte[] frameBytes = frameTable.toByteArray();
+            attr.u2(1);
+            attr.u2(pool.utf8("StackMapTable"));
+            attr.u4(frameBytes.length);
+            attr.bytes(frameBytes);
+        }
+
+        final Bytes out = new Bytes();
+        final byte[] attrBytes = attr.toByteArray();
+        out.u2(ACC_PUBLIC);
+        out.u2(pool.utf8(name));
+        out.u2(pool.utf8(desc));
+        out.u2(1);
+        out.u2(pool.utf8("Code"));
+        out.u4(attrBytes.length);
+        out.bytes(attrBytes);
+        return out.toByteArray();
+    }
+
+    private static String internalName(Class<?> clazz) {
+        return clazz.getName().replace('.', '/');
+    }
+
+    private static String descriptor(Class<?> clazz) {
+        final Primitive p = Primitive.of(clazz);
+        if (p != null) return p.desc;
+        if (clazz.isArray()) return internalName(clazz); // ARRAY NAMES ARE ALREADY DESCRIPTORS
+        return "L" + internalName(clazz) + ";";
+    }
+
+    private enum Primitive {
+        BOOLEAN(boolean.class, "Boolean", "Z", "java/lang/Boolean", 0x1D, 0xAC, 1),
+        BYTE(byte.class, "Byte", "B", "java/lang/Byte", 0x1D, 0xAC, 1),
+        SHORT(short.class, "Short", "S", "java/lang/Short", 0x1D, 0xAC, 1),
+        CHAR(char.class, "Char", "C", "java/lang/Character", 0x1D, 0xAC, 1),
+        INT(int.class, "Int", "I", "java/lang/Integer", 0x1D, 0xAC, 1),
+        LONG(long.class, "Long", "J", "java/lang/Long", 0x21, 0xAD, 2),
+        FLOAT(float.class, "Float", "F", "java/lang/Float", 0x25, 0xAE, 1),
+        DOUBLE(double.class, "Double", "D", "java/lang/Double", 0x29, 0xAF, 2);
+
+        final Class<?> type;
+        final String suffix;
+        final String desc;
+        final String boxed;
+        final int loadOp; // xload_3
+        final int returnOp;
+        final int slots;
+
+        Primitive(Class<?> type, String suffix, String desc, String boxed, int loadOp, int returnOp, int slots) {
+            this.type = type;
+            this.suffix = suffix;
+            this.desc = desc;
+            this.boxed = boxed;
+            this.loadOp = loadOp;
+            this.returnOp = returnOp;
+            this.slots = slots;
+        }
+
+        static Primitive of(Class<?> type) {
+            if (!type.isPrimitive()) return null;
+            for (Primitive p: values()) {
+                if (p.type == type) return p;
+            }
+            return null;
+        }
+    }
+
+    private static final class ConstantPool {
+        private static final int UTF8 = 1;
+        private static final int CLASS = 7;
+        private static final int FIELD_REF = 9;
+        private static final int METHOD_REF = 10;
+        private static final int INTERFACE_METHOD_REF = 11;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final Map<String, Integer> cache = new HashMap<>();
+        private final Bytes data = new Bytes();
+        private int count = 1;
+
+        int utf8(String value) {
+            Integer index = this.cache.get("U" + value);
+            if (index != null) return index;
+            this.data.u1(UTF8);
+            this.data.utf(value);
+            return this.put("U" + value);
+        }
+
+        int clazz(String internalName) {
+            Integer index = this.cache.get("C" + internalName);
+            if (index != null) return index;
+            int name = this.utf8(internalName);
+            this.data.u1(CLASS);
+            this.data.u2(name);
+            return this.put("C" + internalName);
+        }
+
+        int fieldRef(String owner, String name, String desc) {
+            return this.ref(FIELD_REF, owner, name, desc);
+        }
+
+        int methodRef(String owner, String name, String desc) {
+            return this.ref(METHOD_REF, owner, name, desc);
+        }
+
+        int interfaceMethodRef(String owner, String name, String desc) {
+            return this.ref(INTERFACE_METHOD_REF, owner, name, desc);
+        }
+
+        private int ref(int tag, String owner, String name, String desc) {
+            final String key = tag + owner + "." + name + desc;
+            Integer index = this.cache.get(key);
+            if (index != null) return index;
+            int ownerIndex = this.clazz(owner);
+            int nameAndType = this.nameAndType(name, desc);
+            this.data.u1(tag);
+            this.data.u2(ownerIndex);
+            this.data.u2(nameAndType);
+            return this.put(key);
+        }
+
+        private int nameAndType(String name, String desc) {
+            final String key = "N" + name + ":" + desc;
+            Integer index = this.cache.get(key);
+            if (index != null) return index;
+            int nameIndex = this.utf8(name);
+            int descIndex = this.utf8(desc);
+            this.data.u1(NAME_AND_TYPE);
+            this.data.u2(nameIndex);
+            this.data.u2(descIndex);
+            return this.put(key);
+        }
+
+        private int put(String key) {
+            this.cache.put(key, this.count);
+            return this.count++;
+        }
+    }
+
+    private static final class Bytes extends ByteArrayOutputStream {
+        int switchPosition;
+        int switchTable;
+
+        void u1(int v) {
+            this.write(v);
+        }
+
+        void u2(int v) {
+            this.write(v >>> 8);
+            this.write(v);
+        }
+
+        void u4(int v) {
+            this.write(v >>> 24);
+            this.write(v >>> 16);
+            this.write(v >>> 8);
+            this.write(v);
+        }
+
+        void bytes(byte[] b) {
+            this.write(b, 0, b.length);
+        }
+
+        void utf(String s) {
+            // MODIFIED UTF-8 AS REQUIRED BY THE CLASS FILE FORMAT
+            final Bytes encoded = new Bytes();
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c != 0 && c < 0x80) {
+                    encoded.u1(c);
+                } else if (c < 0x800) {
+                    encoded.u1(0xC0 | (c >> 6));
+                    encoded.u1(0x80 | (c & 0x3F));
+                } else {
+                    encoded.u1(0xE0 | (c >> 12));
+                    encoded.u1(0x80 | ((c >> 6) & 0x3F));
+                    encoded.u1(0x80 | (c & 0x3F));
+                }
+            }
+            this.u2(encoded.size());
+            this.bytes(encoded.toByteArray());
+        }
+
+        void patch4(int position, int v) {
+            this.buf[position] = (byte) (v >>> 24);
+            this.buf[position + 1] = (byte) (v >>> 16);
+            this.buf[position + 2] = (byte) (v >>> 8);
+            this.buf[position + 3] = (byte) v;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package me.srrapero720.waterconfig.impl.fields;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Makes single field {@link FieldAccessor}s backed by a {@link VarHandle}, index is always 0.
+ *
+ * <p>The handle is resolved once and adapted to an erased {@code (Object)T} shape, static fields drop the context
+ * argument. Handles held on instance fields are not constants to the JIT and every call stays an indirect call,
+ * so each field gets a hidden copy of {@link HandleAccessor} keeping its handles on static final fields.</p>
+ */
+public final class FieldHandleAccessor {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final byte[] TEMPLATE = template();
+
+    private FieldHandleAccessor() {}
+
+    /**
+     * Resolves the handle of the field and defines its accessor
+     * @param field field to access
+     * @return the accessor or null when the field is final or the handle cannot be resolved
+     */
+    public static FieldAccessor of(Field field) {
+        if (field == null || TEMPLATE == null || Modifier.isFinal(field.getModifiers())) return null;
+        try {
+            final VarHandle handle = MethodHandles.privateLookupIn(field.getDeclaringClass(), LOOKUP).unreflectVarHandle(field);
+            final Class<?> erased = field.getType().isPrimitive() ? field.getType() : Object.class;
+            MethodHandle get = handle.toMethodHandle(VarHandle.AccessMode.GET);
+            MethodHandle set = handle.toMethodHandle(VarHandle.AccessMode.SET);
+            if (Modifier.isStatic(field.getModifiers())) {
+                get = MethodHandles.dropArguments(get, 0, Object.class);
+                set = MethodHandles.dropArguments(set, 0, Object.class);
+            }
+
+            final List<Object> data = List.of(
+                    field.getType(),
+                    get.asType(MethodType.methodType(Object.class, Object.class)),
+                    set.asType(MethodType.methodType(void.class, Object.class, Object.class)),
+                    get.asType(MethodType.methodType(erased, Object.class)),
+                    set.asType(MethodType.methodType(void.class, Object.class, erased))
+            );
+            final MethodHandles.Lookup lookup = LOOKUP.defineHiddenClassWithClassData(TEMPLATE, data, true);
+            return (FieldAccessor) lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            if (e instanceof Error && !(e instanceof LinkageError)) throw (Error) e;
+            return null;
+        }
+    }
+
+    private static byte[] template() {
+        try (InputStream in = FieldHandleAccessor.class.getResourceAsStream("HandleAccessor.class")) {
+            return in != null ? in.readAllBytes() : null;
+        } catch (IOException e) {
+            System.err.println("[WaterConfig] Failed to read the field handle accessor template, using reflection: " + e);
+            return null;
+        }
+    }
+}
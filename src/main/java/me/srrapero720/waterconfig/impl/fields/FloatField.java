@@ -2,6 +2,8 @@ package me.srrapero720.waterconfig.impl.fields;
 
 import me.srrapero720.waterconfig.ConfigGroup;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.Set;
 import java.util.function.DoubleSupplier;
@@ -30,25 +32,52 @@ public final class FloatField extends BaseNumberField<Float> implements DoubleSu
         return Float.class;
     }
 
+    @Override
+    public MethodType listenerType() {
+        return MethodType.methodType(void.class, float.class, float.class);
+    }
+
     @Override
     public void validate() {
-        if (this.primitive < this.min || this.primitive > this.max) {
-            this.reset();
+        final float value = this.getAsFloat();
+        if (value < this.min || value > this.max) {
+            this.resetInvalid();
         }
     }
 
+    @Override
+    public Float get() {
+        return this.getAsFloat();
+    }
+
     @Override
     public void accept(Float value) {
-        super.accept(primitive = value);
+        this.setFloat(value);
+    }
+
+    /**
+     * Sets the value without boxing, the value is not validated
+     * @param value the new value
+     */
+    public void setFloat(float value) {
+        final MethodHandle[] listeners = this.listeners0();
+        final boolean observed = this.observed(listeners);
+        final float old = observed ? this.getAsFloat() : 0;
+        if (this.isNative()) this.primitive = value;
+        this.acceptFloat0(value);
+        if (observed && Float.compare(old, value) != 0) {
+            this.group().markChanged(this);
+            if (listeners != null) this.fireFloat(listeners, old, value);
+        }
     }
 
     @Override
     public double getAsDouble() {
-        return primitive;
+        return this.getAsFloat();
     }
 
     public float getAsFloat() {
-        return primitive;
+        return this.isNative() ? this.primitive : this.getFloat0();
     }
 
     @Override
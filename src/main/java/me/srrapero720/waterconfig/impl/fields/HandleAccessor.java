@@ -0,0 +1,216 @@
+package me.srrapero720.waterconfig.impl.fields;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Template of the single field accessors made by {@link FieldHandleAccessor}, never loaded by itself.
+ *
+ * <p>Each field gets its own hidden copy of this class with the handles as class data, kept on static final fields
+ * so the JIT trusts them as constants and inlines every {@code invokeExact} down to the field access.</p>
+ */
+final class HandleAccessor implements FieldAccessor {
+    private static final Class<?> TYPE;
+    private static final MethodHandle GETTER; // (Object)Object
+    private static final MethodHandle SETTER; // (Object,Object)void
+    private static final MethodHandle TYPED_GETTER; // (Object)T
+    private static final MethodHandle TYPED_SETTER; // (Object,T)void
+
+    static {
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TYPE = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, Class.class, 0);
+            GETTER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 1);
+            SETTER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 2);
+            TYPED_GETTER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 3);
+            TYPED_SETTER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 4);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public Object get(Object context, int index) {
+        try {
+            return GETTER.invokeExact(context);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void set(Object context, int index, Object value) {
+        try {
+            SETTER.invokeExact(context, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(Object context, int index) {
+        if (TYPE != boolean.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            return (boolean) TYPED_GETTER.invokeExact(context);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setBoolean(Object context, int index, boolean value) {
+        if (TYPE != boolean.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            TYPED_SETTER.invokeExact(context, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public byte getByte(Object context, int index) {
+        if (TYPE != byte.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            return (byte) TYPED_GETTER.invokeExact(context);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setByte(Object context, int index, byte value) {
+        if (TYPE != byte.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            TYPED_SETTER.invokeExact(context, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public short getShort(Object context, int index) {
+        if (TYPE != short.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            return (short) TYPED_GETTER.invokeExact(context);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setShort(Object context, int index, short value) {
+        if (TYPE != short.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            TYPED_SETTER.invokeExact(context, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public char getChar(Object context, int index) {
+        if (TYPE != char.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            return (char) TYPED_GETTER.invokeExact(context);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setChar(Object context, int index, char value) {
+        if (TYPE != char.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            TYPED_SETTER.invokeExact(context, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public int getInt(Object context, int index) {
+        if (TYPE != int.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            return (int) TYPED_GETTER.invokeExact(context);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setInt(Object context, int index, int value) {
+        if (TYPE != int.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            TYPED_SETTER.invokeExact(context, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public long getLong(Object context, int index) {
+        if (TYPE != long.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            return (long) TYPED_GETTER.invokeExact(context);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setLong(Object context, int index, long value) {
+        if (TYPE != long.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            TYPED_SETTER.invokeExact(context, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public float getFloat(Object context, int index) {
+        if (TYPE != float.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            return (float) TYPED_GETTER.invokeExact(context);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setFloat(Object context, int index, float value) {
+        if (TYPE != float.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            TYPED_SETTER.invokeExact(context, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public double getDouble(Object context, int index) {
+        if (TYPE != double.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            return (double) TYPED_GETTER.invokeExact(context);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void setDouble(Object context, int index, double value) {
+        if (TYPE != double.class) throw FieldAccessor.unknownIndex(index);
+        try {
+            TYPED_SETTER.invokeExact(context, value);
+        } catch (Throwable e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException r) return r;
+        if (e instanceof Error error) throw error;
+        return new IllegalStateException("Failed to access field value", e);
+    }
+}
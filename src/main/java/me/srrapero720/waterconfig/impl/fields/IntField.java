@@ -2,6 +2,8 @@ package me.srrapero720.waterconfig.impl.fields;
 
 import me.srrapero720.waterconfig.ConfigGroup;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.Set;
 import java.util.function.IntSupplier;
@@ -30,21 +32,48 @@ public final class IntField extends BaseNumberField<Integer> implements IntSuppl
         return Integer.class;
     }
 
+    @Override
+    public MethodType listenerType() {
+        return MethodType.methodType(void.class, int.class, int.class);
+    }
+
     @Override
     public void validate() {
-        if (this.primitive < this.min || this.primitive > this.max) {
-            this.reset(); // TODO: this must clamp, or throw on strict
+        final int value = this.getAsInt();
+        if (value < this.min || value > this.max) {
+            this.resetInvalid(); // TODO: this must clamp, or throw on strict
         }
     }
 
     @Override
-    public void accept(Integer integer) {
-        super.accept(primitive = integer);
+    public Integer get() {
+        return this.getAsInt();
+    }
+
+    @Override
+    public void accept(Integer value) {
+        this.setInt(value);
+    }
+
+    /**
+     * Sets the value without boxing, the value is not validated
+     * @param value the new value
+     */
+    public void setInt(int value) {
+        final MethodHandle[] listeners = this.listeners0();
+        final boolean observed = this.observed(listeners);
+        final int old = observed ? this.getAsInt() : 0;
+        if (this.isNative()) this.primitive = value;
+        this.acceptInt0(value);
+        if (observed && old != value) {
+            this.group().markChanged(this);
+            if (listeners != null) this.fireInt(listeners, old, value);
+        }
     }
 
     @Override
     public int getAsInt() {
-        return primitive;
+        return this.isNative() ? this.primitive : this.getInt0();
     }
 
     @Override
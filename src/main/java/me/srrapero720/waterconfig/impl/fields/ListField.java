@@ -35,7 +35,7 @@ public final class ListField<T> extends CollectionField<List<T>, T> {
     @Override
     public void validate() {
         if (this.get().isEmpty() && !this.allowEmpty) {
-            this.reset();
+            this.resetInvalid();
             return;
         }
         // FILTER
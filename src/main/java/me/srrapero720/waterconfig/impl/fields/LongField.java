@@ -2,6 +2,8 @@ package me.srrapero720.waterconfig.impl.fields;
 
 import me.srrapero720.waterconfig.ConfigGroup;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.Set;
 import java.util.function.LongSupplier;
@@ -30,21 +32,48 @@ public final class LongField extends BaseNumberField<Long> implements LongSuppli
         return Long.class;
     }
 
+    @Override
+    public MethodType listenerType() {
+        return MethodType.methodType(void.class, long.class, long.class);
+    }
+
     @Override
     public void validate() {
-        if (this.primitive < this.min || this.primitive > this.max) {
-            this.reset(); // Reset to default if out of bounds
+        final long value = this.getAsLong();
+        if (value < this.min || value > this.max) {
+            this.resetInvalid(); // Reset to default if out of bounds
         }
     }
 
+    @Override
+    public Long get() {
+        return this.getAsLong();
+    }
+
     @Override
     public void accept(Long value) {
-        super.accept(primitive = value);
+        this.setLong(value);
+    }
+
+    /**
+     * Sets the value without boxing, the value is not validated
+     * @param value the new value
+     */
+    public void setLong(long value) {
+        final MethodHandle[] listeners = this.listeners0();
+        final boolean observed = this.observed(listeners);
+        final long old = observed ? this.getAsLong() : 0;
+        if (this.isNative()) this.primitive = value;
+        this.acceptLong0(value);
+        if (observed && old != value) {
+            this.group().markChanged(this);
+            if (listeners != null) this.fireLong(listeners, old, value);
+        }
     }
 
     @Override
     public long getAsLong() {
-        return primitive;
+        return this.isNative() ? this.primitive : this.getLong0();
     }
 
     @Override
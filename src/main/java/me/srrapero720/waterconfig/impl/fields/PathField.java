@@ -30,11 +30,11 @@ public class PathField extends BaseConfigField<Path, Void> {
     @Override
     public void validate() {
         if (this.fileExists && !this.get().toFile().exists()) {
-            this.reset();
+            this.resetInvalid();
         }
 
         if (this.runtimePath && this.get().toFile().isAbsolute()) {
-            this.reset();
+            this.resetInvalid();
         }
     }
 }
@@ -2,6 +2,8 @@ package me.srrapero720.waterconfig.impl.fields;
 
 import me.srrapero720.waterconfig.ConfigGroup;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.util.Set;
 import java.util.function.IntSupplier;
@@ -30,25 +32,52 @@ public final class ShortField extends BaseNumberField<Short> implements IntSuppl
         return Short.class;
     }
 
+    @Override
+    public MethodType listenerType() {
+        return MethodType.methodType(void.class, short.class, short.class);
+    }
+
     @Override
     public void validate() {
-        if (this.primitive < this.min || this.primitive > this.max) {
-            this.reset(); // Reset to default if out of bounds
+        final short value = this.getAsShort();
+        if (value < this.min || value > this.max) {
+            this.resetInvalid(); // Reset to default if out of bounds
         }
     }
 
+    @Override
+    public Short get() {
+        return this.getAsShort();
+    }
+
     @Override
     public void accept(Short value) {
-        super.accept(primitive = value);
+        this.setShort(value);
+    }
+
+    /**
+     * Sets the value without boxing, the value is not validated
+     * @param value the new value
+     */
+    public void setShort(short value) {
+        final MethodHandle[] listeners = this.listeners0();
+        final boolean observed = this.observed(listeners);
+        final short old = observed ? this.getAsShort() : 0;
+        if (this.isNative()) this.primitive = value;
+        this.acceptShort0(value);
+        if (observed && old != value) {
+            this.group().markChanged(this);
+            if (listeners != null) this.fireShort(listeners, old, value);
+        }
     }
 
     @Override
     public int getAsInt() {
-        return primitive;
+        return this.getAsShort();
     }
 
     public short getAsShort() {
-        return primitive;
+        return this.isNative() ? this.primitive : this.getShort0();
     }
 
     @Override
@@ -52,22 +52,22 @@ public final class StringField extends BaseConfigField<String, Void> {
         String value = this.get();
 
         if (value == null) {
-            this.reset();
+            this.resetInvalid();
             return;
         }
 
         if (value.isEmpty() && !this.allowEmpty) {
-            this.reset();
+            this.resetInvalid();
             return;
         }
 
         if (this.startsWith != null && !value.startsWith(this.startsWith)) {
-            this.reset();
+            this.resetInvalid();
             return;
         }
 
         if (this.endsWith != null && !value.endsWith(this.endsWith)) {
-            this.reset();
+            this.resetInvalid();
             return;
         }
 
@@ -81,7 +81,7 @@ public final class StringField extends BaseConfigField<String, Void> {
                 case NOT_REGEX -> !this.compiledPattern.matcher(value).matches();
             };
             if (!conditionCheck) {
-                this.reset();
+                this.resetInvalid();
             }
         }
 
@@ -0,0 +1,508 @@
+package me.srrapero720.waterconfig.impl.formats;
+
+import me.srrapero720.waterconfig.Tools;
+import me.srrapero720.waterconfig.WaterConfig;
+import me.srrapero720.waterconfig.api.formats.IFormatCodec;
+import me.srrapero720.waterconfig.api.formats.IFormatReader;
+import me.srrapero720.waterconfig.api.formats.IFormatWriter;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+
+/**
+ * Binary snapshot format, values are stored as they are in memory so loading needs no lexing, unescaping nor number parsing.
+ * Not meant to be edited by hand, can be used as the spec format or as a cache of a text file
+ * (see {@link #createReader(Path, long, long, long)}).
+ *
+ * <p>Layout, all numbers little-endian:</p>
+ * <pre>
+ * header:  'W' 'C' 'B' version, source size (i64), source modification millis (i64), source hash (i64)
+ * records: tag (u8), key (u16 length + UTF-8) on everything but {@link #TAG_GROUP_END}, then the payload:
+ *          strings are an i32 length + UTF-8, primitives their native size and
+ *          arrays ({@link #TAG_ARRAY} flag) an i32 count followed by the packed elements
+ * </pre>
+ * <p>Primary files have -1 on the source fields. Comments are not stored.</p>
+ */
+public class BINFormat implements IFormatCodec {
+    public static final byte VERSION = 1;
+    public static final int HEADER_SIZE = 4 + 8 * 3;
+
+    // RECORD TAGS
+    public static final int TAG_GROUP_END = 0;
+    public static final int TAG_GROUP = 1;
+    public static final int TAG_STRING = 2;
+    public static final int TAG_BOOLEAN = 3;
+    public static final int TAG_BYTE = 4;
+    public static final int TAG_SHORT = 5;
+    public static final int TAG_CHAR = 6;
+    public static final int TAG_INT = 7;
+    public static final int TAG_LONG = 8;
+    public static final int TAG_FLOAT = 9;
+    public static final int TAG_DOUBLE = 10;
+    /**
+     * Flag added to the value tag of arrays
+     */
+    public static final int TAG_ARRAY = 0x40;
+
+    @Override public String id() { return WaterConfig.FORMAT_BINARY; }
+    @Override public String extension() { return "." + this.id(); }
+    @Override public String mimeType() { return "application/x-waterconfig-snapshot"; }
+
+    @Override
+    public IFormatReader createReader(Path filePath) throws IOException {
+        return new FormatReader(FormatInput.open(filePath));
+    }
+
+    @Override
+    public IFormatWriter createWriter(Path filePath) throws IOException {
+        return new FormatWriter(filePath, -1, -1, -1);
+    }
+
+    /**
+     * Creates a reader of a snapshot cached from a text file, only when the snapshot was taken from the same file contents
+     * @param filePath path of the snapshot
+     * @param sourceSize current size of the text file
+     * @param sourceTime current modification time of the text file, in millis
+     * @param sourceHash current hash of the text file contents
+     * @return the reader, null when the snapshot is missing, is from another version or was taken from other contents
+     */
+    public IFormatReader createReader(Path filePath, long sourceSize, long sourceTime, long sourceHash) throws IOException {
+        if (!Files.exists(filePath)) {
+            return null;
+        }
+        // ONLY THE HEADER IS READ UNTIL THE STAMP MATCHES
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) != -1);
+        }
+        if (!isStamped(header.flip(), sourceSize, sourceTime, sourceHash)) {
+            return null;
+        }
+
+        final FormatInput input = FormatInput.open(filePath);
+        if (!isStamped(input.bytes().order(ByteOrder.LITTLE_ENDIAN), sourceSize, sourceTime, sourceHash)) {
+            return null; // REPLACED WHILE OPENING
+        }
+        return new FormatReader(input);
+    }
+
+    /**
+     * Creates a writer of a snapshot cached from a text file, the source stamp is checked when the snapshot is read
+     * @param filePath path of the snapshot
+     * @param sourceSize size of the text file
+     * @param sourceTime modification time of the text file, in millis
+     * @param sourceHash hash of the text file contents
+     */
+    public IFormatWriter createWriter(Path filePath, long sourceSize, long sourceTime, long sourceHash) throws IOException {
+        return new FormatWriter(filePath, sourceSize, sourceTime, sourceHash);
+    }
+
+    private static boolean isStamped(ByteBuffer header, long sourceSize, long sourceTime, long sourceHash) {
+        return isHeader(header) && header.getLong(4) == sourceSize && header.getLong(12) == sourceTime && header.getLong(20) == sourceHash;
+    }
+
+    private static boolean isHeader(ByteBuffer data) {
+        return data.limit() >= HEADER_SIZE && data.get(0) == 'W' && data.get(1) == 'C' && data.get(2) == 'B' && data.get(3) == VERSION;
+    }
+
+    /**
+     * Tag of the values of the type, types without a binary form are stored as strings
+     */
+    private static int tagOf(Class<?> type) {
+        type = Tools.toBoxed(type);
+        if (type == Boolean.class) return TAG_BOOLEAN;
+        if (type == Byte.class) return TAG_BYTE;
+        if (type == Short.class) return TAG_SHORT;
+        if (type == Character.class) return TAG_CHAR;
+        if (type == Integer.class) return TAG_INT;
+        if (type == Long.class) return TAG_LONG;
+        if (type == Float.class) return TAG_FLOAT;
+        if (type == Double.class) return TAG_DOUBLE;
+        return TAG_STRING;
+    }
+
+    private static int sizeOf(int tag) {
+        return switch (tag) {
+            case TAG_BOOLEAN, TAG_BYTE -> 1;
+            case TAG_SHORT, TAG_CHAR -> 2;
+            case TAG_INT, TAG_FLOAT -> 4;
+            case TAG_LONG, TAG_DOUBLE -> 8;
+            default -> -1; // LENGTH PREFIXED
+        };
+    }
+
+    public static class FormatReader implements IFormatReader {
+        private static final Node MISSING = new Node();
+
+        private final FormatInput input;
+        private final ByteBuffer data;
+        private final Node root = new Node();
+        private final ArrayDeque<Node> parents = new ArrayDeque<>();
+        private Node current = this.root;
+
+        public FormatReader(FormatInput input) throws IOException {
+            this.input = input;
+            this.data = input.bytes().order(ByteOrder.LITTLE_ENDIAN);
+            if (!isHeader(this.data)) {
+                throw new IOException("Not a " + WaterConfig.FORMAT_BINARY + " v" + VERSION + " file");
+            }
+
+            try {
+                this.index();
+            } catch (IndexOutOfBoundsException | BufferUnderflowException e) {
+                throw new IOException("Truncated " + WaterConfig.FORMAT_BINARY + " file", e);
+            }
+        }
+
+        private void index() throws IOException {
+            final ByteBuffer data = this.data;
+            final ArrayDeque<Node> parents = new ArrayDeque<>();
+            Node group = this.root;
+            int pos = HEADER_SIZE;
+            while (pos < data.limit()) {
+                final int tag = data.get(pos++) & 0xFF;
+                if (tag == TAG_GROUP_END) {
+                    if (parents.isEmpty()) throw new IOException("Unbalanced group end at " + (pos - 1));
+                    group = parents.pop();
+                    continue;
+                }
+
+                final int keyLength = data.getShort(pos) & 0xFFFF;
+                checkLength(data, pos + 2, keyLength, 1);
+                final String key = this.input.string(pos + 2, pos + 2 + keyLength);
+                pos += 2 + keyLength;
+
+                if (tag == TAG_GROUP) {
+                    parents.push(group);
+                    group = group.child(key);
+                    continue;
+                }
+
+                final int type = tag & ~TAG_ARRAY;
+                if (type < TAG_STRING || type > TAG_DOUBLE) {
+                    throw new IOException("Unknown tag " + tag + " at " + (pos - 3 - keyLength));
+                }
+
+                final int start = pos;
+                final int size = sizeOf(type);
+                if ((tag & TAG_ARRAY) == 0) {
+                    pos += size == -1 ? 4 + checkLength(data, pos + 4, data.getInt(pos), 1) : checkLength(data, pos, 1, size);
+                    group.children.put(key, new Entry(tag, start, 1));
+                    continue;
+                }
+
+                final int count = data.getInt(pos);
+                pos += 4;
+                if (size != -1) {
+                    pos += checkLength(data, pos, count, size); // PACKED
+                } else {
+                    checkLength(data, pos, count, 4); // AT LEAST THE LENGTH OF EACH STRING
+                    for (int i = 0; i < count; i++) pos += 4 + checkLength(data, pos + 4, data.getInt(pos), 1);
+                }
+                group.children.put(key, new Entry(tag, start + 4, count));
+            }
+            if (pos > data.limit()) {
+                throw new IndexOutOfBoundsException(pos);
+            }
+        }
+
+        /**
+         * Checks a length or count read from the file, corrupted values must never move the position backwards or past the end
+         * @param pos offset where the counted elements start
+         * @param count the length or count read
+         * @param size bytes per element
+         * @return the bytes taken by the elements
+         * @throws IOException when the count is negative or the elements do not fit in the file
+         */
+        private static int checkLength(ByteBuffer data, int pos, int count, int size) throws IOException {
+            final long bytes = (long) count * size;
+            if (count < 0 || bytes > data.limit() - (long) pos) {
+                throw new IOException("Invalid length " + count + " at " + pos + " of a " + data.limit() + " bytes file");
+            }
+            return (int) bytes;
+        }
+
+        private Entry entry(String key) {
+            return this.current.children.get(key) instanceof Entry entry ? entry : null;
+        }
+
+        @Override
+        public String read(String fieldName) {
+            final Entry entry = this.entry(fieldName);
+            if (entry == null || (entry.tag & TAG_ARRAY) != 0) {
+                return null;
+            }
+            return this.string(entry.tag, entry.offset);
+        }
+
+        @Override
+        public boolean has(String fieldName) {
+            final Entry entry = this.entry(fieldName);
+            return entry != null && (entry.tag & TAG_ARRAY) == 0;
+        }
+
+        @Override
+        public String[] readArray(String fieldName) {
+            final Entry entry = this.entry(fieldName);
+            if (entry == null || (entry.tag & TAG_ARRAY) == 0) {
+                return null;
+            }
+
+            final int type = entry.tag & ~TAG_ARRAY;
+            final int size = sizeOf(type);
+            final String[] values = new String[entry.count];
+            int pos = entry.offset;
+            for (int i = 0; i < values.length; i++) {
+                values[i] = this.string(type, pos);
+                pos += size == -1 ? 4 + this.data.getInt(pos) : size;
+            }
+            return values;
+        }
+
+        private String string(int type, int pos) {
+            return switch (type) {
+                case TAG_BOOLEAN -> this.data.get(pos) != 0 ? "true" : "false";
+                case TAG_BYTE -> Byte.toString(this.data.get(pos));
+                case TAG_SHORT -> Short.toString(this.data.getShort(pos));
+                case TAG_CHAR -> String.valueOf(this.data.getChar(pos));
+                case TAG_INT -> Integer.toString(this.data.getInt(pos));
+                case TAG_LONG -> Long.toString(this.data.getLong(pos));
+                case TAG_FLOAT -> Float.toString(this.data.getFloat(pos));
+                case TAG_DOUBLE -> Double.toString(this.data.getDouble(pos));
+                default -> this.input.string(pos + 4, pos + 4 + this.data.getInt(pos));
+            };
+        }
+
+        // PRIMITIVES ARE READ AS STORED, OTHER TAGS ARE PARSED FROM THEIR TEXT
+
+        @Override
+        public int readInt(String fieldName, int fallback) {
+            final Entry entry = this.entry(fieldName);
+            if (entry == null) return fallback;
+            return switch (entry.tag) {
+                case TAG_INT -> this.data.getInt(entry.offset);
+                case TAG_SHORT -> this.data.getShort(entry.offset);
+                case TAG_BYTE -> this.data.get(entry.offset);
+                default -> IFormatReader.super.readInt(fieldName, fallback);
+            };
+        }
+
+        @Override
+        public long readLong(String fieldName, long fallback) {
+            final Entry entry = this.entry(fieldName);
+            if (entry == null) return fallback;
+            return switch (entry.tag) {
+                case TAG_LONG -> this.data.getLong(entry.offset);
+                case TAG_INT -> this.data.getInt(entry.offset);
+                default -> IFormatReader.super.readLong(fieldName, fallback);
+            };
+        }
+
+        @Override
+        public float readFloat(String fieldName, float fallback) {
+            final Entry entry = this.entry(fieldName);
+            if (entry == null) return fallback;
+            return entry.tag == TAG_FLOAT ? this.data.getFloat(entry.offset) : IFormatReader.super.readFloat(fieldName, fallback);
+        }
+
+        @Override
+        public double readDouble(String fieldName, double fallback) {
+            final Entry entry = this.entry(fieldName);
+            if (entry == null) return fallback;
+            return switch (entry.tag) {
+                case TAG_DOUBLE -> this.data.getDouble(entry.offset);
+                case TAG_FLOAT -> this.data.getFloat(entry.offset);
+                default -> IFormatReader.super.readDouble(fieldName, fallback);
+            };
+        }
+
+        @Override
+        public boolean readBoolean(String fieldName, boolean fallback) {
+            final Entry entry = this.entry(fieldName);
+            if (entry == null) return fallback;
+            return entry.tag == TAG_BOOLEAN ? this.data.get(entry.offset) != 0 : IFormatReader.super.readBoolean(fieldName, fallback);
+        }
+
+        @Override
+        public void push(String group) {
+            this.parents.push(this.current);
+            this.current = this.current.children.get(group) instanceof Node node ? node : MISSING;
+        }
+
+        @Override
+        public void pop() {
+            if (!this.parents.isEmpty()) {
+                this.current = this.parents.pop();
+            }
+        }
+
+        @Override
+        public void close() {
+            this.root.children.clear();
+            this.parents.clear();
+            this.current = this.root;
+        }
+
+        private static final class Node {
+            private final HashMap<String, Object> children = new HashMap<>();
+
+            private Node child(String name) {
+                if (this.children.get(name) instanceof Node node) {
+                    return node;
+                }
+                final Node node = new Node();
+                this.children.put(name, node);
+                return node;
+            }
+        }
+
+        /**
+         * @param offset payload offset, first element for arrays
+         * @param count amount of elements, 1 on scalars
+         */
+        private record Entry(int tag, int offset, int count) {}
+    }
+
+    public static class FormatWriter implements IFormatWriter {
+        private final FileChannel channel;
+        private ByteBuffer buffer = ByteBuffer.allocate(8 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        private boolean rootPushed;
+        private int depth;
+
+        public FormatWriter(Path path, long sourceSize, long sourceTime, long sourceHash) throws IOException {
+            final Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.buffer.put((byte) 'W').put((byte) 'C').put((byte) 'B').put(VERSION)
+                    .putLong(sourceSize).putLong(sourceTime).putLong(sourceHash);
+        }
+
+        @Override
+        public void write(String comment) {
+            // NOT STORED
+        }
+
+        @Override
+        public void write(String fieldName, String value, Class<?> type, Class<?> subType) {
+            int tag = tagOf(type);
+            if (tag != TAG_STRING && !isValid(tag, value)) {
+                tag = TAG_STRING;
+            }
+            this.key(tag, fieldName);
+            this.value(tag, value);
+        }
+
+        @Override
+        public void write(String fieldName, String[] values, Class<?> type, Class<?> subType) {
+            int tag = tagOf(subType);
+            for (int i = 0; i < values.length && tag != TAG_STRING; i++) {
+                if (!isValid(tag, values[i])) tag = TAG_STRING;
+            }
+            this.key(tag | TAG_ARRAY, fieldName);
+            this.ensure(4).putInt(values.length);
+            for (String value: values) {
+                this.value(tag, value);
+            }
+        }
+
+        @Override
+        public void push(String groupName) {
+            if (!this.rootPushed) {
+                this.rootPushed = true;
+                return; // ROOT VALUES ARE READ WITHOUT PUSHING IT
+            }
+            this.depth++;
+            this.key(TAG_GROUP, groupName);
+        }
+
+        @Override
+        public void pop() {
+            if (this.depth == 0) return; // ROOT POP
+            this.depth--;
+            this.ensure(1).put((byte) TAG_GROUP_END);
+        }
+
+        private void key(int tag, String key) {
+            final byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            if (bytes.length > 0xFFFF) {
+                throw new IllegalArgumentException("Key is too long: " + key.substring(0, 32) + "...");
+            }
+            this.ensure(3 + bytes.length).put((byte) tag).putShort((short) bytes.length).put(bytes);
+        }
+
+        private void value(int tag, String value) {
+            switch (tag) {
+                case TAG_BOOLEAN -> this.ensure(1).put(Boolean.parseBoolean(value) ? (byte) 1 : (byte) 0);
+                case TAG_BYTE -> this.ensure(1).put(Byte.parseByte(value));
+                case TAG_SHORT -> this.ensure(2).putShort(Short.parseShort(value));
+                case TAG_CHAR -> this.ensure(2).putChar(value.charAt(0));
+                case TAG_INT -> this.ensure(4).putInt(Integer.parseInt(value));
+                case TAG_LONG -> this.ensure(8).putLong(Long.parseLong(value));
+                case TAG_FLOAT -> this.ensure(4).putFloat(Float.parseFloat(value));
+                case TAG_DOUBLE -> this.ensure(8).putDouble(Double.parseDouble(value));
+                default -> {
+                    final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    this.ensure(4 + bytes.length).putInt(bytes.length).put(bytes);
+                }
+            }
+        }
+
+        /**
+         * Checks the encoded value can be stored with the tag, values of another form are stored as strings
+         */
+        private static boolean isValid(int tag, String value) {
+            if (value == null) return false;
+            try {
+                switch (tag) {
+                    case TAG_BOOLEAN -> { return value.equals("true") || value.equals("false"); }
+                    case TAG_CHAR -> { return value.length() == 1; }
+                    case TAG_BYTE -> Byte.parseByte(value);
+                    case TAG_SHORT -> Short.parseShort(value);
+                    case TAG_INT -> Integer.parseInt(value);
+                    case TAG_LONG -> Long.parseLong(value);
+                    case TAG_FLOAT -> Float.parseFloat(value);
+                    case TAG_DOUBLE -> Double.parseDouble(value);
+                    default -> {}
+                }
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private ByteBuffer ensure(int bytes) {
+            if (this.buffer.remaining() < bytes) {
+                final int capacity = Math.max(this.buffer.capacity() * 2, this.buffer.position() + bytes);
+                this.buffer = ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN).put(this.buffer.flip());
+            }
+            return this.buffer;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+            this.buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (this.channel) {
+                this.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package me.srrapero720.waterconfig.impl.formats;
+
+import me.srrapero720.waterconfig.api.formats.IFormatPullReader;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Shared cursor of the format pull readers. Formats tokenize the {@link FormatInput} a statement at a time
+ * and queue its events, values are kept as offsets and decoded only when {@link #value()} is called.
+ *
+ * <p>The queue only grows to the events of a single statement, e.g. closing and opening the groups of a
+ * TOML table header, so memory does not depend on the file size.</p>
+ */
+public abstract class BasePullReader implements IFormatPullReader {
+    private static final String[] ROOT = new String[0];
+    /**
+     * Flag added to the decoding mode of values written as quoted strings
+     */
+    protected static final int QUOTED = 1 << 4;
+
+    protected final FormatInput data;
+    protected int pos;
+
+    // QUEUED EVENTS, NAME OR DECODED TEXT, AND START, END, MODE, SPAN START AND SPAN END OF EACH ONE
+    private Event[] events = new Event[8];
+    private String[] texts = new String[8];
+    private int[] offsets = new int[8 * 5];
+    private int head, size;
+
+    // CURRENT EVENT
+    private Event event;
+    private String text;
+    private int start, end, mode, spanStart, spanEnd;
+
+    // OPEN GROUPS OF FORMATS THAT DECLARE THEM BY PATH
+    private final ArrayList<String> path = new ArrayList<>();
+    private boolean finished;
+
+    protected BasePullReader(FormatInput data) {
+        this.data = data;
+    }
+
+    /**
+     * Tokenizes the next statement of the file queueing its events
+     * @return false when the end of the file was reached
+     */
+    protected abstract boolean advance() throws IOException;
+
+    @Override
+    public Event next() throws IOException {
+        while (this.size == 0) {
+            if (this.finished) {
+                return this.event = Event.END;
+            }
+            if (!this.advance()) {
+                this.path(ROOT, 0); // CLOSES THE OPEN GROUPS
+                this.finished = true;
+            }
+        }
+
+        final int slot = this.head;
+        this.event = this.events[slot];
+        this.text = this.texts[slot];
+        this.texts[slot] = null;
+        this.start = this.offsets[slot * 5];
+        this.end = this.offsets[slot * 5 + 1];
+        this.mode = this.offsets[slot * 5 + 2];
+        this.spanStart = this.offsets[slot * 5 + 3];
+        this.spanEnd = this.offsets[slot * 5 + 4];
+        this.head = (slot + 1) % this.events.length;
+        this.size--;
+        return this.event;
+    }
+
+    @Override
+    public Event event() {
+        return this.event;
+    }
+
+    @Override
+    public String name() {
+        return this.event == Event.GROUP_START || this.event == Event.KEY ? this.text : null;
+    }
+
+    @Override
+    public String value() {
+        if (this.event != Event.SCALAR && this.event != Event.ARRAY_VALUE && this.event != Event.COMMENT) {
+            return null;
+        }
+        return this.text != null ? this.text : FormatIndex.decode(this.data, this.start, this.end, this.mode & ~QUOTED);
+    }
+
+    @Override
+    public boolean quoted() {
+        return (this.event == Event.SCALAR || this.event == Event.ARRAY_VALUE) && (this.mode & QUOTED) != 0;
+    }
+
+    @Override
+    public int[] span() {
+        if ((this.event != Event.SCALAR && this.event != Event.ARRAY_END) || this.spanStart == -1) {
+            return null;
+        }
+        return new int[] { this.spanStart, this.spanEnd };
+    }
+
+    @Override
+    public void close() {
+        this.finished = true;
+        this.size = 0;
+        this.path.clear();
+        Arrays.fill(this.texts, null);
+    }
+
+    protected void group(String name) {
+        this.queue(Event.GROUP_START, name, 0, 0, FormatIndex.RAW, -1, -1);
+    }
+
+    protected void groupEnd() {
+        this.queue(Event.GROUP_END, null, 0, 0, FormatIndex.RAW, -1, -1);
+    }
+
+    protected void key(String name) {
+        this.queue(Event.KEY, name, 0, 0, FormatIndex.RAW, -1, -1);
+    }
+
+    /**
+     * Queues a scalar value
+     * @param start first byte of the value text
+     * @param end last byte of the value text, exclusive
+     * @param mode decoding mode of the value text, one of the {@link FormatIndex} modes, with {@link #QUOTED} for strings
+     * @param spanStart first byte of the raw value in the file, -1 when the value can't be patched
+     * @param spanEnd last byte of the raw value in the file, exclusive
+     */
+    protected void scalar(int start, int end, int mode, int spanStart, int spanEnd) {
+        this.queue(Event.SCALAR, null, start, end, mode, spanStart, spanEnd);
+    }
+
+    /**
+     * Queues an already decoded scalar value, for values that aren't a plain slice of the file
+     */
+    protected void scalar(String value) {
+        this.queue(Event.SCALAR, value, 0, 0, FormatIndex.RAW, -1, -1);
+    }
+
+    protected void arrayStart() {
+        this.queue(Event.ARRAY_START, null, 0, 0, FormatIndex.RAW, -1, -1);
+    }
+
+    protected void element(int start, int end, int mode) {
+        this.queue(Event.ARRAY_VALUE, null, start, end, mode, -1, -1);
+    }
+
+    protected void arrayEnd(int spanStart, int spanEnd) {
+        this.queue(Event.ARRAY_END, null, 0, 0, FormatIndex.RAW, spanStart, spanEnd);
+    }
+
+    protected void comment(int start, int end) {
+        this.queue(Event.COMMENT, null, start, end, FormatIndex.RAW, -1, -1);
+    }
+
+    /**
+     * Moves the open groups to a dotted path, each part is trimmed
+     * @param dotted dotted group path from the root, empty for the root
+     */
+    protected void path(String dotted) {
+        final String[] parts = dotted.split("\\.");
+        int count = 0;
+        for (String part: parts) {
+            part = part.trim();
+            if (!part.isEmpty()) parts[count++] = part;
+        }
+        this.path(parts, count);
+    }
+
+    /**
+     * Moves the open groups to the given path, closing the groups not shared with it and opening the new ones
+     * @param parts group names from the root
+     * @param count amount of parts to use
+     */
+    protected void path(String[] parts, int count) {
+        int shared = 0;
+        while (shared < count && shared < this.path.size() && this.path.get(shared).equals(parts[shared])) {
+            shared++;
+        }
+        for (int i = this.path.size() - 1; i >= shared; i--) {
+            this.path.remove(i);
+            this.groupEnd();
+        }
+        for (int i = shared; i < count; i++) {
+            this.path.add(parts[i]);
+            this.group(parts[i]);
+        }
+    }
+
+    private void queue(Event event, String text, int start, int end, int mode, int spanStart, int spanEnd) {
+        if (this.size == this.events.length) {
+            this.grow();
+        }
+        final int slot = (this.head + this.size) % this.events.length;
+        this.events[slot] = event;
+        this.texts[slot] = text;
+        this.offsets[slot * 5] = start;
+        this.offsets[slot * 5 + 1] = end;
+        this.offsets[slot * 5 + 2] = mode;
+        this.offsets[slot * 5 + 3] = spanStart;
+        this.offsets[slot * 5 + 4] = spanEnd;
+        this.size++;
+    }
+
+    private void grow() {
+        final int length = this.events.length;
+        final Event[] events = new Event[length * 2];
+        final String[] texts = new String[length * 2];
+        final int[] offsets = new int[length * 2 * 5];
+        for (int i = 0; i < this.size; i++) {
+            final int slot = (this.head + i) % length;
+            events[i] = this.events[slot];
+            texts[i] = this.texts[slot];
+            System.arraycopy(this.offsets, slot * 5, offsets, i * 5, 5);
+        }
+        this.events = events;
+        this.texts = texts;
+        this.offsets = offsets;
+        this.head = 0;
+    }
+}
@@ -1,8 +1,8 @@
 package me.srrapero720.waterconfig.impl.formats;
 
 import me.srrapero720.waterconfig.WaterConfig;
-import me.srrapero720.waterconfig.Tools;
 import me.srrapero720.waterconfig.api.formats.IFormatCodec;
+import me.srrapero720.waterconfig.api.formats.IFormatPullReader;
 import me.srrapero720.waterconfig.api.formats.IFormatReader;
 import me.srrapero720.waterconfig.api.formats.IFormatWriter;
 
@@ -39,8 +39,41 @@ public class CFGFormat implements IFormatCodec {
         return new FormatWriter(filePath);
     }
 
+    @Override
+    public IFormatPullReader createPullReader(Path filePath) throws IOException {
+        return new FormatPullReader(filePath);
+    }
+
+    @Override
+    public String encodeValue(String value, Class<?> type) {
+        return FormatWriter.formatValue(value, type);
+    }
+
+    @Override
+    public String encodeArray(String[] values, Class<?> subType) {
+        final StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (String value: values) {
+            joiner.add(FormatWriter.formatValue(value, subType));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Skips a ${...} cross-reference inside a value, the closing brace is not the end of a mapping
+     * @param start offset of the '$'
+     * @return offset after the closing brace
+     */
+    static int skipReference(FormatInput data, int start, int len) throws IOException {
+        int i = start + 2;
+        while (i < len && data.at(i) != '}' && data.at(i) != '\n') i++;
+        if (i >= len || data.at(i) != '}') {
+            throw new IOException("Unclosed reference at position " + start);
+        }
+        return i + 1;
+    }
+
     public static class FormatWriter implements IFormatWriter {
-        private final Stack<String> group = new Stack<>();
+        private final ArrayDeque<String> group = new ArrayDeque<>();
         private final BufferedWriter writer;
         private final StringBuilder buffer = new StringBuilder();
         private final List<String> comments = new ArrayList<>();
@@ -149,6 +182,12 @@ public class CFGFormat implements IFormatCodec {
             }
         }
 
+        @Override
+        public void flush() throws IOException {
+            this.writer.append(this.buffer);
+            this.buffer.setLength(0);
+        }
+
         @Override
         public void close() throws IOException {
             this.writer.write(this.buffer.toString());
@@ -177,7 +216,7 @@ public class CFGFormat implements IFormatCodec {
             return "\"" + escapeString(key) + "\"";
         }
 
-        private String formatValue(String value, Class<?> type) {
+        private static String formatValue(String value, Class<?> type) {
             if (type == null) {
                 return "\"" + escapeString(value) + "\"";
             }
@@ -207,7 +246,7 @@ public class CFGFormat implements IFormatCodec {
             return "\"" + escapeString(value) + "\"";
         }
 
-        private String escapeString(String str) {
+        private static String escapeString(String str) {
             return str.replace("\\", "\\\\")
                      .replace("\"", "\\\"")
                      .replace("\n", "\\n")
@@ -219,28 +258,27 @@ public class CFGFormat implements IFormatCodec {
     }
 
     public static class FormatReader implements IFormatReader {
-        private final LinkedHashMap<String, Object> values = new LinkedHashMap<>();
-        private final Stack<String> group = new Stack<>();
-        private final Map<String, Object> rawParsedData = new LinkedHashMap<>();
+        private final FormatIndex index;
 
         public FormatReader(Path path) throws IOException {
-            char[] data = new String(Tools.readAllBytes(path), StandardCharsets.UTF_8).toCharArray();
+            final FormatInput data = FormatInput.open(path);
+            this.index = new FormatIndex(data);
             parseCfg(data);
         }
 
-        private void parseCfg(char[] data) throws IOException {
-            int i = skipWhitespaceAndComments(data, 0, data.length);
+        private void parseCfg(FormatInput data) throws IOException {
+            int i = skipWhitespaceAndComments(data, 0, data.length());
 
             // CFG top-level should be a mapping
-            if (i >= data.length || data[i] != '{') {
+            if (i >= data.length() || data.at(i) != '{') {
                 throw new IOException("CFG file must start with '{'");
             }
 
             i++; // Skip opening brace
-            parseMapping(data, i, data.length, "");
+            parseMapping(data, i, data.length(), index.root());
         }
 
-        private int parseMapping(char[] data, int start, int len, String prefix) throws IOException {
+        private int parseMapping(FormatInput data, int start, int len, FormatIndex.Node mapping) throws IOException {
             int i = start;
             boolean firstEntry = true;
 
@@ -249,16 +287,16 @@ public class CFGFormat implements IFormatCodec {
                 if (i >= len) break;
 
                 // Check for end of mapping
-                if (data[i] == '}') {
+                if (data.at(i) == '}') {
                     return i + 1;
                 }
 
                 // Skip comma or newline separator
-                if (!firstEntry && (data[i] == ',' || data[i] == '\n')) {
+                if (!firstEntry && (data.at(i) == ',' || data.at(i) == '\n')) {
                     i++;
                     i = skipWhitespaceAndComments(data, i, len);
                     if (i >= len) break;
-                    if (data[i] == '}') {
+                    if (data.at(i) == '}') {
                         return i + 1;
                     }
                 }
@@ -266,14 +304,14 @@ public class CFGFormat implements IFormatCodec {
                 firstEntry = false;
 
                 // Parse key
-                StringBuilder key = new StringBuilder();
+                String[] key = new String[1];
                 i = parseKey(data, i, len, key);
 
                 // Skip whitespace
                 i = skipWhitespaceAndComments(data, i, len);
 
                 // Expect ':' or '='
-                if (i >= len || (data[i] != ':' && data[i] != '=')) {
+                if (i >= len || (data.at(i) != ':' && data.at(i) != '=')) {
                     throw new IOException("Expected ':' or '=' after key at position " + i);
                 }
                 i++; // Skip separator
@@ -282,119 +320,90 @@ public class CFGFormat implements IFormatCodec {
                 i = skipWhitespaceAndComments(data, i, len);
 
                 // Parse value
-                String fullKey = prefix.isEmpty() ? key.toString() : prefix + "." + key.toString();
-                i = parseValue(data, i, len, fullKey);
+                i = parseValue(data, i, len, mapping, key[0]);
             }
 
             return i;
         }
 
-        private int parseKey(char[] data, int start, int len, StringBuilder key) throws IOException {
+        private int parseKey(FormatInput data, int start, int len, String[] key) throws IOException {
             int i = start;
-            char c = data[i];
+            byte c = data.at(i);
 
             // Quoted key (single or double quotes)
             if (c == '"' || c == '\'') {
-                char quote = c;
-                i++;
-                while (i < len && data[i] != quote) {
-                    if (data[i] == '\\' && i + 1 < len) {
-                        i++;
-                        key.append(unescapeChar(data[i]));
-                    } else {
-                        key.append(data[i]);
-                    }
-                    i++;
-                }
+                i = skipQuoted(data, i, len, c);
                 if (i >= len) {
                     throw new IOException("Unclosed quoted key");
                 }
+                key[0] = data.unescaped(start + 1, i);
                 i++; // Skip closing quote
             } else {
                 // Identifier key
-                if (!Character.isLetter(c) && c != '_') {
+                if (!FormatInput.isLetter(c) && c != '_') {
                     throw new IOException("Invalid key start character at position " + i);
                 }
-                while (i < len && (Character.isLetterOrDigit(data[i]) || data[i] == '_')) {
-                    key.append(data[i]);
+                while (i < len && (FormatInput.isLetterOrDigit(data.at(i)) || data.at(i) == '_')) {
                     i++;
                 }
+                key[0] = data.string(start, i);
             }
 
             return i;
         }
 
-        private int parseValue(char[] data, int start, int len, String key) throws IOException {
+        private int parseValue(FormatInput data, int start, int len, FormatIndex.Node mapping, String key) throws IOException {
             int i = start;
             if (i >= len) {
                 throw new IOException("Expected value after separator at position " + i);
             }
 
-            char c = data[i];
+            byte c = data.at(i);
 
             // String (single or double quotes)
             if (c == '"' || c == '\'') {
-                return parseString(data, i, len, key);
+                return parseString(data, i, len, mapping, key);
             }
 
             // Array
             if (c == '[') {
-                return parseArray(data, i, len, key);
+                return parseArray(data, i, len, mapping, key);
             }
 
             // Nested mapping
             if (c == '{') {
                 i++; // Skip opening brace
-                return parseMapping(data, i, len, key);
-            }
-
-            // Cross-reference ${...}
-            if (c == '$' && i + 1 < len && data[i + 1] == '{') {
-                return parseReference(data, i, len, key);
+                return parseMapping(data, i, len, mapping.child(key));
             }
 
             // Include @'file'
             if (c == '@') {
-                return parseInclude(data, i, len, key);
+                return parseInclude(data, i, len, mapping, key);
             }
 
             // Special values `...`
             if (c == '`') {
-                return parseSpecialValue(data, i, len, key);
+                return parseSpecialValue(data, i, len, mapping, key);
             }
 
-            // Literal (boolean, number, null)
-            return parseLiteral(data, i, len, key);
+            // Literal (boolean, number, null, math with ${...} cross-references)
+            return parseLiteral(data, i, len, mapping, key);
         }
 
-        private int parseString(char[] data, int start, int len, String key) throws IOException {
-            int i = start;
-            char quote = data[i];
-            i++;
-
-            StringBuilder value = new StringBuilder();
-            while (i < len && data[i] != quote) {
-                if (data[i] == '\\' && i + 1 < len) {
-                    i++;
-                    value.append(unescapeChar(data[i]));
-                } else {
-                    value.append(data[i]);
-                }
-                i++;
-            }
+        private int parseString(FormatInput data, int start, int len, FormatIndex.Node mapping, String key) throws IOException {
+            int i = skipQuoted(data, start, len, data.at(start));
 
             if (i >= len) {
                 throw new IOException("Unclosed string at position " + i);
             }
 
+            index.scalar(mapping, key, start + 1, i, FormatIndex.ESCAPED, start, i + 1);
             i++; // Skip closing quote
-            values.put(key, value.toString());
             return i;
         }
 
-        private int parseArray(char[] data, int start, int len, String key) throws IOException {
+        private int parseArray(FormatInput data, int start, int len, FormatIndex.Node mapping, String key) throws IOException {
             int i = start + 1;
-            List<String> array = new ArrayList<>();
             boolean firstElement = true;
 
             while (i < len) {
@@ -404,20 +413,20 @@ public class CFGFormat implements IFormatCodec {
                 }
 
                 // Check for end of array
-                if (data[i] == ']') {
+                if (data.at(i) == ']') {
                     i++;
-                    values.put(key, array.toArray(new String[0]));
+                    index.array(mapping, key, start, i);
                     return i;
                 }
 
                 // Skip comma or newline separator
-                if (!firstElement && (data[i] == ',' || data[i] == '\n')) {
+                if (!firstElement && (data.at(i) == ',' || data.at(i) == '\n')) {
                     i++;
                     i = skipWhitespaceAndComments(data, i, len);
                     if (i >= len) break;
-                    if (data[i] == ']') {
+                    if (data.at(i) == ']') {
                         i++;
-                        values.put(key, array.toArray(new String[0]));
+                        index.array(mapping, key, start, i);
                         return i;
                     }
                 }
@@ -425,100 +434,73 @@ public class CFGFormat implements IFormatCodec {
                 firstElement = false;
 
                 // Parse array element
-                StringBuilder element = new StringBuilder();
-                i = parseArrayElement(data, i, len, element);
-                array.add(element.toString());
+                i = parseArrayElement(data, i, len);
             }
 
             throw new IOException("Unclosed array");
         }
 
-        private int parseArrayElement(char[] data, int start, int len, StringBuilder element) throws IOException {
+        private int parseArrayElement(FormatInput data, int start, int len) throws IOException {
             int i = start;
-            char c = data[i];
+            byte c = data.at(i);
 
             // String
             if (c == '"' || c == '\'') {
-                char quote = c;
-                i++;
-                while (i < len && data[i] != quote) {
-                    if (data[i] == '\\' && i + 1 < len) {
-                        i++;
-                        element.append(unescapeChar(data[i]));
-                    } else {
-                        element.append(data[i]);
-                    }
-                    i++;
-                }
+                i = skipQuoted(data, i, len, c);
                 if (i >= len) {
                     throw new IOException("Unclosed string in array");
                 }
+                index.element(start + 1, i, FormatIndex.ESCAPED);
                 i++;
                 return i;
             }
 
             // Literal (number, boolean, null)
-            while (i < len && !Character.isWhitespace(data[i]) && data[i] != ',' && data[i] != ']' && data[i] != '#') {
-                element.append(data[i]);
+            while (i < len && !FormatInput.isWhitespace(data.at(i)) && data.at(i) != ',' && data.at(i) != ']' && data.at(i) != '#') {
                 i++;
             }
 
+            index.element(start, i, FormatIndex.RAW);
             return i;
         }
 
-        private int parseLiteral(char[] data, int start, int len, String key) throws IOException {
+        private int parseLiteral(FormatInput data, int start, int len, FormatIndex.Node mapping, String key) throws IOException {
             int i = start;
-            StringBuilder value = new StringBuilder();
-
-            while (i < len && data[i] != '\n' && data[i] != '\r' && data[i] != ',' && data[i] != '}' && data[i] != ']' && data[i] != '#') {
-                value.append(data[i]);
-                i++;
-            }
 
-            String literal = value.toString().trim();
-            values.put(key, literal);
-            return i;
-        }
-
-        private int parseReference(char[] data, int start, int len, String key) throws IOException {
-            // Parse ${...} cross-reference
-            // For now, store as string for basic support
-            int i = start + 2; // Skip ${
-            StringBuilder ref = new StringBuilder("${");
-
-            while (i < len && data[i] != '}') {
-                ref.append(data[i]);
+            while (i < len) {
+                byte c = data.at(i);
+                if (c == '$' && i + 1 < len && data.at(i + 1) == '{') {
+                    i = skipReference(data, i, len);
+                    continue;
+                }
+                if (c == '\n' || c == '\r' || c == ',' || c == '}' || c == ']' || c == '#') break;
                 i++;
             }
 
-            if (i >= len) {
-                throw new IOException("Unclosed reference");
+            int end = i;
+            while (end > start && FormatInput.isWhitespace(data.at(end - 1))) {
+                end--;
             }
 
-            ref.append('}');
-            i++; // Skip closing }
-
-            values.put(key, ref.toString());
+            index.scalar(mapping, key, start, end, FormatIndex.RAW, start, end);
             return i;
         }
 
-        private int parseInclude(char[] data, int start, int len, String key) throws IOException {
+        private int parseInclude(FormatInput data, int start, int len, FormatIndex.Node mapping, String key) throws IOException {
             // Parse @'file.cfg' include directive
             // For now, store as string for basic support
             int i = start + 1; // Skip @
 
             i = skipWhitespaceAndComments(data, i, len);
-            if (i >= len || (data[i] != '"' && data[i] != '\'')) {
+            if (i >= len || (data.at(i) != '"' && data.at(i) != '\'')) {
                 throw new IOException("Expected quoted filename after @ at position " + i);
             }
 
-            char quote = data[i];
+            byte quote = data.at(i);
+            int nameStart = i;
             i++;
-            StringBuilder filename = new StringBuilder("@");
-            filename.append(quote);
 
-            while (i < len && data[i] != quote) {
-                filename.append(data[i]);
+            while (i < len && data.at(i) != quote) {
                 i++;
             }
 
@@ -526,21 +508,18 @@ public class CFGFormat implements IFormatCodec {
                 throw new IOException("Unclosed include filename");
             }
 
-            filename.append(quote);
             i++; // Skip closing quote
 
-            values.put(key, filename.toString());
+            index.value(mapping, key, "@" + data.string(nameStart, i));
             return i;
         }
 
-        private int parseSpecialValue(char[] data, int start, int len, String key) throws IOException {
+        private int parseSpecialValue(FormatInput data, int start, int len, FormatIndex.Node mapping, String key) throws IOException {
             // Parse `...` special values
             // For now, store as string for basic support
             int i = start + 1; // Skip opening `
-            StringBuilder special = new StringBuilder("`");
 
-            while (i < len && data[i] != '`') {
-                special.append(data[i]);
+            while (i < len && data.at(i) != '`') {
                 i++;
             }
 
@@ -548,24 +527,34 @@ public class CFGFormat implements IFormatCodec {
                 throw new IOException("Unclosed special value");
             }
 
-            special.append('`');
             i++; // Skip closing `
 
-            values.put(key, special.toString());
+            index.scalar(mapping, key, start, i, FormatIndex.RAW, -1, -1);
             return i;
         }
 
-        private int skipWhitespaceAndComments(char[] data, int start, int len) {
+        private int skipQuoted(FormatInput data, int start, int len, byte quote) {
+            int i = start + 1;
+            while (i < len && data.at(i) != quote) {
+                if (data.at(i) == '\\' && i + 1 < len) {
+                    i++;
+                }
+                i++;
+            }
+            return i;
+        }
+
+        private int skipWhitespaceAndComments(FormatInput data, int start, int len) {
             int i = start;
             while (i < len) {
                 // Skip whitespace
-                if (Character.isWhitespace(data[i])) {
+                if (FormatInput.isWhitespace(data.at(i))) {
                     i++;
                     continue;
                 }
 
                 // Skip comments
-                if (data[i] == '#') {
+                if (data.at(i) == '#') {
                     i = skipToEndOfLine(data, i, len);
                     continue;
                 }
@@ -575,67 +564,273 @@ public class CFGFormat implements IFormatCodec {
             return i;
         }
 
-        private int skipToEndOfLine(char[] data, int start, int len) {
+        private int skipToEndOfLine(FormatInput data, int start, int len) {
             int i = start;
-            while (i < len && data[i] != '\n') {
+            while (i < len && data.at(i) != '\n') {
                 i++;
             }
-            if (i < len && data[i] == '\n') {
+            if (i < len && data.at(i) == '\n') {
                 i++;
             }
             return i;
         }
 
-        private char unescapeChar(char c) {
-            return switch (c) {
-                case 'n' -> '\n';
-                case 'r' -> '\r';
-                case 't' -> '\t';
-                case 'b' -> '\b';
-                case 'f' -> '\f';
-                case '\\' -> '\\';
-                case '"' -> '"';
-                case '\'' -> '\'';
-                default -> c;
-            };
-        }
-
         @Override
         public String read(String fieldName) {
-            String key = Tools.concat("", (!group.isEmpty() ? "." : "") + fieldName, '.', group);
-            Object value = values.get(key);
-            if (value instanceof String s) {
-                return s;
-            }
-            return null;
+            return index.read(fieldName);
         }
 
         @Override
         public String[] readArray(String fieldName) {
-            String key = Tools.concat("", (!group.isEmpty() ? "." : "") + fieldName, '.', group);
-            Object value = values.get(key);
-            if (value instanceof String[] s) {
-                return s;
-            }
-            return null;
+            return index.readArray(fieldName);
+        }
+
+        @Override
+        public boolean has(String fieldName) {
+            return index.has(fieldName);
+        }
+
+        @Override
+        public int[] span(String fieldName) {
+            // REFERENCES, INCLUDES AND SPECIAL VALUES HAS NO SPAN, PATCHING THEM WOULD DROP THE EXPRESSION
+            return index.span(fieldName);
         }
 
         @Override
         public void push(String group) {
-            this.group.push(group);
+            this.index.push(group);
         }
 
         @Override
         public void pop() {
-            if (!this.group.isEmpty()) {
-                this.group.pop();
-            }
+            this.index.pop();
         }
 
         @Override
         public void close() {
-            this.values.clear();
-            this.group.clear();
+            this.index.clear();
+        }
+    }
+
+    /**
+     * Pull reader of CFG files, nested mappings are reported as groups
+     */
+    public static class FormatPullReader extends BasePullReader {
+        private static final int START = 0;
+        private static final int MAPPING = 1;
+        private static final int ARRAY = 2;
+        private static final int FINISHED = 3;
+
+        private int state = START;
+        private int depth; // OPEN MAPPINGS, THE ROOT INCLUDED
+        private int arrayStart;
+
+        public FormatPullReader(Path path) throws IOException {
+            super(FormatInput.open(path));
+        }
+
+        @Override
+        protected boolean advance() throws IOException {
+            if (this.state == FINISHED) {
+                return false; // CONTENT AFTER THE ROOT MAPPING IS IGNORED, SAME AS THE READER
+            }
+
+            final int len = this.data.length();
+            int i = this.pos;
+            while (i < len && FormatInput.isWhitespace(this.data.at(i))) {
+                i++;
+            }
+
+            if (i < len && this.data.at(i) == '#') {
+                this.pos = this.comment(i);
+                return true;
+            }
+
+            if (this.state == START) {
+                if (i >= len || this.data.at(i) != '{') throw new IOException("CFG file must start with '{'");
+                this.depth = 1;
+                this.state = MAPPING;
+                this.pos = i + 1;
+                return true;
+            }
+
+            if (i >= len) {
+                if (this.state == ARRAY) throw new IOException("Unclosed array");
+                this.pos = i;
+                if (this.depth > 1) {
+                    // MAPPINGS LEFT OPEN ARE CLOSED BY THE END OF THE FILE, SAME AS THE READER
+                    this.depth--;
+                    this.groupEnd();
+                    return true;
+                }
+                return false;
+            }
+
+            final byte c = this.data.at(i);
+            if (c == ',') {
+                this.pos = i + 1;
+                return true;
+            }
+
+            if (this.state == ARRAY) {
+                if (c == ']') {
+                    this.arrayEnd(this.arrayStart, i + 1);
+                    this.state = MAPPING;
+                    this.pos = i + 1;
+                } else {
+                    this.pos = this.element(i);
+                }
+                return true;
+            }
+
+            if (c == '}') {
+                if (--this.depth == 0) {
+                    this.state = FINISHED;
+                } else {
+                    this.groupEnd();
+                }
+                this.pos = i + 1;
+                return true;
+            }
+
+            this.pos = this.entry(i);
+            return true;
+        }
+
+        private int entry(int start) throws IOException {
+            final int len = this.data.length();
+            final String key;
+            int i = start;
+
+            final byte quote = this.data.at(i);
+            if (quote == '"' || quote == '\'') {
+                i = this.skipQuoted(i, quote);
+                if (i >= len) throw new IOException("Unclosed quoted key");
+                key = this.data.unescaped(start + 1, i);
+                i++;
+            } else {
+                if (!FormatInput.isLetter(quote) && quote != '_') throw new IOException("Invalid key start character at position " + i);
+                while (i < len && (FormatInput.isLetterOrDigit(this.data.at(i)) || this.data.at(i) == '_')) {
+                    i++;
+                }
+                key = this.data.string(start, i);
+            }
+
+            i = this.skipWhitespace(i);
+            if (i >= len || (this.data.at(i) != ':' && this.data.at(i) != '=')) {
+                throw new IOException("Expected ':' or '=' after key at position " + i);
+            }
+            i = this.skipWhitespace(i + 1);
+            if (i >= len) throw new IOException("Expected value after separator at position " + i);
+
+            final byte c = this.data.at(i);
+            if (c == '{') {
+                this.group(key);
+                this.depth++;
+                return i + 1;
+            }
+
+            this.key(key);
+            switch (c) {
+                case '"', '\'' -> {
+                    final int end = this.skipQuoted(i, c);
+                    if (end >= len) throw new IOException("Unclosed string at position " + end);
+                    this.scalar(i + 1, end, FormatIndex.ESCAPED | QUOTED, i, end + 1);
+                    return end + 1;
+                }
+                case '[' -> {
+                    this.arrayStart();
+                    this.arrayStart = i;
+                    this.state = ARRAY;
+                    return i + 1;
+                }
+                case '@' -> {
+                    final int nameStart = this.skipWhitespace(i + 1);
+                    if (nameStart >= len || (this.data.at(nameStart) != '"' && this.data.at(nameStart) != '\'')) {
+                        throw new IOException("Expected quoted filename after @ at position " + nameStart);
+                    }
+                    final int end = this.find(nameStart + 1, this.data.at(nameStart), "Unclosed include filename");
+                    this.scalar("@" + this.data.string(nameStart, end + 1));
+                    return end + 1;
+                }
+                case '`' -> {
+                    final int end = this.find(i + 1, (byte) '`', "Unclosed special value");
+                    this.scalar(i, end + 1, FormatIndex.RAW, -1, -1);
+                    return end + 1;
+                }
+            }
+
+            // BOOLEAN, NUMBER, NULL OR MATH WITH ${...} CROSS-REFERENCES
+            int end = i;
+            while (end < len) {
+                final byte b = this.data.at(end);
+                if (b == '$' && end + 1 < len && this.data.at(end + 1) == '{') {
+                    end = skipReference(this.data, end, len);
+                    continue;
+                }
+                if (b == '\n' || b == '\r' || b == ',' || b == '}' || b == ']' || b == '#') break;
+                end++;
+            }
+            final int next = end;
+            while (end > i && FormatInput.isWhitespace(this.data.at(end - 1))) end--;
+            this.scalar(i, end, FormatIndex.RAW, i, end);
+            return next;
+        }
+
+        private int element(int start) throws IOException {
+            final int len = this.data.length();
+            final byte c = this.data.at(start);
+            if (c == '"' || c == '\'') {
+                final int end = this.skipQuoted(start, c);
+                if (end >= len) throw new IOException("Unclosed string in array");
+                this.element(start + 1, end, FormatIndex.ESCAPED | QUOTED);
+                return end + 1;
+            }
+
+            int i = start;
+            while (i < len && !FormatInput.isWhitespace(this.data.at(i)) && this.data.at(i) != ',' && this.data.at(i) != ']' && this.data.at(i) != '#') {
+                i++;
+            }
+            this.element(start, i, FormatIndex.RAW);
+            return i;
+        }
+
+        private int comment(int start) {
+            final int len = this.data.length();
+            int i = start + 1;
+            while (i < len && this.data.at(i) != '\n') i++;
+            int textStart = start + 1;
+            int textEnd = i;
+            while (textStart < textEnd && FormatInput.isWhitespace(this.data.at(textStart))) textStart++;
+            while (textEnd > textStart && FormatInput.isWhitespace(this.data.at(textEnd - 1))) textEnd--;
+            this.comment(textStart, textEnd);
+            return i;
+        }
+
+        /**
+         * @return offset of the char
+         */
+        private int find(int start, byte c, String error) throws IOException {
+            int i = start;
+            while (i < this.data.length() && this.data.at(i) != c) i++;
+            if (i >= this.data.length()) throw new IOException(error);
+            return i;
+        }
+
+        private int skipQuoted(int start, byte quote) {
+            int i = start + 1;
+            final int len = this.data.length();
+            while (i < len && this.data.at(i) != quote) {
+                if (this.data.at(i) == '\\' && i + 1 < len) i++;
+                i++;
+            }
+            return i;
+        }
+
+        private int skipWhitespace(int start) {
+            int i = start;
+            while (i < this.data.length() && FormatInput.isWhitespace(this.data.at(i))) i++;
+            return i;
         }
     }
 }
@@ -0,0 +1,279 @@
+package me.srrapero720.waterconfig.impl.formats;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Keys found by the first pass of a format reader, each with the offsets of its value in the {@link FormatInput}.
+ * Values are sliced and decoded only when read, keys no field asks for are never decoded.
+ *
+ * <p>Keys are indexed as a tree of group nodes, {@link #push(String)} descends once to the child group
+ * and every read is a single lookup on the current group.</p>
+ */
+public final class FormatIndex {
+    // DECODING MODES
+    /**
+     * Value text as is
+     */
+    public static final int RAW = 0;
+    /**
+     * Value text with backslash escapes
+     */
+    public static final int ESCAPED = 1;
+    /**
+     * Value text with backslash escapes and line ending backslashes, which trim the following whitespace
+     */
+    public static final int MULTILINE = 2;
+
+    private static final Node MISSING = new Node(); // GROUPS NOT IN THE FILE, ALWAYS EMPTY
+
+    private final FormatInput input;
+    private final Node root = new Node();
+
+    // READ CURSOR
+    private final ArrayDeque<Node> parents = new ArrayDeque<>();
+    private Node current = this.root;
+
+    // ARRAY ELEMENTS BEING INDEXED, START, END AND MODE OF EACH ONE
+    private int[] elements = new int[48];
+    private int elementsSize;
+
+    public FormatIndex(FormatInput input) {
+        this.input = input;
+    }
+
+    public FormatInput input() {
+        return this.input;
+    }
+
+    public Node root() {
+        return this.root;
+    }
+
+    /**
+     * Group node of a dotted path from the root, created when missing
+     * @param path dotted group path, each part is trimmed
+     */
+    public Node node(String path) {
+        Node node = this.root;
+        int start = 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('.', start);
+            if (end == -1) end = path.length();
+            final String name = path.substring(start, end).trim();
+            if (!name.isEmpty()) node = node.child(name);
+            start = end + 1;
+        }
+        return node;
+    }
+
+    /**
+     * Indexes a scalar value
+     * @param group group of the value
+     * @param key key of the value in the group
+     * @param start first byte of the value text
+     * @param end last byte of the value text, exclusive
+     * @param mode decoding mode of the value text
+     * @param spanStart first byte of the raw value in the file, -1 when the value can't be patched
+     * @param spanEnd last byte of the raw value in the file, exclusive
+     */
+    public void scalar(Node group, String key, int start, int end, int mode, int spanStart, int spanEnd) {
+        group.children.put(key, new Entry(start, end, mode, null, null, spanStart, spanEnd));
+    }
+
+    /**
+     * Indexes an already decoded value, for values that aren't a plain slice of the file
+     * @param group group of the value
+     * @param key key of the value in the group
+     * @param value the decoded value
+     */
+    public void value(Node group, String key, String value) {
+        group.children.put(key, new Entry(0, 0, RAW, null, value, -1, -1));
+    }
+
+    /**
+     * Adds an element to the array being indexed
+     * @param start first byte of the element text
+     * @param end last byte of the element text, exclusive
+     * @param mode decoding mode of the element text
+     */
+    public void element(int start, int end, int mode) {
+        if (this.elementsSize + 3 > this.elements.length) {
+            this.elements = Arrays.copyOf(this.elements, this.elements.length * 2);
+        }
+        this.elements[this.elementsSize++] = start;
+        this.elements[this.elementsSize++] = end;
+        this.elements[this.elementsSize++] = mode;
+    }
+
+    /**
+     * Indexes the added elements as an array value
+     * @param group group of the value
+     * @param key key of the value in the group
+     * @param spanStart first byte of the raw array in the file, brackets included
+     * @param spanEnd last byte of the raw array in the file, exclusive
+     */
+    public void array(Node group, String key, int spanStart, int spanEnd) {
+        group.children.put(key, new Entry(0, 0, RAW, Arrays.copyOf(this.elements, this.elementsSize), null, spanStart, spanEnd));
+        this.elementsSize = 0;
+    }
+
+    /**
+     * Drops the elements added since the last indexed array
+     */
+    public void discardElements() {
+        this.elementsSize = 0;
+    }
+
+    /**
+     * Descends to a child group of the current group, missing groups reads nothing
+     * @param name the group name
+     */
+    public void push(String name) {
+        this.parents.push(this.current);
+        this.current = this.current.children.get(name) instanceof Node node ? node : MISSING;
+    }
+
+    /**
+     * Returns to the parent of the current group, does nothing on the root group
+     */
+    public void pop() {
+        if (!this.parents.isEmpty()) {
+            this.current = this.parents.pop();
+        }
+    }
+
+    private Entry entry(String key) {
+        return this.current.children.get(key) instanceof Entry entry ? entry : null;
+    }
+
+    /**
+     * Decodes a scalar value of the current group
+     * @param key key of the value in the group
+     * @return the value, null when missing or when is an array
+     */
+    public String read(String key) {
+        final Entry entry = this.entry(key);
+        if (entry == null || entry.elements != null) {
+            return null;
+        }
+        return entry.value != null ? entry.value : this.decode(entry.start, entry.end, entry.mode);
+    }
+
+    /**
+     * @param key key of the value in the current group
+     * @return true when the group has a scalar value with the key
+     */
+    public boolean has(String key) {
+        final Entry entry = this.entry(key);
+        return entry != null && entry.elements == null;
+    }
+
+    /**
+     * Decodes an array value of the current group
+     * @param key key of the value in the group
+     * @return the elements, null when missing or when is a scalar
+     */
+    public String[] readArray(String key) {
+        final Entry entry = this.entry(key);
+        if (entry == null || entry.elements == null) {
+            return null;
+        }
+        final int[] elements = entry.elements;
+        final String[] values = new String[elements.length / 3];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.decode(elements[i * 3], elements[i * 3 + 1], elements[i * 3 + 2]);
+        }
+        return values;
+    }
+
+    /**
+     * @param key key of the value in the current group
+     * @return a copy of the span, null when missing or when the value can't be patched
+     */
+    public int[] span(String key) {
+        final Entry entry = this.entry(key);
+        if (entry == null || entry.spanStart == -1) {
+            return null;
+        }
+        return new int[] { entry.spanStart, entry.spanEnd };
+    }
+
+    public void clear() {
+        this.root.children.clear();
+        this.parents.clear();
+        this.current = this.root;
+        this.elementsSize = 0;
+    }
+
+    private String decode(int start, int end, int mode) {
+        return decode(this.input, start, end, mode);
+    }
+
+    /**
+     * Decodes a value text of the input
+     * @param input the file contents
+     * @param start first byte of the value text
+     * @param end last byte of the value text, exclusive
+     * @param mode decoding mode of the value text
+     */
+    static String decode(FormatInput input, int start, int end, int mode) {
+        return switch (mode) {
+            case ESCAPED -> input.unescaped(start, end);
+            case MULTILINE -> unescapeMultiline(input.string(start, end));
+            default -> input.string(start, end);
+        };
+    }
+
+    private static String unescapeMultiline(String value) {
+        if (value.indexOf('\\') == -1) {
+            return value;
+        }
+
+        final StringBuilder builder = new StringBuilder(value.length());
+        int i = 0;
+        while (i < value.length()) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(i + 1);
+                if (next == '\n' || (next == '\r' && i + 2 < value.length() && value.charAt(i + 2) == '\n')) {
+                    // LINE ENDING BACKSLASH, TRIMS THE WHITESPACE UNTIL THE NEXT TEXT
+                    i++;
+                    while (i < value.length() && Character.isWhitespace(value.charAt(i))) {
+                        i++;
+                    }
+                    continue;
+                }
+                builder.append(FormatInput.unescape(next));
+                i += 2;
+                continue;
+            }
+            builder.append(c);
+            i++;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Group of the index, children are values or other groups
+     */
+    public static final class Node {
+        private final HashMap<String, Object> children = new HashMap<>();
+
+        /**
+         * Child group, created when missing. Replaces a value with the same key
+         * @param name the group name
+         */
+        public Node child(String name) {
+            if (this.children.get(name) instanceof Node node) {
+                return node;
+            }
+            final Node node = new Node();
+            this.children.put(name, node);
+            return node;
+        }
+    }
+
+    private record Entry(int start, int end, int mode, int[] elements, String value, int spanStart, int spanEnd) {}
+}
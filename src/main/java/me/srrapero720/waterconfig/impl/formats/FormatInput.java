@@ -0,0 +1,156 @@
+package me.srrapero720.waterconfig.impl.formats;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * UTF-8 file contents shared by the format readers, read with a single copy through a {@link FileChannel},
+ * so the file never lives on the heap as a String nor a char array. Files are never memory mapped, a live
+ * mapping keeps the file locked on Windows until the buffer is collected and breaks the next write of the spec.
+ *
+ * <p>Readers parse the raw bytes, syntax chars are always ASCII and UTF-8 multibyte sequences never contain
+ * ASCII bytes, so only the text of keys and values is decoded. Offsets are byte offsets in the file.</p>
+ */
+public final class FormatInput {
+    private final byte[] array;
+    private final int length;
+
+    private FormatInput(byte[] array) {
+        this.array = array;
+        this.length = array.length;
+    }
+
+    /**
+     * Reads the file
+     * @param path file to read
+     * @return the contents of the file
+     */
+    public static FormatInput open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File " + path + " is too big to be a config file");
+            }
+
+            final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) == -1) throw new EOFException("File " + path + " was truncated while reading");
+            }
+            return new FormatInput(buffer.array());
+        }
+    }
+
+    /**
+     * Wraps already read bytes
+     * @param data UTF-8 bytes, not copied
+     * @return the input
+     */
+    public static FormatInput of(byte[] data) {
+        return new FormatInput(data);
+    }
+
+    public int length() {
+        return this.length;
+    }
+
+    /**
+     * Raw contents for binary formats, the returned buffer has its own position and byte order
+     * @return a read only view of the whole file
+     */
+    public ByteBuffer bytes() {
+        return ByteBuffer.wrap(this.array).asReadOnlyBuffer();
+    }
+
+    /**
+     * Byte at the offset, non-ASCII bytes are negative and never match a syntax char
+     */
+    public byte at(int index) {
+        return this.array[index];
+    }
+
+    /**
+     * Decodes a slice of the file
+     * @param start first byte offset
+     * @param end last byte offset, exclusive
+     * @return the decoded text
+     */
+    public String string(int start, int end) {
+        return new String(this.array, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decodes a slice of the file resolving the backslash escapes
+     * @param start first byte offset
+     * @param end last byte offset, exclusive
+     * @return the decoded and unescaped text
+     */
+    public String unescaped(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (this.at(i) == '\\') {
+                return unescape(this.string(start, end));
+            }
+        }
+        return this.string(start, end);
+    }
+
+    /**
+     * Checks if the slice matches the ASCII text
+     */
+    public boolean matches(int start, String ascii) {
+        if (start + ascii.length() > this.length) return false;
+        for (int i = 0; i < ascii.length(); i++) {
+            if (this.at(start + i) != ascii.charAt(i)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whitespace as {@link Character#isWhitespace(char)} for the ASCII range
+     */
+    public static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\t' || b == '\r' || b == '\f' || b == 0x0B || (b >= 0x1C && b <= 0x1F);
+    }
+
+    /**
+     * Letters as {@link Character#isLetter(char)}, any non-ASCII byte is taken as a letter
+     */
+    public static boolean isLetter(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || b < 0;
+    }
+
+    public static boolean isLetterOrDigit(byte b) {
+        return isLetter(b) || (b >= '0' && b <= '9');
+    }
+
+    private static String unescape(String value) {
+        final StringBuilder builder = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                c = unescape(value.charAt(++i));
+            }
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Char represented by a backslash escape, unknown escapes are the char itself
+     * @param c the char after the backslash
+     */
+    public static char unescape(char c) {
+        return switch (c) {
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            default -> c;
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package me.srrapero720.waterconfig.impl.formats;
+
+import me.srrapero720.waterconfig.api.formats.IFormatCodec;
+import me.srrapero720.waterconfig.api.formats.IFormatPullReader;
+import me.srrapero720.waterconfig.api.formats.IFormatPullReader.Event;
+import me.srrapero720.waterconfig.api.formats.IFormatWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts config files between formats without a spec, the events of the source {@link IFormatPullReader}
+ * are written as they come to the target {@link IFormatWriter}. Only the array being converted is kept in memory,
+ * the writer is flushed every {@link #FLUSH_EVERY} values.
+ *
+ * <p>Value types are taken from the source text: quoted values are strings, unquoted {@code true}/{@code false}
+ * are booleans and unquoted numbers are numbers, anything else is written as a string.</p>
+ */
+public final class FormatTranscoder {
+    /**
+     * Values written between each writer flush
+     */
+    public static final int FLUSH_EVERY = 512;
+
+    private FormatTranscoder() {}
+
+    /**
+     * Converts a file to another format
+     * @param source file to convert
+     * @param from format of the source file
+     * @param target file to write, replaced when exists
+     * @param to format of the target file
+     * @throws IOException when the source can't be read or the target can't be written
+     * @throws IllegalArgumentException when the source format has no pull reader
+     */
+    public static void transcode(Path source, IFormatCodec from, Path target, IFormatCodec to) throws IOException {
+        final IFormatPullReader reader = from.createPullReader(source);
+        if (reader == null) {
+            throw new IllegalArgumentException("Format '" + from.id() + "' has no pull reader");
+        }
+
+        final Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (reader; IFormatWriter writer = to.createWriter(target)) {
+            transcode(reader, writer, rootName(source, from));
+        }
+    }
+
+    /**
+     * Writes all the events of the reader into the writer, neither of them is closed
+     * @param reader source events
+     * @param writer target writer
+     * @param root name of the root group, same as the spec name when the file is written by a spec
+     */
+    public static void transcode(IFormatPullReader reader, IFormatWriter writer, String root) throws IOException {
+        writer.push(root);
+
+        String key = null;
+        List<String> array = null;
+        Class<?> arrayType = null;
+        int values = 0;
+        for (Event event = reader.next(); event != Event.END; event = reader.next()) {
+            switch (event) {
+                case COMMENT -> writer.write(reader.value());
+                case GROUP_START -> writer.push(reader.name());
+                case GROUP_END -> writer.pop();
+                case KEY -> key = reader.name();
+                case SCALAR -> {
+                    final String value = reader.value();
+                    writer.write(key, value, typeOf(value, reader.quoted()), null);
+                    values++;
+                }
+                case ARRAY_START -> {
+                    array = new ArrayList<>();
+                    arrayType = null;
+                }
+                case ARRAY_VALUE -> {
+                    final String value = reader.value();
+                    final Class<?> type = typeOf(value, reader.quoted());
+                    array.add(value);
+                    arrayType = arrayType == null || arrayType == type ? type : mixed(arrayType, type);
+                    values++;
+                }
+                case ARRAY_END -> {
+                    final Class<?> subType = arrayType == null ? String.class : arrayType;
+                    writer.write(key, array.toArray(new String[0]), subType.arrayType(), subType);
+                    array = null;
+                    values++;
+                }
+                default -> {}
+            }
+
+            if (values >= FLUSH_EVERY) {
+                writer.flush();
+                values = 0;
+            }
+        }
+
+        writer.pop();
+    }
+
+    /**
+     * Type of a value as written in the source file
+     */
+    static Class<?> typeOf(String value, boolean quoted) {
+        if (quoted || value.isEmpty()) {
+            return String.class;
+        }
+        if (value.equals("true") || value.equals("false")) {
+            return Boolean.class;
+        }
+
+        boolean digits = false, dot = false, exponent = false;
+        for (int i = value.charAt(0) == '-' || value.charAt(0) == '+' ? 1 : 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits = true;
+            } else if (c == '.' && !dot && !exponent) {
+                dot = true;
+            } else if ((c == 'e' || c == 'E') && digits && !exponent) {
+                exponent = true;
+                digits = false; // EXPONENT DIGITS ARE REQUIRED
+            } else if (!((c == '-' || c == '+') && (value.charAt(i - 1) == 'e' || value.charAt(i - 1) == 'E'))) {
+                return String.class;
+            }
+        }
+        if (!digits) {
+            return String.class;
+        }
+        return dot || exponent ? Double.class : Long.class;
+    }
+
+    private static Class<?> mixed(Class<?> a, Class<?> b) {
+        // INTEGERS ON A DECIMAL ARRAY ARE STILL NUMBERS, ANYTHING ELSE IS WRITTEN AS STRINGS
+        return Number.class.isAssignableFrom(a) && Number.class.isAssignableFrom(b) ? Double.class : String.class;
+    }
+
+    private static String rootName(Path source, IFormatCodec format) {
+        final String name = source.getFileName().toString();
+        return name.endsWith(format.extension()) ? name.substring(0, name.length() - format.extension().length()) : name;
+    }
+}
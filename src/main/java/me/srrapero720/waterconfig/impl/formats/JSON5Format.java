@@ -3,6 +3,7 @@ package me.srrapero720.waterconfig.impl.formats;
 import me.srrapero720.waterconfig.WaterConfig;
 import me.srrapero720.waterconfig.Tools;
 import me.srrapero720.waterconfig.api.formats.IFormatCodec;
+import me.srrapero720.waterconfig.api.formats.IFormatPullReader;
 import me.srrapero720.waterconfig.api.formats.IFormatReader;
 import me.srrapero720.waterconfig.api.formats.IFormatWriter;
 
@@ -40,8 +41,32 @@ public class JSON5Format implements IFormatCodec {
         return new FormatWriter(filePath);
     }
 
+    @Override
+    public IFormatPullReader createPullReader(Path filePath) throws IOException {
+        return new JSONFormat.FormatPullReader(filePath, true);
+    }
+
+    @Override
+    public String encodeValue(String value, Class<?> type) {
+        return isString(type) ? JSON_STRING_LINE + value + JSON_STRING_LINE : value;
+    }
+
+    @Override
+    public String encodeArray(String[] values, Class<?> subType) {
+        final boolean isString = isString(subType);
+        final StringJoiner joiner = new StringJoiner(JSON_CONTINUE + " ", String.valueOf(JSON_ARRAY_START), String.valueOf(JSON_ARRAY_END));
+        for (String value: values) {
+            joiner.add(isString ? JSON_STRING_LINE + value + JSON_STRING_LINE : value);
+        }
+        return joiner.toString();
+    }
+
+    private static boolean isString(Class<?> type) {
+        return !Number.class.isAssignableFrom(type) && !Boolean.class.isAssignableFrom(type) && !boolean.class.isAssignableFrom(type);
+    }
+
     public static class FormatWriter implements IFormatWriter {
-        private final Stack<String> group = new Stack<>();
+        private final ArrayDeque<String> group = new ArrayDeque<>();
         private final BufferedWriter writer;
         private final StringBuilder buffer = new StringBuilder();
         private final List<String> comments = new ArrayList<>();
@@ -72,7 +97,7 @@ public class JSON5Format implements IFormatCodec {
                 this.beginned = true;
             }
 
-            boolean isString = !Number.class.isAssignableFrom(type) && !Boolean.class.isAssignableFrom(type) && !boolean.class.isAssignableFrom(type);
+            boolean isString = isString(type);
 
             // WRITE SPACES
             for (String comment: this.comments) {
@@ -112,7 +137,7 @@ public class JSON5Format implements IFormatCodec {
                 this.beginned = true;
             }
 
-            boolean isString = !Number.class.isAssignableFrom(subType) && !Boolean.class.isAssignableFrom(subType) && !boolean.class.isAssignableFrom(subType);
+            boolean isString = isString(subType);
 
             for (String comment: this.comments) {
                 this.buffer.append("\t".repeat(this.group.size()));
@@ -209,6 +234,12 @@ public class JSON5Format implements IFormatCodec {
             this.buffer.append(JSON_OBJECT_END);
         }
 
+        @Override
+        public void flush() throws IOException {
+            this.writer.append(this.buffer);
+            this.buffer.setLength(0);
+        }
+
         @Override
         public void close() throws IOException {
             this.buffer.append("\n");
@@ -233,27 +264,36 @@ public class JSON5Format implements IFormatCodec {
         public static final int VALUE_STRING = 3;
         public static final int ARRAY = 4;
         public static final int ARRAY_STRING = 5;
-        public final LinkedHashMap<String, Object> values = new LinkedHashMap<>();
-        public final Stack<String> group = new Stack<>();
-        public final StringBuilder key = new StringBuilder();
-        public final StringBuilder value = new StringBuilder();
-        public final List<String> arrayValues = new ArrayList<>();
+        public final FormatIndex index;
+        public final ArrayDeque<FormatIndex.Node> parents = new ArrayDeque<>(); // GROUPS BEING PARSED
+        public FormatIndex.Node node;
+        public int keyStart = -1;
+        public int keyEnd = -1;
+        public int valueStart = -1;
+        public int valueEnd = -1;
+        public int spanStart = -1;
+        public int spanEnd = -1;
         public boolean escaped;
         public boolean finished = false;
         public boolean comment = false;
         public boolean commentBlock = false;
 
+        private final FormatInput data;
+
         public FormatReader(Path path) throws IOException {
-            // READ JSON STRING
-            char[] data = new String(Tools.readAllBytes(path), StandardCharsets.UTF_8).toCharArray();
+            // READ JSON BYTES, KEYS AND VALUES ARE DECODED ONCE CAPTURED
+            this.data = FormatInput.open(path);
+            this.index = new FormatIndex(this.data);
+            this.node = this.index.root();
 
             // READING STATES
             char[] nexts = START_CHARS;
             int capturing = NONE;
 
-            for (int i = 0; i < data.length; i++) {
-                char c = data[i];
-                boolean whitespace = Character.isWhitespace(c);
+            for (int i = 0; i < data.length(); i++) {
+                byte b = data.at(i);
+                char c = (char) (b & 0xFF); // NON-ASCII NEVER MATCHES A SYNTAX CHAR
+                boolean whitespace = FormatInput.isWhitespace(b);
 
                 // LINE COMMENT: ends at newline
                 if (comment && c == '\n') {
@@ -263,7 +303,7 @@ public class JSON5Format implements IFormatCodec {
 
                 // BLOCK COMMENT: skip content, detect */
                 if (commentBlock) {
-                    if (c == JSON_COMMENT_BLOCK && i + 1 < data.length && data[i + 1] == JSON_COMMENT_LINE) {
+                    if (c == JSON_COMMENT_BLOCK && i + 1 < data.length() && data.at(i + 1) == JSON_COMMENT_LINE) {
                         commentBlock = false;
                         i++;
                     }
@@ -282,8 +322,8 @@ public class JSON5Format implements IFormatCodec {
 
                 // COMMENT START DETECTION: // or /* (before finished check to allow trailing comments)
                 if (c == JSON_COMMENT_LINE && capturing != KEY && capturing != VALUE_STRING && capturing != ARRAY_STRING) {
-                    if (i + 1 < data.length) {
-                        char next = data[i + 1];
+                    if (i + 1 < data.length()) {
+                        byte next = data.at(i + 1);
                         if (next == JSON_COMMENT_LINE) {
                             comment = true;
                             i++;
@@ -326,6 +366,7 @@ public class JSON5Format implements IFormatCodec {
                             break;
                         }
                         capturing = ARRAY;
+                        spanStart = i;
                         continue;
                     }
 
@@ -350,6 +391,7 @@ public class JSON5Format implements IFormatCodec {
                         // FINISHED CAPTURING
                         if (capturing == VALUE_STRING) {
                             capturing = NONE;
+                            spanEnd = i + 1;
                             this.putEntry(false);
                             nexts = CONTINUE_OR_END;
                             continue;
@@ -358,6 +400,7 @@ public class JSON5Format implements IFormatCodec {
                         // IS NOT A STRING VALUE
                         if (capturing == VALUE) {
                             capturing = VALUE_STRING;
+                            spanStart = i;
                             nexts = null;
                             continue;
                         }
@@ -375,6 +418,8 @@ public class JSON5Format implements IFormatCodec {
                     }
 
                     case JSON_ESCAPED -> {
+                        // ESCAPES ARE KEPT RAW IN THE CAPTURED TEXT
+                        this.capture(capturing, i);
                         escaped = true;
                         continue;
                     }
@@ -424,7 +469,7 @@ public class JSON5Format implements IFormatCodec {
                             capturing = NONE;
                         }
                         this.popGroup();
-                        if (group.isEmpty()) {
+                        if (parents.isEmpty()) {
                             capturing = NONE;
                             nexts = null;
                             continue;
@@ -441,6 +486,7 @@ public class JSON5Format implements IFormatCodec {
                             if (capturing == ARRAY) {
                                 this.putArrayValue();
                             }
+                            spanEnd = i + 1;
                             this.putEntry(true);
                             capturing = NONE;
                             nexts = CONTINUE_OR_END;
@@ -450,97 +496,113 @@ public class JSON5Format implements IFormatCodec {
                     }
                 }
 
-                switch (capturing) {
-                    case KEY -> this.appendKey(c);
-                    case VALUE_STRING, VALUE, ARRAY_STRING, ARRAY -> this.appendValue(c);
-                    case NONE -> throw new IllegalStateException("Not capturing values");
+                // PLAIN VALUES ENDS ON THE LAST CAPTURED CHAR
+                if (capturing == VALUE) {
+                    if (spanStart == -1) spanStart = i;
+                    spanEnd = i + 1;
+                }
+
+                if (capturing == NONE) {
+                    throw new IllegalStateException("Not capturing values");
                 }
+                this.capture(capturing, i);
+                escaped = false;
             }
         }
 
         @Override
         public String read(String fieldName) {
-            var value = values.get(Tools.concat("", (!group.isEmpty() ? "." : "") + fieldName, '.', group));
-            if (value instanceof String s) {
-                return s;
-            }
-            return null;
+            return index.read(fieldName);
         }
 
         @Override
         public String[] readArray(String fieldName) {
-            String key = Tools.concat("", (!group.isEmpty() ? "." : "") + fieldName, '.', group);
-            var value = values.get(key);
-            if (value instanceof String[] s) {
-                return s;
-            }
-            return null;
+            return index.readArray(fieldName);
+        }
+
+        @Override
+        public boolean has(String fieldName) {
+            return index.has(fieldName);
+        }
+
+        @Override
+        public int[] span(String fieldName) {
+            return index.span(fieldName);
         }
 
         @Override
         public void push(String group) {
-            this.group.push(group);
+            this.index.push(group);
         }
 
         @Override
         public void pop() {
-            this.group.pop();
+            this.index.pop();
         }
 
         @Override
         public void close() {
-            this.values.clear();
-            this.group.clear();
-            this.key.setLength(0);
-            this.value.setLength(0);
-            this.arrayValues.clear();
+            this.index.clear();
+            this.parents.clear();
+            this.clear();
         }
 
-        private void appendKey(char c) {
-            if (escaped) {
-                key.append("\\");
+        private void capture(int capturing, int i) {
+            if (capturing == KEY) {
+                if (keyStart == -1) keyStart = i;
+                keyEnd = i + 1;
+            } else if (capturing != NONE) {
+                if (valueStart == -1) valueStart = i;
+                valueEnd = i + 1;
             }
-            key.append(c);
-            escaped = false;
         }
 
-        private void appendValue(char c) {
-            if (escaped) {
-                value.append("\\");
-            }
-            value.append(c);
-            escaped = false;
+        private String key() {
+            return keyStart == -1 ? "" : data.string(keyStart, keyEnd);
         }
 
         private void putEntry(boolean array) {
-            values.put(Tools.concat("", (!group.isEmpty() ? "." : "") + key, '.', group), array ? arrayValues.toArray(new String[0]) : value.toString());
+            final String key = this.key();
+            if (array) {
+                index.array(node, key, spanStart, spanEnd);
+            } else if (valueStart == -1) {
+                index.scalar(node, key, 0, 0, FormatIndex.RAW, spanStart, spanEnd); // EMPTY
+            } else {
+                index.scalar(node, key, valueStart, valueEnd, FormatIndex.RAW, spanStart, spanEnd);
+            }
             this.clear();
             this.escaped = false;
         }
 
         private void putArrayValue() {
-            arrayValues.add(value.toString());
-            value.setLength(0);
+            if (valueStart == -1) {
+                index.element(0, 0, FormatIndex.RAW); // EMPTY
+            } else {
+                index.element(valueStart, valueEnd, FormatIndex.RAW);
+            }
+            valueStart = valueEnd = -1;
             escaped = false;
         }
 
         private void pushGroup() {
-            group.push(key.toString());
-            key.setLength(0);
+            parents.push(node);
+            node = node.child(this.key());
+            keyStart = keyEnd = -1;
         }
 
         private void popGroup() {
-            if (group.isEmpty()) {
+            if (parents.isEmpty()) {
                 this.finished = true;
                 return;
             }
-            group.pop();
+            node = parents.pop();
         }
 
         private void clear() {
-            key.setLength(0);
-            value.setLength(0);
-            arrayValues.clear();
+            spanStart = spanEnd = -1;
+            keyStart = keyEnd = -1;
+            valueStart = valueEnd = -1;
+            index.discardElements();
         }
     }
 }
@@ -2,6 +2,7 @@ package me.srrapero720.waterconfig.impl.formats;
 
 import me.srrapero720.waterconfig.WaterConfig;
 import me.srrapero720.waterconfig.Tools;
+import me.srrapero720.waterconfig.api.formats.IFormatPullReader;
 import me.srrapero720.waterconfig.api.formats.IFormatReader;
 import me.srrapero720.waterconfig.api.formats.IFormatWriter;
 import me.srrapero720.waterconfig.api.formats.IFormatCodec;
@@ -35,8 +36,32 @@ public class JSONFormat implements IFormatCodec {
         return new FormatWriter(filePath);
     }
 
+    @Override
+    public IFormatPullReader createPullReader(Path filePath) throws IOException {
+        return new FormatPullReader(filePath);
+    }
+
+    @Override
+    public String encodeValue(String value, Class<?> type) {
+        return isString(type) ? JSON_STRING_LINE + value + JSON_STRING_LINE : value;
+    }
+
+    @Override
+    public String encodeArray(String[] values, Class<?> subType) {
+        final boolean isString = isString(subType);
+        final StringJoiner joiner = new StringJoiner(JSON_CONTINUE + " ", String.valueOf(JSON_ARRAY_START), String.valueOf(JSON_ARRAY_END));
+        for (String value: values) {
+            joiner.add(isString ? JSON_STRING_LINE + value + JSON_STRING_LINE : value);
+        }
+        return joiner.toString();
+    }
+
+    private static boolean isString(Class<?> type) {
+        return !Number.class.isAssignableFrom(type) && !Boolean.class.isAssignableFrom(type);
+    }
+
     public static class FormatWriter implements IFormatWriter {
-        private final Stack<String> group = new Stack<>();
+        private final ArrayDeque<String> group = new ArrayDeque<>();
         private final BufferedWriter writer;
         private final StringBuilder buffer = new StringBuilder();
         private boolean beginned = false;
@@ -63,7 +88,7 @@ public class JSONFormat implements IFormatCodec {
                 this.beginned = true;
             }
 
-            boolean isString = !Number.class.isAssignableFrom(type) && !Boolean.class.isAssignableFrom(type);
+            boolean isString = isString(type);
 
             // WRITE SPACES
             this.buffer.append("\t".repeat(this.group.size()));
@@ -91,7 +116,7 @@ public class JSONFormat implements IFormatCodec {
                 this.beginned = true;
             }
 
-            boolean isString = !Number.class.isAssignableFrom(subType) && !Boolean.class.isAssignableFrom(subType);
+            boolean isString = isString(subType);
 
             this.buffer.append("\t".repeat(this.group.size()));
             this.buffer.append(JSON_STRING_LINE);
@@ -159,6 +184,12 @@ public class JSONFormat implements IFormatCodec {
             this.buffer.append(JSON_OBJECT_END);
         }
 
+        @Override
+        public void flush() throws IOException {
+            this.writer.append(this.buffer);
+            this.buffer.setLength(0);
+        }
+
         @Override
         public void close() throws IOException {
             this.buffer.append("\n");
@@ -181,24 +212,34 @@ public class JSONFormat implements IFormatCodec {
         public static final int VALUE_STRING = 3;
         public static final int ARRAY = 4;
         public static final int ARRAY_STRING = 5;
-        public final LinkedHashMap<String, Object> values = new LinkedHashMap<>();
-        public final Stack<String> group = new Stack<>();
-        public final StringBuilder key = new StringBuilder();
-        public final StringBuilder value = new StringBuilder();
-        public final List<String> arrayValues = new ArrayList<>();
+        public final FormatIndex index;
+        public final ArrayDeque<FormatIndex.Node> parents = new ArrayDeque<>(); // GROUPS BEING PARSED
+        public FormatIndex.Node node;
+        public int keyStart = -1;
+        public int keyEnd = -1;
+        public int valueStart = -1;
+        public int valueEnd = -1;
+        public int spanStart = -1;
+        public int spanEnd = -1;
         public boolean escaped;
         public boolean finished = false;
 
+        private final FormatInput data;
+
         public FormatReader(Path path) throws IOException {
-            // READ JSON STRING
-            char[] data = new String(Tools.readAllBytes(path), StandardCharsets.UTF_8).toCharArray();
+            // READ JSON BYTES, KEYS AND VALUES ARE DECODED ONCE CAPTURED
+            this.data = FormatInput.open(path);
+            this.index = new FormatIndex(this.data);
+            this.node = this.index.root();
 
             // READING STATES
             char[] nexts = START_CHARS;
             int capturing = NONE;
 
-            for (char c: data) {
-                boolean whitespace = Character.isWhitespace(c);
+            for (int i = 0; i < data.length(); i++) {
+                byte b = data.at(i);
+                char c = (char) (b & 0xFF); // NON-ASCII NEVER MATCHES A SYNTAX CHAR
+                boolean whitespace = FormatInput.isWhitespace(b);
 
                 // SKIP WHITESPACE PROCESING WHEN IS NOT CAPTURING NON-STRING-VALUES
                 if (whitespace && ((capturing != VALUE_STRING && capturing != KEY && capturing != ARRAY_STRING) || (capturing == ARRAY_STRING && nexts != null)))
@@ -231,6 +272,7 @@ public class JSONFormat implements IFormatCodec {
                             break;
                         }
                         capturing = ARRAY;
+                        spanStart = i;
                         continue;
                     }
 
@@ -255,6 +297,7 @@ public class JSONFormat implements IFormatCodec {
                         // FINISHED CAPTURING
                         if (capturing == VALUE_STRING) {
                             capturing = NONE;
+                            spanEnd = i + 1;
                             this.putEntry(false);
                             nexts = CONTINUE_OR_END;
                             continue;
@@ -263,6 +306,7 @@ public class JSONFormat implements IFormatCodec {
                         // IS NOT A STRING VALUE
                         if (capturing == VALUE) {
                             capturing = VALUE_STRING;
+                            spanStart = i;
                             nexts = null;
                             continue;
                         }
@@ -280,6 +324,8 @@ public class JSONFormat implements IFormatCodec {
                     }
 
                     case JSON_ESCAPED -> {
+                        // ESCAPES ARE KEPT RAW IN THE CAPTURED TEXT
+                        this.capture(capturing, i);
                         escaped = true;
                         continue;
                     }
@@ -326,7 +372,7 @@ public class JSONFormat implements IFormatCodec {
                             capturing = NONE;
                         }
                         this.popGroup();
-                        if (group.isEmpty()) {
+                        if (parents.isEmpty()) {
                             capturing = NONE;
                             nexts = null;
                             continue;
@@ -340,6 +386,7 @@ public class JSONFormat implements IFormatCodec {
                             if (capturing == ARRAY) {
                                 this.putArrayValue();
                             }
+                            spanEnd = i + 1;
                             this.putEntry(true);
                             capturing = NONE;
                             nexts = CONTINUE_OR_END;
@@ -349,96 +396,345 @@ public class JSONFormat implements IFormatCodec {
                     }
                 }
 
-                switch (capturing) {
-                    case KEY -> this.appendKey(c);
-                    case VALUE_STRING, VALUE, ARRAY_STRING, ARRAY -> this.appendValue(c);
-                    case NONE -> throw new IllegalStateException("Not capturing values");
+                // PLAIN VALUES ENDS ON THE LAST CAPTURED CHAR
+                if (capturing == VALUE) {
+                    if (spanStart == -1) spanStart = i;
+                    spanEnd = i + 1;
+                }
+
+                if (capturing == NONE) {
+                    throw new IllegalStateException("Not capturing values");
                 }
+                this.capture(capturing, i);
+                escaped = false;
             }
         }
 
         @Override
         public String read(String fieldName) {
-            var value = values.get(Tools.concat("", (!group.isEmpty() ? "." : "") + fieldName, '.', group));
-            if (value instanceof String s) {
-                return s;
-            }
-            return null;
+            return index.read(fieldName);
         }
 
         @Override
         public String[] readArray(String fieldName) {
-            var value = values.get(Tools.concat("", (!group.isEmpty() ? "." : "") + fieldName, '.', group));
-            if (value instanceof String[] s) {
-                return s;
-            }
-            return null;
+            return index.readArray(fieldName);
+        }
+
+        @Override
+        public boolean has(String fieldName) {
+            return index.has(fieldName);
+        }
+
+        @Override
+        public int[] span(String fieldName) {
+            return index.span(fieldName);
         }
 
         @Override
         public void push(String group) {
-            this.group.push(group);
+            this.index.push(group);
         }
 
         @Override
         public void pop() {
-            this.group.pop();
+            this.index.pop();
         }
 
         @Override
         public void close() {
-            this.values.clear();
-            this.group.clear();
-            this.key.setLength(0);
-            this.value.setLength(0);
-            this.arrayValues.clear();
+            this.index.clear();
+            this.parents.clear();
+            this.clear();
         }
 
-        private void appendKey(char c) {
-            if (escaped) {
-                key.append("\\");
+        private void capture(int capturing, int i) {
+            if (capturing == KEY) {
+                if (keyStart == -1) keyStart = i;
+                keyEnd = i + 1;
+            } else if (capturing != NONE) {
+                if (valueStart == -1) valueStart = i;
+                valueEnd = i + 1;
             }
-            key.append(c);
-            escaped = false;
         }
 
-        private void appendValue(char c) {
-            if (escaped) {
-                value.append("\\");
-            }
-            value.append(c);
-            escaped = false;
+        private String key() {
+            return keyStart == -1 ? "" : data.string(keyStart, keyEnd);
         }
 
         private void putEntry(boolean array) {
-            values.put(Tools.concat("", (!group.isEmpty() ? "." : "") + key, '.', group), array ? arrayValues.toArray(new String[0]) : value.toString());
+            final String key = this.key();
+            if (array) {
+                index.array(node, key, spanStart, spanEnd);
+            } else if (valueStart == -1) {
+                index.scalar(node, key, 0, 0, FormatIndex.RAW, spanStart, spanEnd); // EMPTY
+            } else {
+                index.scalar(node, key, valueStart, valueEnd, FormatIndex.RAW, spanStart, spanEnd);
+            }
             this.clear();
             this.escaped = false;
         }
 
         private void putArrayValue() {
-            arrayValues.add(value.toString());
-            value.setLength(0);
+            if (valueStart == -1) {
+                index.element(0, 0, FormatIndex.RAW); // EMPTY
+            } else {
+                index.element(valueStart, valueEnd, FormatIndex.RAW);
+            }
+            valueStart = valueEnd = -1;
             escaped = false;
         }
 
         private void pushGroup() {
-            group.push(key.toString());
-            key.setLength(0);
+            parents.push(node);
+            node = node.child(this.key());
+            keyStart = keyEnd = -1;
         }
 
         private void popGroup() {
-            if (group.isEmpty()) {
+            if (parents.isEmpty()) {
                 this.finished = true;
                 return;
             }
-            group.pop();
+            node = parents.pop();
         }
 
         private void clear() {
-            key.setLength(0);
-            value.setLength(0);
-            arrayValues.clear();
+            spanStart = spanEnd = -1;
+            keyStart = keyEnd = -1;
+            valueStart = valueEnd = -1;
+            index.discardElements();
+        }
+    }
+
+    /**
+     * Pull reader of JSON files, JSON5 uses it with comments enabled. Arrays must be flat, same as the reader
+     */
+    public static class FormatPullReader extends BasePullReader {
+        private static final int START = 0;
+        private static final int KEY_OR_END = 1;
+        private static final int CONTINUE_OR_END = 2;
+        private static final int ARRAY = 3;
+        private static final int CONTINUE_OR_ARRAY_END = 4;
+        private static final int FINISHED = 5;
+
+        private final boolean comments;
+        private int state = START;
+        private int depth;
+        private int arrayStart;
+
+        public FormatPullReader(Path path) throws IOException {
+            this(path, false);
+        }
+
+        public FormatPullReader(Path path, boolean comments) throws IOException {
+            super(FormatInput.open(path));
+            this.comments = comments;
+        }
+
+        @Override
+        protected boolean advance() throws IOException {
+            this.pos = this.skip(this.pos);
+            if (this.pos >= this.data.length()) {
+                if (this.state != START && this.state != FINISHED) {
+                    throw new EOFException("Reached end of file but JSON spec is not finished");
+                }
+                return false;
+            }
+
+            final byte c = this.data.at(this.pos);
+            switch (this.state) {
+                case START -> {
+                    this.expect(c, JSON_OBJECT_START);
+                    this.pos++;
+                    this.depth = 1;
+                    this.state = KEY_OR_END;
+                }
+                case KEY_OR_END -> {
+                    if (c == JSON_OBJECT_END) {
+                        this.endObject();
+                    } else {
+                        this.expect(c, JSON_STRING_LINE);
+                        this.entry();
+                    }
+                }
+                case CONTINUE_OR_END -> {
+                    if (c == JSON_OBJECT_END) {
+                        this.endObject();
+                    } else {
+                        this.expect(c, JSON_CONTINUE);
+                        this.pos++;
+                        this.state = KEY_OR_END;
+                    }
+                }
+                case ARRAY -> {
+                    if (c == JSON_ARRAY_END) {
+                        this.endArray();
+                    } else {
+                        this.element();
+                    }
+                }
+                case CONTINUE_OR_ARRAY_END -> {
+                    if (c == JSON_ARRAY_END) {
+                        this.endArray();
+                    } else {
+                        this.expect(c, JSON_CONTINUE);
+                        this.pos++;
+                        this.state = ARRAY;
+                    }
+                }
+                default -> throw new EOFException("Reached end of JSON spec but file still contains data");
+            }
+            return true;
+        }
+
+        private void entry() throws IOException {
+            // KEYS AND STRINGS ARE KEPT RAW, SAME AS THE READER
+            final int keyEnd = this.quoted(this.pos);
+            final String key = this.data.string(this.pos + 1, keyEnd);
+            int i = this.skip(keyEnd + 1);
+            if (i >= this.data.length()) throw new EOFException("Expected char " + JSON_ENTRY_SPLIT + " but reached end of file");
+            this.expect(this.data.at(i), JSON_ENTRY_SPLIT);
+            i = this.skip(i + 1);
+            if (i >= this.data.length()) throw new EOFException("Expected value of " + key + " but reached end of file");
+
+            final byte c = this.data.at(i);
+            if (c == JSON_OBJECT_START) {
+                this.group(key);
+                this.depth++;
+                this.pos = i + 1;
+                this.state = KEY_OR_END;
+                return;
+            }
+
+            this.key(key);
+            if (c == JSON_ARRAY_START) {
+                this.arrayStart();
+                this.arrayStart = i;
+                this.pos = i + 1;
+                this.state = ARRAY;
+                return;
+            }
+
+            if (c == JSON_STRING_LINE) {
+                final int end = this.quoted(i);
+                this.scalar(i + 1, end, FormatIndex.RAW | QUOTED, i, end + 1);
+                this.pos = end + 1;
+            } else {
+                final int end = this.literal(i);
+                this.scalar(i, end, FormatIndex.RAW, i, end);
+                this.pos = end;
+            }
+            this.state = CONTINUE_OR_END;
+        }
+
+        private void element() throws IOException {
+            final int i = this.pos;
+            final byte c = this.data.at(i);
+            if (c == JSON_STRING_LINE) {
+                final int end = this.quoted(i);
+                this.element(i + 1, end, FormatIndex.RAW | QUOTED);
+                this.pos = end + 1;
+            } else if (c == JSON_OBJECT_START || c == JSON_ARRAY_START) {
+                throw new IllegalStateException("Nested arrays and objects on arrays are not supported");
+            } else {
+                final int end = this.literal(i);
+                this.element(i, end, FormatIndex.RAW);
+                this.pos = end;
+            }
+            this.state = CONTINUE_OR_ARRAY_END;
+        }
+
+        private void endArray() {
+            this.pos++;
+            this.arrayEnd(this.arrayStart, this.pos);
+            this.state = CONTINUE_OR_END;
+        }
+
+        private void endObject() {
+            this.pos++;
+            if (--this.depth == 0) {
+                this.state = FINISHED;
+                return;
+            }
+            this.groupEnd();
+            this.state = CONTINUE_OR_END;
+        }
+
+        /**
+         * @return offset of the closing quote
+         */
+        private int quoted(int start) throws EOFException {
+            int i = start + 1;
+            while (i < this.data.length() && this.data.at(i) != JSON_STRING_LINE) {
+                if (this.data.at(i) == JSON_ESCAPED) i++;
+                i++;
+            }
+            if (i >= this.data.length()) {
+                throw new EOFException("Unclosed JSON string");
+            }
+            return i;
+        }
+
+        /**
+         * @return end of the plain value, trailing whitespace excluded
+         */
+        private int literal(int start) {
+            int i = start;
+            while (i < this.data.length()) {
+                final byte c = this.data.at(i);
+                if (c == JSON_CONTINUE || c == JSON_OBJECT_END || c == JSON_ARRAY_END || c == '\n' || this.isComment(i)) break;
+                i++;
+            }
+            while (i > start && FormatInput.isWhitespace(this.data.at(i - 1))) i--;
+            return i;
+        }
+
+        /**
+         * Skips whitespace and comments, comments are queued
+         */
+        private int skip(int start) {
+            int i = start;
+            final int len = this.data.length();
+            while (i < len) {
+                if (FormatInput.isWhitespace(this.data.at(i))) {
+                    i++;
+                    continue;
+                }
+                if (!this.isComment(i)) {
+                    break;
+                }
+
+                final int textStart;
+                int textEnd;
+                if (this.data.at(i + 1) == '/') {
+                    textStart = i + 2;
+                    i = textStart;
+                    while (i < len && this.data.at(i) != '\n') i++;
+                    textEnd = i;
+                } else {
+                    textStart = i + 2;
+                    i = textStart;
+                    while (i < len && !(this.data.at(i) == '*' && i + 1 < len && this.data.at(i + 1) == '/')) i++;
+                    textEnd = i;
+                    i = Math.min(len, i + 2);
+                }
+                int s = textStart;
+                while (s < textEnd && FormatInput.isWhitespace(this.data.at(s))) s++;
+                while (textEnd > s && FormatInput.isWhitespace(this.data.at(textEnd - 1))) textEnd--;
+                this.comment(s, textEnd);
+            }
+            return i;
+        }
+
+        private boolean isComment(int i) {
+            return this.comments && this.data.at(i) == '/' && i + 1 < this.data.length()
+                    && (this.data.at(i + 1) == '/' || this.data.at(i + 1) == '*');
+        }
+
+        private void expect(byte c, char expected) {
+            if (c != expected) {
+                throw new IllegalStateException("Expected char " + expected + " but received " + (char) (c & 0xFF));
+            }
         }
     }
 }
@@ -2,14 +2,15 @@ package me.srrapero720.waterconfig.impl.formats;
 
 import me.srrapero720.waterconfig.WaterConfig;
 import me.srrapero720.waterconfig.Tools;
+import me.srrapero720.waterconfig.api.formats.IFormatPullReader;
 import me.srrapero720.waterconfig.api.formats.IFormatReader;
 import me.srrapero720.waterconfig.api.formats.IFormatWriter;
 import me.srrapero720.waterconfig.api.formats.IFormatCodec;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
-import java.util.LinkedHashMap;
-import java.util.Stack;
+import java.util.ArrayDeque;
 
 public class PROPFormat implements IFormatCodec {
     public static final String FORMAT_KEY_DEF_SPLIT = "=";
@@ -31,51 +32,88 @@ public class PROPFormat implements IFormatCodec {
         return new FormatWriter(filePath);
     }
 
+    @Override
+    public IFormatPullReader createPullReader(Path filePath) throws IOException {
+        return new FormatPullReader(filePath);
+    }
+
+    @Override
+    public String encodeValue(String value, Class<?> type) {
+        return value;
+    }
+
+    @Override
+    public String encodeArray(String[] values, Class<?> subType) {
+        return "[" + String.join(", ", values) + "]";
+    }
+
     private static class FormatReader implements IFormatReader {
-        private final LinkedHashMap<String, String> fields = new LinkedHashMap<>();
-        private final Stack<String> groups = new Stack<>();
+        private final FormatIndex fields;
 
         public FormatReader(Path filePath) throws IOException {
             // TODO: safe maker
-            final BufferedReader in = new BufferedReader(new FileReader(filePath.toFile()));
+            final FormatInput data = FormatInput.open(filePath);
+            this.fields = new FormatIndex(data);
+
+            // LINES ARE WALKED BY OFFSET TO KNOW WHERE EACH VALUE IS
+            String lastPath = "";
+            FormatIndex.Node lastGroup = this.fields.root();
+            int lineStart = 0;
+            while (lineStart < data.length()) {
+                int lineEnd = lineStart;
+                while (lineEnd < data.length() && data.at(lineEnd) != '\n') lineEnd++;
 
-            String line;
-            while ((line = in.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith(FORMAT_KEY_COMMENT_LINE)) {
+                int start = trimStart(data, lineStart, lineEnd);
+                int end = trimEnd(data, start, lineEnd);
+                lineStart = lineEnd + 1;
+
+                if (start == end || data.matches(start, FORMAT_KEY_COMMENT_LINE)) {
                     continue; // Skip empty lines and comments
                 }
 
-                String[] parts = line.split(FORMAT_KEY_DEF_SPLIT, 2);
-                if (parts.length == 2) {
-                    String key = parts[0].trim();
-                    String value = parts[1].trim();
-                    fields.put(key, value);
+                int split = start;
+                while (split < end && data.at(split) != '=') split++;
+                if (split != end) {
+                    String key = data.string(start, trimEnd(data, start, split));
+
+                    // VALUE SPAN, WITHOUT THE SURROUNDING WHITESPACES
+                    int valueStart = trimStart(data, split + 1, end);
+
+                    // GROUPED KEYS ARE INDEXED UNDER THEIR GROUP NODES, CONSECUTIVE KEYS USUALLY SHARE THE GROUP
+                    int dot = key.lastIndexOf(FORMAT_KEY_GROUP_SPLIT);
+                    if (dot == -1) {
+                        fields.scalar(fields.root(), key, valueStart, end, FormatIndex.RAW, valueStart, end);
+                        continue;
+                    }
+                    if (dot != lastPath.length() || !key.startsWith(lastPath)) {
+                        lastPath = key.substring(0, dot);
+                        lastGroup = fields.node(lastPath);
+                    }
+                    fields.scalar(lastGroup, key.substring(dot + 1), valueStart, end, FormatIndex.RAW, valueStart, end);
                 }
             }
+        }
+
+        // SAME AS String.trim(), ASCII CONTROL CHARS AND SPACES
+        private static int trimStart(FormatInput data, int start, int end) {
+            while (start < end && data.at(start) >= 0 && data.at(start) <= ' ') start++;
+            return start;
+        }
 
-            in.close();
+        private static int trimEnd(FormatInput data, int start, int end) {
+            while (end > start && data.at(end - 1) >= 0 && data.at(end - 1) <= ' ') end--;
+            return end;
         }
 
         @Override
         public String read(String fieldName) {
-            // CONCAT THE GROUPS
-            StringBuilder group = new StringBuilder();
-            for (String g: this.groups) {
-                group.append(g).append(FORMAT_KEY_GROUP_SPLIT);
-            }
-            return fields.get(group.append(fieldName).toString());
+            return fields.read(fieldName);
         }
 
         @Override
         public String[] readArray(String fieldName) {
-            // CONCAT THE GROUPS
-            StringBuilder group = new StringBuilder();
-            for (String g: this.groups) {
-                group.append(g).append(FORMAT_KEY_GROUP_SPLIT);
-            }
-            String value = fields.get(group.append(fieldName).toString());
-            if (value.charAt(0) == '[' && value.charAt(value.length() - 1) == ']') {
+            String value = fields.read(fieldName);
+            if (value != null && !value.isEmpty() && value.charAt(0) == '[' && value.charAt(value.length() - 1) == ']') {
                 value = value.substring(1, value.length() - 1);
                 String[] parts = value.trim().split(",");
                 for (int i = 0; i < parts.length; i++) {
@@ -87,14 +125,24 @@ public class PROPFormat implements IFormatCodec {
             return null;
         }
 
+        @Override
+        public boolean has(String fieldName) {
+            return fields.has(fieldName);
+        }
+
+        @Override
+        public int[] span(String fieldName) {
+            return fields.span(fieldName);
+        }
+
         @Override
         public void push(String group) {
-            this.groups.push(group);
+            this.fields.push(group);
         }
 
         @Override
         public void pop() {
-            this.groups.pop();
+            this.fields.pop();
         }
 
         @Override
@@ -103,15 +151,88 @@ public class PROPFormat implements IFormatCodec {
         }
     }
 
+    private static class FormatPullReader extends BasePullReader {
+        private String lastPath = "";
+
+        public FormatPullReader(Path filePath) throws IOException {
+            super(FormatInput.open(filePath));
+        }
+
+        @Override
+        protected boolean advance() {
+            final FormatInput data = this.data;
+            while (this.pos < data.length()) {
+                int lineEnd = this.pos;
+                while (lineEnd < data.length() && data.at(lineEnd) != '\n') lineEnd++;
+
+                int start = FormatReader.trimStart(data, this.pos, lineEnd);
+                int end = FormatReader.trimEnd(data, start, lineEnd);
+                this.pos = lineEnd + 1;
+
+                if (start == end) {
+                    continue;
+                }
+                if (data.matches(start, FORMAT_KEY_COMMENT_LINE)) {
+                    this.comment(FormatReader.trimStart(data, start + 1, end), end);
+                    return true;
+                }
+
+                int split = start;
+                while (split < end && data.at(split) != '=') split++;
+                if (split == end) {
+                    continue;
+                }
+
+                // GROUPS ARE THE KEY PREFIX, CONSECUTIVE KEYS USUALLY SHARE IT
+                final String key = data.string(start, FormatReader.trimEnd(data, start, split));
+                final int dot = key.lastIndexOf(FORMAT_KEY_GROUP_SPLIT);
+                final int prefix = Math.max(dot, 0);
+                if (prefix != this.lastPath.length() || !key.startsWith(this.lastPath)) {
+                    this.lastPath = key.substring(0, prefix);
+                    this.path(this.lastPath);
+                }
+                this.key(key.substring(dot + 1));
+
+                final int valueStart = FormatReader.trimStart(data, split + 1, end);
+                if (end - valueStart >= 2 && data.at(valueStart) == '[' && data.at(end - 1) == ']') {
+                    this.arrayStart();
+                    this.elements(valueStart + 1, end - 1);
+                    this.arrayEnd(valueStart, end);
+                } else {
+                    this.scalar(valueStart, end, FormatIndex.RAW, valueStart, end);
+                }
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Queues the comma separated elements of an array, each one trimmed
+         */
+        private void elements(int start, int end) {
+            if (FormatReader.trimStart(this.data, start, end) == end) {
+                return; // EMPTY ARRAY
+            }
+            int elementStart = start;
+            for (int i = start; i <= end; i++) {
+                if (i == end || this.data.at(i) == ',') {
+                    final int s = FormatReader.trimStart(this.data, elementStart, i);
+                    this.element(s, FormatReader.trimEnd(this.data, s, i), FormatIndex.RAW);
+                    elementStart = i + 1;
+                }
+            }
+        }
+    }
+
     private static class FormatWriter implements IFormatWriter {
-        private final Stack<String> groups = new Stack<>();
+        private final ArrayDeque<String> groups = new ArrayDeque<>();
         private final BufferedWriter out;
         private final StringBuilder data = new StringBuilder();
         private boolean rootPushed = false;
 
         public FormatWriter(Path filePath) throws IOException {
             // TODO: safe maker
-            this.out = new BufferedWriter(new FileWriter(filePath.toFile()));
+            this.out = new BufferedWriter(new FileWriter(filePath.toFile(), StandardCharsets.UTF_8));
         }
 
         @Override
@@ -147,7 +268,7 @@ public class PROPFormat implements IFormatCodec {
                 rootPushed = true;
                 return; // Properties root has no group prefix
             }
-            this.groups.push(groupName);
+            this.groups.addLast(groupName);
             this.data.append(FORMAT_KEY_BREAKLINE);
             this.write("Begin of group " + Tools.concat("", "", FORMAT_KEY_GROUP_SPLIT, groups));
         }
@@ -155,10 +276,19 @@ public class PROPFormat implements IFormatCodec {
         @Override
         public void pop() {
             if (this.groups.isEmpty()) return; // root pop
-            this.groups.pop();
+            this.groups.removeLast();
             this.data.append(FORMAT_KEY_BREAKLINE.repeat(2));
         }
 
+        @Override
+        public void flush() throws IOException {
+            // TRAILING BREAKLINES STAY BUFFERED, CLOSE TRIMS THEM
+            int end = this.data.length();
+            while (end > 0 && this.data.charAt(end - 1) == '\n') end--;
+            this.out.append(this.data, 0, end);
+            this.data.delete(0, end);
+        }
+
         @Override
         public void close() throws IOException {
             String data = this.data.toString();
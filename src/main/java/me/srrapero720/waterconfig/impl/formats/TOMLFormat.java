@@ -1,8 +1,8 @@
 package me.srrapero720.waterconfig.impl.formats;
 
 import me.srrapero720.waterconfig.WaterConfig;
-import me.srrapero720.waterconfig.Tools;
 import me.srrapero720.waterconfig.api.formats.IFormatCodec;
+import me.srrapero720.waterconfig.api.formats.IFormatPullReader;
 import me.srrapero720.waterconfig.api.formats.IFormatReader;
 import me.srrapero720.waterconfig.api.formats.IFormatWriter;
 
@@ -28,14 +28,34 @@ public class TOMLFormat implements IFormatCodec {
         return new FormatWriter(filePath);
     }
 
+    @Override
+    public IFormatPullReader createPullReader(Path filePath) throws IOException {
+        return new FormatPullReader(filePath);
+    }
+
+    @Override
+    public String encodeValue(String value, Class<?> type) {
+        return FormatWriter.formatValue(value, type);
+    }
+
+    @Override
+    public String encodeArray(String[] values, Class<?> subType) {
+        final StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (String value: values) {
+            joiner.add(FormatWriter.formatValue(value, subType));
+        }
+        return joiner.toString();
+    }
+
     public static class FormatWriter implements IFormatWriter {
-        private final Stack<String> group = new Stack<>();
+        private final ArrayDeque<String> group = new ArrayDeque<>();
         private final BufferedWriter writer;
         private final StringBuilder buffer = new StringBuilder();
         private final List<String> comments = new ArrayList<>();
         private String currentTable = "";
         private boolean tableHeaderWritten = false;
         private boolean firstInSection = true;
+        private boolean flushed = false; // CONTENT ALREADY MOVED OUT OF THE BUFFER
 
         public FormatWriter(Path path) throws IOException {
             if (!path.toFile().getParentFile().exists() && !path.toFile().getParentFile().mkdirs()) {
@@ -110,20 +130,29 @@ public class TOMLFormat implements IFormatCodec {
             // Root push is transparent — matches JSON5/CFG behavior where the
             // spec name is not part of the file structure
             if (this.group.isEmpty()) {
-                this.group.push(groupName);
+                this.group.addLast(groupName);
                 return;
             }
-            this.group.push(groupName);
+            this.group.addLast(groupName);
             this.tableHeaderWritten = false;
         }
 
         @Override
         public void pop() {
             if (this.group.isEmpty()) return;
-            this.group.pop();
+            this.group.removeLast();
             this.tableHeaderWritten = false;
         }
 
+        @Override
+        public void flush() throws IOException {
+            if (!this.buffer.isEmpty()) {
+                this.writer.append(this.buffer);
+                this.buffer.setLength(0);
+                this.flushed = true;
+            }
+        }
+
         @Override
         public void close() throws IOException {
             this.writer.write(this.buffer.toString());
@@ -134,7 +163,7 @@ public class TOMLFormat implements IFormatCodec {
         private void ensureTableHeader() {
             String tableName = buildTableName();
             if (!tableName.equals(currentTable) || !tableHeaderWritten) {
-                if (!buffer.isEmpty()) {
+                if (!buffer.isEmpty() || flushed) {
                     buffer.append("\n");
                 }
                 if (!tableName.isEmpty()) {
@@ -180,7 +209,7 @@ public class TOMLFormat implements IFormatCodec {
             return "\"" + key.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
         }
 
-        private String formatValue(String value, Class<?> type) {
+        private static String formatValue(String value, Class<?> type) {
             if (type == null) {
                 return "\"" + escapeString(value) + "\"";
             }
@@ -203,7 +232,7 @@ public class TOMLFormat implements IFormatCodec {
             return "\"" + escapeString(value) + "\"";
         }
 
-        private String escapeString(String str) {
+        private static String escapeString(String str) {
             return str.replace("\\", "\\\\")
                      .replace("\"", "\\\"")
                      .replace("\n", "\\n")
@@ -215,24 +244,25 @@ public class TOMLFormat implements IFormatCodec {
     }
 
     public static class FormatReader implements IFormatReader {
-        private final LinkedHashMap<String, Object> values = new LinkedHashMap<>();
-        private final Stack<String> group = new Stack<>();
-        private String currentTable = "";
+        private final FormatIndex index;
+        private FormatIndex.Node currentTable;
 
         public FormatReader(Path path) throws IOException {
-            char[] data = new String(Tools.readAllBytes(path), StandardCharsets.UTF_8).toCharArray();
+            final FormatInput data = FormatInput.open(path);
+            this.index = new FormatIndex(data);
+            this.currentTable = this.index.root();
             parseToml(data);
         }
 
-        private void parseToml(char[] data) throws IOException {
+        private void parseToml(FormatInput data) throws IOException {
             int i = 0;
-            int len = data.length;
+            int len = data.length();
 
             while (i < len) {
-                char c = data[i];
+                byte c = data.at(i);
 
                 // Skip whitespace
-                if (Character.isWhitespace(c)) {
+                if (FormatInput.isWhitespace(c)) {
                     i++;
                     continue;
                 }
@@ -259,29 +289,28 @@ public class TOMLFormat implements IFormatCodec {
             }
         }
 
-        private int parseTableHeader(char[] data, int start) throws IOException {
+        private int parseTableHeader(FormatInput data, int start) throws IOException {
             int i = start + 1;
-            int len = data.length;
+            int len = data.length();
 
             // Check for array of tables [[...]]
             boolean isArray = false;
-            if (i < len && data[i] == '[') {
+            if (i < len && data.at(i) == '[') {
                 isArray = true;
                 i++;
             }
 
             // Skip whitespace
-            while (i < len && Character.isWhitespace(data[i])) {
+            while (i < len && FormatInput.isWhitespace(data.at(i))) {
                 i++;
             }
 
             // Parse table name
-            StringBuilder tableName = new StringBuilder();
-            while (i < len && data[i] != ']') {
-                if (data[i] == '#') {
+            int nameStart = i;
+            while (i < len && data.at(i) != ']') {
+                if (data.at(i) == '#') {
                     throw new IOException("Comment not allowed in table header");
                 }
-                tableName.append(data[i]);
                 i++;
             }
 
@@ -289,128 +318,114 @@ public class TOMLFormat implements IFormatCodec {
                 throw new IOException("Unclosed table header");
             }
 
+            currentTable = index.node(data.string(nameStart, i));
+
             // Skip closing bracket
             i++;
             if (isArray) {
-                if (i >= len || data[i] != ']') {
+                if (i >= len || data.at(i) != ']') {
                     throw new IOException("Expected ]] for array of tables");
                 }
                 i++;
             }
 
-            currentTable = tableName.toString().trim();
-
             // Skip to end of line
             return skipToEndOfLine(data, i);
         }
 
-        private int parseKeyValue(char[] data, int start) throws IOException {
+        private int parseKeyValue(FormatInput data, int start) throws IOException {
             int i = start;
-            int len = data.length;
+            int len = data.length();
 
             // Parse key
-            StringBuilder key = new StringBuilder();
+            String[] key = new String[1];
             i = parseKey(data, i, key);
 
             // Skip whitespace
-            while (i < len && Character.isWhitespace(data[i])) {
+            while (i < len && FormatInput.isWhitespace(data.at(i))) {
                 i++;
             }
 
             // Expect '='
-            if (i >= len || data[i] != '=') {
+            if (i >= len || data.at(i) != '=') {
                 throw new IOException("Expected '=' after key");
             }
 
             // Skip whitespace
             do {
                 i++;
-            } while (i < len && Character.isWhitespace(data[i]));
+            } while (i < len && FormatInput.isWhitespace(data.at(i)));
 
             // Parse value
-            String fullKey = buildFullKey(key.toString());
-            i = parseValue(data, i, fullKey);
+            i = parseValue(data, i, currentTable, key[0]);
 
             return i;
         }
 
-        private int parseKey(char[] data, int start, StringBuilder key) throws IOException {
+        private int parseKey(FormatInput data, int start, String[] key) throws IOException {
             int i = start;
-            int len = data.length;
-            char c = data[i];
+            int len = data.length();
+            byte c = data.at(i);
 
             // Quoted key
             if (c == '"' || c == '\'') {
-                char quote = c;
-                i++;
-                while (i < len && data[i] != quote) {
-                    if (data[i] == '\\' && i + 1 < len) {
-                        i++;
-                        key.append(unescapeChar(data[i]));
-                    } else {
-                        key.append(data[i]);
-                    }
-                    i++;
-                }
+                i = skipQuoted(data, i, c);
                 if (i >= len) {
                     throw new IOException("Unclosed quoted key");
                 }
+                key[0] = data.unescaped(start + 1, i);
                 i++; // Skip closing quote
             } else {
                 // Bare key
-                while (i < len && (Character.isLetterOrDigit(data[i]) || data[i] == '_' || data[i] == '-')) {
-                    key.append(data[i]);
+                while (i < len && (FormatInput.isLetterOrDigit(data.at(i)) || data.at(i) == '_' || data.at(i) == '-')) {
                     i++;
                 }
+                key[0] = data.string(start, i);
             }
 
             return i;
         }
 
-        private int parseValue(char[] data, int start, String key) throws IOException {
+        private int parseValue(FormatInput data, int start, FormatIndex.Node table, String key) throws IOException {
             int i = start;
-            char c = data[i];
+            byte c = data.at(i);
 
             // String
             if (c == '"' || c == '\'') {
-                return parseString(data, i, key);
+                return parseString(data, i, table, key);
             }
 
             // Array
             if (c == '[') {
-                return parseArray(data, i, key);
+                return parseArray(data, i, table, key);
             }
 
             // Inline table
             if (c == '{') {
-                return parseInlineTable(data, i, key);
+                return parseInlineTable(data, i, table.child(key));
             }
 
             // Boolean, number, or datetime
-            return parseLiteral(data, i, key);
+            return parseLiteral(data, i, table, key);
         }
 
-        private int parseString(char[] data, int start, String key) throws IOException {
+        private int parseString(FormatInput data, int start, FormatIndex.Node table, String key) throws IOException {
             int i = start;
-            int len = data.length;
-            char quote = data[i];
+            int len = data.length();
+            byte quote = data.at(i);
             i++;
 
             // Check for multi-line string
-            if (i + 1 < len && data[i] == quote && data[i + 1] == quote) {
+            if (i + 1 < len && data.at(i) == quote && data.at(i + 1) == quote) {
                 i += 2;
-                return parseMultilineString(data, i, key, quote);
+                return parseMultilineString(data, i, table, key, quote);
             }
 
-            StringBuilder value = new StringBuilder();
-            while (i < len && data[i] != quote) {
-                if (data[i] == '\\' && i + 1 < len) {
+            while (i < len && data.at(i) != quote) {
+                if (data.at(i) == '\\' && i + 1 < len) {
                     i++;
-                    value.append(unescapeChar(data[i]));
-                } else if (data[i] == '\n') {
+                } else if (data.at(i) == '\n') {
                     throw new IOException("Newline not allowed in single-line string");
-                } else {
-                    value.append(data[i]);
                 }
                 i++;
             }
@@ -419,40 +434,31 @@ public class TOMLFormat implements IFormatCodec {
                 throw new IOException("Unclosed string");
             }
 
+            index.scalar(table, key, start + 1, i, FormatIndex.ESCAPED, start, i + 1);
             i++; // Skip closing quote
-            values.put(key, value.toString());
             return skipToEndOfLine(data, i);
         }
 
-        private int parseMultilineString(char[] data, int start, String key, char quote) throws IOException {
+        private int parseMultilineString(FormatInput data, int start, FormatIndex.Node table, String key, byte quote) throws IOException {
             int i = start;
-            int len = data.length;
-            StringBuilder value = new StringBuilder();
+            int len = data.length();
 
             // Skip newline immediately after opening quotes
-            if (i < len && data[i] == '\n') {
+            if (i < len && data.at(i) == '\n') {
                 i++;
             }
 
+            final int valueStart = i;
             while (i < len) {
-                if (i + 2 < len && data[i] == quote && data[i + 1] == quote && data[i + 2] == quote) {
+                if (i + 2 < len && data.at(i) == quote && data.at(i + 1) == quote && data.at(i + 2) == quote) {
+                    // OPENING QUOTES ARE RIGHT BEFORE START
+                    index.scalar(table, key, valueStart, i, quote == '"' ? FormatIndex.MULTILINE : FormatIndex.RAW, start - 3, i + 3);
                     i += 3;
-                    values.put(key, value.toString());
                     return skipToEndOfLine(data, i);
                 }
 
-                if (quote == '"' && data[i] == '\\' && i + 1 < len) {
-                    i++;
-                    if (data[i] == '\n' || (data[i] == '\r' && i + 1 < len && data[i + 1] == '\n')) {
-                        // Line ending backslash - trim whitespace
-                        while (i < len && Character.isWhitespace(data[i])) {
-                            i++;
-                        }
-                        continue;
-                    }
-                    value.append(unescapeChar(data[i]));
-                } else {
-                    value.append(data[i]);
+                if (quote == '"' && data.at(i) == '\\' && i + 1 < len) {
+                    i++; // ESCAPED CHAR IS NEVER THE END
                 }
                 i++;
             }
@@ -460,14 +466,13 @@ public class TOMLFormat implements IFormatCodec {
             throw new IOException("Unclosed multi-line string");
         }
 
-        private int parseArray(char[] data, int start, String key) throws IOException {
+        private int parseArray(FormatInput data, int start, FormatIndex.Node table, String key) throws IOException {
             int i = start + 1;
-            int len = data.length;
-            List<String> array = new ArrayList<>();
+            int len = data.length();
 
             while (i < len) {
                 // Skip whitespace and newlines
-                while (i < len && (Character.isWhitespace(data[i]) || data[i] == '\n')) {
+                while (i < len && FormatInput.isWhitespace(data.at(i))) {
                     i++;
                 }
 
@@ -476,30 +481,28 @@ public class TOMLFormat implements IFormatCodec {
                 }
 
                 // Check for end of array
-                if (data[i] == ']') {
+                if (data.at(i) == ']') {
                     i++;
-                    values.put(key, array.toArray(new String[0]));
+                    index.array(table, key, start, i);
                     return skipToEndOfLine(data, i);
                 }
 
                 // Skip comments
-                if (data[i] == '#') {
+                if (data.at(i) == '#') {
                     i = skipToEndOfLine(data, i);
                     continue;
                 }
 
                 // Parse array element
-                StringBuilder element = new StringBuilder();
-                i = parseArrayElement(data, i, element);
-                array.add(element.toString());
+                i = parseArrayElement(data, i);
 
                 // Skip whitespace
-                while (i < len && (Character.isWhitespace(data[i]) || data[i] == '\n')) {
+                while (i < len && FormatInput.isWhitespace(data.at(i))) {
                     i++;
                 }
 
                 // Check for comma
-                if (i < len && data[i] == ',') {
+                if (i < len && data.at(i) == ',') {
                     i++;
                 }
             }
@@ -507,51 +510,44 @@ public class TOMLFormat implements IFormatCodec {
             throw new IOException("Unclosed array");
         }
 
-        private int parseArrayElement(char[] data, int start, StringBuilder element) throws IOException {
+        private int parseArrayElement(FormatInput data, int start) throws IOException {
             int i = start;
-            int len = data.length;
-            char c = data[i];
+            int len = data.length();
+            byte c = data.at(i);
 
             // String
             if (c == '"' || c == '\'') {
-                i++;
-                while (i < len && data[i] != c) {
-                    if (data[i] == '\\' && i + 1 < len) {
-                        i++;
-                        element.append(unescapeChar(data[i]));
-                    } else {
-                        element.append(data[i]);
-                    }
-                    i++;
-                }
+                i = skipQuoted(data, i, c);
                 if (i >= len) {
                     throw new IOException("Unclosed string in array");
                 }
+                index.element(start + 1, i, FormatIndex.ESCAPED);
                 i++;
                 return i;
             }
 
             // Literal (number, boolean, etc.)
-            while (i < len && data[i] != ',' && data[i] != ']' && data[i] != '\n' && data[i] != '#') {
-                element.append(data[i]);
+            while (i < len && data.at(i) != ',' && data.at(i) != ']' && data.at(i) != '\n' && data.at(i) != '#') {
                 i++;
             }
 
             // Trim trailing whitespace
-            while (!element.isEmpty() && Character.isWhitespace(element.charAt(element.length() - 1))) {
-                element.setLength(element.length() - 1);
+            int end = i;
+            while (end > start && FormatInput.isWhitespace(data.at(end - 1))) {
+                end--;
             }
 
+            index.element(start, end, FormatIndex.RAW);
             return i;
         }
 
-        private int parseInlineTable(char[] data, int start, String key) throws IOException {
+        private int parseInlineTable(FormatInput data, int start, FormatIndex.Node table) throws IOException {
             int i = start + 1;
-            int len = data.length;
+            int len = data.length();
 
             while (i < len) {
                 // Skip whitespace
-                while (i < len && Character.isWhitespace(data[i])) {
+                while (i < len && FormatInput.isWhitespace(data.at(i))) {
                     i++;
                 }
 
@@ -560,41 +556,40 @@ public class TOMLFormat implements IFormatCodec {
                 }
 
                 // Check for end of table
-                if (data[i] == '}') {
+                if (data.at(i) == '}') {
                     i++;
                     return skipToEndOfLine(data, i);
                 }
 
                 // Parse key
-                StringBuilder subKey = new StringBuilder();
+                String[] subKey = new String[1];
                 i = parseKey(data, i, subKey);
 
                 // Skip whitespace
-                while (i < len && Character.isWhitespace(data[i])) {
+                while (i < len && FormatInput.isWhitespace(data.at(i))) {
                     i++;
                 }
 
                 // Expect '='
-                if (i >= len || data[i] != '=') {
+                if (i >= len || data.at(i) != '=') {
                     throw new IOException("Expected '=' in inline table");
                 }
 
                 // Skip whitespace
                 do {
                     i++;
-                } while (i < len && Character.isWhitespace(data[i]));
+                } while (i < len && FormatInput.isWhitespace(data.at(i)));
 
                 // Parse value
-                String fullKey = key + "." + subKey;
-                i = parseValue(data, i, fullKey);
+                i = parseValue(data, i, table, subKey[0]);
 
                 // Skip whitespace
-                while (i < len && Character.isWhitespace(data[i])) {
+                while (i < len && FormatInput.isWhitespace(data.at(i))) {
                     i++;
                 }
 
                 // Check for comma
-                if (i < len && data[i] == ',') {
+                if (i < len && data.at(i) == ',') {
                     i++;
                 }
             }
@@ -602,105 +597,341 @@ public class TOMLFormat implements IFormatCodec {
             throw new IOException("Unclosed inline table");
         }
 
-        private int parseLiteral(char[] data, int start, String key) {
+        private int parseLiteral(FormatInput data, int start, FormatIndex.Node table, String key) {
             int i = start;
-            int len = data.length;
-            StringBuilder value = new StringBuilder();
+            int len = data.length();
 
-            while (i < len && data[i] != '\n' && data[i] != '\r' && data[i] != '#' && data[i] != ',' && data[i] != ']' && data[i] != '}') {
-                value.append(data[i]);
+            while (i < len) {
+                byte c = data.at(i);
+                if (c == '\n' || c == '\r' || c == '#' || c == ',' || c == ']' || c == '}') break;
                 i++;
             }
 
-            String literal = value.toString().trim();
-            values.put(key, literal);
+            int end = i;
+            while (end > start && FormatInput.isWhitespace(data.at(end - 1))) {
+                end--;
+            }
+
+            index.scalar(table, key, start, end, FormatIndex.RAW, start, end);
             return skipToEndOfLine(data, i);
         }
 
-        private int skipToEndOfLine(char[] data, int start) {
+        private int skipQuoted(FormatInput data, int start, byte quote) {
+            int i = start + 1;
+            int len = data.length();
+            while (i < len && data.at(i) != quote) {
+                if (data.at(i) == '\\' && i + 1 < len) {
+                    i++;
+                }
+                i++;
+            }
+            return i;
+        }
+
+        private int skipToEndOfLine(FormatInput data, int start) {
             int i = start;
-            int len = data.length;
-            while (i < len && data[i] != '\n') {
-                if (data[i] == '#') {
+            int len = data.length();
+            while (i < len && data.at(i) != '\n') {
+                if (data.at(i) == '#') {
                     // Skip comment
-                    while (i < len && data[i] != '\n') {
+                    while (i < len && data.at(i) != '\n') {
                         i++;
                     }
                     break;
                 }
-                if (!Character.isWhitespace(data[i])) {
+                if (!FormatInput.isWhitespace(data.at(i))) {
                     // Allow only whitespace and comments after value
                     break;
                 }
                 i++;
             }
-            if (i < len && data[i] == '\n') {
+            if (i < len && data.at(i) == '\n') {
                 i++;
             }
             return i;
         }
 
-        private boolean isKeyStart(char c) {
-            return Character.isLetterOrDigit(c) || c == '_' || c == '"' || c == '\'';
+        private boolean isKeyStart(byte c) {
+            return FormatInput.isLetterOrDigit(c) || c == '_' || c == '"' || c == '\'';
         }
 
-        private char unescapeChar(char c) {
-            return switch (c) {
-                case 'n' -> '\n';
-                case 'r' -> '\r';
-                case 't' -> '\t';
-                case 'b' -> '\b';
-                case 'f' -> '\f';
-                case '\\' -> '\\';
-                case '"' -> '"';
-                case '\'' -> '\'';
-                default -> c;
-            };
+        @Override
+        public String read(String fieldName) {
+            return index.read(fieldName);
         }
 
-        private String buildFullKey(String key) {
-            if (currentTable.isEmpty()) {
-                return key;
-            }
-            return currentTable + "." + key;
+        @Override
+        public String[] readArray(String fieldName) {
+            return index.readArray(fieldName);
         }
 
         @Override
-        public String read(String fieldName) {
-            String key = Tools.concat("", (!group.isEmpty() ? "." : "") + fieldName, '.', group);
-            Object value = values.get(key);
-            if (value instanceof String s) {
-                return s;
-            }
-            return null;
+        public boolean has(String fieldName) {
+            return index.has(fieldName);
         }
 
         @Override
-        public String[] readArray(String fieldName) {
-            String key = Tools.concat("", (!group.isEmpty() ? "." : "") + fieldName, '.', group);
-            Object value = values.get(key);
-            if (value instanceof String[] s) {
-                return s;
-            }
-            return null;
+        public int[] span(String fieldName) {
+            return index.span(fieldName);
         }
 
         @Override
         public void push(String group) {
-            this.group.push(group);
+            this.index.push(group);
         }
 
         @Override
         public void pop() {
-            if (!this.group.isEmpty()) {
-                this.group.pop();
-            }
+            this.index.pop();
         }
 
         @Override
         public void close() {
-            this.values.clear();
-            this.group.clear();
+            this.index.clear();
+        }
+    }
+
+    /**
+     * Pull reader of TOML files, table headers are reported as the groups closed and opened since the previous table
+     */
+    public static class FormatPullReader extends BasePullReader {
+        private static final int TOP = 0;
+        private static final int ARRAY = 1;
+        private static final int INLINE = 2;
+
+        private int state = TOP;
+        private int inlineDepth; // OPEN INLINE TABLES
+        private int arrayStart;
+
+        public FormatPullReader(Path path) throws IOException {
+            super(FormatInput.open(path));
+        }
+
+        @Override
+        protected boolean advance() throws IOException {
+            final int len = this.data.length();
+            int i = this.pos;
+            while (i < len && FormatInput.isWhitespace(this.data.at(i))) {
+                i++;
+            }
+
+            if (i >= len) {
+                if (this.state == ARRAY) throw new IOException("Unclosed array");
+                if (this.state == INLINE) throw new IOException("Unclosed inline table");
+                this.pos = i;
+                return false;
+            }
+
+            final byte c = this.data.at(i);
+            if (c == '#') {
+                this.pos = this.comment(i);
+                return true;
+            }
+
+            switch (this.state) {
+                case ARRAY -> {
+                    if (c == ']') {
+                        this.arrayEnd(this.arrayStart, i + 1);
+                        this.state = this.inlineDepth > 0 ? INLINE : TOP;
+                        this.pos = this.skipToEndOfLine(i + 1);
+                    } else if (c == ',') {
+                        this.pos = i + 1;
+                    } else {
+                        this.pos = this.element(i);
+                    }
+                }
+                case INLINE -> {
+                    if (c == '}') {
+                        this.groupEnd();
+                        this.state = --this.inlineDepth > 0 ? INLINE : TOP;
+                        this.pos = this.skipToEndOfLine(i + 1);
+                    } else if (c == ',') {
+                        this.pos = i + 1;
+                    } else {
+                        this.pos = this.keyValue(i);
+                    }
+                }
+                default -> {
+                    if (c == '[') {
+                        this.pos = this.tableHeader(i);
+                    } else if (FormatInput.isLetterOrDigit(c) || c == '_' || c == '"' || c == '\'') {
+                        this.pos = this.keyValue(i);
+                    } else {
+                        this.pos = i + 1;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private int tableHeader(int start) throws IOException {
+            int i = start + 1;
+            final int len = this.data.length();
+
+            // ARRAYS OF TABLES ARE READ AS TABLES, SAME AS THE READER
+            final boolean isArray = i < len && this.data.at(i) == '[';
+            if (isArray) i++;
+
+            final int nameStart = i;
+            while (i < len && this.data.at(i) != ']') {
+                if (this.data.at(i) == '#') throw new IOException("Comment not allowed in table header");
+                i++;
+            }
+            if (i >= len) throw new IOException("Unclosed table header");
+
+            this.path(this.data.string(nameStart, i));
+
+            i++;
+            if (isArray) {
+                if (i >= len || this.data.at(i) != ']') throw new IOException("Expected ]] for array of tables");
+                i++;
+            }
+            return this.skipToEndOfLine(i);
+        }
+
+        private int keyValue(int start) throws IOException {
+            final int len = this.data.length();
+            final String key;
+            int i = start;
+
+            final byte quote = this.data.at(i);
+            if (quote == '"' || quote == '\'') {
+                i = this.skipQuoted(i, quote);
+                if (i >= len) throw new IOException("Unclosed quoted key");
+                key = this.data.unescaped(start + 1, i);
+                i++;
+            } else {
+                while (i < len && (FormatInput.isLetterOrDigit(this.data.at(i)) || this.data.at(i) == '_' || this.data.at(i) == '-')) {
+                    i++;
+                }
+                key = this.data.string(start, i);
+            }
+
+            while (i < len && FormatInput.isWhitespace(this.data.at(i))) i++;
+            if (i >= len || this.data.at(i) != '=') throw new IOException("Expected '=' after key");
+            do {
+                i++;
+            } while (i < len && FormatInput.isWhitespace(this.data.at(i)));
+            if (i >= len) throw new IOException("Expected value after '='");
+
+            final byte c = this.data.at(i);
+            if (c == '{') {
+                this.group(key);
+                this.inlineDepth++;
+                this.state = INLINE;
+                return i + 1;
+            }
+
+            this.key(key);
+            if (c == '[') {
+                this.arrayStart();
+                this.arrayStart = i;
+                this.state = ARRAY;
+                return i + 1;
+            }
+            if (c == '"' || c == '\'') {
+                return this.string(i);
+            }
+
+            // BOOLEAN, NUMBER OR DATETIME
+            int end = i;
+            while (end < len) {
+                final byte b = this.data.at(end);
+                if (b == '\n' || b == '\r' || b == '#' || b == ',' || b == ']' || b == '}') break;
+                end++;
+            }
+            final int next = end;
+            while (end > i && FormatInput.isWhitespace(this.data.at(end - 1))) end--;
+            this.scalar(i, end, FormatIndex.RAW, i, end);
+            return this.skipToEndOfLine(next);
+        }
+
+        private int string(int start) throws IOException {
+            final int len = this.data.length();
+            final byte quote = this.data.at(start);
+            int i = start + 1;
+
+            if (i + 1 < len && this.data.at(i) == quote && this.data.at(i + 1) == quote) {
+                i += 2;
+                if (i < len && this.data.at(i) == '\n') i++; // NEWLINE AFTER THE OPENING QUOTES
+                final int valueStart = i;
+                while (i < len) {
+                    if (i + 2 < len && this.data.at(i) == quote && this.data.at(i + 1) == quote && this.data.at(i + 2) == quote) {
+                        this.scalar(valueStart, i, (quote == '"' ? FormatIndex.MULTILINE : FormatIndex.RAW) | QUOTED, start, i + 3);
+                        return this.skipToEndOfLine(i + 3);
+                    }
+                    if (quote == '"' && this.data.at(i) == '\\' && i + 1 < len) i++;
+                    i++;
+                }
+                throw new IOException("Unclosed multi-line string");
+            }
+
+            while (i < len && this.data.at(i) != quote) {
+                if (this.data.at(i) == '\\' && i + 1 < len) {
+                    i++;
+                } else if (this.data.at(i) == '\n') {
+                    throw new IOException("Newline not allowed in single-line string");
+                }
+                i++;
+            }
+            if (i >= len) throw new IOException("Unclosed string");
+
+            this.scalar(start + 1, i, FormatIndex.ESCAPED | QUOTED, start, i + 1);
+            return this.skipToEndOfLine(i + 1);
+        }
+
+        private int element(int start) throws IOException {
+            final int len = this.data.length();
+            final byte c = this.data.at(start);
+            if (c == '"' || c == '\'') {
+                final int end = this.skipQuoted(start, c);
+                if (end >= len) throw new IOException("Unclosed string in array");
+                this.element(start + 1, end, FormatIndex.ESCAPED | QUOTED);
+                return end + 1;
+            }
+
+            int i = start;
+            while (i < len && this.data.at(i) != ',' && this.data.at(i) != ']' && this.data.at(i) != '\n' && this.data.at(i) != '#') {
+                i++;
+            }
+            int end = i;
+            while (end > start && FormatInput.isWhitespace(this.data.at(end - 1))) end--;
+            this.element(start, end, FormatIndex.RAW);
+            return i;
+        }
+
+        private int comment(int start) {
+            final int len = this.data.length();
+            int i = start + 1;
+            while (i < len && this.data.at(i) != '\n') i++;
+            int textStart = start + 1;
+            int textEnd = i;
+            while (textStart < textEnd && FormatInput.isWhitespace(this.data.at(textStart))) textStart++;
+            while (textEnd > textStart && FormatInput.isWhitespace(this.data.at(textEnd - 1))) textEnd--;
+            this.comment(textStart, textEnd);
+            return i;
+        }
+
+        private int skipQuoted(int start, byte quote) {
+            int i = start + 1;
+            final int len = this.data.length();
+            while (i < len && this.data.at(i) != quote) {
+                if (this.data.at(i) == '\\' && i + 1 < len) i++;
+                i++;
+            }
+            return i;
+        }
+
+        /**
+         * Skips the whitespace after a value, trailing comments are reported on the next advance
+         */
+        private int skipToEndOfLine(int start) {
+            int i = start;
+            final int len = this.data.length();
+            while (i < len && this.data.at(i) != '\n' && this.data.at(i) != '#' && FormatInput.isWhitespace(this.data.at(i))) {
+                i++;
+            }
+            return i;
         }
     }
 }
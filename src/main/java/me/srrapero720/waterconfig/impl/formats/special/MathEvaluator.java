@@ -1,5 +1,8 @@
 package me.srrapero720.waterconfig.impl.formats.special;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Evaluates simple math expressions with standard operator precedence.
  * <p>Supported operators:</p>
@@ -13,29 +16,46 @@ package me.srrapero720.waterconfig.impl.formats.special;
  * </ul>
  *
  * <p>Precedence (highest to lowest): {@code ~}, unary {@code -}, {@code ^}, {@code * /}, {@code + -}</p>
+ *
+ * <p>Expressions are compiled once with {@link #compile(String)} into a tree where constant operations are
+ * already folded, the {@link Expression} can be evaluated any amount of times without parsing the text again.</p>
+ *
+ * <p>Operands can be {@code ${id}} references to other values, resolved on each evaluation by a {@link Resolver}.
+ * References are never folded.</p>
  */
 public final class MathEvaluator {
 
     private MathEvaluator() {}
 
     /**
-     * Evaluates a math expression string and returns the result.
-     * @param expr the expression to evaluate
-     * @return the evaluated result
+     * Parses an expression into a reusable tree, operations with constant operands are folded
+     * @param expr the expression to compile
+     * @return the compiled expression
      * @throws IllegalArgumentException on invalid syntax or empty expression
      */
-    public static double evaluate(String expr) {
+    public static Expression compile(String expr) {
         if (expr == null || expr.isBlank()) {
             throw new IllegalArgumentException("Expression cannot be null or empty");
         }
-        Parser parser = new Parser(expr.trim());
-        double result = parser.parseExpression();
+        final String trimmed = expr.trim();
+        Parser parser = new Parser(trimmed);
+        Node root = parser.parseExpression();
         parser.skipWhitespace();
         if (parser.pos < parser.chars.length) {
             throw new IllegalArgumentException(
                     "Unexpected character '" + parser.chars[parser.pos] + "' at position " + parser.pos);
         }
-        return result;
+        return new Expression(expr, trimmed, isPlainNumber(trimmed), root, parser.references.toArray(new String[0]));
+    }
+
+    /**
+     * Evaluates a math expression string and returns the result.
+     * @param expr the expression to evaluate
+     * @return the evaluated result
+     * @throws IllegalArgumentException on invalid syntax or empty expression
+     */
+    public static double evaluate(String expr) {
+        return compile(expr).evaluateDouble();
     }
 
     /**
@@ -50,23 +70,8 @@ public final class MathEvaluator {
      * @throws IllegalArgumentException if strict is true and expression is invalid
      */
     public static String tryEvaluate(String value, boolean strict) {
-        if (value == null || value.isBlank()) {
-            if (strict) {
-                throw new IllegalArgumentException("Expression cannot be null or empty");
-            }
-            return null;
-        }
-
-        String trimmed = value.trim();
-
         try {
-            double result = evaluate(trimmed);
-            // If the result equals the input parsed as a plain number, return original string
-            // to preserve formatting (e.g., "3.14" stays "3.14" not re-formatted)
-            if (!containsOperators(trimmed)) {
-                return trimmed;
-            }
-            return formatResult(result);
+            return compile(value).evaluate();
         } catch (IllegalArgumentException e) {
             if (strict) {
                 throw e;
@@ -75,14 +80,15 @@ public final class MathEvaluator {
         }
     }
 
-    private static boolean containsOperators(String value) {
-        for (int i = 0; i < value.length(); i++) {
+    /**
+     * Plain numbers are an optional leading '-' followed by the number, anything else is an operation
+     */
+    private static boolean isPlainNumber(String value) {
+        for (int i = value.startsWith("-") ? 1 : 0; i < value.length(); i++) {
             char c = value.charAt(i);
-            if (c == '+' || c == '*' || c == '/' || c == '^' || c == '~') return true;
-            // '-' is an operator only when preceded by a digit (not a leading negative sign)
-            if (c == '-' && i > 0 && (Character.isDigit(value.charAt(i - 1)) || value.charAt(i - 1) == '.')) return true;
+            if (!Character.isDigit(c) && c != '.') return false;
         }
-        return false;
+        return true;
     }
 
     private static String formatResult(double result) {
@@ -92,8 +98,213 @@ public final class MathEvaluator {
         return String.valueOf(result);
     }
 
+    /**
+     * Provides the value of the {@code ${id}} references of an expression
+     */
+    @FunctionalInterface
+    public interface Resolver {
+        /**
+         * Resolver of expressions without references, fails on any reference
+         */
+        Resolver NONE = reference -> {
+            throw new IllegalArgumentException("Unresolved reference '${" + reference + "}'");
+        };
+
+        /**
+         * @param reference the id between the braces, trimmed
+         * @return the current value of the reference
+         * @throws IllegalArgumentException when the reference cannot be resolved
+         */
+        double resolve(String reference);
+    }
+
+    /**
+     * Compiled expression, immutable and safe to share between threads
+     */
+    public static final class Expression {
+        private final String text;
+        private final String trimmed;
+        private final boolean literal;
+        private final Node root;
+        private final String[] references;
+        // RESULT OF FOLDED EXPRESSIONS
+        private final boolean constant;
+        private final double value;
+
+        private Expression(String text, String trimmed, boolean literal, Node root, String[] references) {
+            this.text = text;
+            this.trimmed = trimmed;
+            this.literal = literal;
+            this.root = root;
+            this.references = references;
+            this.constant = root instanceof Constant;
+            this.value = this.constant ? root.eval(Resolver.NONE) : Double.NaN;
+        }
+
+        /**
+         * @return the expression text as given to {@link #compile(String)}
+         */
+        public String text() {
+            return this.text;
+        }
+
+        /**
+         * @return true when the expression is a plain number without operators
+         */
+        public boolean literal() {
+            return this.literal;
+        }
+
+        /**
+         * @return the distinct ids referenced with {@code ${id}}, in order of appearance, empty when there is none
+         */
+        public String[] references() {
+            return this.references.clone();
+        }
+
+        public boolean hasReferences() {
+            return this.references.length != 0;
+        }
+
+        public double evaluateDouble() {
+            return this.evaluateDouble(Resolver.NONE);
+        }
+
+        /**
+         * @param resolver provides the value of the references
+         */
+        public double evaluateDouble(Resolver resolver) {
+            return this.constant ? this.value : this.root.eval(resolver);
+        }
+
+        public float evaluateFloat() {
+            return this.evaluateFloat(Resolver.NONE);
+        }
+
+        /**
+         * Evaluates the expression as a float, plain numbers are parsed as floats to keep the same rounding
+         */
+        public float evaluateFloat(Resolver resolver) {
+            return this.literal ? Float.parseFloat(this.trimmed) : (float) this.evaluateDouble(resolver);
+        }
+
+        public long evaluateLong() {
+            return this.evaluateLong(Resolver.NONE);
+        }
+
+        /**
+         * Evaluates the expression as a whole number, plain numbers are parsed as longs to keep the full precision
+         * @throws NumberFormatException when the result is not a whole number or is out of the long range
+         */
+        public long evaluateLong(Resolver resolver) {
+            if (this.literal) {
+                return Long.parseLong(this.trimmed);
+            }
+            final double result = this.evaluateDouble(resolver);
+            if (result != Math.rint(result) || result < -0x1p63 || result >= 0x1p63) {
+                throw new NumberFormatException("Result '" + result + "' of '" + this.trimmed + "' is not a whole number");
+            }
+            return (long) result;
+        }
+
+        /**
+         * Evaluates the expression as text, same as {@link MathEvaluator#tryEvaluate(String, boolean)}
+         * @return the trimmed text of plain numbers, the formatted result otherwise
+         */
+        public String evaluate() {
+            return this.evaluate(Resolver.NONE);
+        }
+
+        public String evaluate(Resolver resolver) {
+            return this.literal ? this.trimmed : formatResult(this.evaluateDouble(resolver));
+        }
+    }
+
+    // EXPRESSION TREE
+    private static abstract sealed class Node permits Constant, Reference, Unary, Binary {
+        abstract double eval(Resolver resolver);
+    }
+
+    private static final class Constant extends Node {
+        private final double value;
+
+        private Constant(double value) {
+            this.value = value;
+        }
+
+        @Override
+        double eval(Resolver resolver) {
+            return this.value;
+        }
+    }
+
+    private static final class Reference extends Node {
+        private final String id;
+
+        private Reference(String id) {
+            this.id = id;
+        }
+
+        @Override
+        double eval(Resolver resolver) {
+            return resolver.resolve(this.id);
+        }
+    }
+
+    private static final class Unary extends Node {
+        private final char op;
+        private final Node operand;
+
+        private Unary(char op, Node operand) {
+            this.op = op;
+            this.operand = operand;
+        }
+
+        static Node of(char op, Node operand) {
+            final Node node = new Unary(op, operand);
+            return operand instanceof Constant ? new Constant(node.eval(Resolver.NONE)) : node;
+        }
+
+        @Override
+        double eval(Resolver resolver) {
+            final double value = this.operand.eval(resolver);
+            return this.op == '~' ? Math.sqrt(value) : -value;
+        }
+    }
+
+    private static final class Binary extends Node {
+        private final char op;
+        private final Node left;
+        private final Node right;
+
+        private Binary(char op, Node left, Node right) {
+            this.op = op;
+            this.left = left;
+            this.right = right;
+        }
+
+        static Node of(char op, Node left, Node right) {
+            final Node node = new Binary(op, left, right);
+            return left instanceof Constant && right instanceof Constant ? new Constant(node.eval(Resolver.NONE)) : node;
+        }
+
+        @Override
+        double eval(Resolver resolver) {
+            final double left = this.left.eval(resolver);
+            final double right = this.right.eval(resolver);
+            return switch (this.op) {
+                case '+' -> left + right;
+                case '-' -> left - right;
+                case '*' -> left * right;
+                case '/' -> left / right;
+                default -> Math.pow(left, right);
+            };
+        }
+    }
+
     private static class Parser {
         final char[] chars;
+        final List<String> references = new ArrayList<>();
         int pos;
 
         Parser(String expr) {
@@ -102,70 +313,90 @@ public final class MathEvaluator {
         }
 
         // expression = additive
-        double parseExpression() {
+        Node parseExpression() {
             return parseAdditive();
         }
 
         // additive = multiplicative (('+' | '-') multiplicative)*
-        double parseAdditive() {
-            double left = parseMultiplicative();
+        Node parseAdditive() {
+            Node left = parseMultiplicative();
             while (true) {
                 skipWhitespace();
                 if (pos >= chars.length) break;
                 char op = chars[pos];
                 if (op != '+' && op != '-') break;
                 pos++;
-                double right = parseMultiplicative();
-                left = (op == '+') ? left + right : left - right;
+                Node right = parseMultiplicative();
+                left = Binary.of(op, left, right);
             }
             return left;
         }
 
         // multiplicative = power (('*' | '/') power)*
-        double parseMultiplicative() {
-            double left = parsePower();
+        Node parseMultiplicative() {
+            Node left = parsePower();
             while (true) {
                 skipWhitespace();
                 if (pos >= chars.length) break;
                 char op = chars[pos];
                 if (op != '*' && op != '/') break;
                 pos++;
-                double right = parsePower();
-                left = (op == '*') ? left * right : left / right;
+                Node right = parsePower();
+                left = Binary.of(op, left, right);
             }
             return left;
         }
 
         // power = unary ('^' unary)*  (right-associative)
-        double parsePower() {
-            double base = parseUnary();
+        Node parsePower() {
+            Node base = parseUnary();
             skipWhitespace();
             if (pos < chars.length && chars[pos] == '^') {
                 pos++;
-                double exponent = parsePower(); // right-associative recursion
-                return Math.pow(base, exponent);
+                Node exponent = parsePower(); // right-associative recursion
+                return Binary.of('^', base, exponent);
             }
             return base;
         }
 
-        // unary = '~' unary | '-' unary | number
-        double parseUnary() {
+        // unary = '~' unary | '-' unary | reference | number
+        Node parseUnary() {
             skipWhitespace();
             if (pos < chars.length) {
                 if (chars[pos] == '~') {
                     pos++;
-                    return Math.sqrt(parseUnary());
+                    return Unary.of('~', parseUnary());
                 }
                 if (chars[pos] == '-') {
                     pos++;
-                    return -parseUnary();
+                    return Unary.of('-', parseUnary());
+                }
+                if (chars[pos] == '$' && pos + 1 < chars.length && chars[pos + 1] == '{') {
+                    return parseReference();
                 }
             }
             return parseNumber();
         }
 
+        // reference = '${' id '}'
+        Node parseReference() {
+            final int start = pos;
+            pos += 2;
+            while (pos < chars.length && chars[pos] != '}') pos++;
+            if (pos >= chars.length) {
+                throw new IllegalArgumentException("Unclosed reference at position " + start);
+            }
+            final String id = new String(chars, start + 2, pos - start - 2).trim();
+            pos++;
+            if (id.isEmpty()) {
+                throw new IllegalArgumentException("Empty reference at position " + start);
+            }
+            if (!references.contains(id)) references.add(id);
+            return new Reference(id);
+        }
+
         // number = [0-9]+ ('.' [0-9]+)?
-        double parseNumber() {
+        Node parseNumber() {
             skipWhitespace();
             int start = pos;
             while (pos < chars.length && Character.isDigit(chars[pos])) pos++;
@@ -179,7 +410,7 @@ public final class MathEvaluator {
                         : "but reached end of expression";
                 throw new IllegalArgumentException("Expected number at position " + pos + " " + context);
             }
-            return Double.parseDouble(new String(chars, start, pos - start));
+            return new Constant(Double.parseDouble(new String(chars, start, pos - start)));
         }
 
         void skipWhitespace() {
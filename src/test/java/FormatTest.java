@@ -1,13 +1,19 @@
 import me.srrapero720.waterconfig.impl.formats.*;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.io.TempDir;
+import me.srrapero720.waterconfig.api.formats.IFormatPullReader;
 import me.srrapero720.waterconfig.api.formats.IFormatReader;
 import me.srrapero720.waterconfig.api.formats.IFormatWriter;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -570,6 +576,27 @@ public class FormatTest {
             assertTrue(ratio.contains("*"), "Expression operator '*' should survive JSON reader");
             reader.close();
         }
+
+        @Test
+        void testGroupCursor() throws IOException {
+            Path file = tempDir.resolve("cursor.json");
+            writeTestSpec(new JSONFormat().createWriter(file));
+
+            IFormatReader reader = new JSONFormat().createReader(file);
+            reader.push("missing");
+            assertNull(reader.read("description"));
+            reader.push("deeper");
+            assertNull(reader.read("count"));
+            reader.pop();
+            reader.pop();
+            assertNull(reader.read("description"));
+            reader.push("nested");
+            assertEquals("inner", reader.read("description"));
+            assertNull(reader.read("count"));
+            reader.pop();
+            assertEquals("42", reader.read("count"));
+            reader.close();
+        }
     }
 
     // ========================================================================
@@ -701,6 +728,102 @@ public class FormatTest {
             assertEquals("~25", reader.read("root"));
             reader.close();
         }
+
+        @Test
+        void testValuesDecodedOnRead() throws IOException {
+            Path file = tempDir.resolve("lazy.toml");
+            Files.writeString(file, """
+                    label = "tab\\there \\"quoted\\""
+                    name = "ñandú ☃"
+                    text = \"""
+                    first \\
+                      second\"""
+                    raw = '''C:\\path'''
+                    tags = ["a\\nb", 3, 'c']
+
+                    [other_tool]
+                    unused = "never read"
+                    """, StandardCharsets.UTF_8);
+            IFormatReader reader = new TOMLFormat().createReader(file);
+            assertEquals("tab\there \"quoted\"", reader.read("label"));
+            assertEquals("ñandú ☃", reader.read("name"));
+            assertEquals("first second", reader.read("text"));
+            assertEquals("C:\\path", reader.read("raw"));
+            assertArrayEquals(new String[] { "a\nb", "3", "c" }, reader.readArray("tags"));
+            assertNull(reader.readArray("label"));
+            assertNull(reader.read("tags"));
+            reader.close();
+        }
+
+        @Test
+        void testPullReaderEvents() throws IOException {
+            Path file = tempDir.resolve("pull.toml");
+            Files.writeString(file, """
+                    # header
+                    name = "ñandú"
+
+                    [server.net]
+                    ports = [80, "443"]
+                    limits = { max = 5 }
+
+                    []
+                    tail = 'end'
+                    """, StandardCharsets.UTF_8);
+
+            List<String> events = new ArrayList<>();
+            try (IFormatPullReader reader = new TOMLFormat().createPullReader(file)) {
+                for (IFormatPullReader.Event event = reader.next(); event != IFormatPullReader.Event.END; event = reader.next()) {
+                    String text = reader.name() != null ? reader.name() : reader.value();
+                    events.add(text == null ? event.name() : event.name() + ":" + text);
+                }
+            }
+
+            assertEquals(List.of(
+                    "COMMENT:header", "KEY:name", "SCALAR:ñandú",
+                    "GROUP_START:server", "GROUP_START:net",
+                    "KEY:ports", "ARRAY_START", "ARRAY_VALUE:80", "ARRAY_VALUE:443", "ARRAY_END",
+                    "GROUP_START:limits", "KEY:max", "SCALAR:5", "GROUP_END",
+                    "GROUP_END", "GROUP_END",
+                    "KEY:tail", "SCALAR:end"
+            ), events);
+        }
+
+        @Test
+        void testTranscodeToOtherFormats() throws IOException {
+            Path file = tempDir.resolve("source.toml");
+            Files.writeString(file, """
+                    # header
+                    count = 42
+                    code = "0123"
+
+                    [server.net]
+                    ports = [80, 443]
+                    host = "localhost"
+                    """, StandardCharsets.UTF_8);
+
+            for (var format: List.of(new JSON5Format(), new CFGFormat(), new PROPFormat(), new JSONFormat())) {
+                Path target = tempDir.resolve("target" + format.extension());
+                FormatTranscoder.transcode(file, new TOMLFormat(), target, format);
+
+                IFormatReader reader = format.createReader(target);
+                assertEquals("42", reader.read("count"), format.id());
+                assertEquals("0123", reader.read("code"), format.id());
+                reader.push("server");
+                reader.push("net");
+                assertArrayEquals(new String[]{"80", "443"}, reader.readArray("ports"), format.id());
+                assertEquals("localhost", reader.read("host"), format.id());
+                reader.pop();
+                reader.pop();
+                reader.close();
+            }
+
+            // QUOTED NUMBERS STAY STRINGS
+            try (IFormatPullReader reader = new JSON5Format().createPullReader(tempDir.resolve("target.json5"))) {
+                while (reader.next() != IFormatPullReader.Event.KEY || !reader.name().equals("code"));
+                reader.next();
+                assertTrue(reader.quoted());
+            }
+        }
     }
 
     // ========================================================================
@@ -821,4 +944,130 @@ public class FormatTest {
             reader.close();
         }
     }
+
+    // ========================================================================
+    // Binary Format Tests
+    // ========================================================================
+    @Nested
+    class BINTest {
+
+        @Test
+        void testRoundTrip() throws IOException {
+            Path file = tempDir.resolve("test.bin");
+            IFormatWriter writer = new BINFormat().createWriter(file);
+            writeTestSpec(writer);
+
+            IFormatReader reader = new BINFormat().createReader(file);
+            assertEquals("42", reader.read("count"));
+            assertEquals(42, reader.readInt("count", 0));
+            assertEquals("hello world", reader.read("label"));
+            assertTrue(reader.readBoolean("enabled", false));
+            assertEquals(3.14, reader.readDouble("ratio", 0));
+
+            reader.push("nested");
+            assertEquals("inner", reader.read("description"));
+            assertEquals(0.5, reader.readDouble("weight", 0));
+            reader.pop();
+
+            assertArrayEquals(new String[]{"alpha", "beta"}, reader.readArray("tags"));
+            assertNull(reader.read("tags"));
+            assertNull(reader.readArray("count"));
+            reader.close();
+        }
+
+        @Test
+        void testWaterMediaRoundTrip() throws IOException {
+            Path file = tempDir.resolve("watermedia.bin");
+            writeWaterMediaSpec(new BINFormat().createWriter(file));
+            assertWaterMediaSpec(new BINFormat().createReader(file));
+        }
+
+        @Test
+        void testPackedArraysAndFallbacks() throws IOException {
+            Path file = tempDir.resolve("packed.bin");
+            IFormatWriter writer = new BINFormat().createWriter(file);
+            writer.push("packed");
+            writer.write("ints", new String[]{"1", "-2", "300000"}, Integer[].class, Integer.class);
+            writer.write("longs", new String[]{"9000000000"}, long[].class, long.class);
+            writer.write("math", "2 + 3", Integer.class, null); // NOT AN INT, STORED AS TEXT
+            writer.write("letter", "ñ", Character.class, null);
+            writer.pop();
+            writer.close();
+
+            // EACH RECORD IS TAG + KEY LENGTH + KEY + PAYLOAD, ARRAY ELEMENTS HAVE NO TAG
+            long ints = 1 + 2 + 4 + 4 + 3 * 4, longs = 1 + 2 + 5 + 4 + 8, math = 1 + 2 + 4 + 4 + 5, letter = 1 + 2 + 6 + 2;
+            assertEquals(BINFormat.HEADER_SIZE + ints + longs + math + letter, Files.size(file));
+
+            IFormatReader reader = new BINFormat().createReader(file);
+            assertArrayEquals(new String[]{"1", "-2", "300000"}, reader.readArray("ints"));
+            assertArrayEquals(new String[]{"9000000000"}, reader.readArray("longs"));
+            assertEquals("2 + 3", reader.read("math"));
+            assertThrows(NumberFormatException.class, () -> reader.readInt("math", 0));
+            assertEquals("ñ", reader.read("letter"));
+            assertEquals(7, reader.readInt("missing", 7));
+            reader.close();
+        }
+
+        @Test
+        void testSnapshotStamp() throws IOException {
+            Path file = tempDir.resolve("stamped.bin");
+            IFormatWriter writer = new BINFormat().createWriter(file, 10, 20, 30);
+            writer.push("stamped");
+            writer.write("count", "5", Integer.class, null);
+            writer.pop();
+            writer.close();
+
+            IFormatReader reader = new BINFormat().createReader(file, 10, 20, 30);
+            assertNotNull(reader);
+            assertEquals(5, reader.readInt("count", 0));
+            reader.close();
+
+            assertNull(new BINFormat().createReader(file, 10, 21, 30), "Changed source time");
+            assertNull(new BINFormat().createReader(file, 10, 20, 31), "Changed source hash");
+            assertNull(new BINFormat().createReader(tempDir.resolve("missing.bin"), 10, 20, 30));
+        }
+
+        @Test
+        void testTruncatedFile() throws IOException {
+            Path file = tempDir.resolve("truncated.bin");
+            writeTestSpec(new BINFormat().createWriter(file));
+            byte[] data = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(data, data.length - 3));
+            assertThrows(IOException.class, () -> new BINFormat().createReader(file));
+
+            Files.writeString(file, "count = 5");
+            assertThrows(IOException.class, () -> new BINFormat().createReader(file));
+        }
+
+        @Test
+        void testCorruptedLengths() throws IOException {
+            // NEGATIVE STRING LENGTH, WOULD MOVE THE POSITION BACKWARDS
+            Path file = corrupted("negative.bin", "label", new String[]{"value"}, String.class, -9);
+            assertThrows(IOException.class, () -> new BINFormat().createReader(file));
+            assertThrows(IOException.class, () -> new BINFormat().createReader(file, 10, 20, 30));
+
+            // ARRAY COUNTS, COUNT * SIZE OVERFLOWS TO 0 AND NEGATIVE COUNTS SKIP THE ELEMENTS
+            assertThrows(IOException.class, () -> new BINFormat().createReader(corrupted("overflow.bin", "ints", new String[0], Integer.class, 0x40000000)));
+            assertThrows(IOException.class, () -> new BINFormat().createReader(corrupted("count.bin", "tags", new String[0], String.class, -1)));
+        }
+
+        /**
+         * Writes a single record and replaces its string length or array count
+         */
+        private Path corrupted(String name, String key, String[] values, Class<?> type, int length) throws IOException {
+            Path file = tempDir.resolve(name);
+            IFormatWriter writer = new BINFormat().createWriter(file, 10, 20, 30);
+            if (type == String.class && values.length == 1) {
+                writer.write(key, values[0], String.class, null);
+            } else {
+                writer.write(key, values, type.arrayType(), type);
+            }
+            writer.close();
+
+            byte[] data = Files.readAllBytes(file);
+            ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN).putInt(BINFormat.HEADER_SIZE + 1 + 2 + key.length(), length);
+            Files.write(file, data);
+            return file;
+        }
+    }
 }
@@ -63,4 +63,27 @@ public class MathEvaluatorTest {
     @Test void testEmptyStrict()       { assertThrows(IllegalArgumentException.class, () -> MathEvaluator.tryEvaluate("", true)); }
     @Test void testEmptyNonStrict()    { assertNull(MathEvaluator.tryEvaluate("", false)); }
     @Test void testNullNonStrict()     { assertNull(MathEvaluator.tryEvaluate(null, false)); }
+
+    // --- Compiled expressions ---
+    @Test void testCompiledReuse()      { var e = MathEvaluator.compile("2 + 3 * 4"); assertEquals(14.0, e.evaluateDouble()); assertEquals(14.0, e.evaluateDouble()); }
+    @Test void testCompiledText()       { assertEquals(" 2 + 3 ", MathEvaluator.compile(" 2 + 3 ").text()); }
+    @Test void testCompiledLiteral()    { assertTrue(MathEvaluator.compile("-5").literal()); assertFalse(MathEvaluator.compile("2 - 5").literal()); }
+    @Test void testCompiledLong()       { assertEquals(25L, MathEvaluator.compile("5 ^ 2").evaluateLong()); }
+    @Test void testCompiledLongExact()  { assertEquals(9007199254740993L, MathEvaluator.compile("9007199254740993").evaluateLong()); }
+    @Test void testCompiledLongFraction() { assertThrows(NumberFormatException.class, () -> MathEvaluator.compile("5 / 2").evaluateLong()); }
+    @Test void testCompiledLongOverflow() { assertThrows(NumberFormatException.class, () -> MathEvaluator.compile("10 ^ 30").evaluateLong()); }
+    @Test void testCompiledFloat()      { assertEquals(3.14f, MathEvaluator.compile("3.14").evaluateFloat()); }
+    @Test void testCompiledFormatted() { assertEquals("2.5", MathEvaluator.compile("5 / 2").evaluate()); }
+    @Test void testCompileInvalid()     { assertThrows(IllegalArgumentException.class, () -> MathEvaluator.compile("2 +")); }
+
+    // --- References ---
+    @Test void testReference()           { assertEquals(128.0, MathEvaluator.compile("${world.radius} * 16").evaluateDouble(ref -> 8)); }
+    @Test void testReferenceIds()        { assertArrayEquals(new String[] { "a", "b" }, MathEvaluator.compile("${ a } + ${b} * ${a}").references()); }
+    @Test void testReferenceNotFolded()  { var e = MathEvaluator.compile("${a} + 2 * 3"); assertEquals(7.0, e.evaluateDouble(ref -> 1)); assertEquals(8.0, e.evaluateDouble(ref -> 2)); }
+    @Test void testReferenceLong()       { assertEquals(64L, MathEvaluator.compile("${a} ^ 2").evaluateLong(ref -> 8)); }
+    @Test void testReferenceNotLiteral() { assertFalse(MathEvaluator.compile("${a}").literal()); }
+    @Test void testUnresolved()          { assertThrows(IllegalArgumentException.class, () -> MathEvaluator.evaluate("${a} + 1")); }
+    @Test void testUnresolvedNonStrict() { assertNull(MathEvaluator.tryEvaluate("${a} + 1", false)); }
+    @Test void testUnclosedReference()   { assertThrows(IllegalArgumentException.class, () -> MathEvaluator.compile("${a + 1")); }
+    @Test void testEmptyReference()      { assertThrows(IllegalArgumentException.class, () -> MathEvaluator.compile("${ } + 1")); }
 }
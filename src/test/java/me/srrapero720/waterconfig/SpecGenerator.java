@@ -0,0 +1,183 @@
+package me.srrapero720.waterconfig;
+
+import me.srrapero720.waterconfig.api.IConfigField;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deterministic generator of synthetic specs, the same shape and seed always builds the same ids and values.
+ *
+ * <p>Fields are spread over the spec root and {@link #groups(int)} chains of groups nested {@link #depth(int)}
+ * levels deep ({@code group0.level2...levelN}), every level of the chain holding fields. Kinds are picked from
+ * {@link #kinds(Kind...)} per field.</p>
+ */
+public final class SpecGenerator {
+    /**
+     * Bundled formats, specs are generated on each of them
+     */
+    public static final List<String> FORMATS = List.of("json", "json5", "toml", "cfg", "properties", "bin");
+
+    public enum Kind { BOOLEAN, INT, LONG, DOUBLE, STRING, ENUM, LIST }
+
+    private int fields = 100;
+    private int depth = 1;
+    private int groups = 4;
+    private int listSize = 8;
+    private Kind[] kinds = Kind.values();
+    private long seed = 0x5EED;
+
+    public SpecGenerator fields(int fields) {
+        if (fields < 0) throw new IllegalArgumentException("Fields cannot be negative");
+        this.fields = fields;
+        return this;
+    }
+
+    public SpecGenerator depth(int depth) {
+        if (depth < 1) throw new IllegalArgumentException("Depth must be at least 1");
+        this.depth = depth;
+        return this;
+    }
+
+    public SpecGenerator groups(int groups) {
+        if (groups < 0) throw new IllegalArgumentException("Groups cannot be negative");
+        this.groups = groups;
+        return this;
+    }
+
+    public SpecGenerator listSize(int listSize) {
+        if (listSize < 0) throw new IllegalArgumentException("List size cannot be negative");
+        this.listSize = listSize;
+        return this;
+    }
+
+    public SpecGenerator kinds(Kind... kinds) {
+        if (kinds.length == 0) throw new IllegalArgumentException("Kinds cannot be empty");
+        this.kinds = kinds.clone();
+        return this;
+    }
+
+    public SpecGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public ConfigSpec build(String name, String format) {
+        return this.build(new ConfigSpec.SpecBuilder(name, format, "", 0));
+    }
+
+    /**
+     * Defines the generated fields on the builder and builds the spec, the builder can be configured before
+     */
+    public ConfigSpec build(ConfigSpec.SpecBuilder builder) {
+        final int[] counts = this.counts();
+        int index = 0, slot = 0;
+        index = this.define(builder, index, counts[slot++]);
+        for (int g = 0; g < this.groups; g++) {
+            builder.push("group" + g);
+            index = this.define(builder, index, counts[slot++]);
+            for (int level = 2; level <= this.depth; level++) {
+                builder.push("level" + level);
+                index = this.define(builder, index, counts[slot++]);
+            }
+            for (int level = 0; level < this.depth; level++) {
+                builder.pop();
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the ids of the generated fields, in definition order
+     */
+    public List<String> ids() {
+        final List<String> ids = new ArrayList<>(this.fields);
+        final int[] counts = this.counts();
+        int index = 0, slot = 0;
+        for (int i = 0; i < counts[slot]; i++) ids.add(this.name(index++));
+        slot++;
+        for (int g = 0; g < this.groups; g++) {
+            final StringBuilder path = new StringBuilder("group").append(g);
+            for (int level = 1; level <= this.depth; level++) {
+                if (level > 1) path.append(".level").append(level);
+                for (int i = 0; i < counts[slot]; i++) ids.add(path + "." + this.name(index++));
+                slot++;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Sets every generated field of the spec to a new value, the same seed always sets the same values
+     */
+    @SuppressWarnings("unchecked")
+    public void randomize(ConfigSpec spec, long seed) {
+        final List<String> ids = this.ids();
+        for (int i = 0; i < ids.size(); i++) {
+            final IConfigField<Object, ?> field = (IConfigField<Object, ?>) spec.findField(ids.get(i));
+            if (field == null) throw new IllegalArgumentException("Spec '" + spec.name() + "' was not generated with this shape");
+            field.set(this.value(this.kind(i), this.random(seed, i)));
+        }
+    }
+
+    // FIELDS OF THE ROOT FIRST, THEN EACH LEVEL OF EACH CHAIN
+    private int[] counts() {
+        final int[] counts = new int[1 + this.groups * this.depth];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = this.fields / counts.length + (i < this.fields % counts.length ? 1 : 0);
+        }
+        return counts;
+    }
+
+    private int define(ConfigSpec.SpecBuilder builder, int index, int count) {
+        for (int end = index + count; index < end; index++) {
+            final String name = this.name(index);
+            final Object value = this.value(this.kind(index), this.random(this.seed, index));
+            switch (this.kind(index)) {
+                case BOOLEAN -> builder.defineBoolean(name, (Boolean) value).end();
+                case INT -> builder.defineInt(name, (Integer) value).end();
+                case LONG -> builder.defineLong(name, (Long) value).end();
+                case DOUBLE -> builder.defineDouble(name, (Double) value).end();
+                case STRING -> builder.defineString(name, (String) value).end();
+                case ENUM -> builder.defineEnum(name, (TimeUnit) value).end();
+                case LIST -> builder.defineList(name, castList(value), Integer.class).end();
+            }
+        }
+        return index;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Integer> castList(Object value) {
+        return (List<Integer>) value;
+    }
+
+    private String name(int index) {
+        return this.kind(index).name().toLowerCase() + "_" + index;
+    }
+
+    private Kind kind(int index) {
+        return this.kinds[this.random(this.seed ^ 0x4B1D, index).nextInt(this.kinds.length)];
+    }
+
+    private SplittableRandom random(long seed, int index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+    }
+
+    private Object value(Kind kind, SplittableRandom random) {
+        return switch (kind) {
+            case BOOLEAN -> random.nextBoolean();
+            case INT -> random.nextInt();
+            case LONG -> random.nextLong();
+            case DOUBLE -> random.nextInt(1 << 20) / 64.0; // EXACT ON EVERY FORMAT
+            case STRING -> "välue " + random.nextInt(1_000_000);
+            case ENUM -> TimeUnit.values()[random.nextInt(TimeUnit.values().length)];
+            case LIST -> {
+                final List<Integer> list = new ArrayList<>(this.listSize);
+                for (int i = 0; i < this.listSize; i++) list.add(random.nextInt(1_000_000));
+                yield list;
+            }
+        };
+    }
+}
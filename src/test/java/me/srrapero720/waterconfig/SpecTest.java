@@ -1,21 +1,38 @@
 package me.srrapero720.waterconfig;
 
+import me.srrapero720.waterconfig.api.FieldChange;
+import me.srrapero720.waterconfig.api.IConfigField;
 import me.srrapero720.waterconfig.api.annotations.NumberConditions;
 import me.srrapero720.waterconfig.api.annotations.Spec;
 import me.srrapero720.waterconfig.api.annotations.StringConditions;
+import me.srrapero720.waterconfig.impl.codecs.EnumCodec;
+import me.srrapero720.waterconfig.impl.codecs.IntCodec;
+import me.srrapero720.waterconfig.impl.codecs.PathCodec;
 import me.srrapero720.waterconfig.impl.fields.BooleanField;
 import me.srrapero720.waterconfig.impl.fields.DoubleField;
 import me.srrapero720.waterconfig.impl.fields.IntField;
 import me.srrapero720.waterconfig.impl.fields.StringField;
+import me.srrapero720.waterconfig.impl.formats.BINFormat;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.io.TempDir;
 import me.srrapero720.waterconfig.api.annotations.*;
 import me.srrapero720.waterconfig.impl.fields.*;
 
 import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -37,7 +54,11 @@ public class SpecTest {
     class BuilderSpecTest {
 
         private ConfigSpec buildSpec() {
-            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("builder_test", "cfg", "", 0);
+            return buildSpec("builder_test");
+        }
+
+        private ConfigSpec buildSpec(String name) {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder(name, "cfg", "", 0);
             builder.defineInt("count", 10).math(true).setMin(0).setMax(100).end();
             builder.defineDouble("ratio", 1.5).math(true).setMin(0.0).setMax(50.0).end();
             builder.defineInt("strict_count", 5).math(true).strictMath(true).setMin(0).setMax(100).end();
@@ -116,6 +137,326 @@ public class SpecTest {
             assertEquals(4, innerCount.getAsInt());
         }
 
+        @Test
+        void testMathReloadReusesCompiledExpression() throws IOException {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("math_reload_test", "cfg", "", 0);
+            builder.defineInt("count", 10).math(true).end();
+            builder.defineLong("big", 1L).math(true).end();
+            ConfigSpec spec = builder.build();
+            spec.save();
+
+            Files.writeString(spec.path(), "{\n  count: 2 + 3\n  big: 9007199254740993\n}\n", StandardCharsets.UTF_8);
+            IntField count = (IntField) spec.findField("count");
+            LongField big = (LongField) spec.findField("big");
+            assertTrue(spec.load());
+            assertEquals(5, count.getAsInt());
+            assertEquals(9007199254740993L, big.getAsLong(), "Plain numbers keep the long precision");
+
+            // SAME TEXT, THE FIELD IS SET AGAIN FROM THE CACHED EXPRESSION
+            count.setInt(1);
+            assertTrue(spec.load());
+            assertEquals(5, count.getAsInt());
+
+            Files.writeString(spec.path(), "{\n  count: 7 / 2\n  big: 2 ^ 10\n}\n", StandardCharsets.UTF_8);
+            assertTrue(spec.load());
+            assertEquals(10, count.getAsInt(), "Fractional results reset int fields");
+            assertEquals(1024L, big.getAsLong());
+        }
+
+        @Test
+        void testMathReferencesFollowFields() throws IOException {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("math_reference_test", "cfg", "", 0);
+            builder.push("world");
+            builder.defineInt("chunk_radius", 4).math(true).end();
+            builder.pop();
+            builder.defineInt("blocks", 0).math(true).end();
+            builder.defineLong("area", 0L).math(true).end();
+            builder.defineDouble("half", 0.0).math(true).end();
+            ConfigSpec spec = builder.build();
+            spec.save();
+
+            // DEPENDENTS FIRST IN THE FILE, EVALUATED IN TOPOLOGICAL ORDER
+            Files.writeString(spec.path(), "{\n  area: ${blocks} ^ 2\n  half: ${area} / 2\n  blocks: ${world.chunk_radius} * 16\n  world: {\n    chunk_radius: 8\n  }\n}\n", StandardCharsets.UTF_8);
+            IntField radius = (IntField) spec.findField("world.chunk_radius");
+            IntField blocks = (IntField) spec.findField("blocks");
+            LongField area = (LongField) spec.findField("area");
+            DoubleField half = (DoubleField) spec.findField("half");
+            assertTrue(spec.load());
+            assertEquals(128, blocks.getAsInt());
+            assertEquals(16384L, area.getAsLong());
+            assertEquals(8192.0, half.getAsDouble());
+
+            // ONLY THE TRANSITIVE DEPENDENTS ARE EVALUATED
+            radius.setInt(2);
+            assertEquals(32, blocks.getAsInt());
+            assertEquals(1024L, area.getAsLong());
+            assertEquals(512.0, half.getAsDouble());
+
+            // SET BY HAND, THE FIELD STOPS FOLLOWING ITS EXPRESSION
+            blocks.setInt(7);
+            assertEquals(49L, area.getAsLong());
+            radius.setInt(3);
+            assertEquals(7, blocks.getAsInt());
+
+            // REFERENCES ARE SAVED AS TEXT
+            spec.save();
+            String saved = Files.readString(spec.path());
+            assertTrue(saved.contains("${blocks} ^ 2"), saved);
+            assertFalse(saved.contains("chunk_radius} * 16"), saved);
+        }
+
+        @Test
+        void testMathCyclicReferencesReset() throws IOException {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("math_cycle_test", "cfg", "", 0);
+            builder.defineInt("a", 1).math(true).end();
+            builder.defineInt("b", 2).math(true).end();
+            builder.defineInt("c", 3).math(true).end();
+            builder.defineInt("d", 4).math(true).end();
+            builder.defineInt("e", 5).math(true).strictMath(true).end();
+            ConfigSpec spec = builder.build();
+            spec.save();
+
+            Files.writeString(spec.path(), "{\n  a: ${b} + 1\n  b: ${a} + 1\n  c: ${b} * 2\n  d: ${missing} + 1\n  e: 6\n}\n", StandardCharsets.UTF_8);
+            assertTrue(spec.load());
+            assertEquals(1, ((IntField) spec.findField("a")).getAsInt());
+            assertEquals(2, ((IntField) spec.findField("b")).getAsInt());
+            assertEquals(3, ((IntField) spec.findField("c")).getAsInt(), "Fields depending on a cycle are reset");
+            assertEquals(4, ((IntField) spec.findField("d")).getAsInt());
+            assertEquals(6, ((IntField) spec.findField("e")).getAsInt());
+
+            Files.writeString(spec.path(), "{\n  a: 1\n  b: 2\n  c: 3\n  d: 4\n  e: ${e} + 1\n}\n", StandardCharsets.UTF_8);
+            assertThrows(IllegalArgumentException.class, spec::load, "Strict math fails on cycles");
+        }
+
+        @Test
+        void testChangesConflatedPerSubscriber() throws IOException {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("changes_test", "cfg", "", 0);
+            builder.defineInt("count", 0).end();
+            builder.push("nested");
+            builder.defineString("label", "value").end();
+            builder.pop();
+            ConfigSpec spec = builder.build();
+            IntField count = (IntField) spec.findField("count");
+            StringField label = (StringField) spec.findField("nested.label");
+
+            List<String> all = new ArrayList<>();
+            List<String> nested = new ArrayList<>();
+            Flow.Subscription[] subscriptions = new Flow.Subscription[2];
+            spec.changes(Runnable::run).subscribe(new ChangeCollector(all, subscriptions, 0));
+            ((ConfigGroup) spec.findField("nested")).changes(Runnable::run).subscribe(new ChangeCollector(nested, subscriptions, 1));
+
+            // NO DEMAND, ONLY THE LATEST VALUE OF EACH FIELD IS KEPT
+            count.setInt(1);
+            label.set("first");
+            count.setInt(2);
+            count.setInt(3);
+            assertTrue(all.isEmpty());
+
+            subscriptions[0].request(1);
+            assertEquals(List.of("changes_test:count=3"), all);
+            subscriptions[0].request(Long.MAX_VALUE);
+            assertEquals(List.of("changes_test:count=3", "changes_test:nested.label=first"), all);
+
+            subscriptions[1].request(Long.MAX_VALUE);
+            assertEquals(List.of("changes_test:nested.label=first"), nested, "Groups only publish their own fields");
+
+            subscriptions[1].cancel();
+            label.set("second");
+            assertEquals(1, nested.size());
+            assertEquals("changes_test:nested.label=second", all.get(all.size() - 1));
+            assertEquals(1, spec.subscribers.get());
+
+            subscriptions[0].request(-1);
+            assertEquals("error", all.get(all.size() - 1), "Invalid requests fail the subscriber");
+            assertEquals(0, spec.subscribers.get());
+
+            List<String> cancelled = new ArrayList<>();
+            spec.changes(Runnable::run).subscribe(new Flow.Subscriber<>() {
+                @Override public void onSubscribe(Flow.Subscription subscription) { subscription.cancel(); }
+                @Override public void onNext(FieldChange change) { cancelled.add(change.id()); }
+                @Override public void onError(Throwable throwable) { cancelled.add("error"); }
+                @Override public void onComplete() { cancelled.add("complete"); }
+            });
+            count.setInt(4);
+            assertTrue(cancelled.isEmpty());
+            assertEquals(0, spec.subscribers.get(), "Subscriptions cancelled on subscribe are never registered");
+        }
+
+        @Test
+        void testLoadSkipsMissingKeys() throws IOException {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("missing_keys_test", "cfg", "", 0);
+            builder.defineInt("count", 0).end();
+            builder.defineBoolean("enabled", false).end();
+            builder.defineDouble("ratio", 0.5).end();
+            ConfigSpec spec = builder.build();
+            Files.writeString(spec.path(), "{\n  enabled: true\n}\n", StandardCharsets.UTF_8);
+
+            List<String> changes = new ArrayList<>();
+            Flow.Subscription[] subscriptions = new Flow.Subscription[1];
+            spec.changes(Runnable::run).subscribe(new ChangeCollector(changes, subscriptions, 0));
+            subscriptions[0].request(Long.MAX_VALUE);
+            ((IntField) spec.findField("count")).setInt(7);
+            changes.clear();
+
+            assertTrue(spec.load());
+            assertEquals(7, ((IntField) spec.findField("count")).getAsInt(), "Missing keys keep the current value");
+            assertEquals(0.5, ((DoubleField) spec.findField("ratio")).getAsDouble());
+            assertTrue(((BooleanField) spec.findField("enabled")).getAsBoolean());
+            assertFalse(changes.contains("missing_keys_test:count=7"), "Missing keys are not set again");
+            assertFalse(changes.contains("missing_keys_test:ratio=0.5"));
+            subscriptions[0].cancel();
+        }
+
+        @Test
+        void testChangesOnlyPublishedWhenValuesChange() throws IOException {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("unchanged_test", "cfg", "", 0);
+            builder.defineInt("count", 3).end();
+            builder.defineString("label", "value").end();
+            ConfigSpec spec = builder.build();
+            spec.save();
+
+            List<String> changes = new ArrayList<>();
+            Flow.Subscription[] subscriptions = new Flow.Subscription[1];
+            spec.changes(Runnable::run).subscribe(new ChangeCollector(changes, subscriptions, 0));
+            subscriptions[0].request(Long.MAX_VALUE);
+
+            assertTrue(spec.load());
+            ((IntField) spec.findField("count")).setInt(3);
+            ((StringField) spec.findField("label")).set("value");
+            assertTrue(changes.isEmpty(), "Reloads and sets of the same value are not changes");
+
+            ((IntField) spec.findField("count")).setInt(4);
+            ((StringField) spec.findField("label")).set("other");
+            assertEquals(List.of("unchanged_test:count=4", "unchanged_test:label=other"), changes);
+            subscriptions[0].cancel();
+        }
+
+        @Test
+        void testMetricsRecordLoadsSavesAndResets() throws IOException {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("metrics_test", "cfg", "", 0);
+            builder.defineInt("count", 5).setMin(0).setMax(10).end();
+            builder.defineString("name", "value").end();
+            ConfigSpec spec = builder.build();
+            SpecMetrics metrics = spec.metrics();
+            assertEquals(2, metrics.getFieldCount());
+
+            spec.save();
+            assertEquals(1, metrics.getSaves());
+            assertEquals(Files.size(spec.path()), metrics.getBytesWritten());
+
+            Files.writeString(spec.path(), "{\n  count: 50\n  name: loaded\n}\n", StandardCharsets.UTF_8);
+            assertTrue(spec.load());
+            assertEquals(1, metrics.getLoads());
+            assertEquals(1, metrics.getValidationResets(), "Out of range values are reset");
+            assertEquals(Files.size(spec.path()), metrics.getBytesRead());
+            assertTrue(metrics.getLoadMaxNanos() > 0);
+            assertTrue(metrics.getLoadP99Nanos() <= metrics.getLoadMaxNanos());
+
+            ((IntField) spec.findField("count")).setInt(7);
+            spec.save();
+            assertEquals(2, metrics.getSaves());
+            assertEquals(1, metrics.flushDelay().count(), "Only saves of changed fields record the flush delay");
+            assertEquals(0, metrics.getSaveFailures());
+        }
+
+        @Test
+        void testConcurrentMarksAreAllSaved() throws Exception {
+            ConfigSpec spec = buildOrdinalSpec();
+            for (int i = 0; i < 130; i++) {
+                assertEquals(i, ((IntField) spec.findField(ordinalId(i))).ordinal(), "Ordinals follow the definition order");
+            }
+            spec.save();
+            assertFalse(spec.isDirty());
+
+            Thread[] threads = new Thread[4];
+            for (int t = 0; t < threads.length; t++) {
+                final int offset = t;
+                threads[t] = new Thread(() -> {
+                    for (int i = offset; i < 130; i += 4) ((IntField) spec.findField(ordinalId(i))).setInt(i * 10);
+                });
+                threads[t].start();
+            }
+            for (Thread thread: threads) thread.join();
+            assertTrue(spec.isDirty());
+            spec.save();
+            assertFalse(spec.isDirty());
+
+            ConfigSpec loaded = buildOrdinalSpec();
+            assertTrue(loaded.load());
+            for (int i = 0; i < 130; i++) {
+                assertEquals(i * 10, ((IntField) loaded.findField(ordinalId(i))).getAsInt(), ordinalId(i));
+            }
+        }
+
+        private static String ordinalId(int i) {
+            return (i < 64 ? "int" : "nested.int") + i;
+        }
+
+        private ConfigSpec buildOrdinalSpec() {
+            // OVER TWO WORDS OF THE DIRTY BITSET
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("ordinal_test", "cfg", "", 0);
+            for (int i = 0; i < 130; i++) {
+                if (i == 64) builder.push("nested");
+                builder.defineInt("int" + i, -1).end();
+            }
+            builder.pop();
+            return builder.build();
+        }
+
+        @Test
+        void testFlightRecorderEvents() throws IOException {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("jfr_test", "cfg", "", 0);
+            builder.defineInt("count", 5).setMin(0).setMax(10).end();
+            ConfigSpec spec = builder.build();
+
+            Path dump = tempDir.resolve("jfr_test.jfr");
+            try (jdk.jfr.Recording recording = new jdk.jfr.Recording()) {
+                for (String event: List.of("Load", "Save", "ValidationReset")) {
+                    recording.enable("me.srrapero720.waterconfig." + event).withThreshold(Duration.ZERO);
+                }
+                recording.start();
+                spec.save();
+                Files.writeString(spec.path(), "{\n  count: 50\n}\n", StandardCharsets.UTF_8);
+                assertTrue(spec.load());
+                recording.stop();
+                recording.dump(dump);
+            }
+
+            List<jdk.jfr.consumer.RecordedEvent> events = jdk.jfr.consumer.RecordingFile.readAllEvents(dump);
+            jdk.jfr.consumer.RecordedEvent save = events.stream().filter(e -> e.getEventType().getName().endsWith(".Save")).findFirst().orElseThrow();
+            jdk.jfr.consumer.RecordedEvent load = events.stream().filter(e -> e.getEventType().getName().endsWith(".Load")).findFirst().orElseThrow();
+            jdk.jfr.consumer.RecordedEvent reset = events.stream().filter(e -> e.getEventType().getName().endsWith(".ValidationReset")).findFirst().orElseThrow();
+            assertEquals("jfr_test", save.getString("spec"));
+            assertTrue(save.getBoolean("succeeded"));
+            assertEquals("cfg", load.getString("format"));
+            assertEquals(1, load.getInt("fieldCount"));
+            assertEquals(Files.size(spec.path()), load.getLong("fileSize"));
+            assertFalse(load.getBoolean("snapshot"));
+            assertEquals("jfr_test:count", reset.getString("field"));
+        }
+
+        @Test
+        void testLatencyHistogramPercentiles() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            assertEquals(0, histogram.percentileNanos(99));
+            for (int i = 0; i < 99; i++) histogram.record(100);
+            histogram.record(1_000_000);
+
+            assertEquals(100, histogram.count());
+            assertEquals(127, histogram.percentileNanos(50), "Upper bound of the bucket");
+            assertEquals(127, histogram.percentileNanos(99));
+            assertEquals(1_000_000, histogram.percentileNanos(100), "Capped by the max");
+            assertEquals((99 * 100 + 1_000_000) / 100, histogram.meanNanos());
+            assertThrows(IllegalArgumentException.class, () -> histogram.percentileNanos(101));
+        }
+
+        private record ChangeCollector(List<String> changes, Flow.Subscription[] subscriptions, int index) implements Flow.Subscriber<FieldChange> {
+            @Override public void onSubscribe(Flow.Subscription subscription) { this.subscriptions[this.index] = subscription; }
+            @Override public void onNext(FieldChange change) { this.changes.add(change.id() + "=" + change.value()); }
+            @Override public void onError(Throwable throwable) { this.changes.add("error"); }
+            @Override public void onComplete() { this.changes.add("complete"); }
+        }
+
         @Test
         void testMathResultExceedsMax() throws IOException {
             ConfigSpec spec = buildSpec();
@@ -302,6 +643,468 @@ public class SpecTest {
             assertEquals(150, plainInt.getAsInt());
         }
 
+        @Test
+        void testInvalidPlainNumberResets() throws IOException {
+            ConfigSpec spec = buildSpec();
+            WaterConfig.register(spec);
+            spec.save();
+
+            IntField plainInt = (IntField) spec.findField("plain_int");
+            plainInt.setInt(150);
+
+            Files.writeString(spec.path(), """
+                    {
+                      count: 10
+                      ratio: 1.5
+                      strict_count: 5
+                      label: "default_value"
+                      prefix_field: "hello_world"
+                      contains_field: "foo_bar_baz"
+                      enabled: false
+                      plain_int: not_a_number
+
+                      nested: {
+                        inner_count: 7
+                        inner_label: "nested_default"
+                      }
+                    }
+                    """, StandardCharsets.UTF_8);
+
+            spec.load();
+
+            assertEquals(42, plainInt.getAsInt(), "Invalid number should reset to default");
+            assertEquals(42, plainInt.get());
+            assertFalse(((BooleanField) spec.findField("enabled")).getAsBoolean());
+        }
+
+        @Test
+        void testPatchSaveKeepsFormatting() throws IOException {
+            ConfigSpec spec = buildSpec("patch_test"); // NOT REGISTERED, THE WORKER MUST NOT SAVE IT
+            spec.save();
+
+            Files.writeString(spec.path(), """
+                    {
+                      # user comment
+                      count: 10
+                      ratio: 1.5
+                      strict_count: 5
+                      label: "default_value"
+                      prefix_field: "hello_world"
+                      contains_field: "foo_bar_baz"
+                      enabled: true
+                      plain_int:   42 # keep me
+
+                      nested: {
+                        inner_count: 7
+                        inner_label: "nested_default"
+                      }
+                    }
+                    """, StandardCharsets.UTF_8);
+            spec.load();
+            assertFalse(spec.isDirty(), "Loaded values are not dirty");
+
+            ((IntField) spec.findField("plain_int")).setInt(120);
+            ((StringField) spec.findField("label")).set("patched");
+            ((StringField) spec.findField("nested.inner_label")).set("inner");
+            spec.save();
+
+            String content = Files.readString(spec.path(), StandardCharsets.UTF_8);
+            assertTrue(content.contains("# user comment"), "Comments should be kept");
+            assertTrue(content.contains("plain_int:   120 # keep me"), "Formatting should be kept");
+            assertTrue(content.contains("label: \"patched\""));
+            assertTrue(content.contains("inner_label: \"inner\""));
+
+            // SPANS ARE MOVED AFTER EACH PATCH
+            ((IntField) spec.findField("count")).setInt(100);
+            ((StringField) spec.findField("nested.inner_label")).set("x");
+            spec.save();
+
+            ((IntField) spec.findField("count")).setInt(0);
+            spec.load();
+            assertEquals(100, ((IntField) spec.findField("count")).getAsInt());
+            assertEquals(120, ((IntField) spec.findField("plain_int")).getAsInt());
+            assertEquals("patched", spec.findField("label").get());
+            assertEquals("x", spec.findField("nested.inner_label").get());
+            assertTrue(Files.readString(spec.path(), StandardCharsets.UTF_8).contains("# user comment"));
+        }
+
+        @Test
+        void testPatchSaveWritesMissingFields() throws IOException {
+            ConfigSpec spec = buildSpec("patch_missing_test"); // NOT REGISTERED, THE WORKER MUST NOT SAVE IT
+            spec.save();
+
+            // RATIO IS MISSING, AS WHEN THE SPEC ADDS A FIELD OR THE USER DELETES IT
+            Files.writeString(spec.path(), """
+                    {
+                      count: 10
+                      strict_count: 5
+                      label: "default_value"
+                      prefix_field: "hello_world"
+                      contains_field: "foo_bar_baz"
+                      enabled: true
+                      plain_int: 42
+
+                      nested: {
+                        inner_count: 7
+                        inner_label: "nested_default"
+                      }
+                    }
+                    """, StandardCharsets.UTF_8);
+            spec.load();
+
+            ((IntField) spec.findField("plain_int")).setInt(120);
+            spec.save();
+
+            String content = Files.readString(spec.path(), StandardCharsets.UTF_8);
+            assertTrue(content.contains("ratio: 1.5"), "Missing fields are written by a full save");
+            assertTrue(content.contains("plain_int: 120"));
+        }
+
+        @Test
+        void testLoadOnlyMarksResetFields() throws IOException {
+            ConfigSpec spec = buildSpec("load_clean_test");
+            spec.save();
+            Files.writeString(spec.path(), Files.readString(spec.path(), StandardCharsets.UTF_8)
+                    .replaceFirst("count: 10", "count: 2 * 3 # keep expression"), StandardCharsets.UTF_8);
+
+            assertTrue(spec.load());
+            assertEquals(6, ((IntField) spec.findField("count")).getAsInt());
+            assertFalse(spec.isDirty(), "Loaded values are not dirty");
+            ((IntField) spec.findField("plain_int")).setInt(120);
+            spec.save();
+            String content = Files.readString(spec.path(), StandardCharsets.UTF_8);
+            assertTrue(content.contains("count: 2 * 3 # keep expression"), "Unchanged fields are not rewritten");
+            assertTrue(content.contains("plain_int: 120"));
+
+            // INVALID VALUES ARE RESET AND WRITTEN BACK
+            Files.writeString(spec.path(), content.replace("plain_int: 120", "plain_int: 500"), StandardCharsets.UTF_8);
+            assertTrue(spec.load());
+            assertEquals(42, ((IntField) spec.findField("plain_int")).getAsInt());
+            assertTrue(spec.isDirty(), "Reset fields are saved");
+            spec.save();
+            content = Files.readString(spec.path(), StandardCharsets.UTF_8);
+            assertTrue(content.contains("plain_int: 42"));
+            assertTrue(content.contains("count: 2 * 3 # keep expression"));
+        }
+
+        @Test
+        void testDebouncedSave() throws Exception {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("debounce_test", "cfg", "", 0)
+                    .debounce(50)
+                    .maxDelay(1000);
+            builder.defineInt("count", 10).end();
+            ConfigSpec spec = builder.build();
+            assertEquals(50, spec.debounce());
+            assertEquals(1000, spec.maxDelay());
+            assertThrows(IllegalArgumentException.class, () -> builder.debounce(-1));
+
+            WaterConfig.register(spec);
+            long timeout = System.currentTimeMillis() + 5000;
+            while (!spec.isLoaded() && System.currentTimeMillis() < timeout) Thread.sleep(10);
+
+            IntField count = (IntField) spec.findField("count");
+            for (int i = 0; i <= 20; i++) {
+                count.setInt(i);
+            }
+
+            timeout = System.currentTimeMillis() + 5000;
+            while (!Files.readString(spec.path(), StandardCharsets.UTF_8).contains("count: 20") && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+            }
+            assertTrue(Files.readString(spec.path(), StandardCharsets.UTF_8).contains("count: 20"), "Worker should write the last value");
+        }
+
+        @Test
+        void testSetDirtySchedulesSave() throws Exception {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("set_dirty_test", "cfg", "", 0)
+                    .debounce(10)
+                    .maxDelay(100);
+            builder.defineInt("count", 10).end();
+            ConfigSpec spec = builder.build();
+            WaterConfig.register(spec);
+            spec.loadFuture().get(5, TimeUnit.SECONDS);
+
+            final long saves = spec.metrics().getSaves();
+            spec.setDirty(true);
+            long timeout = System.currentTimeMillis() + 5000;
+            while (spec.metrics().getSaves() == saves && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+            }
+            assertTrue(spec.metrics().getSaves() > saves, "Worker should save a spec marked dirty by hand");
+            assertFalse(spec.isDirty());
+        }
+
+        @Test
+        void testSlowSpecRetriedWhileOverflowIsFull() throws Exception {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("overflow_full_test", "cfg", "", 0)
+                    .debounce(10)
+                    .maxDelay(100);
+            builder.defineInt("count", 10).end();
+            ConfigSpec spec = builder.build();
+            WaterConfig.register(spec);
+            spec.loadFuture().get(5, TimeUnit.SECONDS);
+            spec.setSlow(true);
+
+            List<String> fillers = List.of("overflow_filler_0", "overflow_filler_1", "overflow_filler_2");
+            WaterConfig.OVERFLOW_ACTIVE.addAll(fillers);
+            try {
+                ((IntField) spec.findField("count")).setInt(20);
+                Thread.sleep(300);
+                assertTrue(spec.isDirty(), "Overflow is full, nothing is saved");
+                assertTrue(spec.isPending(), "Rejected specs stay pending");
+            } finally {
+                WaterConfig.OVERFLOW_ACTIVE.removeAll(fillers);
+            }
+
+            long timeout = System.currentTimeMillis() + 5000;
+            while (!Files.readString(spec.path(), StandardCharsets.UTF_8).contains("count: 20") && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+            }
+            assertTrue(Files.readString(spec.path(), StandardCharsets.UTF_8).contains("count: 20"), "Retried once the overflow has room");
+            spec.setSlow(false);
+        }
+
+        @Test
+        void testRegisterAllLoadsInParallel() {
+            List<ConfigSpec> specs = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                specs.add(buildSpec("bulk_test_" + i));
+            }
+
+            List<ConfigSpec> loaded = WaterConfig.registerAll(specs).join();
+            assertEquals(specs, loaded);
+            for (ConfigSpec spec: loaded) {
+                assertTrue(spec.isLoaded());
+                assertTrue(spec.loadFuture().isDone());
+                assertTrue(spec.path().toFile().exists());
+            }
+        }
+
+        @Test
+        void testSelfWritesAreNotExternalChanges() throws Exception {
+            ConfigSpec spec = buildSpec("watch_stamp_test");
+            WaterConfig.setWatching(true);
+            try {
+                spec.save();
+                assertFalse(spec.isModified(), "Own writes should be ignored");
+
+                Files.setLastModifiedTime(spec.path(), FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+                assertFalse(spec.isModified(), "Touched files with the same content should be ignored");
+
+                Files.writeString(spec.path(), Files.readString(spec.path(), StandardCharsets.UTF_8).replace("plain_int: 42", "plain_int: 43"), StandardCharsets.UTF_8);
+                assertTrue(spec.isModified());
+
+                // SAME SIZE EDIT IN THE SAME MODIFICATION TIME TICK OF A SELF WRITE
+                spec.save();
+                FileTime time = Files.getLastModifiedTime(spec.path());
+                Files.writeString(spec.path(), Files.readString(spec.path(), StandardCharsets.UTF_8).replace("plain_int: 42", "plain_int: 44"), StandardCharsets.UTF_8);
+                Files.setLastModifiedTime(spec.path(), time);
+                assertTrue(spec.isModified(), "Only the hash tells the edit apart");
+            } finally {
+                WaterConfig.setWatching(false);
+            }
+        }
+
+        @Test
+        void testWatcherReloadsExternalEdits() throws Exception {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("watch_test", "cfg", "", 0).debounce(10);
+            builder.defineInt("count", 10).end();
+            ConfigSpec spec = WaterConfig.registerAll(builder.build()).join().get(0);
+
+            WaterConfig.setWatching(true);
+            try {
+                assertTrue(WaterConfig.isWatching());
+                Files.writeString(spec.path(), "{\n  count: 77\n}\n", StandardCharsets.UTF_8);
+
+                IntField count = (IntField) spec.findField("count");
+                long timeout = System.currentTimeMillis() + 5000;
+                while (count.getAsInt() != 77 && System.currentTimeMillis() < timeout) {
+                    Thread.sleep(10);
+                }
+                assertEquals(77, count.getAsInt(), "External edit should be reloaded");
+            } finally {
+                WaterConfig.setWatching(false);
+            }
+            assertFalse(WaterConfig.isWatching());
+        }
+
+        @Test
+        void testStreamingLoadMatchesIndexedLoad() throws IOException {
+            for (String format: List.of("json", "json5", "toml", "cfg", "properties")) {
+                ConfigSpec written = buildStreamingSpec(format, false);
+                ((IntField) written.findField("count")).setInt(77);
+                ((StringField) written.findField("label")).accept("ñandú ☃");
+                ((DoubleField) written.findField("outer.ratio")).setDouble(2.5);
+                ((ListField<?>) written.findField("outer.numbers")).setArray(new Object[] { 4, 5 });
+                ((BooleanField) written.findField("outer.inner.enabled")).setBoolean(false);
+                written.save();
+
+                ConfigSpec indexed = buildStreamingSpec(format, false);
+                ConfigSpec streamed = buildStreamingSpec(format, true);
+                assertTrue(streamed.streaming());
+                assertTrue(indexed.load());
+                assertTrue(streamed.load());
+                for (String id: List.of("count", "label", "outer.ratio", "outer.numbers", "outer.inner.enabled", "tail")) {
+                    assertEquals(written.findField(id).get(), streamed.findField(id).get(), format + " " + id);
+                    assertEquals(indexed.findField(id).get(), streamed.findField(id).get(), format + " " + id);
+                }
+
+                // SPANS COLLECTED WHILE STREAMING PATCH THE FILE
+                ((IntField) streamed.findField("tail")).setInt(11);
+                streamed.save();
+                ConfigSpec reloaded = buildStreamingSpec(format, false);
+                reloaded.load();
+                assertEquals(11, ((IntField) reloaded.findField("tail")).getAsInt(), format);
+                assertEquals("ñandú ☃", reloaded.findField("label").get(), format);
+            }
+        }
+
+        @Test
+        void testStreamingLoadOutOfOrderKeys() throws IOException {
+            ConfigSpec spec = buildStreamingSpec("cfg", true);
+            spec.save();
+            // COUNT MISSING, TAIL AND LABEL SWAPPED, UNKNOWN KEYS ON EACH GROUP
+            Files.writeString(spec.path(), """
+                    {
+                      tail: 9
+                      removed: 1
+                      label: "moved"
+                      outer: {
+                        gone: true
+                        ratio: 3.5
+                        inner: {
+                          enabled: false
+                        }
+                        numbers: [ 8, 9 ]
+                      }
+                    }
+                    """, StandardCharsets.UTF_8);
+
+            assertTrue(spec.load());
+            assertEquals(10, ((IntField) spec.findField("count")).getAsInt(), "Missing keys keep the value");
+            assertEquals(9, ((IntField) spec.findField("tail")).getAsInt());
+            assertEquals("moved", spec.findField("label").get());
+            assertEquals(3.5, ((DoubleField) spec.findField("outer.ratio")).getAsDouble());
+            assertEquals(List.of(8, 9), spec.findField("outer.numbers").get());
+            assertFalse(((BooleanField) spec.findField("outer.inner.enabled")).getAsBoolean());
+        }
+
+        private ConfigSpec buildStreamingSpec(String format, boolean streaming) {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("streaming_test", format, "", 0).streaming(streaming);
+            builder.defineInt("count", 10).end();
+            builder.defineString("label", "value").end();
+            builder.push("outer");
+            builder.defineDouble("ratio", 1.5).end();
+            builder.defineList("numbers", new ArrayList<>(List.of(1, 2, 3)), Integer.class).end();
+            builder.push("inner");
+            builder.defineBoolean("enabled", true).end();
+            builder.pop();
+            builder.pop();
+            builder.defineInt("tail", 5).end();
+            return builder.build();
+        }
+
+        @Test
+        void testSnapshotLoadsUnchangedFiles() throws IOException {
+            ConfigSpec written = buildSnapshotSpec();
+            assertTrue(written.snapshot());
+            ((IntField) written.findField("count")).setInt(33);
+            ((ListField<?>) written.findField("outer.numbers")).setArray(new Object[] { 7, 8 });
+            written.save();
+            assertTrue(Files.exists(written.snapshotPath()));
+
+            ConfigSpec loaded = buildSnapshotSpec();
+            assertTrue(loaded.load());
+            for (String id: List.of("count", "label", "outer.ratio", "outer.numbers", "outer.inner.enabled", "tail")) {
+                assertEquals(written.findField(id).get(), loaded.findField(id).get(), id);
+            }
+
+            // A SNAPSHOT STAMPED WITH THE CURRENT FILE IS TRUSTED OVER THE FILE
+            CRC32 crc = new CRC32();
+            crc.update(Files.readAllBytes(written.path()));
+            try (var writer = new BINFormat().createWriter(written.snapshotPath(),
+                    Files.size(written.path()), Files.getLastModifiedTime(written.path()).toMillis(), crc.getValue())) {
+                writer.push("snapshot_test");
+                writer.write("count", "99", Integer.class, null);
+                writer.pop();
+            }
+            loaded = buildSnapshotSpec();
+            loaded.load();
+            assertEquals(99, ((IntField) loaded.findField("count")).getAsInt());
+
+            // EDITED FILES ARE PARSED AND THE SNAPSHOT IS TAKEN AGAIN
+            Files.writeString(written.path(), Files.readString(written.path(), StandardCharsets.UTF_8).replace("count = 33", "count = 55"), StandardCharsets.UTF_8);
+            loaded = buildSnapshotSpec();
+            loaded.load();
+            assertEquals(55, ((IntField) loaded.findField("count")).getAsInt());
+            loaded = buildSnapshotSpec();
+            loaded.load();
+            assertEquals(55, ((IntField) loaded.findField("count")).getAsInt());
+            assertEquals(List.of(7, 8), loaded.findField("outer.numbers").get());
+
+            // PATCHING AFTER A SNAPSHOT LOAD READS THE SPANS FROM THE FILE
+            ((IntField) loaded.findField("tail")).setInt(12);
+            loaded.save();
+            assertTrue(Files.readString(loaded.path(), StandardCharsets.UTF_8).contains("tail = 12"));
+            ConfigSpec reloaded = buildSnapshotSpec();
+            reloaded.load();
+            assertEquals(12, ((IntField) reloaded.findField("tail")).getAsInt());
+        }
+
+        private ConfigSpec buildSnapshotSpec() {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("snapshot_test", "toml", "", 0).snapshot(true);
+            builder.defineInt("count", 10).end();
+            builder.defineString("label", "value").end();
+            builder.push("outer");
+            builder.defineDouble("ratio", 1.5).end();
+            builder.defineList("numbers", new ArrayList<>(List.of(1, 2, 3)), Integer.class).end();
+            builder.push("inner");
+            builder.defineBoolean("enabled", true).end();
+            builder.pop();
+            builder.pop();
+            builder.defineInt("tail", 5).end();
+            return builder.build();
+        }
+
+        @Test
+        void testTranscodeAllKeepsSpecValues() throws IOException {
+            ConfigSpec written = buildStreamingSpec("toml", false);
+            ((IntField) written.findField("count")).setInt(33);
+            ((ListField<?>) written.findField("outer.numbers")).setArray(new Object[] { 7, 8 });
+            ((BooleanField) written.findField("outer.inner.enabled")).setBoolean(false);
+            written.save();
+
+            Path directory = Files.createDirectories(tempDir.resolve("transcode"));
+            Files.copy(written.path(), directory.resolve("first.toml"), StandardCopyOption.REPLACE_EXISTING);
+            Files.copy(written.path(), directory.resolve("second.toml"), StandardCopyOption.REPLACE_EXISTING);
+
+            List<Path> converted = WaterConfig.transcodeAll(directory, "toml", "json5").join();
+            assertEquals(List.of(directory.resolve("first.json5"), directory.resolve("second.json5")), converted);
+            assertThrows(IllegalArgumentException.class, () -> WaterConfig.transcodeAll(directory, "toml", "yaml"));
+
+            ConfigSpec loaded = buildStreamingSpec("json5", false);
+            Files.copy(converted.get(1), loaded.path(), StandardCopyOption.REPLACE_EXISTING);
+            assertTrue(loaded.load());
+            for (String id: List.of("count", "label", "outer.ratio", "outer.numbers", "outer.inner.enabled", "tail")) {
+                assertEquals(written.findField(id).get(), loaded.findField(id).get(), id);
+            }
+        }
+
+        @Test
+        void testCodecsBoundOnBuild() {
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("codec_test", "cfg", "", 0);
+            builder.defineEnum("mode", StringField.Mode.CONTAINS).end();
+            builder.definePath("path", Path.of("config")).end();
+            builder.defineList("numbers", new ArrayList<>(List.of(1, 2)), Integer.class).end();
+            builder.defineString("label", "value").end();
+            ConfigSpec spec = builder.build();
+
+            assertInstanceOf(EnumCodec.class, ((BaseConfigField<?, ?>) spec.findField("mode")).codec());
+            assertInstanceOf(PathCodec.class, ((BaseConfigField<?, ?>) spec.findField("path")).codec());
+            assertInstanceOf(IntCodec.class, ((BaseConfigField<?, ?>) spec.findField("numbers")).codec());
+            assertNull(((BaseConfigField<?, ?>) spec.findField("label")).codec(), "Strings need no codec");
+        }
+
         @Test
         void testNestedGroupAccess() throws IOException {
             ConfigSpec spec = buildSpec();
@@ -316,6 +1119,26 @@ public class SpecTest {
             assertNotNull(innerLabel);
             assertEquals("nested_default", innerLabel.get());
         }
+
+        @Test
+        void testFieldIdsAndHandles() {
+            ConfigSpec spec = buildSpec();
+
+            IntField innerCount = (IntField) spec.findField("nested.inner_count");
+            assertEquals("builder_test:nested.inner_count", innerCount.id());
+            assertSame(innerCount.id(), innerCount.id(), "Field id should be cached");
+            assertSame(innerCount, spec.findField("builder_test:nested.inner_count"));
+            assertNull(spec.findField("other_spec:nested.inner_count"));
+
+            ConfigGroup nested = (ConfigGroup) spec.findField("nested");
+            assertSame(innerCount, nested.findField("inner_count"));
+            assertSame(innerCount, nested.findField("builder_test:nested.inner_count"));
+
+            IConfigField<Integer, ?> handle = spec.handle("nested.inner_count", int.class);
+            assertSame(innerCount, handle);
+            assertThrows(IllegalArgumentException.class, () -> spec.handle("nested.inner_count", String.class));
+            assertThrows(IllegalArgumentException.class, () -> spec.handle("nested.missing", int.class));
+        }
     }
 
     // ========================================================================
@@ -552,4 +1375,221 @@ public class SpecTest {
             assertEquals(5.0, TestConfig.ratio);
         }
     }
+
+    // ========================================================================
+    // Generated Accessor Tests (ASM mode)
+    // ========================================================================
+    @Nested
+    class AccessorSpecTest {
+
+        static class AccessorConfig {
+            private int count = 10;
+            private long timestamp = 20L;
+            private double ratio = 1.5;
+            private float scale = 0.5f;
+            private short small = 3;
+            private byte tiny = 1;
+            private char letter = 'a';
+            private boolean enabled = true;
+            private String label = "default_value";
+            private static int shared = 5;
+        }
+
+        private Field field(String name) throws NoSuchFieldException {
+            Field field = AccessorConfig.class.getDeclaredField(name);
+            field.setAccessible(true); // REFLECT mode is used until the accessor is bound
+            return field;
+        }
+
+        @Test
+        void testGeneratedAccessor() throws Exception {
+            AccessorConfig config = new AccessorConfig();
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("accessor_test", "cfg", "", 0);
+            List<IConfigField<?, ?>> fields = new ArrayList<>();
+            fields.add(builder.defineInt("count", field("count"), config).end());
+            fields.add(builder.defineLong("timestamp", field("timestamp"), config).end());
+            fields.add(builder.defineDouble("ratio", field("ratio"), config).end());
+            fields.add(builder.defineFloat("scale", field("scale"), config).end());
+            fields.add(builder.defineShort("small", field("small"), config).end());
+            fields.add(builder.defineByte("tiny", field("tiny"), config).end());
+            fields.add(builder.defineChar("letter", field("letter"), config).end());
+            fields.add(builder.defineBoolean("enabled", field("enabled"), config).end());
+            fields.add(builder.defineString("label", field("label"), config).end());
+            fields.add(builder.defineInt("shared", field("shared"), AccessorConfig.class).end());
+            builder.build();
+
+            assertTrue(FieldAccessorGenerator.generate(AccessorConfig.class, fields), "Accessor should be generated");
+
+            ((IntField) fields.get(0)).set(42);
+            ((LongField) fields.get(1)).set(84L);
+            ((DoubleField) fields.get(2)).set(2.5);
+            ((FloatField) fields.get(3)).set(1.25f);
+            ((ShortField) fields.get(4)).set((short) 7);
+            ((ByteField) fields.get(5)).set((byte) 9);
+            ((CharField) fields.get(6)).set('z');
+            ((BooleanField) fields.get(7)).set(false);
+            ((StringField) fields.get(8)).set("changed");
+            ((IntField) fields.get(9)).set(11);
+
+            assertEquals(42, config.count);
+            assertEquals(84L, config.timestamp);
+            assertEquals(2.5, config.ratio);
+            assertEquals(1.25f, config.scale);
+            assertEquals((short) 7, config.small);
+            assertEquals((byte) 9, config.tiny);
+            assertEquals('z', config.letter);
+            assertFalse(config.enabled);
+            assertEquals("changed", config.label);
+            assertEquals(11, AccessorConfig.shared);
+
+            // Direct writes must be visible through the accessor
+            config.count = 77;
+            config.label = "direct";
+            assertEquals(77, fields.get(0).get());
+            assertEquals("direct", fields.get(8).get());
+        }
+
+        @Test
+        void testHandleAccessorBoundOnBuild() throws Exception {
+            AccessorConfig config = new AccessorConfig();
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("handle_test", "cfg", "", 0);
+            IntField count = builder.defineInt("count", field("count"), config).end();
+            DoubleField ratio = builder.defineDouble("ratio", field("ratio"), config).end();
+            StringField label = builder.defineString("label", field("label"), config).end();
+            IntField shared = builder.defineInt("shared", field("shared"), AccessorConfig.class).end();
+
+            count.setInt(3); // REFLECT BEFORE BUILD
+            assertEquals(3, config.count);
+            builder.build();
+
+            count.setInt(42);
+            ratio.setDouble(2.5);
+            label.set("changed");
+            shared.setInt(9);
+            assertEquals(42, config.count);
+            assertEquals(2.5, config.ratio);
+            assertEquals("changed", config.label);
+            assertEquals(9, AccessorConfig.shared);
+
+            config.count = 77;
+            assertEquals(77, count.getAsInt());
+            assertEquals(77, count.get());
+            AccessorConfig.shared = 5;
+        }
+    }
+
+    // ========================================================================
+    // Field Event Tests
+    // ========================================================================
+    @Nested
+    class FieldEventSpecTest {
+
+        @Spec(value = "event_test", format = WaterConfig.FORMAT_CFG, backups = 0)
+        static class EventConfig {
+            @Spec.Field
+            public int radius = 4;
+
+            @Spec.Field
+            public String label = "value";
+
+            private final List<String> events = new ArrayList<>();
+
+            @FieldEvent(field = "radius", value = FieldEvent.Priority.LOW)
+            private void onRadiusLow(int radius) {
+                this.events.add("low " + radius);
+            }
+
+            @FieldEvent(field = "radius", value = FieldEvent.Priority.HIGH)
+            private void onRadius(int old, int radius) {
+                this.events.add("high " + old + " " + radius);
+            }
+
+            @FieldEvent(field = "label")
+            private void onLabel(String old, String label) {
+                this.events.add("label " + old + " " + label);
+            }
+        }
+
+        @Spec(value = "event_broken_test", format = WaterConfig.FORMAT_CFG, backups = 0)
+        static class BrokenConfig {
+            @Spec.Field
+            public int radius = 4;
+
+            @FieldEvent(field = "radius")
+            private void onRadius(String old, String radius) {}
+        }
+
+        @Test
+        void testListenersFiredByPriority() throws IOException {
+            EventConfig config = new EventConfig();
+            ConfigSpec spec = WaterConfig.registerBlocking(config);
+            IntField radius = (IntField) spec.findField("radius");
+            assertEquals(2, radius.listeners().length);
+            config.events.clear();
+
+            radius.setInt(8);
+            radius.setInt(8); // UNCHANGED, NOT FIRED
+            spec.findField("label").set0("other");
+            assertEquals(List.of("high 4 8", "low 8", "label value other"), config.events);
+
+            // RELOADS FIRE THE CHANGED FIELDS
+            config.events.clear();
+            Files.writeString(spec.path(), "{\n  radius: 16\n  label: \"other\"\n}\n", StandardCharsets.UTF_8);
+            assertTrue(spec.load());
+            assertEquals(List.of("high 8 16", "low 16"), config.events);
+        }
+
+        @Test
+        void testListenerTypeMismatch() {
+            assertThrows(IllegalArgumentException.class, () -> WaterConfig.register(new BrokenConfig()), "String listener of an int field");
+
+            ConfigSpec.SpecBuilder builder = new ConfigSpec.SpecBuilder("event_type_test", "cfg", "", 0);
+            IntField field = builder.defineInt("radius", 0).end();
+            assertThrows(IllegalArgumentException.class, () -> field.addListener(MethodHandles.constant(int.class, 0), FieldEvent.Priority.NORMAL));
+            assertEquals(MethodType.methodType(void.class, int.class, int.class), field.listenerType());
+        }
+    }
+
+    // ========================================================================
+    // Generated Spec Tests (large synthetic specs)
+    // ========================================================================
+    @Nested
+    class GeneratedSpecTest {
+
+        @Test
+        void testGeneratorIsDeterministic() {
+            SpecGenerator generator = new SpecGenerator().fields(200).depth(3).groups(2).listSize(4).seed(42);
+            ConfigSpec first = generator.build("generated_first", "cfg");
+            ConfigSpec second = new SpecGenerator().fields(200).depth(3).groups(2).listSize(4).seed(42).build("generated_second", "cfg");
+            ConfigSpec other = new SpecGenerator().fields(200).depth(3).groups(2).listSize(4).seed(43).build("generated_other", "cfg");
+
+            List<String> ids = generator.ids();
+            assertEquals(200, ids.size());
+            assertTrue(ids.stream().anyMatch(id -> id.startsWith("group1.level2.level3.")));
+            boolean differs = false;
+            for (String id: ids) {
+                assertEquals(first.findField(id).get(), second.findField(id).get(), id);
+                differs |= other.findField(id) == null || !first.findField(id).get().equals(other.findField(id).get());
+            }
+            assertTrue(differs, "Other seeds generate other specs");
+        }
+
+        @Test
+        void testGeneratedSpecRoundTripsOnEveryFormat() throws IOException {
+            SpecGenerator generator = new SpecGenerator().fields(800).depth(8).groups(3).listSize(1000);
+            List<String> ids = generator.ids();
+            for (String format: SpecGenerator.FORMATS) {
+                ConfigSpec written = generator.build("generated_" + format, format);
+                generator.randomize(written, 7);
+                written.save();
+
+                ConfigSpec loaded = generator.build("generated_" + format, format);
+                assertTrue(loaded.load());
+                for (String id: ids) {
+                    assertEquals(written.findField(id).get(), loaded.findField(id).get(), format + " " + id);
+                }
+                assertEquals(0, loaded.metrics().getValidationResets(), format);
+            }
+        }
+    }
 }